@@ -0,0 +1,98 @@
+package modelo.pedido;
+
+/**
+ * Estado de un {@link Pedido} y los cambios de estado permitidos:
+ * Pendiente → Pagado → Enviado → Completado, y Cancelado desde cualquier estado no final.
+ * Completado y Cancelado son finales.
+ */
+public enum EstadoPedido {
+    /** Pedido creado, a la espera del pago. */
+    PENDIENTE("Pendiente"),
+    /** Pedido pagado, a la espera del envío. */
+    PAGADO("Pagado"),
+    /** Pedido enviado, a la espera de la entrega. */
+    ENVIADO("Enviado"),
+    /** Pedido entregado. */
+    COMPLETADO("Completado"),
+    /** Pedido cancelado por el cliente o un empleado. */
+    CANCELADO("Cancelado");
+
+    private final String nombre;
+
+    EstadoPedido(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Obtiene el nombre del estado, tal como se muestra y se anota en el diario.
+     * @return El nombre del estado.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Indica si el estado es final, es decir, si el pedido ya no puede cambiar.
+     * @return true si es Completado o Cancelado.
+     */
+    public boolean esFinal() {
+        return this == COMPLETADO || this == CANCELADO;
+    }
+
+    /**
+     * Indica si el pago del pedido ya se realizó.
+     * @return true si es Pagado, Enviado o Completado.
+     */
+    public boolean estaPagado() {
+        return this == PAGADO || this == ENVIADO || this == COMPLETADO;
+    }
+
+    /**
+     * Indica si un pedido en este estado puede pasar a otro.
+     * @param siguiente Estado al que se quiere pasar.
+     * @return true si el cambio está permitido.
+     */
+    public boolean puedeCambiarA(EstadoPedido siguiente) {
+        if (siguiente == null || esFinal()) {
+            return false;
+        }
+        switch (siguiente) {
+            case PAGADO:
+                return this == PENDIENTE;
+            case ENVIADO:
+                return this == PAGADO;
+            case COMPLETADO:
+                return this == ENVIADO;
+            case CANCELADO:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Obtiene el estado con un nombre dado, sin distinguir mayúsculas.
+     * @param nombre Nombre del estado, por ejemplo "Pagado".
+     * @return El estado, o null si el nombre es nulo o no corresponde a ninguno.
+     */
+    public static EstadoPedido desdeNombre(String nombre) {
+        if (nombre == null) {
+            return null;
+        }
+        for (EstadoPedido estado : values()) {
+            if (estado.nombre.equalsIgnoreCase(nombre.trim())) {
+                return estado;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Devuelve el nombre del estado.
+     * @return El nombre del estado.
+     */
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
@@ -0,0 +1,133 @@
+package modelo.pedido;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Historial de los pedidos completados de un cliente, en el orden en que se completaron.
+ * <p>
+ * El historial solo crece: cada pedido seguido con {@link #seguir(Pedido)} se agrega al final
+ * cuando pasa a {@link EstadoPedido#COMPLETADO}, desde {@link Pedido#cambiarEstado(EstadoPedido)}.
+ * Así consultarlo no recorre los demás pedidos del cliente.
+ * <p>
+ * Las consultas devuelven vistas de solo lectura sobre el arreglo interno, sin copiarlo, con
+ * los pedidos más recientes primero. Como las posiciones ya escritas nunca cambian, una vista sigue
+ * siendo válida aunque después se completen otros pedidos; simplemente no los incluye.
+ * Se puede consultar desde cualquier hilo mientras otro agrega pedidos.
+ */
+public class HistorialCompras {
+    private static final int CAPACIDAD_INICIAL = 8;
+
+    private volatile Pedido[] pedidos;
+    private volatile int tamaño;
+
+    /**
+     * Constructor que inicializa un historial vacío.
+     */
+    public HistorialCompras() {
+        this.pedidos = new Pedido[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Empieza a seguir un pedido para agregarlo al historial cuando se complete.
+     * Si el pedido ya está completado, se agrega en ese momento.
+     * @param pedido Pedido del cliente dueño del historial.
+     */
+    public void seguir(Pedido pedido) {
+        synchronized (pedido) {
+            pedido.setHistorial(this);
+            if (pedido.getEstado() == EstadoPedido.COMPLETADO) {
+                agregar(pedido);
+            }
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de pedidos completados.
+     * @return Número de pedidos del historial.
+     */
+    public int tamaño() {
+        return tamaño;
+    }
+
+    /**
+     * Obtiene todo el historial, del pedido completado más reciente al más antiguo.
+     * @return Vista de solo lectura del historial.
+     */
+    public List<Pedido> recientes() {
+        int hasta = tamaño;
+        return new Vista(pedidos, 0, hasta);
+    }
+
+    /**
+     * Obtiene una página del historial, del pedido completado más reciente al más antiguo.
+     * @param pagina Número de página, empezando en 0 para los más recientes.
+     * @param tamañoPagina Cantidad máxima de pedidos por página.
+     * @return Vista de solo lectura de la página, vacía si la página no existe o los datos no son válidos.
+     */
+    public List<Pedido> pagina(int pagina, int tamañoPagina) {
+        int total = tamaño;
+        Pedido[] actuales = pedidos;
+        if (pagina < 0 || tamañoPagina <= 0 || (long) pagina * tamañoPagina >= total) {
+            return new Vista(actuales, 0, 0);
+        }
+        int hasta = total - pagina * tamañoPagina;
+        return new Vista(actuales, Math.max(0, hasta - tamañoPagina), hasta);
+    }
+
+    /**
+     * Agrega un pedido recién completado al final del historial.
+     * Se llama con el pedido sincronizado.
+     * @param pedido Pedido completado.
+     */
+    synchronized void agregar(Pedido pedido) {
+        Pedido[] actuales = pedidos;
+        int n = tamaño;
+        if (n == actuales.length) {
+            actuales = Arrays.copyOf(actuales, n * 2);
+            pedidos = actuales;
+        }
+        actuales[n] = pedido;
+        tamaño = n + 1;
+    }
+
+    /**
+     * Vista de solo lectura de un tramo del historial, en orden inverso.
+     * Quien la crea lee el arreglo después del tamaño, así el arreglo contiene todas las posiciones del tramo.
+     */
+    private static final class Vista extends AbstractList<Pedido> implements RandomAccess {
+        private final Pedido[] pedidos;
+        private final int desde;
+        private final int hasta;
+
+        Vista(Pedido[] pedidos, int desde, int hasta) {
+            this.pedidos = pedidos;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        /**
+         * Obtiene el pedido de una posición de la vista.
+         * @param indice Posición, empezando en 0 para el más reciente.
+         * @return El pedido.
+         */
+        @Override
+        public Pedido get(int indice) {
+            if (indice < 0 || indice >= hasta - desde) {
+                throw new IndexOutOfBoundsException("Índice " + indice + " fuera de la página de " + (hasta - desde));
+            }
+            return pedidos[hasta - 1 - indice];
+        }
+
+        /**
+         * Obtiene la cantidad de pedidos de la vista.
+         * @return Número de pedidos.
+         */
+        @Override
+        public int size() {
+            return hasta - desde;
+        }
+    }
+}
@@ -1,31 +1,43 @@
 package modelo.pedido;
 import modelo.producto.Producto;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Clase que representa un pedido en el sistema.
+ * Un mismo pedido lo consultan el cliente y los empleados desde sesiones distintas,
+ * por eso sus datos modificables son volátiles.
+ * <p>
+ * El estado solo cambia con {@link #cambiarEstado(EstadoPedido)}, que valida el cambio según
+ * {@link EstadoPedido#puedeCambiarA(EstadoPedido)} y avisa al {@link RegistroPedidos} del pedido
+ * para que mueva el pedido en su índice por estado, y al completarse lo agrega al {@link HistorialCompras}
+ * de su cliente.
+ * <p>
+ * El ID es de 64 bits para admitir los IDs de {@link modelo.util.GeneradorIdsDistribuidos},
+ * únicos entre varias instancias de la tienda.
  */
 public class Pedido {
     // Atributos de la clase Pedido
-    private int id;
-    private ArrayList<Producto> productos;
-    private Direccion direccion;
-    private Pago metodoPago;
-    private String estado;
+    private long id;
+    private List<Producto> productos;
+    private volatile Direccion direccion;
+    private volatile Pago metodoPago;
+    private volatile EstadoPedido estado;
     private int clienteId;
+    private volatile RegistroPedidos registro;
+    private volatile HistorialCompras historial;
 
     /**
-     * Constructor que inicializa un pedido con ID y cliente.
+     * Constructor que inicializa un pedido pendiente con ID y cliente.
      * @param id Identificador del pedido.
      * @param clienteId Identificador del cliente.
      */
-    public Pedido(int id, int clienteId) {
+    public Pedido(long id, int clienteId) {
         this.id = id;
         this.productos = null;
         this.direccion = null;
         this.metodoPago = null;
-        this.estado = null;
+        this.estado = EstadoPedido.PENDIENTE;
         this.clienteId = clienteId;
     }
 
@@ -35,15 +47,15 @@ public class Pedido {
      * @param productos Lista de productos en el pedido.
      * @param direccion Dirección de entrega.
      * @param metodoPago Método de pago.
-     * @param estado Estado del pedido.
+     * @param estado Estado del pedido; si es nulo, el pedido queda pendiente.
      * @param clienteId Identificador del cliente.
      */
-    public Pedido(int id, ArrayList<Producto> productos, Direccion direccion, Pago metodoPago, String estado, int clienteId) {
+    public Pedido(long id, List<Producto> productos, Direccion direccion, Pago metodoPago, EstadoPedido estado, int clienteId) {
         this.id = id;
         this.productos = productos;
         this.direccion = direccion;
         this.metodoPago = metodoPago;
-        this.estado = estado;
+        this.estado = estado != null ? estado : EstadoPedido.PENDIENTE;
         this.clienteId = clienteId;
     }
 
@@ -51,13 +63,13 @@ public class Pedido {
      * Obtiene el ID del pedido.
      * @return El ID del pedido.
      */
-    public int getId() { return id; }
+    public long getId() { return id; }
 
     /**
      * Obtiene la lista de productos del pedido.
      * @return Lista de productos.
      */
-    public ArrayList<Producto> getProductos() { return productos; }
+    public List<Producto> getProductos() { return productos; }
 
     /**
      * Obtiene la dirección del pedido.
@@ -73,7 +85,7 @@ public class Pedido {
      * Obtiene el estado del pedido.
      * @return El estado del pedido.
      */
-    public String getEstado() { return estado; }
+    public EstadoPedido getEstado() { return estado; }
     /**
      * Obtiene el ID del cliente.
      * @return El ID del cliente.
@@ -92,20 +104,49 @@ public class Pedido {
      */
     public void setMetodoPago(Pago metodoPago) { this.metodoPago = metodoPago; }
     /**
-     * Establece el estado del pedido.
-     * @param estado El nuevo estado.
+     * Cambia el estado del pedido si el cambio está permitido y actualiza el índice por estado
+     * de su registro. Los cambios de un mismo pedido se aplican de a uno.
+     * @param nuevoEstado El nuevo estado.
+     * @return true si se cambió, false si el cambio no está permitido desde el estado actual.
      */
-    public void setEstado(String estado) { this.estado = estado; }
+    public synchronized boolean cambiarEstado(EstadoPedido nuevoEstado) {
+        EstadoPedido anterior = estado;
+        if (!anterior.puedeCambiarA(nuevoEstado)) {
+            return false;
+        }
+        estado = nuevoEstado;
+        RegistroPedidos actual = registro;
+        if (actual != null) {
+            actual.estadoCambiado(this, anterior);
+        }
+        HistorialCompras historialActual = historial;
+        if (nuevoEstado == EstadoPedido.COMPLETADO && historialActual != null) {
+            historialActual.agregar(this);
+        }
+        return true;
+    }
     /**
-     * Establece el ID del cliente.
+     * Establece el ID del cliente. No debe usarse después de agregar el pedido a un {@link RegistroPedidos}.
      * @param clienteId El nuevo ID del cliente.
      */
     public void setClienteId(int clienteId) { this.clienteId = clienteId; }
     /**
-     * Establece el ID del pedido.
+     * Establece el ID del pedido. No debe usarse después de agregar el pedido a un {@link RegistroPedidos}.
      * @param id El nuevo ID del pedido.
      */
-    public void setId(int id) { this.id = id; }
+    public void setId(long id) { this.id = id; }
+
+    /**
+     * Registra el registro de pedidos al que pertenece el pedido para avisarle de los cambios de estado.
+     * @param registro El registro de pedidos.
+     */
+    void setRegistro(RegistroPedidos registro) { this.registro = registro; }
+
+    /**
+     * Registra el historial de compras del cliente, donde se agrega el pedido al completarse.
+     * @param historial El historial del cliente.
+     */
+    void setHistorial(HistorialCompras historial) { this.historial = historial; }
 
     /**
      * Devuelve una representación en cadena del pedido.
@@ -0,0 +1,160 @@
+package modelo.pedido;
+
+import modelo.util.ConcurrentLongObjectMap;
+import modelo.util.GeneradorIdsDistribuidos;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Clase que guarda todos los pedidos de la tienda, indexados por ID, por cliente y por estado.
+ * <p>
+ * Buscar un pedido por ID cuesta O(1) y las consultas por cliente o por estado (pendientes, completados)
+ * recorren solo los pedidos que cumplen, así no dependen de cuántos pedidos acumuló la tienda.
+ * Cada pedido avisa a su registro cuando cambia de estado y el registro lo mueve de un índice a otro;
+ * el ID y el cliente de un pedido no deben cambiar después de agregarlo.
+ * <p>
+ * Los índices son {@link ConcurrentLongObjectMap}, así cada sesión puede consultarlos mientras otras crean pedidos
+ * o cambian su estado sin crear un {@code Long} por ID.
+ * Como esos mapas no guardan un orden, las consultas por cliente o por estado ordenan por ID solo los pedidos que devuelven. Los IDs de los pedidos nuevos salen de un {@link GeneradorIdsDistribuidos}: crear un pedido
+ * no necesita sincronizarse con las demás sesiones ni con otras instancias de la tienda, y como los IDs
+ * siguen el orden de creación, las consultas en orden de ID devuelven los pedidos del más antiguo al más nuevo.
+ */
+public class RegistroPedidos {
+    private final Queue<Pedido> pedidos;
+    private final ConcurrentLongObjectMap<Pedido> porId;
+    private final ConcurrentLongObjectMap<ConcurrentLongObjectMap<Pedido>> porCliente;
+    private final Map<EstadoPedido, ConcurrentLongObjectMap<Pedido>> porEstado;
+    private final GeneradorIdsDistribuidos ids;
+
+    /**
+     * Constructor que inicializa un registro sin pedidos que genera sus IDs como el nodo 0.
+     */
+    public RegistroPedidos() {
+        this(new GeneradorIdsDistribuidos(0));
+    }
+
+    /**
+     * Constructor que inicializa un registro sin pedidos que genera sus IDs con un generador dado.
+     * @param ids Generador de IDs de pedido del nodo.
+     */
+    public RegistroPedidos(GeneradorIdsDistribuidos ids) {
+        this.ids = ids;
+        this.pedidos = new ConcurrentLinkedQueue<>();
+        this.porId = new ConcurrentLongObjectMap<>();
+        this.porCliente = new ConcurrentLongObjectMap<>();
+        this.porEstado = new EnumMap<>(EstadoPedido.class);
+        for (EstadoPedido estado : EstadoPedido.values()) {
+            porEstado.put(estado, new ConcurrentLongObjectMap<>());
+        }
+    }
+
+    /**
+     * Obtiene un ID para un pedido nuevo, que ningún otro pedido tuvo ni tendrá.
+     * @return El ID del pedido nuevo.
+     */
+    public long nuevoId() {
+        return ids.siguiente();
+    }
+
+    /**
+     * Agrega un pedido al registro y lo indexa por ID, cliente y estado actual.
+     * Si el ID se generó en este nodo, los IDs nuevos quedan después de él.
+     * @param pedido Pedido a agregar.
+     * @return true si se agregó, false si ya existe un pedido con el mismo ID.
+     */
+    public boolean agregar(Pedido pedido) {
+        if (porId.putIfAbsent(pedido.getId(), pedido) != null) {
+            return false;
+        }
+        ids.avanzarHasta(pedido.getId());
+        pedidos.add(pedido);
+        // Un cliente tiene pocos pedidos: un solo segmento alcanza
+        porCliente.computeIfAbsent(pedido.getClienteId(), clave -> new ConcurrentLongObjectMap<>(1))
+                .put(pedido.getId(), pedido);
+        synchronized (pedido) {
+            pedido.setRegistro(this);
+            porEstado.get(pedido.getEstado()).put(pedido.getId(), pedido);
+        }
+        return true;
+    }
+
+    /**
+     * Busca un pedido por su ID.
+     * @param id ID del pedido.
+     * @return El pedido, o null si no existe.
+     */
+    public Pedido buscar(long id) {
+        return porId.get(id);
+    }
+
+    /**
+     * Obtiene todos los pedidos, en el orden en que se agregaron.
+     * @return Copia de la lista de pedidos.
+     */
+    public List<Pedido> getPedidos() {
+        return new ArrayList<>(pedidos);
+    }
+
+    /**
+     * Obtiene la cantidad de pedidos del registro.
+     * @return Número de pedidos.
+     */
+    public int tamaño() {
+        return porId.size();
+    }
+
+    /**
+     * Obtiene los pedidos de un cliente, sin recorrer los de los demás.
+     * @param clienteId ID del cliente.
+     * @return Lista de pedidos del cliente, en orden de ID.
+     */
+    public List<Pedido> buscarPorCliente(int clienteId) {
+        ConcurrentLongObjectMap<Pedido> delCliente = porCliente.get(clienteId);
+        return delCliente != null ? ordenados(delCliente) : new ArrayList<>();
+    }
+
+    /**
+     * Obtiene los pedidos que están en un estado, sin recorrer los demás.
+     * @param estado Estado buscado.
+     * @return Lista de pedidos en ese estado, en orden de ID.
+     */
+    public List<Pedido> buscarPorEstado(EstadoPedido estado) {
+        return ordenados(porEstado.get(estado));
+    }
+
+    /**
+     * Cuenta los pedidos que están en un estado.
+     * @param estado Estado buscado.
+     * @return Número de pedidos en ese estado.
+     */
+    public int contarPorEstado(EstadoPedido estado) {
+        return porEstado.get(estado).size();
+    }
+
+    /**
+     * Mueve un pedido del índice de su estado anterior al de su estado actual.
+     * Se llama con el pedido sincronizado, desde {@link Pedido#cambiarEstado(EstadoPedido)}.
+     * @param pedido Pedido que cambió de estado.
+     * @param anterior Estado que tenía antes del cambio.
+     */
+    void estadoCambiado(Pedido pedido, EstadoPedido anterior) {
+        porEstado.get(anterior).remove(pedido.getId(), pedido);
+        porEstado.get(pedido.getEstado()).put(pedido.getId(), pedido);
+    }
+
+    /**
+     * Copia los pedidos de un índice en orden de ID.
+     */
+    private static List<Pedido> ordenados(ConcurrentLongObjectMap<Pedido> indice) {
+        List<Pedido> resultado = new ArrayList<>();
+        indice.forEach((id, pedido) -> resultado.add(pedido));
+        resultado.sort(Comparator.comparingLong(Pedido::getId));
+        return resultado;
+    }
+}
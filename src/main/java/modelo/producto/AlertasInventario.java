@@ -0,0 +1,89 @@
+package modelo.producto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Lista de alertas de inventario bajo de un {@link Catalogo}, que se mantiene a medida que cambia
+ * el inventario en lugar de recorrer el catálogo en cada consulta.
+ * <p>
+ * Un producto tiene alerta mientras su inventario es menor que su umbral de reposición.
+ * Cada cambio de inventario o de umbral revisa solo ese producto; si cruza el umbral se agrega
+ * o se quita de la lista y se avisa a los suscriptores. Consultar la lista cuesta O(alertas).
+ * <p>
+ * La revisión no toma bloqueos: después de actualizar la lista vuelve a comparar el inventario
+ * y repite si cambió mientras tanto, así la lista queda correcta cuando no hay compras en curso.
+ */
+final class AlertasInventario {
+    private final ConcurrentSkipListMap<Integer, Producto> alertas;
+    private final CopyOnWriteArrayList<OyenteInventario> oyentes;
+
+    /**
+     * Constructor que inicializa la lista sin alertas ni suscriptores.
+     */
+    AlertasInventario() {
+        this.alertas = new ConcurrentSkipListMap<>();
+        this.oyentes = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Compara el inventario de un producto con su umbral y actualiza su alerta,
+     * avisando a los suscriptores si cruzó el umbral.
+     * @param producto Producto cuyo inventario o umbral cambió.
+     */
+    void revisar(Producto producto) {
+        while (true) {
+            int inventario = producto.getInventario();
+            boolean bajo = inventario < producto.getUmbralReposicion();
+            if (bajo) {
+                if (alertas.putIfAbsent(producto.getId(), producto) == null) {
+                    for (OyenteInventario oyente : oyentes) {
+                        oyente.inventarioBajo(producto, inventario);
+                    }
+                }
+            } else if (alertas.remove(producto.getId(), producto)) {
+                for (OyenteInventario oyente : oyentes) {
+                    oyente.inventarioRepuesto(producto, inventario);
+                }
+            }
+            if ((producto.getInventario() < producto.getUmbralReposicion()) == bajo) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Quita la alerta de un producto que salió del catálogo, sin avisar a los suscriptores.
+     * @param producto Producto retirado.
+     */
+    void quitar(Producto producto) {
+        alertas.remove(producto.getId(), producto);
+    }
+
+    /**
+     * Obtiene los productos con alerta.
+     * @return Lista nueva con los productos, en orden de ID.
+     */
+    List<Producto> obtener() {
+        return new ArrayList<>(alertas.values());
+    }
+
+    /**
+     * Agrega un suscriptor.
+     * @param oyente Suscriptor a agregar.
+     */
+    void suscribir(OyenteInventario oyente) {
+        oyentes.addIfAbsent(oyente);
+    }
+
+    /**
+     * Quita un suscriptor.
+     * @param oyente Suscriptor a quitar.
+     * @return true si estaba suscrito.
+     */
+    boolean cancelar(OyenteInventario oyente) {
+        return oyentes.remove(oyente);
+    }
+}
@@ -0,0 +1,250 @@
+package modelo.producto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Árbol de prefijos (trie) sobre los nombres normalizados de los productos para autocompletar.
+ * Cada nodo guarda en caché los productos más populares de su subárbol, de modo que
+ * una sugerencia solo recorre los caracteres del prefijo y copia esa lista.
+ * La popularidad de un producto es la cantidad de veces que se agregó a un pedido.
+ * <p>
+ * El árbol tiene su propio bloqueo, independiente del del catálogo. Un aumento de popularidad
+ * solo anota el producto como pendiente; las sugerencias se reordenan la próxima vez que se consultan
+ * o se modifica el árbol, así agregar un producto a un pedido no espera a ningún bloqueo.
+ */
+class Autocompletado {
+    /** Cantidad máxima de sugerencias guardadas en cada nodo. */
+    static final int MAXIMO_SUGERENCIAS = 10;
+
+    private static final Comparator<Producto> POR_POPULARIDAD =
+            Comparator.comparingInt((Producto p) -> -p.getPopularidadSugerencias())
+                    .thenComparing((Producto p) -> Texto.normalizar(p.getNombre()))
+                    .thenComparingInt(Producto::getId);
+
+    private final ReentrantReadWriteLock bloqueo = new ReentrantReadWriteLock();
+    /** Productos cuya popularidad aumentó y todavía no se reordenaron. */
+    private final Set<Producto> pendientes = ConcurrentHashMap.newKeySet();
+    private Nodo raiz;
+
+    /**
+     * Constructor que inicializa un árbol vacío.
+     */
+    Autocompletado() {
+        this.raiz = new Nodo();
+    }
+
+    /**
+     * Agrega un producto con su nombre actual.
+     * @param producto Producto a agregar.
+     */
+    void agregar(Producto producto) {
+        String clave = Texto.normalizar(producto.getNombre());
+        if (clave.isEmpty()) {
+            return;
+        }
+        bloqueo.writeLock().lock();
+        try {
+            aplicarPendientes();
+            producto.actualizarPopularidadSugerencias();
+            agregar(producto, clave);
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un producto usando su nombre actual; debe llamarse antes de cambiar el nombre.
+     * @param producto Producto a quitar.
+     */
+    void quitar(Producto producto) {
+        bloqueo.writeLock().lock();
+        try {
+            aplicarPendientes();
+            quitar(producto, Texto.normalizar(producto.getNombre()));
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Anota que aumentó la popularidad de un producto; sus sugerencias se reordenan más tarde.
+     * @param producto Producto cuya popularidad cambió.
+     */
+    void popularidadCambiada(Producto producto) {
+        pendientes.add(producto);
+    }
+
+    /**
+     * Obtiene los productos más populares cuyo nombre empieza con el prefijo.
+     * @param prefijo Texto escrito por el usuario.
+     * @param cantidad Cantidad de sugerencias, como máximo {@link #MAXIMO_SUGERENCIAS}.
+     * @return Productos sugeridos, del más al menos popular.
+     */
+    List<Producto> sugerir(String prefijo, int cantidad) {
+        if (!pendientes.isEmpty()) {
+            bloqueo.writeLock().lock();
+            try {
+                aplicarPendientes();
+            } finally {
+                bloqueo.writeLock().unlock();
+            }
+        }
+        bloqueo.readLock().lock();
+        try {
+            Nodo nodo = raiz;
+            String clave = Texto.normalizar(prefijo);
+            for (int i = 0; i < clave.length() && nodo != null; i++) {
+                nodo = nodo.hijo(clave.charAt(i));
+            }
+            if (nodo == null || cantidad < 1) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(nodo.sugerencias.subList(0, Math.min(cantidad, nodo.sugerencias.size())));
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /** Agrega un producto con la clave indicada. Se llama con el bloqueo de escritura tomado. */
+    private void agregar(Producto producto, String clave) {
+        Nodo[] camino = new Nodo[clave.length() + 1];
+        camino[0] = raiz;
+        for (int i = 0; i < clave.length(); i++) {
+            Nodo hijo = camino[i].hijo(clave.charAt(i));
+            if (hijo == null) {
+                hijo = camino[i].agregarHijo(clave.charAt(i));
+            }
+            camino[i + 1] = hijo;
+        }
+        camino[clave.length()].terminales.add(producto);
+        for (Nodo nodo : camino) {
+            nodo.considerar(producto);
+        }
+    }
+
+    /** Quita un producto con la clave indicada. Se llama con el bloqueo de escritura tomado. */
+    private void quitar(Producto producto, String clave) {
+        Nodo[] camino = camino(clave);
+        if (camino == null || !camino[camino.length - 1].terminales.remove(producto)) {
+            return;
+        }
+        // De abajo hacia arriba: cada nodo se recalcula con las listas ya corregidas de sus hijos
+        for (int i = camino.length - 1; i >= 0; i--) {
+            Nodo nodo = camino[i];
+            if (i > 0 && nodo.terminales.isEmpty() && nodo.cantidadHijos == 0) {
+                camino[i - 1].quitarHijo(nodo);
+            } else if (nodo.sugerencias.remove(producto)) {
+                nodo.recalcular();
+            }
+        }
+    }
+
+    /**
+     * Reordena las sugerencias de los productos cuya popularidad aumentó. Se llama con el bloqueo
+     * de escritura tomado. Un producto que ya no está en el árbol, o que está con otro nombre, se ignora.
+     */
+    private void aplicarPendientes() {
+        for (Iterator<Producto> it = pendientes.iterator(); it.hasNext(); ) {
+            Producto producto = it.next();
+            // Se quita antes de leer la popularidad: un aumento posterior lo vuelve a anotar
+            it.remove();
+            Nodo[] camino = camino(Texto.normalizar(producto.getNombre()));
+            if (camino == null || !camino[camino.length - 1].terminales.contains(producto)) {
+                continue;
+            }
+            producto.actualizarPopularidadSugerencias();
+            for (Nodo nodo : camino) {
+                nodo.considerar(producto);
+            }
+        }
+    }
+
+    private Nodo[] camino(String clave) {
+        if (clave.isEmpty()) {
+            return null;
+        }
+        Nodo[] camino = new Nodo[clave.length() + 1];
+        camino[0] = raiz;
+        for (int i = 0; i < clave.length(); i++) {
+            camino[i + 1] = camino[i].hijo(clave.charAt(i));
+            if (camino[i + 1] == null) {
+                return null;
+            }
+        }
+        return camino;
+    }
+
+    /** Nodo del árbol: hijos por carácter, productos cuyo nombre termina aquí y sugerencias del subárbol. */
+    private static class Nodo {
+        private char[] letras = new char[0];
+        private Nodo[] hijos = new Nodo[0];
+        private int cantidadHijos;
+        private ArrayList<Producto> terminales = new ArrayList<>(1);
+        private ArrayList<Producto> sugerencias = new ArrayList<>(1);
+
+        Nodo hijo(char letra) {
+            for (int i = 0; i < cantidadHijos; i++) {
+                if (letras[i] == letra) {
+                    return hijos[i];
+                }
+            }
+            return null;
+        }
+
+        Nodo agregarHijo(char letra) {
+            if (cantidadHijos == hijos.length) {
+                int capacidad = Math.max(2, cantidadHijos * 2);
+                letras = Arrays.copyOf(letras, capacidad);
+                hijos = Arrays.copyOf(hijos, capacidad);
+            }
+            Nodo hijo = new Nodo();
+            letras[cantidadHijos] = letra;
+            hijos[cantidadHijos++] = hijo;
+            return hijo;
+        }
+
+        void quitarHijo(Nodo hijo) {
+            for (int i = 0; i < cantidadHijos; i++) {
+                if (hijos[i] == hijo) {
+                    cantidadHijos--;
+                    letras[i] = letras[cantidadHijos];
+                    hijos[i] = hijos[cantidadHijos];
+                    hijos[cantidadHijos] = null;
+                    return;
+                }
+            }
+        }
+
+        /** Incorpora o reubica un producto en las sugerencias si está entre los más populares. */
+        void considerar(Producto producto) {
+            if (!sugerencias.contains(producto)) {
+                if (sugerencias.size() == MAXIMO_SUGERENCIAS
+                        && POR_POPULARIDAD.compare(producto, sugerencias.get(MAXIMO_SUGERENCIAS - 1)) >= 0) {
+                    return;
+                }
+                sugerencias.add(producto);
+            }
+            sugerencias.sort(POR_POPULARIDAD);
+            if (sugerencias.size() > MAXIMO_SUGERENCIAS) {
+                sugerencias.remove(MAXIMO_SUGERENCIAS);
+            }
+        }
+
+        /** Reconstruye las sugerencias a partir de los productos propios y las sugerencias de los hijos. */
+        void recalcular() {
+            ArrayList<Producto> candidatos = new ArrayList<>(terminales);
+            for (int i = 0; i < cantidadHijos; i++) {
+                candidatos.addAll(hijos[i].sugerencias);
+            }
+            candidatos.sort(POR_POPULARIDAD);
+            sugerencias = new ArrayList<>(candidatos.subList(0, Math.min(MAXIMO_SUGERENCIAS, candidatos.size())));
+        }
+    }
+}
@@ -0,0 +1,1200 @@
+package modelo.producto;
+
+import modelo.util.IntObjectMap;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Clase que representa el catálogo de productos de la tienda.
+ * Conserva los productos en orden de inserción y mantiene un índice por ID,
+ * de modo que las búsquedas y la detección de duplicados no recorren todo el catálogo.
+ * <p>
+ * Cada producto recibe además un ordinal denso, que se reutiliza al eliminar productos.
+ * Por cada etiqueta se guarda un {@link BitSet} con los ordinales de los productos que la tienen,
+ * así los filtros por varias etiquetas se resuelven con operaciones por palabra (AND, OR, AND NOT).
+ * <p>
+ * Un índice ordenado por precio permite consultar rangos de precio en O(log n + k)
+ * sin ordenar el catálogo en cada consulta.
+ * <p>
+ * Un índice de texto ({@link IndiceTexto}) sobre el nombre y la descripción permite
+ * buscar productos por palabras, sin distinguir tildes ni mayúsculas.
+ * <p>
+ * Un árbol de prefijos ({@link Autocompletado}) sobre los nombres sugiere los productos
+ * más populares que empiezan con lo escrito, sin recorrer el catálogo.
+ * <p>
+ * El ID, el precio y el inventario de cada producto se copian además en columnas de arreglos
+ * primitivos ({@link ColumnasProductos}), así los listados por inventario recorren un arreglo
+ * de enteros en lugar de cada objeto.
+ * <p>
+ * Las alertas de inventario bajo ({@link AlertasInventario}) se actualizan con cada cambio de inventario
+ * o de umbral de reposición, y los interesados pueden suscribirse con un {@link OyenteInventario}.
+ * Los productos avisan al catálogo cuando cambian sus etiquetas, su precio, sus textos o su inventario.
+ * <p>
+ * El catálogo se comparte entre sesiones concurrentes: las consultas toman el bloqueo de lectura
+ * y pueden ejecutarse en paralelo, mientras que las altas, bajas y cambios de productos
+ * toman el bloqueo de escritura. El orden de inserción lo conservan las filas de las columnas,
+ * donde agregar y eliminar un producto cuesta O(1); los listados de productos son copias
+ * tomadas con el bloqueo de lectura, que pueden recorrerse mientras otras sesiones modifican el catálogo.
+ * <p>
+ * Opcionalmente, los productos iniciales pueden estar en un {@link CatalogoMapeado} de solo lectura.
+ * Un producto de esa base se crea y se agrega a los índices recién cuando se busca,
+ * y desde entonces sus cambios se hacen sobre ese objeto; los que nunca se usan no ocupan memoria.
+ * Los listados completos ({@link #getProductos()} y el recorrido con for-each) leen los que no se usaron
+ * directamente de la base, sin cargarlos.
+ * Las consultas por etiquetas y por rango de precio usan además un {@link IndiceBase} sobre los registros
+ * de la base, que se construye en la primera consulta que lo necesita; la búsqueda por texto recorre
+ * los textos de la base, y el autocompletado los nombres que empiezan con lo escrito.
+ * En todos los casos solo se cargan los productos de la base que forman parte del resultado.
+ */
+public class Catalogo implements Iterable<Producto> {
+    private IntObjectMap<Producto> indicePorId;
+    private ArrayList<Producto> porOrdinal;
+    private BitSet ocupados;
+    private int[] ordinalesLibres;
+    private int cantidadLibres;
+    private IntObjectMap<BitSet> indicePorEtiqueta;
+    private TreeMap<ClavePrecio, Producto> indicePorPrecio;
+    private IndiceTexto indiceTexto;
+    private Autocompletado autocompletado;
+    private ColumnasProductos columnas;
+    private AlertasInventario alertas;
+    private volatile boolean alertasDeBaseCargadas;
+    private final ReentrantReadWriteLock bloqueo;
+    private final CatalogoMapeado base;
+    private final BitSet cargadosDeBase;
+    private final BitSet eliminadosDeBase;
+    private volatile int pendientesDeBase;
+    private volatile int enMemoria;
+    private volatile IndiceBase indiceBase;
+
+    /**
+     * Constructor que inicializa un catálogo vacío.
+     */
+    public Catalogo() {
+        this(null);
+    }
+
+    /**
+     * Constructor que inicializa un catálogo cuyos productos iniciales están en un archivo mapeado en memoria.
+     * @param base Productos iniciales de solo lectura, o null para un catálogo vacío.
+     */
+    public Catalogo(CatalogoMapeado base) {
+        this.indicePorId = new IntObjectMap<>();
+        this.porOrdinal = new ArrayList<>();
+        this.ocupados = new BitSet();
+        this.ordinalesLibres = new int[8];
+        this.cantidadLibres = 0;
+        this.indicePorEtiqueta = new IntObjectMap<>();
+        this.indicePorPrecio = new TreeMap<>();
+        this.indiceTexto = new IndiceTexto();
+        this.autocompletado = new Autocompletado();
+        this.columnas = new ColumnasProductos();
+        this.alertas = new AlertasInventario();
+        this.bloqueo = new ReentrantReadWriteLock();
+        this.base = base;
+        this.cargadosDeBase = new BitSet();
+        this.eliminadosDeBase = new BitSet();
+        this.pendientesDeBase = base != null ? base.tamaño() : 0;
+    }
+
+    /**
+     * Agrega un producto al catálogo si su ID no está registrado.
+     * @param producto Producto a agregar.
+     * @return true si se agregó, false si es nulo, su ID ya existe o pertenece a otro catálogo.
+     */
+    public boolean agregar(Producto producto) {
+        if (producto == null) {
+            return false;
+        }
+        bloqueo.writeLock().lock();
+        try {
+            if (producto.getCatalogo() != null || indicePorId.containsKey(producto.getId())
+                    || posicionPendiente(producto.getId()) >= 0) {
+                return false;
+            }
+            indexar(producto);
+            return true;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega un producto en lugar del producto de la base con el mismo ID, que todavía no se cargó.
+     * Se usa al restaurar datos guardados de productos de la base que cambiaron en memoria.
+     * @param producto Producto que reemplaza al de la base.
+     * @return true si se agregó; false si es nulo, pertenece a otro catálogo o su ID no está pendiente en la base.
+     */
+    public boolean reemplazarDeBase(Producto producto) {
+        if (producto == null) {
+            return false;
+        }
+        bloqueo.writeLock().lock();
+        try {
+            int posicion = posicionPendiente(producto.getId());
+            if (producto.getCatalogo() != null || posicion < 0) {
+                return false;
+            }
+            cargadosDeBase.set(posicion);
+            pendientesDeBase--;
+            indexar(producto);
+            return true;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca un producto por su ID.
+     * @param id ID del producto.
+     * @return El producto, o null si no existe.
+     */
+    public Producto buscar(int id) {
+        bloqueo.readLock().lock();
+        try {
+            Producto producto = indicePorId.get(id);
+            if (producto != null || base == null) {
+                return producto;
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        return cargarDeBase(id);
+    }
+
+    /**
+     * Indica si existe un producto con el ID dado.
+     * @param id ID del producto.
+     * @return true si el producto está en el catálogo.
+     */
+    public boolean contiene(int id) {
+        bloqueo.readLock().lock();
+        try {
+            return indicePorId.containsKey(id) || posicionPendiente(id) >= 0;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina un producto del catálogo basado en su ID.
+     * @param id ID del producto a eliminar.
+     * @return true si se eliminó, false si no existía.
+     */
+    public boolean eliminar(int id) {
+        bloqueo.writeLock().lock();
+        try {
+            Producto producto = indicePorId.remove(id);
+            if (producto != null) {
+                producto.setCatalogo(null);
+                alertas.quitar(producto);
+            }
+            if (producto == null) {
+                int posicion = posicionPendiente(id);
+                if (posicion < 0) {
+                    return false;
+                }
+                eliminadosDeBase.set(posicion);
+                pendientesDeBase--;
+                return true;
+            }
+            int posicion = base != null ? base.posicion(id) : -1;
+            if (posicion >= 0 && cargadosDeBase.get(posicion)) {
+                cargadosDeBase.clear(posicion);
+                eliminadosDeBase.set(posicion);
+            }
+            enMemoria--;
+            columnas.quitar(producto);
+            for (Etiqueta etiqueta : producto.getEtiquetas()) {
+                desindexarEtiqueta(producto, etiqueta);
+            }
+            desindexarPrecio(producto);
+            desindexarTexto(producto);
+            desindexarNombre(producto);
+            int ordinal = producto.getOrdinal();
+            ocupados.clear(ordinal);
+            porOrdinal.set(ordinal, null);
+            liberarOrdinal(ordinal);
+            return true;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene los productos que tienen una etiqueta.
+     * Con una base mapeada, a los productos en memoria les siguen los de la base que todavía no se usaron,
+     * en orden de ID, que se cargan al incluirlos.
+     * @param idEtiqueta ID de la etiqueta.
+     * @return Lista de productos con la etiqueta.
+     */
+    public List<Producto> filtrarPorEtiqueta(int idEtiqueta) {
+        List<Producto> resultado;
+        BitSet deBase;
+        bloqueo.readLock().lock();
+        try {
+            BitSet conEtiqueta = indicePorEtiqueta.get(idEtiqueta);
+            resultado = conEtiqueta == null ? new ArrayList<>() : materializar(conEtiqueta);
+            deBase = pendientes();
+            if (!deBase.isEmpty()) {
+                deBase.and(indiceBase().conEtiqueta(idEtiqueta));
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        agregarDeBase(deBase, resultado);
+        return resultado;
+    }
+
+    /**
+     * Obtiene los productos que cumplen un filtro de varias etiquetas.
+     * Los productos están en el mismo orden que en {@link #filtrarPorEtiqueta(int)}.
+     * @param filtro Filtro con las etiquetas requeridas, alternativas y excluidas.
+     * @return Lista de productos que cumplen el filtro.
+     */
+    public List<Producto> filtrarPorEtiquetas(FiltroEtiquetas filtro) {
+        List<Producto> resultado;
+        BitSet deBase;
+        bloqueo.readLock().lock();
+        try {
+            resultado = materializar(evaluar(filtro));
+            deBase = evaluarBase(filtro);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        agregarDeBase(deBase, resultado);
+        return resultado;
+    }
+
+    /**
+     * Cuenta los productos que cumplen un filtro de varias etiquetas sin construir la lista.
+     * @param filtro Filtro con las etiquetas requeridas, alternativas y excluidas.
+     * @return Cantidad de productos que cumplen el filtro.
+     */
+    public int contarPorEtiquetas(FiltroEtiquetas filtro) {
+        bloqueo.readLock().lock();
+        try {
+            return evaluar(filtro).cardinality() + evaluarBase(filtro).cardinality();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene una página de los productos con precio dentro de un rango, ordenados por precio ascendente.
+     * Los productos con el mismo precio se ordenan por ID. Con una base mapeada, la página mezcla
+     * los productos en memoria con los de la base que todavía no se usaron, y solo carga estos últimos.
+     * @param precioMinimo Precio mínimo (inclusive).
+     * @param precioMaximo Precio máximo (inclusive).
+     * @param soloDisponibles true para omitir los productos sin inventario.
+     * @param pagina Número de página, empezando en 1.
+     * @param tamañoPagina Cantidad de productos por página.
+     * @return Lista con los productos de la página; vacía si no hay resultados o los parámetros son inválidos.
+     */
+    public List<Producto> buscarPorRangoPrecio(double precioMinimo, double precioMaximo, boolean soloDisponibles, int pagina, int tamañoPagina) {
+        List<Producto> resultado = new ArrayList<>();
+        if (precioMinimo > precioMaximo || pagina < 1 || tamañoPagina < 1) {
+            return resultado;
+        }
+        // Posición en la base de cada elemento de la página, o -1 si es un producto en memoria
+        int[] deBase = new int[tamañoPagina];
+        bloqueo.readLock().lock();
+        try {
+            NavigableMap<ClavePrecio, Producto> rango = indicePorPrecio.subMap(
+                    new ClavePrecio(precioMinimo, Integer.MIN_VALUE), true,
+                    new ClavePrecio(precioMaximo, Integer.MAX_VALUE), true);
+            Iterator<Producto> cargados = rango.values().iterator();
+            Producto siguiente = siguienteEnRango(cargados, soloDisponibles);
+            IndiceBase indice = pendientesDeBase > 0 ? indiceBase() : null;
+            int lugar = indice != null
+                    ? siguienteEnRango(indice, indice.primeroDesdePrecio(precioMinimo), precioMaximo, soloDisponibles) : -1;
+            long omitir = (long) (pagina - 1) * tamañoPagina;
+            while (resultado.size() < tamañoPagina && (siguiente != null || lugar >= 0)) {
+                int posicion = lugar >= 0 ? indice.porPrecio(lugar) : -1;
+                boolean tomarDeBase = siguiente == null || posicion >= 0
+                        && new ClavePrecio(base.precio(posicion), base.id(posicion))
+                                .compareTo(new ClavePrecio(siguiente.getPrecio(), siguiente.getId())) < 0;
+                if (omitir > 0) {
+                    omitir--;
+                } else {
+                    deBase[resultado.size()] = tomarDeBase ? posicion : -1;
+                    resultado.add(tomarDeBase ? null : siguiente);
+                }
+                if (tomarDeBase) {
+                    lugar = siguienteEnRango(indice, lugar + 1, precioMaximo, soloDisponibles);
+                } else {
+                    siguiente = siguienteEnRango(cargados, soloDisponibles);
+                }
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        for (int i = 0; i < resultado.size(); i++) {
+            if (deBase[i] >= 0) {
+                resultado.set(i, obtenerDeBase(deBase[i]));
+            }
+        }
+        resultado.removeIf(Objects::isNull);
+        return resultado;
+    }
+
+    /**
+     * Obtiene los productos con inventario dentro de un rango, recorriendo la columna de inventario
+     * en lugar de cada producto. En los productos con inventario segmentado se usa la suma aproximada.
+     * Los productos en memoria están en el orden en que se cargaron; con una base mapeada les siguen
+     * los de la base que todavía no se usaron, en orden de ID, que se cargan al incluirlos.
+     * @param minimo Inventario mínimo (inclusive).
+     * @param maximo Inventario máximo (inclusive).
+     * @return Lista de productos con inventario en el rango; vacía si el rango es inválido.
+     */
+    public List<Producto> buscarPorInventario(int minimo, int maximo) {
+        List<Producto> resultado = new ArrayList<>();
+        if (minimo > maximo) {
+            return resultado;
+        }
+        BitSet pendientes = new BitSet();
+        bloqueo.readLock().lock();
+        try {
+            columnas.buscarPorInventario(minimo, maximo, resultado);
+            for (int posicion = siguientePendiente(0); posicion >= 0; posicion = siguientePendiente(posicion + 1)) {
+                int cantidad = base.inventario(posicion);
+                if (cantidad >= minimo && cantidad <= maximo) {
+                    pendientes.set(posicion);
+                }
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        agregarDeBase(pendientes, resultado);
+        return resultado;
+    }
+
+    /**
+     * Obtiene los productos con alerta de inventario bajo: los que tienen menos inventario
+     * que su umbral de reposición. La lista se mantiene con cada cambio de inventario,
+     * así consultarla no recorre el catálogo.
+     * La primera consulta en un catálogo con base mapeada carga los productos de la base
+     * con menos de {@value Producto#UMBRAL_REPOSICION_PREDETERMINADO} unidades.
+     * @return Lista nueva con los productos con alerta, en orden de ID.
+     */
+    public List<Producto> getAlertasInventario() {
+        if (base != null && !alertasDeBaseCargadas) {
+            BitSet bajos = new BitSet();
+            bloqueo.readLock().lock();
+            try {
+                for (int posicion = siguientePendiente(0); posicion >= 0; posicion = siguientePendiente(posicion + 1)) {
+                    if (base.inventario(posicion) < Producto.UMBRAL_REPOSICION_PREDETERMINADO) {
+                        bajos.set(posicion);
+                    }
+                }
+            } finally {
+                bloqueo.readLock().unlock();
+            }
+            agregarDeBase(bajos, new ArrayList<>());
+            alertasDeBaseCargadas = true;
+        }
+        return alertas.obtener();
+    }
+
+    /**
+     * Suscribe un oyente a las alertas de inventario: se le avisa cada vez que el inventario
+     * de un producto baja de su umbral de reposición o vuelve a alcanzarlo.
+     * @param oyente Oyente a suscribir; no se agrega dos veces.
+     */
+    public void suscribirAlertas(OyenteInventario oyente) {
+        if (oyente != null) {
+            alertas.suscribir(oyente);
+        }
+    }
+
+    /**
+     * Cancela la suscripción de un oyente a las alertas de inventario.
+     * @param oyente Oyente suscrito.
+     * @return true si estaba suscrito.
+     */
+    public boolean cancelarSuscripcionAlertas(OyenteInventario oyente) {
+        return alertas.cancelar(oyente);
+    }
+
+    /**
+     * Obtiene todos los productos con precio dentro de un rango, recorriendo la columna de precio.
+     * A diferencia de {@link #buscarPorRangoPrecio(double, double, boolean, int, int)} no ordena ni pagina:
+     * está pensado para reportes que procesan todos los resultados.
+     * Los productos están en el mismo orden que en {@link #buscarPorInventario(int, int)}.
+     * @param precioMinimo Precio mínimo (inclusive).
+     * @param precioMaximo Precio máximo (inclusive).
+     * @return Lista de productos con precio en el rango; vacía si el rango es inválido.
+     */
+    public List<Producto> buscarPorPrecio(double precioMinimo, double precioMaximo) {
+        List<Producto> resultado = new ArrayList<>();
+        if (!(precioMinimo <= precioMaximo)) {
+            return resultado;
+        }
+        BitSet pendientes = new BitSet();
+        bloqueo.readLock().lock();
+        try {
+            columnas.buscarPorPrecio(precioMinimo, precioMaximo, resultado);
+            for (int posicion = siguientePendiente(0); posicion >= 0; posicion = siguientePendiente(posicion + 1)) {
+                double precio = base.precio(posicion);
+                if (precio >= precioMinimo && precio <= precioMaximo) {
+                    pendientes.set(posicion);
+                }
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        agregarDeBase(pendientes, resultado);
+        return resultado;
+    }
+
+    /**
+     * Calcula el valor total del inventario: la suma del precio por el inventario de cada producto,
+     * recorriendo las columnas de precio e inventario. Incluye los productos de la base sin cargarlos.
+     * @return Valor total del inventario.
+     */
+    public double valorInventario() {
+        bloqueo.readLock().lock();
+        try {
+            double total = columnas.valorar();
+            for (int posicion = siguientePendiente(0); posicion >= 0; posicion = siguientePendiente(posicion + 1)) {
+                total += base.precio(posicion) * base.inventario(posicion);
+            }
+            return total;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca productos cuyo nombre o descripción contengan todas las palabras de la consulta.
+     * No distingue tildes ni mayúsculas, y cada palabra también coincide como prefijo
+     * ("tele" encuentra "Teléfono"). Los resultados se ordenan por relevancia:
+     * las coincidencias en el nombre y las palabras completas pesan más.
+     * Con una base mapeada se recorren además los textos de los productos de la base que todavía
+     * no se usaron, y se cargan solo los que entran en el resultado.
+     * @param consulta Texto de búsqueda.
+     * @param limite Cantidad máxima de resultados.
+     * @return Productos encontrados, del más al menos relevante.
+     */
+    public List<Producto> buscarPorTexto(String consulta, int limite) {
+        List<String> terminos = Texto.tokenizar(consulta);
+        List<Candidato> mejores = new ArrayList<>();
+        bloqueo.readLock().lock();
+        try {
+            List<Producto> encontrados = indiceTexto.buscar(consulta, limite);
+            if (pendientesDeBase == 0 || terminos.isEmpty() || limite < 1) {
+                return encontrados;
+            }
+            for (Producto p : encontrados) {
+                int puntaje = IndiceTexto.puntuar(terminos, p.getNombre(), p.getDescripcion());
+                considerar(mejores, new Candidato(p, -1, puntaje, p.getNombre(), p.getId()), Candidato.POR_RELEVANCIA, limite);
+            }
+            for (int posicion = siguientePendiente(0); posicion >= 0; posicion = siguientePendiente(posicion + 1)) {
+                String nombre = base.nombre(posicion);
+                int puntaje = IndiceTexto.puntuar(terminos, nombre, base.descripcion(posicion));
+                if (puntaje > 0) {
+                    considerar(mejores, new Candidato(null, posicion, puntaje, nombre, base.id(posicion)), Candidato.POR_RELEVANCIA, limite);
+                }
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        return elegir(mejores);
+    }
+
+    /**
+     * Sugiere los productos más populares cuyo nombre empieza con el texto escrito.
+     * No distingue tildes ni mayúsculas; los empates de popularidad se ordenan por nombre normalizado.
+     * Con una base mapeada se consideran además los productos de la base que todavía no se usaron
+     * y cuyo nombre empieza con el prefijo, y se cargan solo los sugeridos.
+     * @param prefijo Inicio del nombre del producto.
+     * @param cantidad Cantidad de sugerencias, como máximo {@value Autocompletado#MAXIMO_SUGERENCIAS}.
+     * @return Productos sugeridos, del más al menos popular.
+     */
+    public List<Producto> autocompletar(String prefijo, int cantidad) {
+        int maximo = Math.min(cantidad, Autocompletado.MAXIMO_SUGERENCIAS);
+        List<Candidato> mejores = new ArrayList<>();
+        bloqueo.readLock().lock();
+        try {
+            List<Producto> sugeridos = autocompletado.sugerir(prefijo, cantidad);
+            if (pendientesDeBase == 0 || maximo < 1) {
+                return sugeridos;
+            }
+            for (Producto p : sugeridos) {
+                considerar(mejores, new Candidato(p, -1, p.getPopularidadSugerencias(), Texto.normalizar(p.getNombre()), p.getId()),
+                        Candidato.POR_POPULARIDAD, maximo);
+            }
+            String clave = Texto.normalizar(prefijo);
+            IndiceBase indice = indiceBase();
+            for (int lugar = indice.primeroDesdeNombre(clave); lugar < indice.tamaño(); lugar++) {
+                int posicion = indice.porNombre(lugar);
+                String nombre = Texto.normalizar(base.nombre(posicion));
+                if (!nombre.startsWith(clave)) {
+                    break;
+                }
+                if (!nombre.isEmpty() && pendiente(posicion)) {
+                    considerar(mejores, new Candidato(null, posicion, base.popularidad(posicion), nombre, base.id(posicion)),
+                            Candidato.POR_POPULARIDAD, maximo);
+                }
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        return elegir(mejores);
+    }
+
+    /**
+     * Registra que un producto del catálogo se agregó a un pedido, aumentando su popularidad.
+     * No toma el bloqueo del catálogo: la popularidad es un contador atómico y el autocompletado
+     * reordena sus sugerencias la próxima vez que se consulta.
+     * @param producto Producto agregado al pedido.
+     */
+    public void registrarEnPedido(Producto producto) {
+        if (producto == null || producto.getCatalogo() != this) {
+            return;
+        }
+        producto.aumentarPopularidad();
+        autocompletado.popularidadCambiada(producto);
+    }
+
+    /**
+     * Obtiene la cantidad de productos del catálogo, incluidos los de la base que no se cargaron.
+     * @return Número de productos.
+     */
+    public int tamaño() {
+        return enMemoria + pendientesDeBase;
+    }
+
+    /**
+     * Indica si el catálogo no tiene productos.
+     * @return true si está vacío.
+     */
+    public boolean estaVacio() {
+        return tamaño() == 0;
+    }
+
+    /**
+     * Obtiene los productos en orden de inserción.
+     * La lista es de solo lectura para que el índice no quede desincronizado,
+     * y puede recorrerse mientras otras sesiones modifican el catálogo.
+     * Sin base mapeada es una copia tomada en el momento.
+     * Con una base mapeada, primero están los productos de la base en orden de ID y luego los agregados.
+     * Los productos de la base que todavía no se usaron se leen a medida que se recorren, como copias
+     * que no pertenecen al catálogo y no se guardan: sirven para mostrarlos, y para modificar uno
+     * se lo busca con {@link #buscar(int)}.
+     * @return Vista de solo lectura de los productos.
+     */
+    public List<Producto> getProductos() {
+        return base == null ? getProductosEnMemoria() : new VistaConBase();
+    }
+
+    /**
+     * Obtiene solo los productos cargados en memoria: los agregados y los de la base que ya se usaron.
+     * Sin base mapeada son todos los productos.
+     * @return Copia de solo lectura de los productos en memoria, en el orden en que se cargaron.
+     */
+    public List<Producto> getProductosEnMemoria() {
+        bloqueo.readLock().lock();
+        try {
+            List<Producto> productos = new ArrayList<>(enMemoria);
+            columnas.agregarTodos(productos);
+            return Collections.unmodifiableList(productos);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene los productos de solo lectura que sirven de base al catálogo.
+     * @return La base, o null si el catálogo no tiene.
+     */
+    public CatalogoMapeado getBase() {
+        return base;
+    }
+
+    /**
+     * Obtiene los IDs de los productos de la base que se eliminaron del catálogo.
+     * @return IDs eliminados, en orden ascendente.
+     */
+    public int[] getEliminadosDeBase() {
+        bloqueo.readLock().lock();
+        try {
+            int[] ids = new int[eliminadosDeBase.cardinality()];
+            int i = 0;
+            for (int posicion = eliminadosDeBase.nextSetBit(0); posicion >= 0; posicion = eliminadosDeBase.nextSetBit(posicion + 1)) {
+                ids[i++] = base.id(posicion);
+            }
+            return ids;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Permite recorrer los productos del catálogo con un for-each.
+     * @return Iterador de solo lectura.
+     */
+    @Override
+    public Iterator<Producto> iterator() {
+        return getProductos().iterator();
+    }
+
+    /**
+     * Obtiene el bloqueo de escritura que deben tomar los productos antes de cambiar
+     * datos indexados y avisar al catálogo.
+     * @return Bloqueo de escritura del catálogo.
+     */
+    Lock getBloqueoEscritura() {
+        return bloqueo.writeLock();
+    }
+
+    /**
+     * Copia a la columna de inventario el inventario actual de un producto.
+     * Se llama sin bloqueo después de cada cambio de inventario; si mientras tanto el producto
+     * cambió de fila o salió del catálogo, se corrige la fila escrita con el bloqueo de lectura.
+     * @param producto Producto cuyo inventario cambió.
+     */
+    void inventarioCambiado(Producto producto) {
+        int fila = producto.getFila();
+        columnas.escribirInventario(fila, producto);
+        if (producto.getCatalogo() != this || producto.getFila() != fila) {
+            bloqueo.readLock().lock();
+            try {
+                columnas.escribirInventario(fila, columnas.producto(fila));
+                if (producto.getCatalogo() == this) {
+                    columnas.escribirInventario(producto.getFila(), producto);
+                }
+            } finally {
+                bloqueo.readLock().unlock();
+            }
+        }
+        revisarAlerta(producto);
+    }
+
+    /**
+     * Actualiza la alerta de inventario bajo de un producto después de un cambio de inventario o de umbral.
+     * Si mientras tanto el producto salió del catálogo, se quita la alerta que pudo haberse agregado.
+     * @param producto Producto a revisar.
+     */
+    void revisarAlerta(Producto producto) {
+        alertas.revisar(producto);
+        if (producto.getCatalogo() != this) {
+            alertas.quitar(producto);
+        }
+    }
+
+    /**
+     * Registra en el índice de etiquetas que un producto tiene una etiqueta.
+     * @param producto Producto etiquetado.
+     * @param etiqueta Etiqueta agregada.
+     */
+    void indexarEtiqueta(Producto producto, Etiqueta etiqueta) {
+        BitSet conEtiqueta = indicePorEtiqueta.get(etiqueta.getId());
+        if (conEtiqueta == null) {
+            conEtiqueta = new BitSet();
+            indicePorEtiqueta.put(etiqueta.getId(), conEtiqueta);
+        }
+        conEtiqueta.set(producto.getOrdinal());
+    }
+
+    /**
+     * Quita del índice de etiquetas la relación entre un producto y una etiqueta.
+     * @param producto Producto que pierde la etiqueta.
+     * @param etiqueta Etiqueta eliminada.
+     */
+    void desindexarEtiqueta(Producto producto, Etiqueta etiqueta) {
+        BitSet conEtiqueta = indicePorEtiqueta.get(etiqueta.getId());
+        if (conEtiqueta != null) {
+            conEtiqueta.clear(producto.getOrdinal());
+            if (conEtiqueta.isEmpty()) {
+                indicePorEtiqueta.remove(etiqueta.getId());
+            }
+        }
+    }
+
+    /**
+     * Registra un producto en el índice de precios con su precio actual.
+     * @param producto Producto a indexar.
+     */
+    void indexarPrecio(Producto producto) {
+        indicePorPrecio.put(new ClavePrecio(producto.getPrecio(), producto.getId()), producto);
+        columnas.actualizarPrecio(producto);
+    }
+
+    /**
+     * Quita un producto del índice de precios; debe llamarse antes de cambiar su precio.
+     * @param producto Producto a quitar.
+     */
+    void desindexarPrecio(Producto producto) {
+        indicePorPrecio.remove(new ClavePrecio(producto.getPrecio(), producto.getId()));
+    }
+
+    /**
+     * Registra el nombre y la descripción actuales de un producto en el índice de texto.
+     * @param producto Producto a indexar.
+     */
+    void indexarTexto(Producto producto) {
+        indiceTexto.indexar(producto);
+    }
+
+    /**
+     * Quita un producto del índice de texto; debe llamarse antes de cambiar su nombre o descripción.
+     * @param producto Producto a quitar.
+     */
+    void desindexarTexto(Producto producto) {
+        indiceTexto.desindexar(producto);
+    }
+
+    /**
+     * Registra el nombre actual de un producto en el árbol de autocompletado.
+     * @param producto Producto a indexar.
+     */
+    void indexarNombre(Producto producto) {
+        autocompletado.agregar(producto);
+    }
+
+    /**
+     * Quita un producto del árbol de autocompletado; debe llamarse antes de cambiar su nombre.
+     * @param producto Producto a quitar.
+     */
+    void desindexarNombre(Producto producto) {
+        autocompletado.quitar(producto);
+    }
+
+    /**
+     * Agrega un producto a las columnas, al índice por ID y a los demás índices.
+     * Se llama con el bloqueo de escritura tomado.
+     * @param producto Producto a agregar.
+     */
+    private void indexar(Producto producto) {
+        indicePorId.put(producto.getId(), producto);
+        enMemoria++;
+        columnas.agregar(producto);
+        int ordinal = asignarOrdinal(producto);
+        producto.setOrdinal(ordinal);
+        ocupados.set(ordinal);
+        for (Etiqueta etiqueta : producto.getEtiquetas()) {
+            indexarEtiqueta(producto, etiqueta);
+        }
+        indexarPrecio(producto);
+        indexarTexto(producto);
+        indexarNombre(producto);
+        producto.setCatalogo(this);
+        alertas.revisar(producto);
+    }
+
+    /**
+     * Busca un producto de la base que todavía no se cargó ni se eliminó.
+     * Se llama con algún bloqueo del catálogo tomado.
+     * @param id ID del producto.
+     * @return Su posición en la base, o -1 si no hay base o el producto no está pendiente.
+     */
+    private int posicionPendiente(int id) {
+        if (base == null) {
+            return -1;
+        }
+        int posicion = base.posicion(id);
+        return posicion >= 0 && pendiente(posicion) ? posicion : -1;
+    }
+
+    /**
+     * Indica si una posición de la base todavía no se cargó ni se eliminó.
+     * Se llama con algún bloqueo del catálogo tomado.
+     */
+    private boolean pendiente(int posicion) {
+        return !cargadosDeBase.get(posicion) && !eliminadosDeBase.get(posicion);
+    }
+
+    /**
+     * Obtiene las posiciones de la base que todavía no se cargaron ni se eliminaron.
+     * Se llama con algún bloqueo del catálogo tomado.
+     * @return Conjunto nuevo de posiciones; vacío si no hay base.
+     */
+    private BitSet pendientes() {
+        BitSet pendientes = new BitSet();
+        if (pendientesDeBase > 0) {
+            pendientes.set(0, base.tamaño());
+            pendientes.andNot(cargadosDeBase);
+            pendientes.andNot(eliminadosDeBase);
+        }
+        return pendientes;
+    }
+
+    /**
+     * Obtiene los índices de la base, construyéndolos en la primera llamada.
+     * Se llama solo si el catálogo tiene base.
+     */
+    private IndiceBase indiceBase() {
+        IndiceBase indice = indiceBase;
+        return indice != null ? indice : construirIndiceBase();
+    }
+
+    private synchronized IndiceBase construirIndiceBase() {
+        if (indiceBase == null) {
+            indiceBase = new IndiceBase(base);
+        }
+        return indiceBase;
+    }
+
+    /**
+     * Obtiene el siguiente producto en memoria de un rango de precios, omitiendo los agotados si se pide.
+     * @return El producto, o null si no quedan.
+     */
+    private static Producto siguienteEnRango(Iterator<Producto> rango, boolean soloDisponibles) {
+        while (rango.hasNext()) {
+            Producto p = rango.next();
+            if (!soloDisponibles || p.getInventario() > 0) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca desde un lugar del orden por precio de la base el siguiente producto pendiente con precio
+     * hasta el máximo, omitiendo los agotados si se pide. Se llama con algún bloqueo del catálogo tomado.
+     * @return El lugar en el orden por precio, o -1 si no quedan.
+     */
+    private int siguienteEnRango(IndiceBase indice, int lugar, double precioMaximo, boolean soloDisponibles) {
+        for (; lugar < indice.tamaño(); lugar++) {
+            int posicion = indice.porPrecio(lugar);
+            if (Double.compare(base.precio(posicion), precioMaximo) > 0) {
+                return -1;
+            }
+            if (pendiente(posicion) && (!soloDisponibles || base.inventario(posicion) > 0)) {
+                return lugar;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Inserta un candidato en una lista ordenada que conserva solo los mejores.
+     * @param mejores Lista ordenada de candidatos.
+     * @param candidato Candidato a considerar.
+     * @param orden Orden de la lista.
+     * @param limite Cantidad de candidatos que se conservan.
+     */
+    private static void considerar(List<Candidato> mejores, Candidato candidato, Comparator<Candidato> orden, int limite) {
+        int lugar = Collections.binarySearch(mejores, candidato, orden);
+        lugar = lugar < 0 ? -lugar - 1 : lugar;
+        if (lugar < limite) {
+            mejores.add(lugar, candidato);
+            if (mejores.size() > limite) {
+                mejores.remove(limite);
+            }
+        }
+    }
+
+    /**
+     * Obtiene los productos de los candidatos elegidos, cargando los de la base.
+     * Se llama sin bloqueo; omite los productos de la base que se eliminaron mientras tanto.
+     */
+    private List<Producto> elegir(List<Candidato> candidatos) {
+        List<Producto> resultado = new ArrayList<>(candidatos.size());
+        for (Candidato candidato : candidatos) {
+            Producto producto = candidato.producto != null ? candidato.producto : obtenerDeBase(candidato.posicion);
+            if (producto != null) {
+                resultado.add(producto);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca la siguiente posición de la base que todavía no se cargó ni se eliminó.
+     * Se llama con algún bloqueo del catálogo tomado.
+     * @param desde Primera posición a revisar.
+     * @return La posición, o -1 si no hay más o el catálogo no tiene base.
+     */
+    private int siguientePendiente(int desde) {
+        if (base == null || pendientesDeBase == 0) {
+            return -1;
+        }
+        for (int posicion = cargadosDeBase.nextClearBit(desde); posicion < base.tamaño();
+             posicion = cargadosDeBase.nextClearBit(posicion + 1)) {
+            if (!eliminadosDeBase.get(posicion)) {
+                return posicion;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Carga los productos de la base en las posiciones dadas y los agrega a una lista.
+     * Se llama sin bloqueo; omite los que se eliminaron mientras tanto.
+     * @param posiciones Posiciones en la base.
+     * @param resultado Lista donde se agregan los productos.
+     */
+    private void agregarDeBase(BitSet posiciones, List<Producto> resultado) {
+        for (int posicion = posiciones.nextSetBit(0); posicion >= 0; posicion = posiciones.nextSetBit(posicion + 1)) {
+            Producto producto = obtenerDeBase(posicion);
+            if (producto != null) {
+                resultado.add(producto);
+            }
+        }
+    }
+
+    /**
+     * Crea y agrega a los índices un producto de la base que todavía no se cargó.
+     * @param id ID del producto.
+     * @return El producto, o null si no está en la base o se eliminó.
+     */
+    private Producto cargarDeBase(int id) {
+        bloqueo.writeLock().lock();
+        try {
+            Producto producto = indicePorId.get(id);
+            if (producto != null) {
+                return producto;
+            }
+            int posicion = posicionPendiente(id);
+            if (posicion < 0) {
+                return null;
+            }
+            producto = base.crearProducto(posicion);
+            cargadosDeBase.set(posicion);
+            pendientesDeBase--;
+            indexar(producto);
+            return producto;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el producto de una posición de la base, cargándolo si todavía no se usó.
+     * @param posicion Posición en la base.
+     * @return El producto, o null si se eliminó.
+     */
+    private Producto obtenerDeBase(int posicion) {
+        bloqueo.readLock().lock();
+        try {
+            if (eliminadosDeBase.get(posicion)) {
+                return null;
+            }
+            if (cargadosDeBase.get(posicion)) {
+                return indicePorId.get(base.id(posicion));
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        return cargarDeBase(base.id(posicion));
+    }
+
+    /**
+     * Calcula el conjunto de ordinales que cumple el filtro:
+     * todas las requeridas, al menos una de las alternativas y ninguna de las excluidas.
+     */
+    private BitSet evaluar(FiltroEtiquetas filtro) {
+        BitSet resultado = (BitSet) ocupados.clone();
+        for (Etiqueta etiqueta : filtro.getTodas()) {
+            resultado.and(conjuntoDe(etiqueta));
+        }
+        if (!filtro.getAlguna().isEmpty()) {
+            BitSet alguna = new BitSet();
+            for (Etiqueta etiqueta : filtro.getAlguna()) {
+                alguna.or(conjuntoDe(etiqueta));
+            }
+            resultado.and(alguna);
+        }
+        for (Etiqueta etiqueta : filtro.getNinguna()) {
+            resultado.andNot(conjuntoDe(etiqueta));
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula el conjunto de posiciones pendientes de la base que cumple el filtro, como {@link #evaluar(FiltroEtiquetas)}.
+     * Se llama con algún bloqueo del catálogo tomado.
+     */
+    private BitSet evaluarBase(FiltroEtiquetas filtro) {
+        BitSet resultado = pendientes();
+        if (resultado.isEmpty()) {
+            return resultado;
+        }
+        IndiceBase indice = indiceBase();
+        for (Etiqueta etiqueta : filtro.getTodas()) {
+            resultado.and(indice.conEtiqueta(etiqueta.getId()));
+        }
+        if (!filtro.getAlguna().isEmpty()) {
+            BitSet alguna = new BitSet();
+            for (Etiqueta etiqueta : filtro.getAlguna()) {
+                alguna.or(indice.conEtiqueta(etiqueta.getId()));
+            }
+            resultado.and(alguna);
+        }
+        for (Etiqueta etiqueta : filtro.getNinguna()) {
+            resultado.andNot(indice.conEtiqueta(etiqueta.getId()));
+        }
+        return resultado;
+    }
+
+    private BitSet conjuntoDe(Etiqueta etiqueta) {
+        BitSet conEtiqueta = indicePorEtiqueta.get(etiqueta.getId());
+        return conEtiqueta == null ? new BitSet() : conEtiqueta;
+    }
+
+    private List<Producto> materializar(BitSet ordinales) {
+        List<Producto> resultado = new ArrayList<>(ordinales.cardinality());
+        for (int i = ordinales.nextSetBit(0); i >= 0; i = ordinales.nextSetBit(i + 1)) {
+            resultado.add(porOrdinal.get(i));
+        }
+        return resultado;
+    }
+
+    private int asignarOrdinal(Producto producto) {
+        if (cantidadLibres > 0) {
+            int ordinal = ordinalesLibres[--cantidadLibres];
+            porOrdinal.set(ordinal, producto);
+            return ordinal;
+        }
+        porOrdinal.add(producto);
+        return porOrdinal.size() - 1;
+    }
+
+    private void liberarOrdinal(int ordinal) {
+        if (cantidadLibres == ordinalesLibres.length) {
+            ordinalesLibres = Arrays.copyOf(ordinalesLibres, cantidadLibres * 2);
+        }
+        ordinalesLibres[cantidadLibres++] = ordinal;
+    }
+
+    /**
+     * Vista de los productos de un catálogo con base mapeada: primero los de la base en orden de ID
+     * y luego los agregados al catálogo, tal como estaban al crearla.
+     * Guarda solo las posiciones eliminadas de la base y los productos agregados, que ya están en memoria;
+     * los de la base se leen al pedirlos. El acceso por posición cuesta O(1) más los productos
+     * eliminados de la base que la preceden.
+     */
+    private final class VistaConBase extends AbstractList<Producto> {
+        private final BitSet eliminados;
+        private final int deBase;
+        private final List<Producto> agregados;
+
+        VistaConBase() {
+            bloqueo.readLock().lock();
+            try {
+                eliminados = (BitSet) eliminadosDeBase.clone();
+                deBase = base.tamaño() - eliminados.cardinality();
+                List<Producto> productos = new ArrayList<>(enMemoria);
+                columnas.agregarTodos(productos);
+                agregados = new ArrayList<>();
+                for (Producto producto : productos) {
+                    int posicion = base.posicion(producto.getId());
+                    if (posicion < 0 || !cargadosDeBase.get(posicion)) {
+                        agregados.add(producto);
+                    }
+                }
+            } finally {
+                bloqueo.readLock().unlock();
+            }
+        }
+
+        @Override
+        public int size() {
+            return deBase + agregados.size();
+        }
+
+        @Override
+        public Producto get(int indice) {
+            if (indice < 0 || indice >= size()) {
+                throw new IndexOutOfBoundsException(indice);
+            }
+            if (indice >= deBase) {
+                return agregados.get(indice - deBase);
+            }
+            // Cada posición eliminada hasta la buscada la corre un lugar
+            int posicion = indice;
+            for (int e = eliminados.nextSetBit(0); e >= 0 && e <= posicion; e = eliminados.nextSetBit(e + 1)) {
+                posicion++;
+            }
+            return leerDeBase(posicion);
+        }
+
+        @Override
+        public Iterator<Producto> iterator() {
+            return new Iterator<>() {
+                private int posicion = eliminados.nextClearBit(0);
+                private int agregado;
+
+                @Override
+                public boolean hasNext() {
+                    return posicion < base.tamaño() || agregado < agregados.size();
+                }
+
+                @Override
+                public Producto next() {
+                    if (posicion < base.tamaño()) {
+                        Producto producto = leerDeBase(posicion);
+                        posicion = eliminados.nextClearBit(posicion + 1);
+                        return producto;
+                    }
+                    if (agregado < agregados.size()) {
+                        return agregados.get(agregado++);
+                    }
+                    throw new NoSuchElementException();
+                }
+            };
+        }
+
+        /**
+         * Obtiene el producto de una posición de la base: el del catálogo si ya se cargó,
+         * o si no una copia leída de la base que no se carga.
+         */
+        private Producto leerDeBase(int posicion) {
+            bloqueo.readLock().lock();
+            try {
+                if (cargadosDeBase.get(posicion)) {
+                    Producto producto = indicePorId.get(base.id(posicion));
+                    if (producto != null) {
+                        return producto;
+                    }
+                }
+            } finally {
+                bloqueo.readLock().unlock();
+            }
+            return base.crearProducto(posicion);
+        }
+    }
+
+    /**
+     * Clave del índice de precios: ordena por precio y desempata por ID.
+     * @param precio Precio del producto.
+     * @param id ID del producto.
+     */
+    /**
+     * Producto candidato a un resultado ordenado: uno en memoria o una posición de la base que todavía
+     * no se cargó, con el puntaje y el nombre por los que se ordena.
+     */
+    private record Candidato(Producto producto, int posicion, int puntaje, String nombre, int id) {
+        /** Orden de {@link IndiceTexto#buscar(String, int)}: relevancia, nombre sin mayúsculas e ID. */
+        static final Comparator<Candidato> POR_RELEVANCIA = Comparator.comparingInt((Candidato c) -> -c.puntaje)
+                .thenComparing(Candidato::nombre, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparingInt(Candidato::id);
+        /** Orden del autocompletado: popularidad, nombre normalizado e ID. */
+        static final Comparator<Candidato> POR_POPULARIDAD = Comparator.comparingInt((Candidato c) -> -c.puntaje)
+                .thenComparing(Candidato::nombre)
+                .thenComparingInt(Candidato::id);
+    }
+
+    private record ClavePrecio(double precio, int id) implements Comparable<ClavePrecio> {
+        @Override
+        public int compareTo(ClavePrecio otra) {
+            int porPrecio = Double.compare(precio, otra.precio);
+            return porPrecio != 0 ? porPrecio : Integer.compare(id, otra.id);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package modelo.producto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Productos de solo lectura guardados en un archivo que se mapea en memoria, para usarse como
+ * base de un {@link Catalogo} muy grande.
+ * <p>
+ * Cada producto ocupa un registro de ancho fijo ({@value #TAMAÑO_REGISTRO} bytes, una línea de caché)
+ * con su ID, inventario, precio, popularidad y segmentos de inventario, y la posición en un montón de
+ * textos donde están su nombre, su descripción y sus etiquetas. Los registros están ordenados por ID,
+ * así un producto se encuentra con una búsqueda binaria sin índice en memoria.
+ * <p>
+ * El archivo no se lee al abrirlo: el sistema operativo carga sus páginas a medida que se consultan,
+ * y un {@link Producto} se crea solo cuando el catálogo lo necesita. Así la memoria del programa guarda
+ * solo los productos usados y al reiniciar no hay que volver a leer todo el catálogo.
+ * <p>
+ * El archivo se mapea por bloques de 1 GB; al escribirlo, ningún registro ni texto queda partido
+ * entre dos bloques.
+ */
+public final class CatalogoMapeado {
+    /** Bytes de cada registro de producto. */
+    public static final int TAMAÑO_REGISTRO = 64;
+
+    private static final int MAGIA = 0x43534347;
+    private static final int VERSION = 1;
+    private static final int CABECERA = 64;
+    private static final int BITS_BLOQUE = 30;
+    private static final long TAMAÑO_BLOQUE = 1L << BITS_BLOQUE;
+    private static final int CAPACIDAD_ESCRITURA = 1 << 20;
+
+    // Posición de cada campo dentro del registro
+    private static final int ID = 0;
+    private static final int INVENTARIO = 4;
+    private static final int PRECIO = 8;
+    private static final int NOMBRE = 16;
+    private static final int DESCRIPCION = 24;
+    private static final int ETIQUETAS = 32;
+    private static final int LONGITUD_NOMBRE = 40;
+    private static final int LONGITUD_DESCRIPCION = 44;
+    private static final int CANTIDAD_ETIQUETAS = 48;
+    private static final int SEGMENTOS = 52;
+    private static final int POPULARIDAD = 56;
+
+    private final MappedByteBuffer[] bloques;
+    private final int cantidad;
+
+    /**
+     * Constructor que recibe el archivo ya mapeado.
+     * @param bloques Bloques mapeados del archivo, en orden.
+     * @param cantidad Cantidad de productos.
+     */
+    private CatalogoMapeado(MappedByteBuffer[] bloques, int cantidad) {
+        this.bloques = bloques;
+        this.cantidad = cantidad;
+    }
+
+    /**
+     * Mapea en memoria un archivo escrito con {@link #escribir(Collection, Path)}.
+     * @param archivo Ruta del archivo.
+     * @return Los productos del archivo.
+     * @throws IOException Si el archivo no se puede abrir o no tiene el formato esperado.
+     */
+    public static CatalogoMapeado abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamaño = canal.size();
+            int cantidadBloques = (int) ((tamaño + TAMAÑO_BLOQUE - 1) >>> BITS_BLOQUE);
+            MappedByteBuffer[] bloques = new MappedByteBuffer[Math.max(1, cantidadBloques)];
+            for (int i = 0; i < bloques.length; i++) {
+                long inicio = (long) i << BITS_BLOQUE;
+                bloques[i] = canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(TAMAÑO_BLOQUE, tamaño - inicio));
+            }
+            ByteBuffer cabecera = bloques[0];
+            if (tamaño < CABECERA || cabecera.getInt(0) != MAGIA || cabecera.getInt(4) != VERSION
+                    || cabecera.getInt(12) != TAMAÑO_REGISTRO || cabecera.getLong(16) != tamaño
+                    || cabecera.getInt(8) < 0 || CABECERA + (long) cabecera.getInt(8) * TAMAÑO_REGISTRO > tamaño) {
+                throw new IOException("El archivo " + archivo + " no es un catálogo mapeado compatible");
+            }
+            return new CatalogoMapeado(bloques, cabecera.getInt(8));
+        }
+    }
+
+    /**
+     * Escribe un archivo con los productos indicados, ordenados por ID.
+     * Se escribe primero un archivo temporal que luego reemplaza al destino.
+     * @param productos Productos a guardar; sus IDs no pueden repetirse.
+     * @param archivo Ruta del archivo.
+     * @throws IOException Si falla la escritura.
+     * @throws IllegalArgumentException Si hay IDs repetidos.
+     */
+    public static void escribir(Collection<Producto> productos, Path archivo) throws IOException {
+        List<Producto> ordenados = new ArrayList<>(productos);
+        ordenados.sort(Comparator.comparingInt(Producto::getId));
+        for (int i = 1; i < ordenados.size(); i++) {
+            if (ordenados.get(i).getId() == ordenados.get(i - 1).getId()) {
+                throw new IllegalArgumentException("El ID " + ordenados.get(i).getId() + " está repetido");
+            }
+        }
+
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Escritor registros = new Escritor(canal, CABECERA);
+            Escritor montón = new Escritor(canal, CABECERA + (long) ordenados.size() * TAMAÑO_REGISTRO);
+            for (Producto producto : ordenados) {
+                byte[] nombre = codificar(producto.getNombre());
+                byte[] descripcion = codificar(producto.getDescripcion());
+                List<Etiqueta> etiquetas = List.copyOf(producto.getEtiquetas());
+                List<byte[]> nombresEtiquetas = new ArrayList<>(etiquetas.size());
+                int bytesEtiquetas = 0;
+                for (Etiqueta etiqueta : etiquetas) {
+                    byte[] codificado = codificar(etiqueta.getNombre());
+                    nombresEtiquetas.add(codificado);
+                    bytesEtiquetas += 2 * Integer.BYTES + (codificado != null ? codificado.length : 0);
+                }
+
+                long posicionNombre = montón.reservar(nombre != null ? nombre.length : 0);
+                montón.bytes(nombre);
+                long posicionDescripcion = montón.reservar(descripcion != null ? descripcion.length : 0);
+                montón.bytes(descripcion);
+                long posicionEtiquetas = montón.reservar(bytesEtiquetas);
+                for (int i = 0; i < etiquetas.size(); i++) {
+                    byte[] codificado = nombresEtiquetas.get(i);
+                    montón.entero(etiquetas.get(i).getId());
+                    montón.entero(codificado != null ? codificado.length : -1);
+                    montón.bytes(codificado);
+                }
+
+                registros.entero(producto.getId());
+                registros.entero(producto.getInventario());
+                registros.decimal(producto.getPrecio());
+                registros.largo(posicionNombre);
+                registros.largo(posicionDescripcion);
+                registros.largo(posicionEtiquetas);
+                registros.entero(nombre != null ? nombre.length : -1);
+                registros.entero(descripcion != null ? descripcion.length : -1);
+                registros.entero(etiquetas.size());
+                registros.entero(producto.getSegmentosInventario());
+                registros.entero(producto.getPopularidad());
+                registros.entero(0);
+            }
+            registros.vaciar();
+            long tamaño = montón.vaciar();
+
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA);
+            cabecera.putInt(MAGIA).putInt(VERSION).putInt(ordenados.size()).putInt(TAMAÑO_REGISTRO).putLong(tamaño);
+            cabecera.clear();
+            while (cabecera.hasRemaining()) {
+                canal.write(cabecera, cabecera.position());
+            }
+            canal.force(true);
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Obtiene la cantidad de productos del archivo.
+     * @return Número de productos.
+     */
+    public int tamaño() {
+        return cantidad;
+    }
+
+    /**
+     * Busca la posición de un producto por su ID con una búsqueda binaria.
+     * @param id ID del producto.
+     * @return Posición del registro, o -1 si no existe.
+     */
+    public int posicion(int id) {
+        int inicio = 0;
+        int fin = cantidad - 1;
+        while (inicio <= fin) {
+            int medio = (inicio + fin) >>> 1;
+            int idMedio = id(medio);
+            if (idMedio < id) {
+                inicio = medio + 1;
+            } else if (idMedio > id) {
+                fin = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtiene el ID del producto en una posición.
+     * @param posicion Posición del registro.
+     * @return El ID.
+     */
+    public int id(int posicion) {
+        return entero(registro(posicion) + ID);
+    }
+
+    /**
+     * Obtiene el inventario guardado del producto en una posición.
+     * @param posicion Posición del registro.
+     * @return El inventario.
+     */
+    public int inventario(int posicion) {
+        return entero(registro(posicion) + INVENTARIO);
+    }
+
+    /**
+     * Obtiene el precio guardado del producto en una posición.
+     * @param posicion Posición del registro.
+     * @return El precio.
+     */
+    public double precio(int posicion) {
+        long inicio = registro(posicion) + PRECIO;
+        return bloque(inicio).getDouble(desplazamiento(inicio));
+    }
+
+    /**
+     * Obtiene el nombre guardado del producto en una posición, sin crear el producto.
+     * @param posicion Posición del registro.
+     * @return El nombre; puede ser null.
+     */
+    public String nombre(int posicion) {
+        long inicio = registro(posicion);
+        return texto(largo(inicio + NOMBRE), entero(inicio + LONGITUD_NOMBRE));
+    }
+
+    /**
+     * Obtiene la descripción guardada del producto en una posición, sin crear el producto.
+     * @param posicion Posición del registro.
+     * @return La descripción; puede ser null.
+     */
+    public String descripcion(int posicion) {
+        long inicio = registro(posicion);
+        return texto(largo(inicio + DESCRIPCION), entero(inicio + LONGITUD_DESCRIPCION));
+    }
+
+    /**
+     * Obtiene la popularidad guardada del producto en una posición.
+     * @param posicion Posición del registro.
+     * @return Veces que el producto se agregó a un pedido.
+     */
+    public int popularidad(int posicion) {
+        return entero(registro(posicion) + POPULARIDAD);
+    }
+
+    /**
+     * Obtiene los IDs de las etiquetas del producto en una posición, sin leer sus nombres.
+     * @param posicion Posición del registro.
+     * @return IDs de las etiquetas, en el orden en que se guardaron.
+     */
+    public int[] etiquetas(int posicion) {
+        long inicio = registro(posicion);
+        long etiqueta = largo(inicio + ETIQUETAS);
+        int[] ids = new int[entero(inicio + CANTIDAD_ETIQUETAS)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = entero(etiqueta);
+            etiqueta += 2 * Integer.BYTES + Math.max(0, entero(etiqueta + Integer.BYTES));
+        }
+        return ids;
+    }
+
+    /**
+     * Crea un producto con los datos del registro en una posición.
+     * El producto es independiente del archivo y todavía no pertenece a ningún catálogo.
+     * @param posicion Posición del registro.
+     * @return El producto creado.
+     */
+    Producto crearProducto(int posicion) {
+        long inicio = registro(posicion);
+        Producto producto = new Producto(entero(inicio + ID), nombre(posicion), descripcion(posicion),
+                precio(posicion), entero(inicio + INVENTARIO));
+        int segmentos = entero(inicio + SEGMENTOS);
+        if (segmentos > 1) {
+            producto.configurarSegmentosInventario(segmentos);
+        }
+        producto.setPopularidad(popularidad(posicion));
+        long etiqueta = largo(inicio + ETIQUETAS);
+        int cantidadEtiquetas = entero(inicio + CANTIDAD_ETIQUETAS);
+        for (int i = 0; i < cantidadEtiquetas; i++) {
+            int id = entero(etiqueta);
+            int longitud = entero(etiqueta + Integer.BYTES);
+            producto.agregarEtiqueta(new Etiqueta(id, texto(etiqueta + 2 * Integer.BYTES, longitud)));
+            etiqueta += 2 * Integer.BYTES + Math.max(0, longitud);
+        }
+        return producto;
+    }
+
+    private long registro(int posicion) {
+        if (posicion < 0 || posicion >= cantidad) {
+            throw new IndexOutOfBoundsException(posicion);
+        }
+        return CABECERA + (long) posicion * TAMAÑO_REGISTRO;
+    }
+
+    private ByteBuffer bloque(long posicion) {
+        return bloques[(int) (posicion >>> BITS_BLOQUE)];
+    }
+
+    private static int desplazamiento(long posicion) {
+        return (int) (posicion & (TAMAÑO_BLOQUE - 1));
+    }
+
+    private int entero(long posicion) {
+        return bloque(posicion).getInt(desplazamiento(posicion));
+    }
+
+    private long largo(long posicion) {
+        return bloque(posicion).getLong(desplazamiento(posicion));
+    }
+
+    private String texto(long posicion, int longitud) {
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        bloque(posicion).get(desplazamiento(posicion), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] codificar(String texto) {
+        return texto != null ? texto.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Escribe datos en orden a partir de una posición del archivo, por medio de un buffer.
+     * Antes de cada texto del montón se reserva su tamaño, para pasar al bloque siguiente
+     * si no cabe entero en el actual. Los registros no lo necesitan: miden lo mismo que la
+     * cabecera y un bloque es múltiplo de su tamaño.
+     */
+    private static final class Escritor {
+        private final FileChannel canal;
+        private final ByteBuffer buffer = ByteBuffer.allocate(CAPACIDAD_ESCRITURA);
+        private long posicionBuffer;
+
+        Escritor(FileChannel canal, long posicion) {
+            this.canal = canal;
+            this.posicionBuffer = posicion;
+        }
+
+        /** Posición del archivo donde se escribirá el siguiente byte. */
+        long posicion() {
+            return posicionBuffer + buffer.position();
+        }
+
+        /**
+         * Prepara la escritura de un elemento que no debe partirse entre bloques.
+         * @return La posición donde empieza el elemento.
+         */
+        long reservar(int longitud) throws IOException {
+            long inicio = posicion();
+            if (longitud > 0 && desplazamiento(inicio) + (long) longitud > TAMAÑO_BLOQUE) {
+                if (longitud > TAMAÑO_BLOQUE) {
+                    throw new IOException("Un texto del catálogo no puede ocupar más de un bloque");
+                }
+                saltar(TAMAÑO_BLOQUE - desplazamiento(inicio));
+                inicio = posicion();
+            }
+            return inicio;
+        }
+
+        void entero(int valor) throws IOException {
+            espacio(Integer.BYTES);
+            buffer.putInt(valor);
+        }
+
+        void largo(long valor) throws IOException {
+            espacio(Long.BYTES);
+            buffer.putLong(valor);
+        }
+
+        void decimal(double valor) throws IOException {
+            espacio(Double.BYTES);
+            buffer.putDouble(valor);
+        }
+
+        void bytes(byte[] valor) throws IOException {
+            if (valor == null) {
+                return;
+            }
+            int escritos = 0;
+            while (escritos < valor.length) {
+                espacio(1);
+                int parte = Math.min(buffer.remaining(), valor.length - escritos);
+                buffer.put(valor, escritos, parte);
+                escritos += parte;
+            }
+        }
+
+        /** Escribe lo pendiente y devuelve la posición final. */
+        long vaciar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                posicionBuffer += canal.write(buffer, posicionBuffer);
+            }
+            buffer.clear();
+            return posicionBuffer;
+        }
+
+        private void saltar(long bytes) throws IOException {
+            vaciar();
+            posicionBuffer += bytes;
+        }
+
+        private void espacio(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                vaciar();
+            }
+        }
+    }
+}
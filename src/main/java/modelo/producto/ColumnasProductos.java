@@ -0,0 +1,238 @@
+package modelo.producto;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Copia por columnas del precio y el inventario de los productos cargados en un {@link Catalogo},
+ * cada dato en su propio arreglo primitivo, junto a la referencia a cada producto.
+ * <p>
+ * Los listados que filtran por inventario o precio recorren una sola columna de forma secuencial,
+ * en lugar de visitar cada {@link Producto} y su contador de inventario; el objeto se obtiene
+ * recién para las filas que cumplen el filtro. Cada bloque se recorre con un {@link RecorridoColumnas},
+ * vectorial si el módulo {@code jdk.incubator.vector} está habilitado.
+ * <p>
+ * Las columnas se guardan en bloques de {@value #TAMAÑO_BLOQUE} filas que nunca se mueven al crecer.
+ * Las filas siguen el orden en que se agregaron los productos. Al eliminar un producto su fila queda
+ * como hueco, con inventario {@link #HUECO} y precio 0, hasta que los huecos son la mitad de las filas
+ * y se compactan.
+ * <p>
+ * Las altas, bajas, cambios de precio y compactaciones se hacen con el bloqueo de escritura del catálogo,
+ * y los recorridos con el de lectura. El inventario cambia sin bloqueo: quien lo escribe en la columna
+ * vuelve a leer el del producto y repite si cambió, así la columna queda igual al producto cuando
+ * no hay compras en curso; mientras las hay, un recorrido puede ver valores de un instante antes.
+ */
+final class ColumnasProductos {
+    /** Filas por bloque de cada columna. */
+    static final int TAMAÑO_BLOQUE = 1 << 14;
+    /** Inventario de una fila sin producto; ningún rango de los recorridos lo incluye. */
+    static final int HUECO = Integer.MIN_VALUE;
+    /** Huecos a partir de los cuales se considera compactar. */
+    private static final int HUECOS_MINIMOS = 64;
+    private static final VarHandle ENTERO = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final RecorridoColumnas RECORRIDO = RecorridoColumnas.elegir();
+
+    private double[][] precios;
+    private volatile int[][] inventarios;
+    private Producto[][] productos;
+    private int filas;
+    private int huecos;
+
+    /**
+     * Constructor que inicializa las columnas sin filas.
+     */
+    ColumnasProductos() {
+        this.precios = new double[0][];
+        this.inventarios = new int[0][];
+        this.productos = new Producto[0][];
+    }
+
+    /**
+     * Agrega un producto en una fila nueva al final y se la asigna.
+     * @param producto Producto a agregar.
+     */
+    void agregar(Producto producto) {
+        if (filas == precios.length * TAMAÑO_BLOQUE) {
+            int bloques = precios.length + 1;
+            precios = Arrays.copyOf(precios, bloques);
+            productos = Arrays.copyOf(productos, bloques);
+            precios[bloques - 1] = new double[TAMAÑO_BLOQUE];
+            productos[bloques - 1] = new Producto[TAMAÑO_BLOQUE];
+            int[][] nuevos = Arrays.copyOf(inventarios, bloques);
+            nuevos[bloques - 1] = new int[TAMAÑO_BLOQUE];
+            inventarios = nuevos;
+        }
+        ocupar(filas++, producto);
+    }
+
+    /**
+     * Deja como hueco la fila de un producto y compacta si hay demasiados.
+     * @param producto Producto que se retira del catálogo.
+     */
+    void quitar(Producto producto) {
+        int fila = producto.getFila();
+        precios[fila / TAMAÑO_BLOQUE][fila % TAMAÑO_BLOQUE] = 0.0;
+        productos[fila / TAMAÑO_BLOQUE][fila % TAMAÑO_BLOQUE] = null;
+        ENTERO.setVolatile(inventarios[fila / TAMAÑO_BLOQUE], fila % TAMAÑO_BLOQUE, HUECO);
+        huecos++;
+        if (huecos >= HUECOS_MINIMOS && huecos * 2 >= filas) {
+            compactar();
+        }
+    }
+
+    /**
+     * Copia el precio actual de un producto a su fila.
+     * @param producto Producto cuyo precio cambió.
+     */
+    void actualizarPrecio(Producto producto) {
+        int fila = producto.getFila();
+        precios[fila / TAMAÑO_BLOQUE][fila % TAMAÑO_BLOQUE] = producto.getPrecio();
+    }
+
+    /**
+     * Copia el inventario de un producto a una fila, repitiendo mientras el del producto
+     * cambie entre la escritura y la comprobación. No requiere bloqueo.
+     * @param fila Fila a escribir.
+     * @param producto Producto de la fila, o null para marcarla como hueco.
+     */
+    void escribirInventario(int fila, Producto producto) {
+        int[] bloque = inventarios[fila / TAMAÑO_BLOQUE];
+        if (producto == null) {
+            ENTERO.setVolatile(bloque, fila % TAMAÑO_BLOQUE, HUECO);
+            return;
+        }
+        int cantidad;
+        do {
+            cantidad = producto.getInventario();
+            ENTERO.setVolatile(bloque, fila % TAMAÑO_BLOQUE, cantidad);
+        } while (cantidad != producto.getInventario());
+    }
+
+    /**
+     * Obtiene el producto de una fila.
+     * Se llama con algún bloqueo del catálogo tomado.
+     * @param fila Fila a consultar.
+     * @return El producto, o null si la fila es un hueco o no está en uso.
+     */
+    Producto producto(int fila) {
+        return fila < filas ? productos[fila / TAMAÑO_BLOQUE][fila % TAMAÑO_BLOQUE] : null;
+    }
+
+    /**
+     * Agrega a una lista todos los productos, en orden de fila.
+     * Se llama con algún bloqueo del catálogo tomado.
+     * @param resultado Lista donde se agregan los productos.
+     */
+    void agregarTodos(List<Producto> resultado) {
+        for (int b = 0; b * TAMAÑO_BLOQUE < filas; b++) {
+            Producto[] objetos = productos[b];
+            int hasta = Math.min(TAMAÑO_BLOQUE, filas - b * TAMAÑO_BLOQUE);
+            for (int i = 0; i < hasta; i++) {
+                if (objetos[i] != null) {
+                    resultado.add(objetos[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Agrega a una lista los productos con inventario dentro de un rango, en orden de fila.
+     * Se llama con el bloqueo de lectura del catálogo tomado.
+     * @param minimo Inventario mínimo (inclusive).
+     * @param maximo Inventario máximo (inclusive).
+     * @param resultado Lista donde se agregan los productos.
+     */
+    void buscarPorInventario(int minimo, int maximo, List<Producto> resultado) {
+        minimo = Math.max(minimo, HUECO + 1);
+        int[][] columna = inventarios;
+        int[] encontradas = new int[Math.min(filas, TAMAÑO_BLOQUE)];
+        for (int b = 0; b * TAMAÑO_BLOQUE < filas; b++) {
+            int hasta = Math.min(TAMAÑO_BLOQUE, filas - b * TAMAÑO_BLOQUE);
+            int cantidad = RECORRIDO.filtrarInventario(columna[b], hasta, minimo, maximo, encontradas);
+            agregarFilas(b, encontradas, cantidad, resultado);
+        }
+    }
+
+    /**
+     * Agrega a una lista los productos con precio dentro de un rango, en orden de fila.
+     * Se llama con el bloqueo de lectura del catálogo tomado.
+     * @param minimo Precio mínimo (inclusive).
+     * @param maximo Precio máximo (inclusive).
+     * @param resultado Lista donde se agregan los productos.
+     */
+    void buscarPorPrecio(double minimo, double maximo, List<Producto> resultado) {
+        int[][] columna = inventarios;
+        int[] encontradas = new int[Math.min(filas, TAMAÑO_BLOQUE)];
+        for (int b = 0; b * TAMAÑO_BLOQUE < filas; b++) {
+            int hasta = Math.min(TAMAÑO_BLOQUE, filas - b * TAMAÑO_BLOQUE);
+            int cantidad = RECORRIDO.filtrarPrecio(precios[b], columna[b], hasta, minimo, maximo, encontradas);
+            agregarFilas(b, encontradas, cantidad, resultado);
+        }
+    }
+
+    /**
+     * Suma el precio por el inventario de todas las filas.
+     * Se llama con el bloqueo de lectura del catálogo tomado.
+     * @return Valor total del inventario.
+     */
+    double valorar() {
+        int[][] columna = inventarios;
+        double total = 0.0;
+        for (int b = 0; b * TAMAÑO_BLOQUE < filas; b++) {
+            total += RECORRIDO.valorar(precios[b], columna[b], Math.min(TAMAÑO_BLOQUE, filas - b * TAMAÑO_BLOQUE));
+        }
+        return total;
+    }
+
+    /**
+     * Agrega a una lista los productos de las filas encontradas en un bloque.
+     * @param bloque Número de bloque.
+     * @param encontradas Filas dentro del bloque.
+     * @param cantidad Cantidad de filas encontradas.
+     * @param resultado Lista donde se agregan los productos.
+     */
+    private void agregarFilas(int bloque, int[] encontradas, int cantidad, List<Producto> resultado) {
+        Producto[] objetos = productos[bloque];
+        for (int i = 0; i < cantidad; i++) {
+            resultado.add(objetos[encontradas[i]]);
+        }
+    }
+
+    /**
+     * Asigna una fila a un producto y copia sus datos.
+     * @param fila Fila a ocupar.
+     * @param producto Producto de la fila.
+     */
+    private void ocupar(int fila, Producto producto) {
+        precios[fila / TAMAÑO_BLOQUE][fila % TAMAÑO_BLOQUE] = producto.getPrecio();
+        productos[fila / TAMAÑO_BLOQUE][fila % TAMAÑO_BLOQUE] = producto;
+        producto.setFila(fila);
+        escribirInventario(fila, producto);
+    }
+
+    /**
+     * Mueve los productos hacia el principio para eliminar los huecos, conservando su orden.
+     * Los bloques no se liberan, porque una escritura de inventario sin bloqueo puede seguir
+     * usando una fila anterior.
+     */
+    private void compactar() {
+        int destino = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            Producto producto = productos[fila / TAMAÑO_BLOQUE][fila % TAMAÑO_BLOQUE];
+            if (producto != null && fila != destino) {
+                ocupar(destino, producto);
+            }
+            if (producto != null) {
+                destino++;
+            }
+        }
+        for (int fila = destino; fila < filas; fila++) {
+            productos[fila / TAMAÑO_BLOQUE][fila % TAMAÑO_BLOQUE] = null;
+            escribirInventario(fila, null);
+        }
+        filas = destino;
+        huecos = 0;
+    }
+}
@@ -0,0 +1,80 @@
+package modelo.producto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase que representa un filtro de productos por varias etiquetas.
+ * Un producto cumple el filtro si tiene todas las etiquetas requeridas,
+ * al menos una de las alternativas (si se indicó alguna) y ninguna de las excluidas.
+ * Por ejemplo, "Electrónica" y no "Hogar":
+ * {@code new FiltroEtiquetas().requerir(electronica).excluir(hogar)}.
+ */
+public class FiltroEtiquetas {
+    private ArrayList<Etiqueta> todas;
+    private ArrayList<Etiqueta> alguna;
+    private ArrayList<Etiqueta> ninguna;
+
+    /**
+     * Constructor que inicializa un filtro sin condiciones, que cumplen todos los productos.
+     */
+    public FiltroEtiquetas() {
+        this.todas = new ArrayList<>();
+        this.alguna = new ArrayList<>();
+        this.ninguna = new ArrayList<>();
+    }
+
+    /**
+     * Agrega una etiqueta que el producto debe tener (AND).
+     * @param etiqueta Etiqueta requerida.
+     * @return Este mismo filtro, para encadenar llamadas.
+     */
+    public FiltroEtiquetas requerir(Etiqueta etiqueta) {
+        if (etiqueta != null) {
+            todas.add(etiqueta);
+        }
+        return this;
+    }
+
+    /**
+     * Agrega una etiqueta alternativa; el producto debe tener al menos una de ellas (OR).
+     * @param etiqueta Etiqueta alternativa.
+     * @return Este mismo filtro, para encadenar llamadas.
+     */
+    public FiltroEtiquetas permitir(Etiqueta etiqueta) {
+        if (etiqueta != null) {
+            alguna.add(etiqueta);
+        }
+        return this;
+    }
+
+    /**
+     * Agrega una etiqueta que el producto no debe tener (NOT).
+     * @param etiqueta Etiqueta excluida.
+     * @return Este mismo filtro, para encadenar llamadas.
+     */
+    public FiltroEtiquetas excluir(Etiqueta etiqueta) {
+        if (etiqueta != null) {
+            ninguna.add(etiqueta);
+        }
+        return this;
+    }
+
+    /**
+     * Obtiene las etiquetas requeridas.
+     * @return Lista de etiquetas requeridas.
+     */
+    public List<Etiqueta> getTodas() { return todas; }
+
+    /**
+     * Obtiene las etiquetas alternativas.
+     * @return Lista de etiquetas alternativas.
+     */
+    public List<Etiqueta> getAlguna() { return alguna; }
+
+    /**
+     * Obtiene las etiquetas excluidas.
+     * @return Lista de etiquetas excluidas.
+     */
+    public List<Etiqueta> getNinguna() { return ninguna; }
+}
@@ -0,0 +1,167 @@
+package modelo.producto;
+
+import modelo.util.IntObjectMap;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Índices de solo lectura sobre los registros de un {@link CatalogoMapeado}, construidos sin crear productos.
+ * Guarda por cada etiqueta un {@link BitSet} con las posiciones que la tienen, las posiciones
+ * ordenadas por precio y las posiciones ordenadas por nombre normalizado.
+ * <p>
+ * Como la base no cambia, los índices tampoco: el {@link Catalogo} los construye la primera vez
+ * que una consulta los necesita y descarta con su propia máscara las posiciones ya cargadas o eliminadas.
+ * Los nombres no se copian; las búsquedas por prefijo los leen del archivo al comparar.
+ */
+final class IndiceBase {
+    private final CatalogoMapeado base;
+    private final IntObjectMap<BitSet> porEtiqueta;
+    private final int[] porPrecio;
+    private final int[] porNombre;
+
+    /**
+     * Constructor que recorre todos los registros de la base.
+     * @param base Productos de solo lectura a indexar.
+     */
+    IndiceBase(CatalogoMapeado base) {
+        this.base = base;
+        int tamaño = base.tamaño();
+        this.porEtiqueta = new IntObjectMap<>();
+        double[] precios = new double[tamaño];
+        String[] nombres = new String[tamaño];
+        for (int posicion = 0; posicion < tamaño; posicion++) {
+            for (int id : base.etiquetas(posicion)) {
+                BitSet conEtiqueta = porEtiqueta.get(id);
+                if (conEtiqueta == null) {
+                    conEtiqueta = new BitSet(tamaño);
+                    porEtiqueta.put(id, conEtiqueta);
+                }
+                conEtiqueta.set(posicion);
+            }
+            precios[posicion] = base.precio(posicion);
+            nombres[posicion] = Texto.normalizar(base.nombre(posicion));
+        }
+        this.porPrecio = ordenarPorPrecio(precios);
+        this.porNombre = ordenarPorNombre(nombres);
+    }
+
+    /**
+     * Obtiene las posiciones de la base con una etiqueta.
+     * @param idEtiqueta ID de la etiqueta.
+     * @return Conjunto de posiciones, que no debe modificarse; vacío si ninguna la tiene.
+     */
+    BitSet conEtiqueta(int idEtiqueta) {
+        BitSet conEtiqueta = porEtiqueta.get(idEtiqueta);
+        return conEtiqueta == null ? new BitSet() : conEtiqueta;
+    }
+
+    /**
+     * Obtiene la cantidad de posiciones del índice por precio.
+     * @return Cantidad de registros de la base.
+     */
+    int tamaño() {
+        return porPrecio.length;
+    }
+
+    /**
+     * Obtiene la posición en la base del registro con el lugar dado en el orden por precio.
+     * Los registros con el mismo precio están en orden de ID.
+     * @param indice Lugar en el orden por precio.
+     * @return Posición en la base.
+     */
+    int porPrecio(int indice) {
+        return porPrecio[indice];
+    }
+
+    /**
+     * Busca el primer lugar del orden por precio con precio mayor o igual al dado.
+     * @param precio Precio mínimo.
+     * @return El lugar, o {@link #tamaño()} si todos los precios son menores.
+     */
+    int primeroDesdePrecio(double precio) {
+        int desde = 0;
+        int hasta = porPrecio.length;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (Double.compare(base.precio(porPrecio[medio]), precio) < 0) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde;
+    }
+
+    /**
+     * Obtiene la posición en la base del registro con el lugar dado en el orden por nombre normalizado.
+     * Los registros con el mismo nombre están en orden de ID.
+     * @param indice Lugar en el orden por nombre.
+     * @return Posición en la base.
+     */
+    int porNombre(int indice) {
+        return porNombre[indice];
+    }
+
+    /**
+     * Busca el primer lugar del orden por nombre cuyo nombre normalizado es mayor o igual al dado.
+     * Los registros que empiezan con un prefijo normalizado quedan seguidos desde ese lugar.
+     * @param clave Nombre normalizado.
+     * @return El lugar, o la cantidad de registros si todos los nombres son menores.
+     */
+    int primeroDesdeNombre(String clave) {
+        int desde = 0;
+        int hasta = porNombre.length;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (Texto.normalizar(base.nombre(porNombre[medio])).compareTo(clave) < 0) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde;
+    }
+
+    /**
+     * Ordena las posiciones por precio y luego por posición, sin crear un objeto por registro:
+     * cada posición se combina con el lugar de su precio entre los precios distintos en un solo long.
+     */
+    private static int[] ordenarPorPrecio(double[] precios) {
+        double[] distintos = precios.clone();
+        Arrays.sort(distintos);
+        int cantidad = 0;
+        for (int i = 0; i < distintos.length; i++) {
+            if (cantidad == 0 || Double.compare(distintos[cantidad - 1], distintos[i]) != 0) {
+                distintos[cantidad++] = distintos[i];
+            }
+        }
+        long[] claves = new long[precios.length];
+        for (int posicion = 0; posicion < precios.length; posicion++) {
+            long lugar = Arrays.binarySearch(distintos, 0, cantidad, precios[posicion]);
+            claves[posicion] = lugar << 32 | posicion;
+        }
+        Arrays.sort(claves);
+        int[] posiciones = new int[claves.length];
+        for (int i = 0; i < claves.length; i++) {
+            posiciones[i] = (int) claves[i];
+        }
+        return posiciones;
+    }
+
+    private static int[] ordenarPorNombre(String[] nombres) {
+        Integer[] orden = new Integer[nombres.length];
+        for (int posicion = 0; posicion < nombres.length; posicion++) {
+            orden[posicion] = posicion;
+        }
+        Arrays.sort(orden, (a, b) -> {
+            int porNombre = nombres[a].compareTo(nombres[b]);
+            return porNombre != 0 ? porNombre : Integer.compare(a, b);
+        });
+        int[] posiciones = new int[orden.length];
+        for (int i = 0; i < orden.length; i++) {
+            posiciones[i] = orden[i];
+        }
+        return posiciones;
+    }
+}
@@ -0,0 +1,188 @@
+package modelo.producto;
+
+import modelo.util.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Índice invertido sobre el nombre y la descripción de los productos.
+ * Cada palabra normalizada apunta a los productos que la contienen junto con un peso:
+ * las palabras del nombre pesan más que las de la descripción.
+ * Las palabras se guardan ordenadas para resolver búsquedas por prefijo con un rango del mapa.
+ */
+class IndiceTexto {
+    private static final int PESO_NOMBRE = 3;
+    private static final int PESO_DESCRIPCION = 1;
+    private static final int BONO_EXACTO = 2;
+
+    private TreeMap<String, IntObjectMap<Aparicion>> palabras;
+
+    /**
+     * Constructor que inicializa un índice vacío.
+     */
+    IndiceTexto() {
+        this.palabras = new TreeMap<>();
+    }
+
+    /**
+     * Indexa el nombre y la descripción actuales de un producto.
+     * @param producto Producto a indexar.
+     */
+    void indexar(Producto producto) {
+        for (String token : Texto.tokenizar(producto.getNombre())) {
+            aparicion(token, producto).peso += PESO_NOMBRE;
+        }
+        for (String token : Texto.tokenizar(producto.getDescripcion())) {
+            aparicion(token, producto).peso += PESO_DESCRIPCION;
+        }
+    }
+
+    /**
+     * Quita del índice el nombre y la descripción actuales de un producto.
+     * Debe llamarse antes de cambiar esos textos.
+     * @param producto Producto a quitar.
+     */
+    void desindexar(Producto producto) {
+        quitar(Texto.tokenizar(producto.getNombre()), producto);
+        quitar(Texto.tokenizar(producto.getDescripcion()), producto);
+    }
+
+    /**
+     * Busca los productos que contienen todas las palabras de la consulta.
+     * Cada palabra de la consulta coincide con palabras completas o con palabras que empiezan por ella.
+     * @param consulta Texto de búsqueda.
+     * @param limite Cantidad máxima de resultados.
+     * @return Productos ordenados por relevancia descendente, luego por nombre e ID.
+     */
+    List<Producto> buscar(String consulta, int limite) {
+        List<String> terminos = Texto.tokenizar(consulta);
+        List<Producto> resultado = new ArrayList<>();
+        if (terminos.isEmpty() || limite < 1) {
+            return resultado;
+        }
+        IntObjectMap<Puntaje> puntajes = null;
+        for (String termino : terminos) {
+            IntObjectMap<Puntaje> delTermino = puntuar(termino);
+            if (puntajes == null) {
+                puntajes = delTermino;
+            } else {
+                // Solo sobreviven los productos que coinciden con todos los términos
+                IntObjectMap<Puntaje> interseccion = new IntObjectMap<>();
+                IntObjectMap<Puntaje> anteriores = puntajes;
+                delTermino.forEach((id, puntaje) -> {
+                    Puntaje previo = anteriores.get(id);
+                    if (previo != null) {
+                        previo.valor += puntaje.valor;
+                        interseccion.put(id, previo);
+                    }
+                });
+                puntajes = interseccion;
+            }
+            if (puntajes.isEmpty()) {
+                return resultado;
+            }
+        }
+        List<Puntaje> ordenados = new ArrayList<>(puntajes.size());
+        puntajes.forEach((id, puntaje) -> ordenados.add(puntaje));
+        ordenados.sort(Comparator.comparingInt((Puntaje p) -> -p.valor)
+                .thenComparing(p -> p.producto.getNombre(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparingInt(p -> p.producto.getId()));
+        for (int i = 0; i < ordenados.size() && i < limite; i++) {
+            resultado.add(ordenados.get(i).producto);
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula la relevancia de un nombre y una descripción para una consulta sin indexarlos,
+     * con los mismos pesos que {@link #buscar(String, int)}. Sirve para los productos que no están en el índice.
+     * @param terminos Palabras normalizadas de la consulta, obtenidas con {@link Texto#tokenizar(String)}.
+     * @param nombre Nombre del producto.
+     * @param descripcion Descripción del producto.
+     * @return La relevancia, o 0 si algún término no coincide.
+     */
+    static int puntuar(List<String> terminos, String nombre, String descripcion) {
+        Map<String, Integer> pesos = new HashMap<>();
+        for (String token : Texto.tokenizar(nombre)) {
+            pesos.merge(token, PESO_NOMBRE, Integer::sum);
+        }
+        for (String token : Texto.tokenizar(descripcion)) {
+            pesos.merge(token, PESO_DESCRIPCION, Integer::sum);
+        }
+        int total = 0;
+        for (String termino : terminos) {
+            int mejor = 0;
+            for (Map.Entry<String, Integer> entrada : pesos.entrySet()) {
+                if (entrada.getKey().startsWith(termino)) {
+                    int bono = entrada.getKey().equals(termino) ? BONO_EXACTO : 1;
+                    mejor = Math.max(mejor, entrada.getValue() * bono);
+                }
+            }
+            if (mejor == 0) {
+                return 0;
+            }
+            total += mejor;
+        }
+        return total;
+    }
+
+    private IntObjectMap<Puntaje> puntuar(String termino) {
+        IntObjectMap<Puntaje> puntajes = new IntObjectMap<>();
+        for (Map.Entry<String, IntObjectMap<Aparicion>> entrada : palabras.subMap(termino, true, termino + Character.MAX_VALUE, true).entrySet()) {
+            int bono = entrada.getKey().equals(termino) ? BONO_EXACTO : 1;
+            entrada.getValue().forEach((id, aparicion) -> {
+                Puntaje puntaje = puntajes.get(id);
+                if (puntaje == null) {
+                    puntaje = new Puntaje(aparicion.producto);
+                    puntajes.put(id, puntaje);
+                }
+                puntaje.valor = Math.max(puntaje.valor, aparicion.peso * bono);
+            });
+        }
+        return puntajes;
+    }
+
+    private Aparicion aparicion(String token, Producto producto) {
+        IntObjectMap<Aparicion> conPalabra = palabras.computeIfAbsent(token, t -> new IntObjectMap<>());
+        Aparicion aparicion = conPalabra.get(producto.getId());
+        if (aparicion == null) {
+            aparicion = new Aparicion(producto);
+            conPalabra.put(producto.getId(), aparicion);
+        }
+        return aparicion;
+    }
+
+    private void quitar(List<String> tokens, Producto producto) {
+        for (String token : tokens) {
+            IntObjectMap<Aparicion> conPalabra = palabras.get(token);
+            if (conPalabra != null && conPalabra.remove(producto.getId()) != null && conPalabra.isEmpty()) {
+                palabras.remove(token);
+            }
+        }
+    }
+
+    /** Aparición de una palabra en un producto, con su peso acumulado por campo. */
+    private static class Aparicion {
+        private final Producto producto;
+        private int peso;
+
+        Aparicion(Producto producto) {
+            this.producto = producto;
+        }
+    }
+
+    /** Puntaje de relevancia de un producto durante una búsqueda. */
+    private static class Puntaje {
+        private final Producto producto;
+        private int valor;
+
+        Puntaje(Producto producto) {
+            this.producto = producto;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package modelo.producto;
+
+/**
+ * Contador de unidades en inventario de un producto, seguro para varios hilos.
+ * Hay dos implementaciones: {@link InventarioAtomico}, un único contador para el caso general,
+ * e {@link InventarioSegmentado}, que reparte el stock en varios contadores para productos muy demandados.
+ */
+interface Inventario {
+    /**
+     * Obtiene la cantidad disponible. En la versión segmentada es una suma aproximada
+     * si hay reservas en curso.
+     * @return Cantidad en inventario.
+     */
+    int obtener();
+
+    /**
+     * Reemplaza la cantidad disponible sin importar el valor anterior.
+     * Las unidades que otros hilos sumen o descuenten al mismo tiempo se aplican antes o después
+     * del reemplazo, nunca se pierden, así la cantidad final es la anterior más
+     * {@code cantidad - anterior} más esos cambios.
+     * @param cantidad La nueva cantidad.
+     * @return La cantidad que había justo antes del reemplazo.
+     */
+    int establecer(int cantidad);
+
+    /**
+     * Deja el inventario en cero y devuelve lo que tenía, para pasarlo a otro contador.
+     * Las unidades que otros hilos sumen al mismo tiempo quedan en este inventario o en lo devuelto, nunca se pierden.
+     * @return La cantidad que había, que puede ser negativa.
+     */
+    int vaciar();
+
+    /**
+     * Suma una diferencia al inventario sin validarla; puede dejarlo negativo.
+     * @param diferencia Unidades a sumar, o a descontar si es negativa.
+     */
+    void ajustar(int diferencia);
+
+    /**
+     * Descuenta unidades solo si hay suficientes.
+     * @param cantidad Cantidad positiva a descontar.
+     * @return true si se descontó.
+     */
+    boolean reservar(int cantidad);
+
+    /**
+     * Suma unidades al inventario.
+     * @param cantidad Cantidad positiva a sumar.
+     * @return true si se sumó, false si el inventario se desbordaría.
+     */
+    boolean reponer(int cantidad);
+}
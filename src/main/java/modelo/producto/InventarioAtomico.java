@@ -0,0 +1,62 @@
+package modelo.producto;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inventario guardado en un único contador atómico que se modifica con compare-and-set.
+ */
+class InventarioAtomico implements Inventario {
+    private final AtomicInteger cantidad;
+
+    /**
+     * Constructor que inicializa el inventario con una cantidad.
+     * @param cantidad Cantidad inicial.
+     */
+    InventarioAtomico(int cantidad) {
+        this.cantidad = new AtomicInteger(cantidad);
+    }
+
+    @Override
+    public int obtener() {
+        return cantidad.get();
+    }
+
+    @Override
+    public int establecer(int cantidad) {
+        return this.cantidad.getAndSet(cantidad);
+    }
+
+    @Override
+    public int vaciar() {
+        return cantidad.getAndSet(0);
+    }
+
+    @Override
+    public void ajustar(int diferencia) {
+        cantidad.addAndGet(diferencia);
+    }
+
+    @Override
+    public boolean reservar(int unidades) {
+        int actual;
+        do {
+            actual = cantidad.get();
+            if (actual < unidades) {
+                return false;
+            }
+        } while (!cantidad.compareAndSet(actual, actual - unidades));
+        return true;
+    }
+
+    @Override
+    public boolean reponer(int unidades) {
+        int actual;
+        do {
+            actual = cantidad.get();
+            if (actual > Integer.MAX_VALUE - unidades) {
+                return false;
+            }
+        } while (!cantidad.compareAndSet(actual, actual + unidades));
+        return true;
+    }
+}
@@ -0,0 +1,130 @@
+package modelo.producto;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Inventario repartido en varios segmentos, cada uno con su propio presupuesto de unidades.
+ * Cada hilo descuenta primero de su segmento, así las compras simultáneas de un producto
+ * muy demandado no compiten por el mismo contador. Si su segmento no alcanza, toma prestadas
+ * unidades de los demás; si ni así alcanza, devuelve lo tomado y la reserva falla.
+ * <p>
+ * Los contadores están separados en el arreglo para que no compartan línea de caché.
+ */
+class InventarioSegmentado implements Inventario {
+    /** Distancia entre contadores en el arreglo: 16 enteros son 64 bytes, una línea de caché. */
+    private static final int SEPARACION = 16;
+
+    private final AtomicIntegerArray segmentos;
+    private final int cantidadSegmentos;
+
+    /**
+     * Constructor que reparte una cantidad inicial entre los segmentos.
+     * @param cantidad Cantidad inicial.
+     * @param cantidadSegmentos Número de segmentos; se redondea a la potencia de 2 siguiente.
+     */
+    InventarioSegmentado(int cantidad, int cantidadSegmentos) {
+        this.cantidadSegmentos = Integer.highestOneBit(Math.max(1, cantidadSegmentos - 1)) << 1;
+        this.segmentos = new AtomicIntegerArray(this.cantidadSegmentos * SEPARACION);
+        repartir(cantidad);
+    }
+
+    /**
+     * Obtiene el número de segmentos del inventario.
+     * @return Cantidad de segmentos.
+     */
+    int getCantidadSegmentos() {
+        return cantidadSegmentos;
+    }
+
+    /**
+     * Suma los segmentos sin bloquearlos; con reservas en curso el resultado es aproximado.
+     */
+    @Override
+    public int obtener() {
+        long total = 0;
+        for (int i = 0; i < cantidadSegmentos; i++) {
+            total += segmentos.get(i * SEPARACION);
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Vacía cada segmento y reparte la cantidad nueva en partes iguales; el resto queda en el primer segmento.
+     * Vacía y suma con incrementos atómicos, así las reservas simultáneas descuentan de lo anterior o de lo nuevo.
+     */
+    @Override
+    public int establecer(int cantidad) {
+        int anterior = vaciar();
+        repartir(cantidad);
+        return anterior;
+    }
+
+    @Override
+    public int vaciar() {
+        long total = 0;
+        for (int i = 0; i < cantidadSegmentos; i++) {
+            total += segmentos.getAndSet(i * SEPARACION, 0);
+        }
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(total, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public void ajustar(int diferencia) {
+        segmentos.addAndGet(segmentoActual() * SEPARACION, diferencia);
+    }
+
+    @Override
+    public boolean reservar(int unidades) {
+        int propio = segmentoActual();
+        int tomadas = tomar(propio, unidades);
+        for (int i = 1; i < cantidadSegmentos && tomadas < unidades; i++) {
+            tomadas += tomar((propio + i) & (cantidadSegmentos - 1), unidades - tomadas);
+        }
+        if (tomadas < unidades) {
+            if (tomadas > 0) {
+                segmentos.addAndGet(propio * SEPARACION, tomadas);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean reponer(int unidades) {
+        if ((long) obtener() + unidades > Integer.MAX_VALUE) {
+            return false;
+        }
+        segmentos.addAndGet(segmentoActual() * SEPARACION, unidades);
+        return true;
+    }
+
+    /** Suma una cantidad repartida en partes iguales entre los segmentos; el resto va al primero. */
+    private void repartir(int cantidad) {
+        int parte = cantidad / cantidadSegmentos;
+        segmentos.addAndGet(0, parte + cantidad % cantidadSegmentos);
+        for (int i = 1; i < cantidadSegmentos; i++) {
+            segmentos.addAndGet(i * SEPARACION, parte);
+        }
+    }
+
+    /** Descuenta de un segmento hasta la cantidad pedida y devuelve cuántas unidades tomó. */
+    private int tomar(int segmento, int maximo) {
+        int posicion = segmento * SEPARACION;
+        int actual;
+        int tomadas;
+        do {
+            actual = segmentos.get(posicion);
+            if (actual <= 0) {
+                return 0;
+            }
+            tomadas = Math.min(actual, maximo);
+        } while (!segmentos.compareAndSet(posicion, actual, actual - tomadas));
+        return tomadas;
+    }
+
+    /** Elige el segmento del hilo actual mezclando los bits de su ID. */
+    private int segmentoActual() {
+        long h = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (cantidadSegmentos - 1);
+    }
+}
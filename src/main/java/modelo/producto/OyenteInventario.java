@@ -0,0 +1,24 @@
+package modelo.producto;
+
+/**
+ * Interfaz que reciben los suscriptores a las alertas de inventario de un {@link Catalogo}.
+ * Se llama en el hilo que cambió el inventario o el umbral, o que agregó el producto al catálogo;
+ * debe ser breve y no lanzar excepciones.
+ */
+public interface OyenteInventario {
+    /**
+     * Avisa que el inventario de un producto bajó de su umbral de reposición.
+     * @param producto Producto con inventario bajo.
+     * @param inventario Inventario del producto al detectarse el cruce.
+     */
+    void inventarioBajo(Producto producto, int inventario);
+
+    /**
+     * Avisa que el inventario de un producto con alerta volvió a alcanzar su umbral de reposición.
+     * Por defecto no hace nada.
+     * @param producto Producto repuesto.
+     * @param inventario Inventario del producto al detectarse el cruce.
+     */
+    default void inventarioRepuesto(Producto producto, int inventario) {
+    }
+}
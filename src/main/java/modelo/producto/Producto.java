@@ -1,17 +1,43 @@
 package modelo.producto;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Clase que representa un producto en el catálogo.
+ * El inventario se guarda en un contador atómico: {@link #reservar(int)} y {@link #reponer(int)}
+ * lo modifican con compare-and-set, así varias sesiones pueden comprar el mismo producto
+ * a la vez sin perder actualizaciones ni vender más unidades de las que hay.
+ * Para productos muy demandados el inventario puede repartirse en segmentos
+ * con {@link #configurarSegmentosInventario(int)}, aun con compras en curso.
+ * <p>
+ * Los cambios que afectan los índices del catálogo (nombre, descripción, precio y etiquetas)
+ * se hacen con el bloqueo de escritura del catálogo tomado, para que las búsquedas
+ * de otras sesiones nunca vean un índice a medio actualizar.
  */
 public class Producto {
+    /** Umbral de reposición de un producto nuevo: tiene alerta con menos de 5 unidades. */
+    public static final int UMBRAL_REPOSICION_PREDETERMINADO = 5;
+
     private int id;
-    private String nombre;
-    private String descripcion;
-    private double precio;
-    private ArrayList<Etiqueta> etiquetas;
-    private int inventario;
+    private volatile String nombre;
+    private volatile String descripcion;
+    private volatile double precio;
+    private CopyOnWriteArrayList<Etiqueta> etiquetas;
+    private volatile Inventario inventario;
+    /** Cuenta los cambios de contador: es impar mientras se pasa el inventario de un contador a otro. */
+    private volatile int migracion;
+    private volatile Catalogo catalogo;
+    private int ordinal;
+    private volatile int fila;
+    private final AtomicInteger popularidad = new AtomicInteger();
+    /** Popularidad con la que está ordenado en las sugerencias; protegida por el bloqueo del {@link Autocompletado}. */
+    private int popularidadSugerencias;
+    private volatile int umbralReposicion = UMBRAL_REPOSICION_PREDETERMINADO;
 
     /**
      * Constructor que inicializa un producto con un ID.
@@ -22,8 +48,8 @@ public class Producto {
         this.nombre = null;
         this.descripcion = null;
         this.precio = 0.0;
-        this.etiquetas = new ArrayList<Etiqueta>();
-        this.inventario = 0;
+        this.etiquetas = new CopyOnWriteArrayList<Etiqueta>();
+        this.inventario = new InventarioAtomico(0);
     }
 
     /**
@@ -39,8 +65,8 @@ public class Producto {
         this.nombre = nombre;
         this.descripcion = descripcion;
         this.precio = precio;
-        this.etiquetas = new ArrayList<Etiqueta>();
-        this.inventario = inventario;
+        this.etiquetas = new CopyOnWriteArrayList<Etiqueta>();
+        this.inventario = new InventarioAtomico(inventario);
     }
 
     /**
@@ -57,8 +83,8 @@ public class Producto {
         this.nombre = nombre;
         this.descripcion = descripcion;
         this.precio = precio;
-        this.etiquetas = etiquetas;
-        this.inventario = inventario;
+        this.etiquetas = new CopyOnWriteArrayList<Etiqueta>(etiquetas);
+        this.inventario = new InventarioAtomico(inventario);
     }
 
     /**
@@ -71,9 +97,14 @@ public class Producto {
 
     /**
      * Establece el ID del producto.
+     * Solo puede cambiarse antes de agregarlo a un catálogo, que lo indexa por su ID.
      * @param id El nuevo ID.
+     * @throws IllegalStateException Si el producto pertenece a un catálogo.
      */
     public void setId(int id) {
+        if (catalogo != null) {
+            throw new IllegalStateException("No se puede cambiar el ID de un producto del catálogo");
+        }
         this.id = id;
     }
 
@@ -90,7 +121,20 @@ public class Producto {
      * @param nombre El nuevo nombre.
      */
     public void setNombre(String nombre) {
-        this.nombre = nombre;
+        Lock bloqueo = bloquearCatalogo();
+        if (bloqueo == null) {
+            this.nombre = nombre;
+            return;
+        }
+        try {
+            catalogo.desindexarTexto(this);
+            catalogo.desindexarNombre(this);
+            this.nombre = nombre;
+            catalogo.indexarTexto(this);
+            catalogo.indexarNombre(this);
+        } finally {
+            bloqueo.unlock();
+        }
     }
 
     /**
@@ -106,7 +150,18 @@ public class Producto {
      * @param descripcion La nueva descripción.
      */
     public void setDescripcion(String descripcion) {
-        this.descripcion = descripcion;
+        Lock bloqueo = bloquearCatalogo();
+        if (bloqueo == null) {
+            this.descripcion = descripcion;
+            return;
+        }
+        try {
+            catalogo.desindexarTexto(this);
+            this.descripcion = descripcion;
+            catalogo.indexarTexto(this);
+        } finally {
+            bloqueo.unlock();
+        }
     }
 
     /**
@@ -122,15 +177,28 @@ public class Producto {
      * @param precio El nuevo precio.
      */
     public void setPrecio(double precio) {
-        this.precio = precio;
+        Lock bloqueo = bloquearCatalogo();
+        if (bloqueo == null) {
+            this.precio = precio;
+            return;
+        }
+        try {
+            catalogo.desindexarPrecio(this);
+            this.precio = precio;
+            catalogo.indexarPrecio(this);
+        } finally {
+            bloqueo.unlock();
+        }
     }
 
     /**
      * Obtiene la lista de etiquetas del producto.
+     * La lista es de solo lectura; para modificarla se usan {@link #agregarEtiqueta(Etiqueta)}
+     * y {@link #eliminarEtiqueta(Etiqueta)}, que mantienen actualizado el índice del catálogo.
      * @return Lista de etiquetas.
      */
-    public ArrayList<Etiqueta> getEtiquetas() {
-        return etiquetas;
+    public List<Etiqueta> getEtiquetas() {
+        return Collections.unmodifiableList(etiquetas);
     }
 
     /**
@@ -138,33 +206,319 @@ public class Producto {
      * @return La cantidad en inventario.
      */
     public int getInventario() {
-        return inventario;
+        return inventario.obtener();
     }
 
     /**
      * Actualiza la cantidad en inventario del producto.
+     * Reemplaza el valor sin importar el anterior; para descontar o sumar unidades
+     * deben usarse {@link #reservar(int)} y {@link #reponer(int)}.
      * @param cantidad La nueva cantidad.
+     * @return Diferencia entre la nueva cantidad y la que había, que es lo que se anota en el diario.
+     */
+    public synchronized int actualizarInventario(int cantidad) {
+        int anterior = this.inventario.establecer(cantidad);
+        avisarInventario();
+        return cantidad - anterior;
+    }
+
+    /**
+     * Suma una diferencia al inventario sin validarla, aunque lo deje negativo.
+     * Lo usan la recuperación, que repite cambios ya validados en el orden del diario,
+     * y los cambios que se deshacen porque no se pudieron anotar.
+     * @param diferencia Unidades a sumar, o a descontar si es negativa.
+     */
+    public void ajustarInventario(int diferencia) {
+        int version = migracion;
+        Inventario usado = inventario;
+        usado.ajustar(diferencia);
+        if (version != migracion || (version & 1) != 0) {
+            terminarMigracion(usado);
+        }
+        avisarInventario();
+    }
+
+    /**
+     * Descuenta unidades del inventario solo si hay suficientes, de forma atómica.
+     * @param cantidad Cantidad a reservar; debe ser positiva.
+     * @return true si se descontó, false si la cantidad no es válida o no hay inventario suficiente.
+     */
+    public boolean reservar(int cantidad) {
+        if (cantidad <= 0) {
+            return false;
+        }
+        int version = migracion;
+        Inventario usado = inventario;
+        boolean reservado = usado.reservar(cantidad);
+        if (version != migracion || (version & 1) != 0) {
+            // Una migración pudo dejar el contador usado vacío antes de pasar sus unidades al nuevo
+            terminarMigracion(usado);
+            if (!reservado) {
+                reservado = inventario.reservar(cantidad);
+            }
+        }
+        if (!reservado) {
+            return false;
+        }
+        avisarInventario();
+        return true;
+    }
+
+    /**
+     * Suma unidades al inventario de forma atómica.
+     * @param cantidad Cantidad a reponer; debe ser positiva.
+     * @return true si se sumó, false si la cantidad no es válida o el inventario se desbordaría.
+     */
+    public boolean reponer(int cantidad) {
+        if (cantidad <= 0) {
+            return false;
+        }
+        int version = migracion;
+        Inventario usado = inventario;
+        boolean repuesto = usado.reponer(cantidad);
+        if (version != migracion || (version & 1) != 0) {
+            terminarMigracion(usado);
+        }
+        if (!repuesto) {
+            return false;
+        }
+        avisarInventario();
+        return true;
+    }
+
+    /**
+     * Configura en cuántos segmentos se reparte el inventario del producto.
+     * Con varios segmentos, las reservas simultáneas descuentan de contadores distintos
+     * y toman prestado de los demás cuando el propio se agota; a cambio,
+     * {@link #getInventario()} pasa a ser una suma aproximada mientras haya reservas en curso.
+     * <p>
+     * Conserva la cantidad actual aunque haya reservas en curso: instala el contador nuevo y le pasa
+     * lo que queda en el anterior. Las operaciones que se cruzan con la migración lo notan por
+     * {@code migracion}, esperan a que termine y pasan al contador nuevo lo que hayan dejado en el anterior;
+     * una reserva que falló porque el anterior ya estaba vacío se reintenta en el nuevo.
+     * Las demás no se bloquean.
+     * @param segmentos Número de segmentos (se redondea a potencia de 2); 1 o menos vuelve al contador único.
+     */
+    public synchronized void configurarSegmentosInventario(int segmentos) {
+        Inventario anterior = inventario;
+        migracion++;
+        try {
+            inventario = segmentos > 1 ? new InventarioSegmentado(0, segmentos) : new InventarioAtomico(0);
+            inventario.ajustar(anterior.vaciar());
+        } finally {
+            migracion++;
+        }
+    }
+
+    /**
+     * Espera a que termine la migración que se cruzó con una operación y pasa al contador actual
+     * las unidades que la operación haya dejado en el anterior.
+     * @param usado Contador sobre el que se hizo la operación.
+     */
+    private synchronized void terminarMigracion(Inventario usado) {
+        if (usado != inventario) {
+            int resto = usado.vaciar();
+            if (resto != 0) {
+                inventario.ajustar(resto);
+            }
+        }
+    }
+
+    /**
+     * Obtiene en cuántos segmentos está repartido el inventario del producto.
+     * @return Número de segmentos; 1 si usa un contador único.
+     */
+    public int getSegmentosInventario() {
+        Inventario actual = inventario;
+        return actual instanceof InventarioSegmentado segmentado ? segmentado.getCantidadSegmentos() : 1;
+    }
+
+    /**
+     * Obtiene la popularidad del producto: cuántas veces se agregó a un pedido.
+     * @return La popularidad del producto.
+     */
+    public int getPopularidad() {
+        return popularidad.get();
+    }
+
+    /**
+     * Establece la popularidad de un producto, por ejemplo al cargarlo de una instantánea.
+     * Solo tiene efecto si el producto todavía no está en un catálogo, para no desordenar sus sugerencias.
+     * @param popularidad Veces que el producto se agregó a un pedido.
+     */
+    public void setPopularidad(int popularidad) {
+        if (catalogo == null) {
+            this.popularidad.set(popularidad);
+        }
+    }
+
+    /**
+     * Obtiene el umbral de reposición: el producto tiene alerta de inventario bajo
+     * mientras su inventario es menor que este valor.
+     * @return El umbral de reposición.
+     */
+    public int getUmbralReposicion() {
+        return umbralReposicion;
+    }
+
+    /**
+     * Establece el umbral de reposición y actualiza la alerta del producto en su catálogo.
+     * @param umbralReposicion El nuevo umbral; 0 desactiva la alerta.
+     */
+    public void setUmbralReposicion(int umbralReposicion) {
+        this.umbralReposicion = umbralReposicion;
+        Catalogo actual = catalogo;
+        if (actual != null) {
+            actual.revisarAlerta(this);
+        }
+    }
+
+    /**
+     * Suma una aparición en pedidos a la popularidad del producto, sin bloquear el catálogo.
+     */
+    void aumentarPopularidad() {
+        popularidad.incrementAndGet();
+    }
+
+    /**
+     * Obtiene la popularidad con la que el producto está ordenado en las sugerencias de autocompletado,
+     * que puede ser menor que la actual hasta que el árbol aplique los aumentos pendientes.
+     * @return La popularidad usada para ordenar.
      */
-    public void actualizarInventario(int cantidad) {
-        this.inventario = cantidad;
+    int getPopularidadSugerencias() {
+        return popularidadSugerencias;
+    }
+
+    /**
+     * Copia la popularidad actual a la que se usa para ordenar las sugerencias.
+     * Se llama con el bloqueo del {@link Autocompletado} tomado.
+     */
+    void actualizarPopularidadSugerencias() {
+        popularidadSugerencias = popularidad.get();
     }
 
     /**
      * Agrega una etiqueta al producto.
      * @param etiqueta La etiqueta a agregar.
+     * @return true si se agregó, false si es nula o el producto ya la tenía.
      */
-    public void agregarEtiqueta(Etiqueta etiqueta) {
-        if (!etiquetas.contains(etiqueta)) {
-            etiquetas.add(etiqueta);
+    public boolean agregarEtiqueta(Etiqueta etiqueta) {
+        if (etiqueta == null) {
+            return false;
+        }
+        Lock bloqueo = bloquearCatalogo();
+        if (bloqueo == null) {
+            return etiquetas.addIfAbsent(etiqueta);
+        }
+        try {
+            if (!etiquetas.addIfAbsent(etiqueta)) {
+                return false;
+            }
+            catalogo.indexarEtiqueta(this, etiqueta);
+            return true;
+        } finally {
+            bloqueo.unlock();
         }
     }
 
     /**
      * Elimina una etiqueta del producto.
      * @param etiqueta La etiqueta a eliminar.
+     * @return true si se eliminó, false si el producto no la tenía.
+     */
+    public boolean eliminarEtiqueta(Etiqueta etiqueta) {
+        Lock bloqueo = bloquearCatalogo();
+        if (bloqueo == null) {
+            return etiquetas.remove(etiqueta);
+        }
+        try {
+            if (!etiquetas.remove(etiqueta)) {
+                return false;
+            }
+            catalogo.desindexarEtiqueta(this, etiqueta);
+            return true;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el catálogo al que pertenece el producto.
+     * @return El catálogo, o null si el producto no está en ninguno.
+     */
+    Catalogo getCatalogo() {
+        return catalogo;
+    }
+
+    /**
+     * Registra el catálogo al que pertenece el producto para avisarle de los cambios.
+     * @param catalogo El catálogo, o null al retirarlo.
+     */
+    void setCatalogo(Catalogo catalogo) {
+        this.catalogo = catalogo;
+    }
+
+    /**
+     * Avisa al catálogo que cambió el inventario, para que actualice su columna de inventario.
+     * No toma el bloqueo del catálogo.
+     */
+    private void avisarInventario() {
+        Catalogo actual = catalogo;
+        if (actual != null) {
+            actual.inventarioCambiado(this);
+        }
+    }
+
+    /**
+     * Toma el bloqueo de escritura del catálogo al que pertenece el producto.
+     * Si el producto cambia de catálogo mientras espera, lo intenta con el nuevo.
+     * @return El bloqueo tomado, o null si el producto no está en ningún catálogo.
+     */
+    private Lock bloquearCatalogo() {
+        while (true) {
+            Catalogo actual = catalogo;
+            if (actual == null) {
+                return null;
+            }
+            Lock bloqueo = actual.getBloqueoEscritura();
+            bloqueo.lock();
+            if (catalogo == actual) {
+                return bloqueo;
+            }
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Obtiene la posición densa que el catálogo asignó al producto en sus índices.
+     * @return El ordinal del producto.
+     */
+    int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Establece la posición densa del producto en los índices del catálogo.
+     * @param ordinal El nuevo ordinal.
+     */
+    void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * Obtiene la fila del producto en las columnas del catálogo.
+     * @return La fila del producto.
+     */
+    int getFila() {
+        return fila;
+    }
+
+    /**
+     * Establece la fila del producto en las columnas del catálogo.
+     * @param fila La nueva fila.
      */
-    public void eliminarEtiqueta(Etiqueta etiqueta) {
-        this.etiquetas.remove(etiqueta);
+    void setFila(int fila) {
+        this.fila = fila;
     }
 
     /**
@@ -173,6 +527,6 @@ public class Producto {
      */
     @Override
     public String toString() {
-        return "Id:" + id + ", Nombre:'" + nombre + "', Precio:" + precio + ", Inventario:" + inventario + "}";
+        return "Id:" + id + ", Nombre:'" + nombre + "', Precio:" + precio + ", Inventario:" + inventario.obtener() + "}";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package modelo.producto;
+
+/**
+ * Recorridos sobre un bloque de las columnas de {@link ColumnasProductos}.
+ * Hay dos implementaciones: {@link RecorridoVectorial}, que compara varias filas por instrucción
+ * con la API de vectores de Java, y {@link RecorridoEscalar}, fila por fila, que se usa cuando
+ * el módulo {@code jdk.incubator.vector} no está habilitado.
+ * <p>
+ * Las filas con inventario {@link ColumnasProductos#HUECO} tienen precio 0, así no suman al valor
+ * del inventario; los filtros de precio las excluyen explícitamente.
+ */
+interface RecorridoColumnas {
+    /**
+     * Busca las filas con inventario dentro de un rango.
+     * @param inventarios Bloque de la columna de inventario.
+     * @param hasta Cantidad de filas del bloque a recorrer.
+     * @param minimo Inventario mínimo (inclusive); debe ser mayor que {@link ColumnasProductos#HUECO}.
+     * @param maximo Inventario máximo (inclusive).
+     * @param filas Arreglo donde se escriben, en orden, las filas que cumplen.
+     * @return Cantidad de filas escritas.
+     */
+    int filtrarInventario(int[] inventarios, int hasta, int minimo, int maximo, int[] filas);
+
+    /**
+     * Busca las filas con precio dentro de un rango, sin incluir los huecos.
+     * @param precios Bloque de la columna de precio.
+     * @param inventarios Bloque de la columna de inventario, para reconocer los huecos.
+     * @param hasta Cantidad de filas del bloque a recorrer.
+     * @param minimo Precio mínimo (inclusive).
+     * @param maximo Precio máximo (inclusive).
+     * @param filas Arreglo donde se escriben, en orden, las filas que cumplen.
+     * @return Cantidad de filas escritas.
+     */
+    int filtrarPrecio(double[] precios, int[] inventarios, int hasta, double minimo, double maximo, int[] filas);
+
+    /**
+     * Suma el precio por el inventario de las filas de un bloque.
+     * @param precios Bloque de la columna de precio.
+     * @param inventarios Bloque de la columna de inventario.
+     * @param hasta Cantidad de filas del bloque a recorrer.
+     * @return Suma de precio × inventario.
+     */
+    double valorar(double[] precios, int[] inventarios, int hasta);
+
+    /**
+     * Elige el recorrido vectorial si el módulo de vectores está habilitado, o el escalar si no.
+     * @return El recorrido a usar.
+     */
+    static RecorridoColumnas elegir() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Por reflexión, para no cargar las clases de vectores si el módulo no está
+                return (RecorridoColumnas) Class.forName("modelo.producto.RecorridoVectorial")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return new RecorridoEscalar();
+            }
+        }
+        return new RecorridoEscalar();
+    }
+}
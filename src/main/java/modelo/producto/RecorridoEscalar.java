@@ -0,0 +1,39 @@
+package modelo.producto;
+
+/**
+ * Recorrido de las columnas fila por fila, sin instrucciones vectoriales.
+ */
+final class RecorridoEscalar implements RecorridoColumnas {
+    @Override
+    public int filtrarInventario(int[] inventarios, int hasta, int minimo, int maximo, int[] filas) {
+        int cantidad = 0;
+        for (int i = 0; i < hasta; i++) {
+            int inventario = inventarios[i];
+            if (inventario >= minimo && inventario <= maximo) {
+                filas[cantidad++] = i;
+            }
+        }
+        return cantidad;
+    }
+
+    @Override
+    public int filtrarPrecio(double[] precios, int[] inventarios, int hasta, double minimo, double maximo, int[] filas) {
+        int cantidad = 0;
+        for (int i = 0; i < hasta; i++) {
+            double precio = precios[i];
+            if (precio >= minimo && precio <= maximo && inventarios[i] != ColumnasProductos.HUECO) {
+                filas[cantidad++] = i;
+            }
+        }
+        return cantidad;
+    }
+
+    @Override
+    public double valorar(double[] precios, int[] inventarios, int hasta) {
+        double total = 0.0;
+        for (int i = 0; i < hasta; i++) {
+            total += precios[i] * inventarios[i];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,96 @@
+package modelo.producto;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Recorrido de las columnas con la API de vectores: cada instrucción compara o multiplica
+ * tantas filas como carriles tenga el tamaño de vector preferido del procesador.
+ * Las filas que cumplen un filtro se obtienen de los bits de la máscara de comparación,
+ * y las que no llenan un vector completo al final del bloque se recorren una por una.
+ * <p>
+ * Solo puede cargarse con {@code --add-modules jdk.incubator.vector}; {@link RecorridoColumnas#elegir()}
+ * lo crea únicamente si el módulo está presente.
+ */
+final class RecorridoVectorial implements RecorridoColumnas {
+    private static final VectorSpecies<Integer> ENTEROS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DECIMALES = DoubleVector.SPECIES_PREFERRED;
+    /** Enteros con tantos carriles como {@link #DECIMALES}, para combinar inventario y precio. */
+    private static final VectorSpecies<Integer> ENTEROS_POR_DECIMAL =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DECIMALES.vectorBitSize() / 2));
+
+    @Override
+    public int filtrarInventario(int[] inventarios, int hasta, int minimo, int maximo, int[] filas) {
+        int cantidad = 0;
+        int i = 0;
+        for (int limite = ENTEROS.loopBound(hasta); i < limite; i += ENTEROS.length()) {
+            IntVector inventario = IntVector.fromArray(ENTEROS, inventarios, i);
+            VectorMask<Integer> cumple = inventario.compare(VectorOperators.GE, minimo)
+                    .and(inventario.compare(VectorOperators.LE, maximo));
+            cantidad = escribirFilas(cumple.toLong(), i, filas, cantidad);
+        }
+        for (; i < hasta; i++) {
+            if (inventarios[i] >= minimo && inventarios[i] <= maximo) {
+                filas[cantidad++] = i;
+            }
+        }
+        return cantidad;
+    }
+
+    @Override
+    public int filtrarPrecio(double[] precios, int[] inventarios, int hasta, double minimo, double maximo, int[] filas) {
+        int cantidad = 0;
+        int i = 0;
+        for (int limite = DECIMALES.loopBound(hasta); i < limite; i += DECIMALES.length()) {
+            DoubleVector precio = DoubleVector.fromArray(DECIMALES, precios, i);
+            VectorMask<Double> ocupada = IntVector.fromArray(ENTEROS_POR_DECIMAL, inventarios, i)
+                    .compare(VectorOperators.NE, ColumnasProductos.HUECO).cast(DECIMALES);
+            VectorMask<Double> cumple = precio.compare(VectorOperators.GE, minimo)
+                    .and(precio.compare(VectorOperators.LE, maximo)).and(ocupada);
+            cantidad = escribirFilas(cumple.toLong(), i, filas, cantidad);
+        }
+        for (; i < hasta; i++) {
+            if (precios[i] >= minimo && precios[i] <= maximo && inventarios[i] != ColumnasProductos.HUECO) {
+                filas[cantidad++] = i;
+            }
+        }
+        return cantidad;
+    }
+
+    @Override
+    public double valorar(double[] precios, int[] inventarios, int hasta) {
+        DoubleVector suma = DoubleVector.zero(DECIMALES);
+        int i = 0;
+        for (int limite = DECIMALES.loopBound(hasta); i < limite; i += DECIMALES.length()) {
+            DoubleVector precio = DoubleVector.fromArray(DECIMALES, precios, i);
+            DoubleVector inventario = (DoubleVector) IntVector.fromArray(ENTEROS_POR_DECIMAL, inventarios, i)
+                    .convertShape(VectorOperators.I2D, DECIMALES, 0);
+            suma = precio.fma(inventario, suma);
+        }
+        double total = suma.reduceLanes(VectorOperators.ADD);
+        for (; i < hasta; i++) {
+            total += precios[i] * inventarios[i];
+        }
+        return total;
+    }
+
+    /**
+     * Escribe las filas cuyos bits están encendidos en una máscara.
+     * @param bits Bits de la máscara, uno por carril.
+     * @param inicio Fila del primer carril.
+     * @param filas Arreglo de filas que cumplen.
+     * @param cantidad Filas escritas hasta ahora.
+     * @return Filas escritas después de agregar las de la máscara.
+     */
+    private static int escribirFilas(long bits, int inicio, int[] filas, int cantidad) {
+        while (bits != 0) {
+            filas[cantidad++] = inicio + Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+        }
+        return cantidad;
+    }
+}
@@ -0,0 +1,49 @@
+package modelo.producto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utilidades para normalizar textos de productos antes de indexarlos o buscarlos.
+ * La normalización quita tildes y diéresis y pasa todo a minúsculas,
+ * de modo que "Teléfono" y "telefono" se consideran iguales.
+ */
+final class Texto {
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private Texto() {
+        // Clase de utilidades, no se instancia
+    }
+
+    /**
+     * Normaliza un texto: sin marcas diacríticas y en minúsculas.
+     * @param texto Texto a normalizar.
+     * @return Texto normalizado, o cadena vacía si es nulo.
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Divide un texto normalizado en palabras, sin repetir.
+     * @param texto Texto a dividir.
+     * @return Lista de palabras en el orden en que aparecen.
+     */
+    static List<String> tokenizar(String texto) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizar(texto))) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
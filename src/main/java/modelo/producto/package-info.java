@@ -1,4 +1,5 @@
 /**
- * Paquete que contiene las clases relacionadas con la gestión de productos: productos y etiquetas
+ * Paquete que contiene las clases relacionadas con la gestión de productos: productos, etiquetas y el catálogo,
+ * que puede leer sus productos de un archivo mapeado en memoria
  */
 package modelo.producto;
\ No newline at end of file
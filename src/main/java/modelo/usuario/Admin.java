@@ -1,9 +1,18 @@
 package modelo.usuario;
 
 import modelo.pedido.Direccion;
+import modelo.pedido.EstadoPedido;
 import modelo.pedido.Pedido;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
 import modelo.producto.Etiqueta;
 import modelo.producto.Producto;
+import modelo.util.Diario;
+import modelo.util.Evento;
+import modelo.util.GeneradorIds;
+import modelo.util.Resultado;
+import modelo.util.Salida;
+import modelo.util.TablaPorId;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,45 +35,61 @@ public class Admin extends Empleado {
     }
 
     /**
-     * Crea una nueva etiqueta y la añade a la lista de etiquetas.
+     * Crea una nueva etiqueta y la añade a las etiquetas del sistema.
      * @param nombreEtiqueta Nombre de la nueva etiqueta.
-     * @param etiquetas Lista de etiquetas en el sistema.
+     * @param etiquetas Etiquetas del sistema, indexadas por ID y por nombre.
+     * @param ids Generador de IDs de la tienda.
+     * @return {@link Resultado#EXITO}, {@link Resultado#DATOS_INVALIDOS} si el nombre es nulo o vacío
+     *         o {@link Resultado#DUPLICADO} si ya existe una etiqueta con ese nombre.
      */
-    public void crearEtiqueta(String nombreEtiqueta, ArrayList<Etiqueta> etiquetas) {
+    public Resultado crearEtiqueta(String nombreEtiqueta, TablaPorId<Etiqueta> etiquetas, GeneradorIds ids) {
         if (nombreEtiqueta == null || nombreEtiqueta.isEmpty()){
-            System.out.println("El nombre de la etiqueta no puede ser nulo o vacío");
-            return;
+            return Resultado.DATOS_INVALIDOS;
         }
-        for (Etiqueta e : etiquetas) {
-            if (e.getNombre().equalsIgnoreCase(nombreEtiqueta)) {
-                System.out.println("La etiqueta " + nombreEtiqueta + " ya existe");
-                return;
+        // Revisar duplicados y agregar como una sola operación frente a otras sesiones
+        synchronized (etiquetas) {
+            if (etiquetas.buscarPorNombre(nombreEtiqueta) != null) {
+                return Resultado.DUPLICADO;
             }
+            int nuevoId = ids.siguiente(GeneradorIds.Entidad.ETIQUETA);
+            Etiqueta etiqueta = new Etiqueta(nuevoId, nombreEtiqueta);
+            etiquetas.agregar(etiqueta);
+            Diario.actual().registro(Evento.ETIQUETA_CREADA).entero(nuevoId).texto(nombreEtiqueta).registrar();
         }
-        int nuevoId = etiquetas.size() + 1;
-        Etiqueta etiqueta = new Etiqueta(nuevoId, nombreEtiqueta);
-        etiquetas.add(etiqueta);
+        return Resultado.EXITO;
     }
 
     /**
-     * Elimina una etiqueta de la lista basada en su ID.
+     * Elimina una etiqueta del sistema basada en su ID.
      * @param idEtiqueta ID de la etiqueta a eliminar.
-     * @param etiquetas Lista de etiquetas en el sistema.
+     * @param etiquetas Etiquetas del sistema.
+     * @return {@link Resultado#EXITO} o {@link Resultado#ETIQUETA_NO_ENCONTRADA}.
      */
-    public void eliminarEtiqueta(int idEtiqueta, List<Etiqueta> etiquetas) {
-        boolean removed = etiquetas.removeIf(e -> e.getId() == idEtiqueta);
-        if (!removed) {
-            System.out.println("Etiqueta con ID " + idEtiqueta + " no encontrada");
+    public Resultado eliminarEtiqueta(int idEtiqueta, TablaPorId<Etiqueta> etiquetas) {
+        if (etiquetas.eliminar(idEtiqueta) == null) {
+            return Resultado.ETIQUETA_NO_ENCONTRADA;
         }
+        Diario.actual().registro(Evento.ETIQUETA_ELIMINADA).entero(idEtiqueta).registrar();
+        return Resultado.EXITO;
+    }
+
+    /**
+     * Devuelve la lista de productos en el catálogo para conocer el inventario.
+     * Con una base mapeada, los productos que no se usaron se leen al recorrerla, sin cargarlos.
+     * @param catalogo Catálogo de productos.
+     * @return Lista de solo lectura de los productos.
+     */
+    public List<Producto> conocerInventario(Catalogo catalogo) {
+        return catalogo.getProductos();
     }
 
     /**
-     * Devuelve una copia de la lista de productos en el catálogo para conocer el inventario.
-     * @param catalogo Lista de productos en el catálogo.
-     * @return Copia de la lista de productos.
+     * Calcula el valor total del inventario: la suma del precio por el inventario de cada producto.
+     * @param catalogo Catálogo de productos.
+     * @return Valor total del inventario.
      */
-    public ArrayList<Producto> conocerInventario(List<Producto> catalogo) {
-        return new ArrayList<>(catalogo);
+    public double conocerValorInventario(Catalogo catalogo) {
+        return catalogo.valorInventario();
     }
 
     /**
@@ -73,35 +98,44 @@ public class Admin extends Empleado {
      * @param usuario Nombre de usuario del nuevo empleado.
      * @param contraseña Contraseña del nuevo empleado.
      * @param empleados Lista de empleados en el sistema.
+     * @param ids Generador de IDs de la tienda.
      * @return El nuevo empleado registrado.
      */
-    public Empleado registrarEmpleado(String nombre, String usuario, String contraseña, List<Empleado> empleados) {
+    public Empleado registrarEmpleado(String nombre, String usuario, String contraseña, List<Empleado> empleados,
+                                      GeneradorIds ids) {
         if (nombre == null || nombre.isEmpty() || contraseña.isEmpty() || usuario.isEmpty()){
-            System.out.println("Nombre, usuario y contraseña no pueden ser nulos o vacíos");
+            Salida.actual().imprimirLinea("Nombre, usuario y contraseña no pueden ser nulos o vacíos");
             return null;
         }
-        for (Empleado e : empleados) {
-            if (e.getUsuario().equals(usuario)) {
-                System.out.println("El usuario " + usuario + " ya existe");
-                return null;
+        synchronized (empleados) {
+            for (Empleado e : empleados) {
+                if (e.getUsuario().equals(usuario)) {
+                    Salida.actual().imprimirLinea("El usuario " + usuario + " ya existe");
+                    return null;
+                }
             }
+            int nuevoId = ids.siguiente(GeneradorIds.Entidad.EMPLEADO);
+            Empleado empleado = new Empleado(nuevoId, nombre, usuario, nombre + "@empresa.com", contraseña);
+            empleados.add(empleado);
+            Diario.actual().registro(Evento.EMPLEADO_REGISTRADO).entero(nuevoId).texto(nombre).texto(usuario)
+                    .texto(empleado.getCorreo()).texto(contraseña).registrar();
+            return empleado;
         }
-        int nuevoId = empleados.size() + 1;
-        Empleado empleado = new Empleado(nuevoId, nombre, usuario, nombre + "@empresa.com", contraseña);
-        empleados.add(empleado);
-        return empleado;
     }
 
     /**
      * Elimina un empleado de la lista basado en su ID.
      * @param idEmpleado ID del empleado a eliminar.
      * @param empleados Lista de empleados en el sistema.
+     * @return {@link Resultado#EXITO} o {@link Resultado#EMPLEADO_NO_ENCONTRADO}.
      */
-    public void eliminarCuentaEmpleado(int idEmpleado, ArrayList<Empleado> empleados) {
+    public Resultado eliminarCuentaEmpleado(int idEmpleado, List<Empleado> empleados) {
         boolean removed = empleados.removeIf(e -> e.getId() == idEmpleado);
         if (!removed) {
-            System.out.println("Empleado con ID " + idEmpleado + " no encontrado");
+            return Resultado.EMPLEADO_NO_ENCONTRADO;
         }
+        Diario.actual().registro(Evento.EMPLEADO_ELIMINADO).entero(idEmpleado).registrar();
+        return Resultado.EXITO;
     }
 
     /**
@@ -111,56 +145,58 @@ public class Admin extends Empleado {
      * @param nuevoNombre Nuevo nombre del empleado.
      * @param nuevoUsuario Nuevo nombre de usuario del empleado.
      * @param nuevoPassword Nueva contraseña del empleado (no se usa en la implementación actual).
+     * @return {@link Resultado#EXITO} o {@link Resultado#EMPLEADO_NO_ENCONTRADO}.
      */
-    public void editarInformacionEmpleado(int idEmpleado, ArrayList<Empleado> empleados, String nuevoNombre, String nuevoUsuario, String nuevoPassword) {
+    public Resultado editarInformacionEmpleado(int idEmpleado, List<Empleado> empleados, String nuevoNombre, String nuevoUsuario, String nuevoPassword) {
         for (Empleado e : empleados) {
             if (e.getId() == idEmpleado) {
-                e.setNombre(nuevoNombre);
-                e.setUsuario(nuevoUsuario);
+                synchronized (e) {
+                    e.setNombre(nuevoNombre);
+                    e.setUsuario(nuevoUsuario);
+                    Diario.actual().registro(Evento.EMPLEADO_EDITADO).entero(idEmpleado).texto(nuevoNombre).texto(nuevoUsuario).registrar();
+                }
+                return Resultado.EXITO;
             }
         }
-        System.out.println("Empleado con ID " + idEmpleado + " no encontrado");
+        return Resultado.EMPLEADO_NO_ENCONTRADO;
     }
 
     /**
      * Consulta la cantidad total de pedidos en el sistema.
-     * @param pedidos Lista de pedidos en el sistema.
+     * @param pedidos Registro de pedidos del sistema.
      * @return Número total de pedidos.
      */
-    public int consultarCantidadPedidos(List<Pedido> pedidos) {
-        return pedidos.size();
+    public int consultarCantidadPedidos(RegistroPedidos pedidos) {
+        return pedidos.tamaño();
     }
 
     /**
      * Obtiene una lista de pedidos con estado "Completado".
-     * @param pagos Lista de pedidos en el sistema.
-     * @return Lista de pedidos completados.
+     * Se usa el índice por estado del registro, así no se recorren los demás pedidos.
+     * @param pagos Registro de pedidos del sistema.
+     * @return Lista de pedidos completados, en orden de ID.
      */
-    public List<Pedido> consultarPagosRealizados(List<Pedido> pagos) {
-        List<Pedido> realizados = new ArrayList<>();
-        for (Pedido p : pagos) {
-            if ("Completado".equalsIgnoreCase(p.getEstado())) {
-                realizados.add(p);
-            }
-        }
-        return realizados;
+    public List<Pedido> consultarPagosRealizados(RegistroPedidos pagos) {
+        return pagos.buscarPorEstado(EstadoPedido.COMPLETADO);
     }
 
     /**
      * Agrega un nuevo punto de entrega al sistema.
      * @param calle Calle del nuevo punto de entrega.
      * @param ciudad Ciudad del nuevo punto de entrega.
-     * @param puntosEntrega Lista de puntos de entrega en el sistema.
+     * @param puntosEntrega Puntos de entrega del sistema, indexados por ID.
+     * @param ids Generador de IDs de la tienda.
      * @return El nuevo punto de entrega creado.
      */
-    public Direccion agregarPuntoEntrega(String calle, String ciudad, List<Direccion> puntosEntrega) {
+    public Direccion agregarPuntoEntrega(String calle, String ciudad, TablaPorId<Direccion> puntosEntrega, GeneradorIds ids) {
         if (calle == null || calle.isEmpty() || ciudad == null || ciudad.isEmpty()) {
-            System.out.println("Calle y ciudad no pueden ser nulos o vacíos");
+            Salida.actual().imprimirLinea("Calle y ciudad no pueden ser nulos o vacíos");
             return null;
         }
-        int nuevoId = puntosEntrega.size() + 1;
+        int nuevoId = ids.siguiente(GeneradorIds.Entidad.PUNTO_ENTREGA);
         Direccion punto = new Direccion(nuevoId, calle, ciudad, true);
-        puntosEntrega.add(punto);
+        puntosEntrega.agregar(punto);
+        Diario.actual().registro(Evento.PUNTO_ENTREGA_AGREGADO).entero(nuevoId).texto(calle).texto(ciudad).registrar();
         return punto;
     }
 
@@ -170,28 +206,34 @@ public class Admin extends Empleado {
      * @param calle Nueva calle del punto de entrega.
      * @param ciudad Nueva ciudad del punto de entrega.
      * @param codigoPostal Nuevo código postal (no se usa en la implementación actual).
-     * @param puntosEntrega Lista de puntos de entrega en el sistema.
+     * @param puntosEntrega Puntos de entrega del sistema, indexados por ID.
+     * @return {@link Resultado#EXITO} o {@link Resultado#PUNTO_ENTREGA_NO_ENCONTRADO}.
      */
-    public void editarPuntoEntrega(int idPunto, String calle, String ciudad, String codigoPostal, List<Direccion> puntosEntrega) {
-        for (Direccion d : puntosEntrega) {
-            if (d.getId() == idPunto) {
-                d.setCalle(calle);
-                d.setCiudad(ciudad);
-            }
+    public Resultado editarPuntoEntrega(int idPunto, String calle, String ciudad, String codigoPostal, TablaPorId<Direccion> puntosEntrega) {
+        Direccion d = puntosEntrega.buscar(idPunto);
+        if (d == null) {
+            return Resultado.PUNTO_ENTREGA_NO_ENCONTRADO;
         }
-        System.out.println("Punto de entrega con ID " + idPunto + " no encontrado");
+        synchronized (d) {
+            d.setCalle(calle);
+            d.setCiudad(ciudad);
+            Diario.actual().registro(Evento.PUNTO_ENTREGA_EDITADO).entero(idPunto).texto(calle).texto(ciudad).registrar();
+        }
+        return Resultado.EXITO;
     }
 
     /**
      * Elimina un punto de entrega basado en su ID.
      * @param idPunto ID del punto de entrega a eliminar.
-     * @param puntosEntrega Lista de puntos de entrega en el sistema.
+     * @param puntosEntrega Puntos de entrega del sistema.
+     * @return {@link Resultado#EXITO} o {@link Resultado#PUNTO_ENTREGA_NO_ENCONTRADO}.
      */
-    public void eliminarPuntoEntrega(int idPunto, List<Direccion> puntosEntrega) {
-        boolean removed = puntosEntrega.removeIf(d -> d.getId() == idPunto);
-        if (!removed) {
-            System.out.println("Punto de entrega con ID " + idPunto + " no encontrado");
+    public Resultado eliminarPuntoEntrega(int idPunto, TablaPorId<Direccion> puntosEntrega) {
+        if (puntosEntrega.eliminar(idPunto) == null) {
+            return Resultado.PUNTO_ENTREGA_NO_ENCONTRADO;
         }
+        Diario.actual().registro(Evento.PUNTO_ENTREGA_ELIMINADO).entero(idPunto).registrar();
+        return Resultado.EXITO;
     }
 
     /**
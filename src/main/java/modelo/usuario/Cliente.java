@@ -1,18 +1,31 @@
 package modelo.usuario;
 
 import modelo.pedido.Direccion;
+import modelo.pedido.EstadoPedido;
+import modelo.pedido.HistorialCompras;
 import modelo.pedido.Pago;
 import modelo.pedido.Pedido;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
 import modelo.producto.Etiqueta;
+import modelo.producto.FiltroEtiquetas;
 import modelo.producto.Producto;
-import java.util.Scanner;
+import modelo.util.Diario;
+import modelo.util.Evento;
+import modelo.util.ListaIndexada;
+import modelo.util.Resultado;
+import modelo.util.Salida;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Clase que representa a un cliente en el sistema.
  * Gestiona información personal, pedidos, métodos de pago y direcciones de entrega del cliente.
+ * Las tres listas están indexadas por ID, así las operaciones sobre un pedido, una dirección
+ * o un método de pago no dependen de cuántos tenga el cliente.
  */
 public class Cliente {
     private int id;
@@ -21,9 +34,10 @@ public class Cliente {
     private String correo;
     private String password;
     private String telefono;
-    private ArrayList<Direccion> direcciones;
-    private ArrayList<Pago> metodosPago;
-    private ArrayList<Pedido> pedidos;
+    private ListaIndexada<Direccion> direcciones;
+    private ListaIndexada<Pago> metodosPago;
+    private ListaIndexada<Pedido> pedidos;
+    private HistorialCompras historial;
 
     /**
      * Constructor predeterminado que inicializa un cliente con un ID.
@@ -37,9 +51,10 @@ public class Cliente {
         this.correo = null;
         this.password = null;
         this.telefono = null;
-        this.direcciones = new ArrayList<>();
-        this.metodosPago = new ArrayList<>();
-        this.pedidos = new ArrayList<>();
+        this.direcciones = new ListaIndexada<>(Direccion::getId);
+        this.metodosPago = new ListaIndexada<>(Pago::getId);
+        this.pedidos = new ListaIndexada<>(Pedido::getId);
+        this.historial = new HistorialCompras();
     }
 
     /**
@@ -59,9 +74,10 @@ public class Cliente {
         this.correo = correo;
         this.password = password;
         this.telefono = telefono;
-        this.direcciones = new ArrayList<>();
-        this.metodosPago = new ArrayList<>();
-        this.pedidos = new ArrayList<>();
+        this.direcciones = new ListaIndexada<>(Direccion::getId);
+        this.metodosPago = new ListaIndexada<>(Pago::getId);
+        this.pedidos = new ListaIndexada<>(Pedido::getId);
+        this.historial = new HistorialCompras();
     }
 
     /**
@@ -104,19 +120,44 @@ public class Cliente {
      * Obtiene la lista de direcciones del cliente.
      * @return Lista de direcciones asociadas al cliente.
      */
-    public ArrayList<Direccion> getDirecciones() { return direcciones; }
+    public List<Direccion> getDirecciones() { return direcciones; }
 
     /**
      * Obtiene la lista de métodos de pago del cliente.
      * @return Lista de métodos de pago asociados al cliente.
      */
-    public ArrayList<Pago> getMetodosPago() { return metodosPago; }
+    public List<Pago> getMetodosPago() { return metodosPago; }
+
+    /**
+     * Busca una dirección del cliente por su ID, sin recorrer la lista.
+     * @param idDireccion ID de la dirección.
+     * @return La dirección, o null si el cliente no tiene ninguna con ese ID.
+     */
+    public Direccion buscarDireccion(int idDireccion) { return direcciones.buscar(idDireccion); }
+
+    /**
+     * Busca un método de pago del cliente por su ID, sin recorrer la lista.
+     * @param idPago ID del método de pago.
+     * @return El método de pago, o null si el cliente no tiene ninguno con ese ID.
+     */
+    public Pago buscarMetodoPago(int idPago) { return metodosPago.buscar(idPago); }
 
     /**
      * Obtiene la lista de pedidos del cliente.
-     * @return Lista de pedidos realizados por el cliente.
+     * Los pedidos se agregan con {@link #agregarPedido(Pedido)}, para que también se sigan en el historial.
+     * @return Lista de solo lectura de los pedidos realizados por el cliente.
      */
-    public ArrayList<Pedido> getPedidos() { return pedidos; }
+    public List<Pedido> getPedidos() { return Collections.unmodifiableList(pedidos); }
+
+    /**
+     * Agrega un pedido existente a la lista del cliente, por ejemplo al cargar una instantánea,
+     * y lo sigue en el historial de compras.
+     * @param pedido Pedido del cliente.
+     */
+    public void agregarPedido(Pedido pedido) {
+        pedidos.add(pedido);
+        historial.seguir(pedido);
+    }
 
     /**
      * Establece el identificador del cliente.
@@ -162,7 +203,7 @@ public class Cliente {
      */
     public boolean iniciarSesion(String usuario, String password) {
         if (usuario == null || password == null) {
-            System.out.println("Usuario o contraseña no pueden ser nulos");
+            Salida.actual().imprimirLinea("Usuario o contraseña no pueden ser nulos");
             return false;
         }
         return this.usuario.equals(usuario) && this.password.equals(password);
@@ -172,7 +213,7 @@ public class Cliente {
      * Cierra la sesión del cliente y muestra un mensaje en consola.
      */
     public void cerrarSesion() {
-        System.out.println("Sesión cerrada para " + usuario);
+        Salida.actual().imprimirLinea("Sesión cerrada para " + usuario);
     }
 
     /**
@@ -180,79 +221,81 @@ public class Cliente {
      * @param nuevoNombre Nuevo nombre del cliente.
      * @param nuevoCorreo Nuevo correo electrónico del cliente.
      * @param nuevoTelefono Nuevo número de teléfono del cliente.
+     * @return {@link Resultado#EXITO} o {@link Resultado#DATOS_INVALIDOS} si algún dato es nulo o vacío.
      */
-    public void editarDatos(String nuevoNombre, String nuevoCorreo, String nuevoTelefono) {
-        if (nuevoNombre == null || nuevoNombre.isEmpty()) {
-            System.out.println("Nombre no puede ser nulo o vacío");
-            return;
+    public Resultado editarDatos(String nuevoNombre, String nuevoCorreo, String nuevoTelefono) {
+        if (nuevoNombre == null || nuevoNombre.isEmpty()
+                || nuevoCorreo == null || nuevoCorreo.isEmpty()
+                || nuevoTelefono == null || nuevoTelefono.isEmpty()) {
+            return Resultado.DATOS_INVALIDOS;
         }
-        if (nuevoCorreo == null || nuevoCorreo.isEmpty()) {
-            System.out.println("Correo no puede ser nulo o vacío");
-            return;
+        // Se anota con el cliente bloqueado, así dos ediciones quedan en el diario en el orden en que se aplicaron
+        synchronized (this) {
+            this.nombre = nuevoNombre;
+            this.correo = nuevoCorreo;
+            this.telefono = nuevoTelefono;
+            Diario.actual().registro(Evento.CLIENTE_EDITADO).entero(id).texto(nuevoNombre).texto(nuevoCorreo)
+                    .texto(nuevoTelefono).registrar();
         }
-        if (nuevoTelefono == null || nuevoTelefono.isEmpty()) {
-            System.out.println("Teléfono no puede ser nulo o vacío");
-            return;
-        }
-        this.nombre = nuevoNombre;
-        this.correo = nuevoCorreo;
-        this.telefono = nuevoTelefono;
+        return Resultado.EXITO;
     }
 
     /**
-     * Elimina la cuenta del cliente de la lista proporcionada tras verificar la contraseña.
-     * @param clientes Lista de clientes en el sistema.
+     * Elimina la cuenta del cliente del registro de clientes tras verificar la contraseña.
+     * La contraseña la pide quien llama, desde la entrada de su propia sesión.
+     * @param passwordInput Contraseña ingresada para confirmar la eliminación.
+     * @param clientes Registro de clientes del sistema.
+     * @return {@link Resultado#EXITO}, {@link Resultado#DATOS_INVALIDOS} si la contraseña es nula
+     *         o {@link Resultado#CONTRASEÑA_INCORRECTA}.
      */
-    public void eliminarCuenta(ArrayList<Cliente> clientes) {
-        System.out.println("Estas seguro de eliminar?\nIngresa tu contraseña para confirmar.");
-        Scanner scanner = new Scanner(System.in);
-        String passwordInput = scanner.nextLine();
+    public Resultado eliminarCuenta(String passwordInput, RegistroClientes clientes) {
         if (passwordInput == null) {
-            System.out.println("La contraseña no puede ser nula");
-            return;
+            return Resultado.DATOS_INVALIDOS;
+        }
+        if (!passwordInput.equals(password)) {
+            return Resultado.CONTRASEÑA_INCORRECTA;
         }
-        if (passwordInput.equals(password)) {
-            clientes.remove(this);
-            System.out.println("Cuenta eliminada exitosamente");
-        } else {
-            System.out.println("Contraseña incorrecta. No se puede eliminar la cuenta.");
+        if (clientes.eliminar(this)) {
+            Diario.actual().registro(Evento.CLIENTE_ELIMINADO).entero(id).registrar();
         }
-        scanner.close();
+        return Resultado.EXITO;
     }
 
     /**
      * Devuelve la lista completa de pedidos pasados del cliente.
      * @return Lista de todos los pedidos realizados por el cliente.
      */
-    public ArrayList<Pedido> consultarPedidosPasados() {
-        return this.pedidos;
+    public List<Pedido> consultarPedidosPasados() {
+        return getPedidos();
     }
 
     /**
-     * Filtra y devuelve los pedidos completados del cliente.
-     * @return Lista de pedidos con estado "Completado".
+     * Devuelve los pedidos completados del cliente, del más reciente al más antiguo.
+     * El historial se mantiene a medida que se completan los pedidos, así no se recorren los demás.
+     * @return Vista de solo lectura de los pedidos con estado "Completado".
      */
-    public ArrayList<Pedido> consultarHistorialCompras() {
-        ArrayList<Pedido> historial = new ArrayList<>();
-        for (Pedido p : pedidos) {
-            if ("Completado".equals(p.getEstado())) historial.add(p);
-        }
-        return historial;
+    public List<Pedido> consultarHistorialCompras() {
+        return historial.recientes();
+    }
+
+    /**
+     * Devuelve una página de los pedidos completados del cliente, del más reciente al más antiguo.
+     * @param pagina Número de página, empezando en 0 para los más recientes.
+     * @param tamañoPagina Cantidad máxima de pedidos por página.
+     * @return Vista de solo lectura de la página, vacía si no existe.
+     */
+    public List<Pedido> consultarHistorialCompras(int pagina, int tamañoPagina) {
+        return historial.pagina(pagina, tamañoPagina);
     }
 
     /**
      * Devuelve una lista de productos disponibles (con inventario mayor a 0).
-     * @param catalogo Lista de productos en el catálogo.
+     * Se recorre la columna de inventario del catálogo en lugar de cada producto.
+     * @param catalogo Catálogo de productos.
      * @return Lista de productos disponibles.
      */
-    public ArrayList<Producto> verProductos(ArrayList<Producto> catalogo) {
-        ArrayList<Producto> disponible = new ArrayList<>();
-        for (Producto p : catalogo) {
-            if (p.getInventario() > 0) {
-                disponible.add(p);
-            }
-        }
-        return disponible;
+    public ArrayList<Producto> verProductos(Catalogo catalogo) {
+        return new ArrayList<>(catalogo.buscarPorInventario(1, Integer.MAX_VALUE));
     }
 
     /**
@@ -260,84 +303,156 @@ public class Cliente {
      * @param idProducto ID del producto a agregar.
      * @param cantidad Cantidad del producto a agregar.
      * @param idPedido ID del pedido al que se agrega el producto.
-     * @param catalogo Lista de productos en el catálogo.
-     */
-    public void agregarProductoPedido(int idProducto, int cantidad, int idPedido, ArrayList<Producto> catalogo) {
-        Pedido pedido = null;
-        for (Pedido p : pedidos) {
-            if (p.getId() == idPedido) {
-                pedido = p;
-                break;
-            }
-        }
+     * @param catalogo Catálogo de productos.
+     * @return {@link Resultado#EXITO}, {@link Resultado#PEDIDO_NO_ENCONTRADO}, {@link Resultado#PRODUCTO_NO_ENCONTRADO},
+     *         {@link Resultado#CANTIDAD_INVALIDA} o {@link Resultado#INVENTARIO_INSUFICIENTE}.
+     */
+    public Resultado agregarProductoPedido(int idProducto, int cantidad, long idPedido, Catalogo catalogo) {
+        Pedido pedido = pedidos.buscar(idPedido);
         if (pedido == null) {
-            System.out.println("Pedido no encontrado");
-            return;
-        }
-        Producto producto = null;
-        for (Producto p : catalogo) {
-            if (p.getId() == idProducto) {
-                producto = p;
-                break;
-            }
+            return Resultado.PEDIDO_NO_ENCONTRADO;
         }
+        Producto producto = catalogo.buscar(idProducto);
         if (producto == null) {
-            System.out.println("Producto no encontrado");
-            return;
+            return Resultado.PRODUCTO_NO_ENCONTRADO;
         }
-        if (producto.getInventario() < cantidad) {
-            System.out.println("Inventario insuficiente");
-            return;
+        if (cantidad <= 0) {
+            return Resultado.CANTIDAD_INVALIDA;
+        }
+        if (!producto.reservar(cantidad)) {
+            return Resultado.INVENTARIO_INSUFICIENTE;
+        }
+        try {
+            Diario.actual().registro(Evento.PRODUCTO_PEDIDO_AGREGADO).largo(idPedido).entero(idProducto).entero(cantidad).registrar();
+        } catch (RuntimeException e) {
+            // No quedó anotado: se devuelven las unidades para no vender lo que se perdería al reiniciar
+            producto.ajustarInventario(cantidad);
+            throw e;
         }
         pedido.getProductos().add(producto);
-        producto.actualizarInventario(producto.getInventario() - cantidad);
+        catalogo.registrarEnPedido(producto);
+        return Resultado.EXITO;
     }
 
     /**
      * Filtra productos por una etiqueta específica.
      * @param etiqueta Etiqueta por la cual filtrar.
-     * @param catalogo Lista de productos en el catálogo.
+     * @param catalogo Catálogo de productos.
      * @return Lista de productos que contienen la etiqueta especificada.
      */
-    public List<Producto> filtrarProductosPorEtiqueta(Etiqueta etiqueta, List<Producto> catalogo) {
-        List<Producto> resultado = new ArrayList<>();
-        for (Producto p : catalogo) {
-            if (p.getEtiquetas().contains(etiqueta)) {
-                resultado.add(p);
-            }
+    public List<Producto> filtrarProductosPorEtiqueta(Etiqueta etiqueta, Catalogo catalogo) {
+        if (etiqueta == null) {
+            Salida.actual().imprimirLinea("La etiqueta no puede ser nula");
+            return new ArrayList<>();
+        }
+        return catalogo.filtrarPorEtiqueta(etiqueta.getId());
+    }
+
+    /**
+     * Filtra productos combinando varias etiquetas (requeridas, alternativas y excluidas).
+     * @param filtro Filtro de etiquetas a aplicar.
+     * @param catalogo Catálogo de productos.
+     * @return Lista de productos que cumplen el filtro.
+     */
+    public List<Producto> filtrarProductosPorEtiquetas(FiltroEtiquetas filtro, Catalogo catalogo) {
+        if (filtro == null) {
+            Salida.actual().imprimirLinea("El filtro no puede ser nulo");
+            return new ArrayList<>();
+        }
+        return catalogo.filtrarPorEtiquetas(filtro);
+    }
+
+    /**
+     * Cuenta los productos que cumplen un filtro de varias etiquetas sin construir la lista.
+     * @param filtro Filtro de etiquetas a aplicar.
+     * @param catalogo Catálogo de productos.
+     * @return Cantidad de productos que cumplen el filtro.
+     */
+    public int contarProductosPorEtiquetas(FiltroEtiquetas filtro, Catalogo catalogo) {
+        if (filtro == null) {
+            Salida.actual().imprimirLinea("El filtro no puede ser nulo");
+            return 0;
+        }
+        return catalogo.contarPorEtiquetas(filtro);
+    }
+
+    /**
+     * Busca productos disponibles dentro de un rango de precio, ordenados por precio y paginados.
+     * @param precioMinimo Precio mínimo (inclusive).
+     * @param precioMaximo Precio máximo (inclusive).
+     * @param pagina Número de página, empezando en 1.
+     * @param tamañoPagina Cantidad de productos por página.
+     * @param catalogo Catálogo de productos.
+     * @return Lista con los productos de la página solicitada.
+     */
+    public List<Producto> buscarProductosPorPrecio(double precioMinimo, double precioMaximo, int pagina, int tamañoPagina, Catalogo catalogo) {
+        if (precioMinimo > precioMaximo) {
+            Salida.actual().imprimirLinea("El precio mínimo no puede ser mayor que el máximo");
+            return new ArrayList<>();
+        }
+        if (pagina < 1 || tamañoPagina < 1) {
+            Salida.actual().imprimirLinea("La página y su tamaño deben ser mayores a 0");
+            return new ArrayList<>();
+        }
+        return catalogo.buscarPorRangoPrecio(precioMinimo, precioMaximo, true, pagina, tamañoPagina);
+    }
+
+    /**
+     * Busca productos por palabras en su nombre o descripción, sin distinguir tildes ni mayúsculas.
+     * @param consulta Texto de búsqueda (e.g., "telefono moderno").
+     * @param limite Cantidad máxima de resultados.
+     * @param catalogo Catálogo de productos.
+     * @return Lista de productos encontrados, del más al menos relevante.
+     */
+    public List<Producto> buscarProductosPorTexto(String consulta, int limite, Catalogo catalogo) {
+        if (consulta == null || consulta.isBlank()) {
+            Salida.actual().imprimirLinea("La búsqueda no puede ser nula o vacía");
+            return new ArrayList<>();
         }
-        return resultado;
+        return catalogo.buscarPorTexto(consulta, limite);
+    }
+
+    /**
+     * Sugiere los productos más pedidos cuyo nombre empieza con el texto escrito.
+     * @param prefijo Inicio del nombre del producto (e.g., "tel").
+     * @param cantidad Cantidad máxima de sugerencias.
+     * @param catalogo Catálogo de productos.
+     * @return Lista de productos sugeridos, del más al menos popular.
+     */
+    public List<Producto> autocompletarProductos(String prefijo, int cantidad, Catalogo catalogo) {
+        if (prefijo == null || prefijo.isBlank()) {
+            Salida.actual().imprimirLinea("El texto a completar no puede ser nulo o vacío");
+            return new ArrayList<>();
+        }
+        return catalogo.autocompletar(prefijo, cantidad);
     }
 
     /**
      * Consulta la disponibilidad de un producto en el inventario.
      * @param idProducto ID del producto a consultar.
-     * @param catalogo Lista de productos en el catálogo.
+     * @param catalogo Catálogo de productos.
      * @return Cantidad en inventario del producto, o 0 si no se encuentra.
      */
-    public int consultarInventarioProducto(int idProducto, List<Producto> catalogo) {
-        for (Producto p : catalogo) {
-            if (p.getId() == idProducto) {
-                return p.getInventario();
-            }
-        }
-        return 0;
+    public int consultarInventarioProducto(int idProducto, Catalogo catalogo) {
+        Producto p = catalogo.buscar(idProducto);
+        return p == null ? 0 : p.getInventario();
     }
 
     /**
      * Crea un nuevo pedido y lo agrega a las listas del cliente y del sistema.
-     * @param pedidosSistema Lista de pedidos en el sistema.
+     * @param pedidosSistema Registro de pedidos del sistema.
      * @return El nuevo pedido creado.
      */
-    public Pedido crearPedido(List<Pedido> pedidosSistema) {
+    public Pedido crearPedido(RegistroPedidos pedidosSistema) {
         if (pedidosSistema == null){
-            System.out.println("La lista de pedidos no puede ser nula");
+            Salida.actual().imprimirLinea("La lista de pedidos no puede ser nula");
             return null;
         }
-        int nuevoId = pedidosSistema.size() + 1;
-        Pedido pedido = new Pedido(nuevoId, new ArrayList<>(), null, null, "Pendiente", this.id);
-        this.pedidos.add(pedido);
-        pedidosSistema.add(pedido);
+        long nuevoId = pedidosSistema.nuevoId();
+        Pedido pedido = new Pedido(nuevoId, new CopyOnWriteArrayList<>(), null, null, EstadoPedido.PENDIENTE, this.id);
+        pedidosSistema.agregar(pedido);
+        Diario.actual().registro(Evento.PEDIDO_CREADO).largo(nuevoId).entero(id).registrar();
+        agregarPedido(pedido);
         return pedido;
     }
 
@@ -345,103 +460,145 @@ public class Cliente {
      * Asocia una dirección de entrega a un pedido específico.
      * @param idDireccion ID de la dirección a asociar.
      * @param idPedido ID del pedido al que se asociará la dirección.
+     * @return {@link Resultado#EXITO}, {@link Resultado#PEDIDO_NO_ENCONTRADO} o {@link Resultado#DIRECCION_NO_ENCONTRADA}.
      */
-    public void agregarDireccionEntrega(int idDireccion, int idPedido) {
-        for (Pedido p : pedidos) {
-            if (p.getId() == idPedido) {
-                for (Direccion d : direcciones) {
-                    if (d.getId() == idDireccion) {
-                        p.setDireccion(d);
-                        return;
-                    }
-                }
-                System.out.println("Dirección no encontrada");
-                return;
-            }
+    public Resultado agregarDireccionEntrega(int idDireccion, long idPedido) {
+        Pedido p = pedidos.buscar(idPedido);
+        if (p == null) {
+            return Resultado.PEDIDO_NO_ENCONTRADO;
+        }
+        Direccion d = direcciones.buscar(idDireccion);
+        if (d == null) {
+            return Resultado.DIRECCION_NO_ENCONTRADA;
         }
-        System.out.println("Pedido no encontrado");
+        synchronized (p) {
+            p.setDireccion(d);
+            Diario.actual().registro(Evento.PEDIDO_DIRECCION_ASIGNADA).largo(idPedido).entero(id)
+                    .entero(idDireccion).registrar();
+        }
+        return Resultado.EXITO;
     }
 
     /**
      * Asocia un método de pago a un pedido específico.
      * @param idPago ID del método de pago a asociar.
      * @param idPedido ID del pedido al que se asociará el método de pago.
+     * @return {@link Resultado#EXITO}, {@link Resultado#PEDIDO_NO_ENCONTRADO} o {@link Resultado#METODO_PAGO_NO_ENCONTRADO}.
      */
-    public void agregarMetodoPago(int idPago, int idPedido) {
-        for (Pedido p : pedidos) {
-            if (p.getId() == idPedido) {
-                for (Pago curPago : metodosPago) {
-                    if (curPago.getId() == idPago) {
-                        p.setMetodoPago(curPago);
-                        return;
-                    }
-                }
-                System.out.println("Método de pago no encontrado");
-                return;
-            }
+    public Resultado agregarMetodoPago(int idPago, long idPedido) {
+        Pedido p = pedidos.buscar(idPedido);
+        if (p == null) {
+            return Resultado.PEDIDO_NO_ENCONTRADO;
+        }
+        Pago curPago = metodosPago.buscar(idPago);
+        if (curPago == null) {
+            return Resultado.METODO_PAGO_NO_ENCONTRADO;
         }
-        System.out.println("Pedido no encontrado");
+        synchronized (p) {
+            p.setMetodoPago(curPago);
+            Diario.actual().registro(Evento.PEDIDO_METODO_PAGO_ASIGNADO).largo(idPedido).entero(id)
+                    .entero(idPago).registrar();
+        }
+        return Resultado.EXITO;
     }
 
     /**
      * Consulta el estado de todos los pedidos del cliente.
      * @return Lista de pedidos del cliente.
      */
-    public ArrayList<Pedido> consultarEstadoPedidos() {
+    public List<Pedido> consultarEstadoPedidos() {
         return getPedidos();
     }
 
     /**
      * Cancela un pedido cambiando su estado a "Cancelado".
      * @param idPedido ID del pedido a cancelar.
+     * @return {@link Resultado#EXITO}, {@link Resultado#CAMBIO_ESTADO_INVALIDO} si el pedido ya terminó
+     *         o {@link Resultado#PEDIDO_NO_ENCONTRADO}.
      */
-    public void cancelarPedido(int idPedido) {
-        for (Pedido p : pedidos) {
-            if (p.getId() == idPedido) {
-                p.setEstado("Cancelado");
-                return;
+    public Resultado cancelarPedido(long idPedido) {
+        Pedido p = pedidos.buscar(idPedido);
+        if (p == null) {
+            return Resultado.PEDIDO_NO_ENCONTRADO;
+        }
+        synchronized (p) {
+            if (!p.cambiarEstado(EstadoPedido.CANCELADO)) {
+                return Resultado.CAMBIO_ESTADO_INVALIDO;
             }
+            Diario.actual().registro(Evento.PEDIDO_ESTADO_CAMBIADO).largo(idPedido).texto(EstadoPedido.CANCELADO.getNombre()).registrar();
         }
-        System.out.println("Pedido no encontrado");
+        return Resultado.EXITO;
+    }
+
+    /**
+     * Obtiene el ID para un método de pago nuevo del cliente, sin reutilizar el de uno eliminado.
+     * @return El siguiente ID de método de pago.
+     */
+    public int nuevoIdMetodoPago() {
+        return (int) metodosPago.getMayorId() + 1;
     }
 
     /**
      * Agrega un nuevo método de pago al sistema del cliente.
      * @param datosPago Objeto con los datos del método de pago a agregar.
+     * @return {@link Resultado#EXITO} o {@link Resultado#DATOS_INVALIDOS} si el pago es nulo.
      */
-    public void agregarMetodoPagoSistema(Pago datosPago) {
-        metodosPago.add(datosPago);
+    public Resultado agregarMetodoPagoSistema(Pago datosPago) {
+        if (datosPago == null) {
+            return Resultado.DATOS_INVALIDOS;
+        }
+        synchronized (metodosPago) {
+            // Otra sesión del mismo cliente pudo usar el ID mientras se cargaban los datos
+            if (metodosPago.buscar(datosPago.getId()) != null) {
+                datosPago.setId(nuevoIdMetodoPago());
+            }
+            metodosPago.add(datosPago);
+            Diario.actual().registro(Evento.METODO_PAGO_AGREGADO).entero(id).entero(datosPago.getId()).texto(datosPago.getTipo())
+                    .texto(datosPago.getDatos()).texto(datosPago.getEstado()).registrar();
+        }
+        return Resultado.EXITO;
     }
 
     /**
      * Edita un método de pago existente.
-     * @param idPago Índice del método de pago a editar en la lista.
+     * @param idPago ID del método de pago a editar.
      * @param nuevosDatos Nuevos datos para el método de pago.
+     * @return {@link Resultado#EXITO} o {@link Resultado#METODO_PAGO_NO_ENCONTRADO} si el cliente no tiene ese método de pago.
      */
-    public void editarMetodoPago(int idPago, Pago nuevosDatos) {
-        if (idPago >= 0 && idPago < metodosPago.size()) {
-            metodosPago.get(idPago).setDatos(nuevosDatos.getDatos());
-        } else {
-            System.out.println("Id de método de pago inválido");
+    public Resultado editarMetodoPago(int idPago, Pago nuevosDatos) {
+        synchronized (metodosPago) {
+            Pago pago = metodosPago.buscar(idPago);
+            if (pago == null) {
+                return Resultado.METODO_PAGO_NO_ENCONTRADO;
+            }
+            pago.setDatos(nuevosDatos.getDatos());
+            Diario.actual().registro(Evento.METODO_PAGO_EDITADO).entero(id).entero(idPago).texto(nuevosDatos.getDatos()).registrar();
         }
+        return Resultado.EXITO;
     }
 
     /**
      * Elimina un método de pago marcándolo como "Eliminado".
-     * @param idPago Índice del método de pago a eliminar en la lista.
-     */
-    public void eliminarMetodoPago(int idPago) {
-        if (idPago >= 0 && idPago < metodosPago.size()) {
-            metodosPago.get(idPago).setEstado("Eliminado");
-        } else {
-            System.out.println("Id de método de pago inválido");
-        }    }
+     * @param idPago ID del método de pago a eliminar.
+     * @return {@link Resultado#EXITO} o {@link Resultado#METODO_PAGO_NO_ENCONTRADO} si el cliente no tiene ese método de pago.
+     */
+    public Resultado eliminarMetodoPago(int idPago) {
+        synchronized (metodosPago) {
+            Pago pago = metodosPago.buscar(idPago);
+            if (pago == null) {
+                return Resultado.METODO_PAGO_NO_ENCONTRADO;
+            }
+            pago.setEstado("Eliminado");
+            Diario.actual().registro(Evento.METODO_PAGO_ELIMINADO).entero(id).entero(idPago).registrar();
+        }
+        return Resultado.EXITO;
+    }
 
     /**
      * Devuelve la lista de métodos de pago almacenados.
      * @return Lista de métodos de pago del cliente.
      */
-    public ArrayList<Pago> verMetodosPagoGuardados() {
+    public List<Pago> verMetodosPagoGuardados() {
         return this.metodosPago;
     }
 
@@ -449,7 +606,7 @@ public class Cliente {
      * Devuelve la lista de direcciones de entrega almacenadas.
      * @return Lista de direcciones del cliente.
      */
-    public ArrayList<Direccion> verDireccionesEntrega() {
+    public List<Direccion> verDireccionesEntrega() {
         return this.direcciones;
     }
 
@@ -457,10 +614,20 @@ public class Cliente {
      * Agrega una nueva dirección de entrega al cliente.
      * @param calle Calle de la nueva dirección.
      * @param ciudad Ciudad de la nueva dirección.
+     * @return {@link Resultado#EXITO} o {@link Resultado#DATOS_INVALIDOS} si la calle o la ciudad son nulas o vacías.
      */
-    public void agregarNuevaDireccion(String calle, String ciudad) {
-        int nuevoId = direcciones.size() + 1;
-        direcciones.add(new Direccion(nuevoId, calle, ciudad, false));
+    public Resultado agregarNuevaDireccion(String calle, String ciudad) {
+        if (calle == null || calle.isEmpty() || ciudad == null || ciudad.isEmpty()) {
+            return Resultado.DATOS_INVALIDOS;
+        }
+        int nuevoId;
+        synchronized (direcciones) {
+            // El mayor ID que tuvo una dirección, para no reutilizar el de una eliminada
+            nuevoId = (int) direcciones.getMayorId() + 1;
+            direcciones.add(new Direccion(nuevoId, calle, ciudad, false));
+            Diario.actual().registro(Evento.DIRECCION_AGREGADA).entero(id).entero(nuevoId).texto(calle).texto(ciudad).registrar();
+        }
+        return Resultado.EXITO;
     }
 
     /**
@@ -468,30 +635,36 @@ public class Cliente {
      * @param idDireccion ID de la dirección a editar.
      * @param calle Nueva calle de la dirección.
      * @param ciudad Nueva ciudad de la dirección.
+     * @return {@link Resultado#EXITO} o {@link Resultado#DIRECCION_NO_ENCONTRADA}.
      */
-    public void editarDireccion(int idDireccion, String calle, String ciudad) {
-        for (Direccion d : direcciones) {
-            if (d.getId() == idDireccion) {
-                d.setCalle(calle);
-                d.setCiudad(ciudad);
-                return;
+    public Resultado editarDireccion(int idDireccion, String calle, String ciudad) {
+        synchronized (direcciones) {
+            Direccion d = direcciones.buscar(idDireccion);
+            if (d == null) {
+                return Resultado.DIRECCION_NO_ENCONTRADA;
             }
+            d.setCalle(calle);
+            d.setCiudad(ciudad);
+            Diario.actual().registro(Evento.DIRECCION_EDITADA).entero(id).entero(idDireccion).texto(calle).texto(ciudad).registrar();
         }
-        System.out.println("Dirección no encontrada");
+        return Resultado.EXITO;
     }
 
     /**
      * Elimina una dirección de entrega del cliente.
      * @param idDireccion ID de la dirección a eliminar.
+     * @return {@link Resultado#EXITO} o {@link Resultado#DIRECCION_NO_ENCONTRADA}.
      */
-    public void eliminarDireccion(int idDireccion) {
-        for (Direccion d : direcciones) {
-            if (d.getId() == idDireccion) {
-                direcciones.remove(d);
-                return;
+    public Resultado eliminarDireccion(int idDireccion) {
+        synchronized (direcciones) {
+            Direccion d = direcciones.buscar(idDireccion);
+            if (d == null) {
+                return Resultado.DIRECCION_NO_ENCONTRADA;
             }
+            direcciones.remove(d);
+            Diario.actual().registro(Evento.DIRECCION_ELIMINADA).entero(id).entero(idDireccion).registrar();
         }
-        System.out.println("Dirección no encontrada");
+        return Resultado.EXITO;
     }
 
     /**
@@ -1,11 +1,20 @@
 package modelo.usuario;
 
 import modelo.pedido.Direccion;
+import modelo.pedido.EstadoPedido;
 import modelo.pedido.Pedido;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
 import modelo.producto.Etiqueta;
 import modelo.producto.Producto;
+import modelo.util.Diario;
+import modelo.util.Evento;
+import modelo.util.Registro;
+import modelo.util.Resultado;
+import modelo.util.Salida;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -116,7 +125,7 @@ public class Empleado {
      */
     public boolean iniciarSesion(String usuario, String password) {
         if (usuario == null || password == null){
-            System.out.println("Usuario o contraseña no pueden ser nulos");
+            Salida.actual().imprimirLinea("Usuario o contraseña no pueden ser nulos");
             return false;
         }
         return (this.usuario.equals(usuario) && this.contraseña.equals(password));
@@ -126,231 +135,332 @@ public class Empleado {
      * Cierra la sesión del empleado y muestra un mensaje en consola.
      */
     public void cerrarSesion() {
-        System.out.println("Sesion cerrada para " + usuario);
+        Salida.actual().imprimirLinea("Sesion cerrada para " + usuario);
     }
 
     /**
      * Consulta y devuelve la lista completa del catálogo de productos.
-     * @param catalogo Lista de productos en el catálogo.
+     * @param catalogo Catálogo de productos.
      * @return La lista completa de productos.
      */
-    public ArrayList<Producto> consultarProductosCatalogo(ArrayList<Producto> catalogo) {
-        return catalogo;
+    public List<Producto> consultarProductosCatalogo(Catalogo catalogo) {
+        return catalogo.getProductos();
     }
 
     /**
      * Agrega un producto al catálogo.
      * @param producto Producto a agregar.
-     * @param catalogo Lista de productos en el catálogo.
+     * @param catalogo Catálogo de productos.
+     * @return {@link Resultado#EXITO}, {@link Resultado#DATOS_INVALIDOS} si el producto es nulo
+     *         o {@link Resultado#DUPLICADO} si ya existe un producto con su ID.
      */
-    public void agregarProductoCatalogo(Producto producto, ArrayList<Producto> catalogo) {
+    public Resultado agregarProductoCatalogo(Producto producto, Catalogo catalogo) {
         if (producto == null){
-            System.out.println("El producto no puede ser nulo");
-            return;
+            return Resultado.DATOS_INVALIDOS;
         }
-        for (Producto p : catalogo) {
-            if (p.getId() == producto.getId()) {
-                System.out.println("El producto con ID " + producto.getId() + " ya existe");
-                return;
-            }
+        if (!catalogo.agregar(producto)) {
+            return Resultado.DUPLICADO;
+        }
+        List<Etiqueta> etiquetas = List.copyOf(producto.getEtiquetas());
+        Registro registro = Diario.actual().registro(Evento.PRODUCTO_AGREGADO)
+                .entero(producto.getId()).texto(producto.getNombre()).texto(producto.getDescripcion())
+                .decimal(producto.getPrecio()).entero(producto.getInventario()).entero(etiquetas.size());
+        for (Etiqueta etiqueta : etiquetas) {
+            registro.entero(etiqueta.getId());
         }
-        catalogo.add(producto);
+        registro.registrar();
+        return Resultado.EXITO;
     }
 
     /**
      * Elimina un producto del catálogo basado en su ID.
      * @param idProducto ID del producto a eliminar.
-     * @param catalogo Lista de productos en el catálogo.
+     * @param catalogo Catálogo de productos.
+     * @return {@link Resultado#EXITO} o {@link Resultado#PRODUCTO_NO_ENCONTRADO}.
      */
-    public void eliminarProductoCatalogo(int idProducto, ArrayList<Producto> catalogo) {
-        boolean removed = catalogo.removeIf(p -> p.getId() == idProducto);
-        if (!removed) {
-            System.out.println("Producto con ID " + idProducto + " no encontrado");
+    public Resultado eliminarProductoCatalogo(int idProducto, Catalogo catalogo) {
+        if (!catalogo.eliminar(idProducto)) {
+            return Resultado.PRODUCTO_NO_ENCONTRADO;
         }
+        Diario.actual().registro(Evento.PRODUCTO_ELIMINADO).entero(idProducto).registrar();
+        return Resultado.EXITO;
     }
 
     /**
      * Edita la información de un producto en el catálogo.
      * @param idProducto ID del producto a editar.
-     * @param catalogo Lista de productos en el catálogo.
+     * @param catalogo Catálogo de productos.
      * @param nuevoNombre Nuevo nombre del producto.
      * @param nuevaDescripcion Nueva descripción del producto.
      * @param nuevoPrecio Nuevo precio del producto.
      * @param nuevoInventario Nueva cantidad en inventario del producto.
+     * @return {@link Resultado#EXITO}, {@link Resultado#DATOS_INVALIDOS} si el nombre es nulo o vacío
+     *         o {@link Resultado#PRODUCTO_NO_ENCONTRADO}.
      */
-    public void editarProductoCatalogo(int idProducto, ArrayList<Producto> catalogo, String nuevoNombre, String nuevaDescripcion, double nuevoPrecio, int nuevoInventario) {
+    public Resultado editarProductoCatalogo(int idProducto, Catalogo catalogo, String nuevoNombre, String nuevaDescripcion, double nuevoPrecio, int nuevoInventario) {
         if (nuevoNombre == null || nuevoNombre.isEmpty()){
-            System.out.println("El nombre no puede ser nulo o vacío");
-            return;
+            return Resultado.DATOS_INVALIDOS;
+        }
+        Producto p = catalogo.buscar(idProducto);
+        if (p == null) {
+            return Resultado.PRODUCTO_NO_ENCONTRADO;
         }
-        for (Producto p : catalogo) {
-            if (p.getId() == idProducto) {
-                p.setNombre(nuevoNombre);
-                p.setDescripcion(nuevaDescripcion);
-                p.setPrecio(nuevoPrecio);
-                p.actualizarInventario(nuevoInventario);
-                return;
+        // Se anota con el producto bloqueado: dos ediciones simultáneas quedan en el diario
+        // en el mismo orden en que se aplicaron
+        synchronized (p) {
+            String nombreAnterior = p.getNombre();
+            String descripcionAnterior = p.getDescripcion();
+            double precioAnterior = p.getPrecio();
+            p.setNombre(nuevoNombre);
+            p.setDescripcion(nuevaDescripcion);
+            p.setPrecio(nuevoPrecio);
+            int diferencia = p.actualizarInventario(nuevoInventario);
+            try {
+                Diario.actual().registro(Evento.PRODUCTO_EDITADO).entero(idProducto).texto(nuevoNombre)
+                        .texto(nuevaDescripcion).decimal(nuevoPrecio).entero(diferencia).registrar();
+            } catch (RuntimeException e) {
+                // No quedó anotado: se deshace para no confirmar un cambio que se perdería al reiniciar
+                p.setNombre(nombreAnterior);
+                p.setDescripcion(descripcionAnterior);
+                p.setPrecio(precioAnterior);
+                p.ajustarInventario(-diferencia);
+                throw e;
             }
         }
-        System.out.println("Producto con ID " + idProducto + " no encontrado");
+        return Resultado.EXITO;
     }
 
     /**
      * Asocia una etiqueta a un producto específico en el catálogo.
      * @param idProducto ID del producto al que se le añadirá la etiqueta.
      * @param etiqueta Etiqueta a asociar.
-     * @param catalogo Lista de productos en el catálogo.
+     * @param catalogo Catálogo de productos.
+     * @return {@link Resultado#EXITO}, {@link Resultado#DATOS_INVALIDOS} si la etiqueta es nula
+     *         o {@link Resultado#PRODUCTO_NO_ENCONTRADO}.
      */
-    public void agregarEtiquetaProducto(int idProducto, Etiqueta etiqueta, ArrayList<Producto> catalogo) {
-        for (Producto p : catalogo) {
-            if (p.getId() == idProducto) {
-                p.agregarEtiqueta(etiqueta);
-                return;
+    public Resultado agregarEtiquetaProducto(int idProducto, Etiqueta etiqueta, Catalogo catalogo) {
+        if (etiqueta == null) {
+            return Resultado.DATOS_INVALIDOS;
+        }
+        Producto p = catalogo.buscar(idProducto);
+        if (p == null) {
+            return Resultado.PRODUCTO_NO_ENCONTRADO;
+        }
+        synchronized (p) {
+            boolean agregada = p.agregarEtiqueta(etiqueta);
+            try {
+                Diario.actual().registro(Evento.ETIQUETA_PRODUCTO_AGREGADA).entero(idProducto)
+                        .entero(etiqueta.getId()).texto(etiqueta.getNombre()).registrar();
+            } catch (RuntimeException e) {
+                // No quedó anotada: se deshace para no confirmar un cambio que se perdería al reiniciar
+                if (agregada) {
+                    p.eliminarEtiqueta(etiqueta);
+                }
+                throw e;
             }
         }
-        System.out.println("Producto con ID " + idProducto + " no encontrado");
+        return Resultado.EXITO;
     }
 
     /**
      * Elimina una etiqueta de un producto específico en el catálogo.
      * @param idProducto ID del producto del que se eliminará la etiqueta.
      * @param etiqueta Etiqueta a eliminar.
-     * @param catalogo Lista de productos en el catálogo.
+     * @param catalogo Catálogo de productos.
+     * @return {@link Resultado#EXITO}, {@link Resultado#DATOS_INVALIDOS} si la etiqueta es nula
+     *         o {@link Resultado#PRODUCTO_NO_ENCONTRADO}.
      */
-    public void eliminarEtiquetaProducto(int idProducto, Etiqueta etiqueta, ArrayList<Producto> catalogo) {
-        for (Producto p : catalogo) {
-            if (p.getId() == idProducto) {
-                p.eliminarEtiqueta(etiqueta);
-                return;
+    public Resultado eliminarEtiquetaProducto(int idProducto, Etiqueta etiqueta, Catalogo catalogo) {
+        if (etiqueta == null) {
+            return Resultado.DATOS_INVALIDOS;
+        }
+        Producto p = catalogo.buscar(idProducto);
+        if (p == null) {
+            return Resultado.PRODUCTO_NO_ENCONTRADO;
+        }
+        synchronized (p) {
+            boolean eliminada = p.eliminarEtiqueta(etiqueta);
+            try {
+                Diario.actual().registro(Evento.ETIQUETA_PRODUCTO_ELIMINADA).entero(idProducto).entero(etiqueta.getId()).registrar();
+            } catch (RuntimeException e) {
+                if (eliminada) {
+                    p.agregarEtiqueta(etiqueta);
+                }
+                throw e;
             }
         }
-        System.out.println("Producto con ID " + idProducto + " no encontrado");
+        return Resultado.EXITO;
     }
 
     /**
      * Consulta el inventario de un producto específico.
      * @param idProducto ID del producto a consultar.
-     * @param catalogo Lista de productos en el catálogo.
+     * @param catalogo Catálogo de productos.
      * @return Cantidad en inventario del producto, o -1 si no se encuentra.
      */
-    public int consultarInventarioProducto(int idProducto, ArrayList<Producto> catalogo) {
-        for (Producto p : catalogo) {
-            if (p.getId() == idProducto) {
-                return p.getInventario();
-            }
-        }
-        return -1;
+    public int consultarInventarioProducto(int idProducto, Catalogo catalogo) {
+        Producto p = catalogo.buscar(idProducto);
+        return p == null ? -1 : p.getInventario();
     }
 
     /**
      * Registra una entrada de inventario para un producto, aumentando su cantidad.
      * @param idProducto ID del producto a actualizar.
      * @param cantidad Cantidad a agregar al inventario.
-     * @param catalogo Lista de productos en el catálogo.
+     * @param catalogo Catálogo de productos.
+     * @return {@link Resultado#EXITO}, {@link Resultado#PRODUCTO_NO_ENCONTRADO}
+     *         o {@link Resultado#CANTIDAD_INVALIDA}.
      */
-    public void registrarEntradaInventario(int idProducto, int cantidad, ArrayList<Producto> catalogo) {
-        for (Producto p : catalogo) {
-            if (p.getId() == idProducto) {
-                p.actualizarInventario(p.getInventario() + cantidad);
-                return;
-            }
+    public Resultado registrarEntradaInventario(int idProducto, int cantidad, Catalogo catalogo) {
+        Producto p = catalogo.buscar(idProducto);
+        if (p == null) {
+            return Resultado.PRODUCTO_NO_ENCONTRADO;
         }
-        System.out.println("Producto con ID " + idProducto + " no encontrado");
+        if (!p.reponer(cantidad)) {
+            return Resultado.CANTIDAD_INVALIDA;
+        }
+        try {
+            Diario.actual().registro(Evento.INVENTARIO_REPUESTO).entero(idProducto).entero(cantidad).registrar();
+        } catch (RuntimeException e) {
+            p.ajustarInventario(-cantidad);
+            throw e;
+        }
+        return Resultado.EXITO;
     }
 
     /**
-     * Devuelve una lista de productos con inventario bajo (menos de 5 unidades).
-     * @param catalogo Lista de productos en el catálogo.
-     * @return Lista de productos con inventario bajo.
+     * Reparte el inventario de un producto muy demandado en varios segmentos,
+     * para que las compras simultáneas no compitan por el mismo contador.
+     * @param idProducto ID del producto a configurar.
+     * @param segmentos Número de segmentos; 1 vuelve al contador único.
+     * @param catalogo Catálogo de productos.
+     * @return {@link Resultado#EXITO} o {@link Resultado#PRODUCTO_NO_ENCONTRADO}.
      */
-    public ArrayList<Producto> recibirAlertasInventarioBajo(ArrayList<Producto> catalogo) {
-        ArrayList<Producto> alertas = new ArrayList<>();
-        for (Producto p : catalogo) {
-            if (p.getInventario() < 5) {
-                alertas.add(p);
-            }
+    public Resultado configurarInventarioSegmentado(int idProducto, int segmentos, Catalogo catalogo) {
+        Producto p = catalogo.buscar(idProducto);
+        if (p == null) {
+            return Resultado.PRODUCTO_NO_ENCONTRADO;
         }
-        return alertas;
+        synchronized (p) {
+            p.configurarSegmentosInventario(segmentos);
+            Diario.actual().registro(Evento.INVENTARIO_SEGMENTADO).entero(idProducto).entero(segmentos).registrar();
+        }
+        return Resultado.EXITO;
     }
 
     /**
-     * Actualiza el estado de un pedido específico.
+     * Configura desde qué inventario un producto tiene alerta de inventario bajo.
+     * @param idProducto ID del producto a configurar.
+     * @param umbral El producto tiene alerta mientras su inventario sea menor que este valor; 0 la desactiva.
+     * @param catalogo Catálogo de productos.
+     * @return {@link Resultado#EXITO}, {@link Resultado#DATOS_INVALIDOS} si el umbral es negativo
+     *         o {@link Resultado#PRODUCTO_NO_ENCONTRADO}.
+     */
+    public Resultado configurarUmbralReposicion(int idProducto, int umbral, Catalogo catalogo) {
+        if (umbral < 0) {
+            return Resultado.DATOS_INVALIDOS;
+        }
+        Producto p = catalogo.buscar(idProducto);
+        if (p == null) {
+            return Resultado.PRODUCTO_NO_ENCONTRADO;
+        }
+        synchronized (p) {
+            p.setUmbralReposicion(umbral);
+            Diario.actual().registro(Evento.UMBRAL_REPOSICION_CONFIGURADO).entero(idProducto).entero(umbral).registrar();
+        }
+        return Resultado.EXITO;
+    }
+
+    /**
+     * Devuelve una lista de productos con inventario bajo: menor que su umbral de reposición,
+     * que es de {@value Producto#UMBRAL_REPOSICION_PREDETERMINADO} unidades si no se configuró otro.
+     * En los productos con inventario segmentado se usa la suma aproximada de los segmentos.
+     * La lista de alertas del catálogo se mantiene con cada cambio de inventario, así no se recorre el catálogo.
+     * @param catalogo Catálogo de productos.
+     * @return Lista de productos con inventario bajo, en orden de ID.
+     */
+    public ArrayList<Producto> recibirAlertasInventarioBajo(Catalogo catalogo) {
+        return new ArrayList<>(catalogo.getAlertasInventario());
+    }
+
+    /**
+     * Actualiza el estado de un pedido específico, si el cambio está permitido desde su estado actual.
      * @param idPedido ID del pedido a actualizar.
      * @param nuevoEstado Nuevo estado del pedido.
-     * @param pedidos Lista de pedidos en el sistema.
+     * @param pedidos Registro de pedidos del sistema.
+     * @return {@link Resultado#EXITO}, {@link Resultado#DATOS_INVALIDOS} si el estado es nulo,
+     *         {@link Resultado#CAMBIO_ESTADO_INVALIDO} o {@link Resultado#PEDIDO_NO_ENCONTRADO}.
      */
-    public void actualizarEstadoPedido(int idPedido, String nuevoEstado, ArrayList<Pedido> pedidos) {
+    public Resultado actualizarEstadoPedido(long idPedido, EstadoPedido nuevoEstado, RegistroPedidos pedidos) {
         if (nuevoEstado == null) {
-            System.out.println("El nuevo estado no puede ser nulo");
-            return;
+            return Resultado.DATOS_INVALIDOS;
         }
-        for (Pedido p : pedidos) {
-            if (p.getId() == idPedido) {
-                p.setEstado(nuevoEstado);
-                return;
+        Pedido p = pedidos.buscar(idPedido);
+        if (p == null) {
+            return Resultado.PEDIDO_NO_ENCONTRADO;
+        }
+        // Un cambio de estado depende del anterior: se anota con el pedido bloqueado, en el orden en que se aplicó
+        synchronized (p) {
+            if (!p.cambiarEstado(nuevoEstado)) {
+                return Resultado.CAMBIO_ESTADO_INVALIDO;
             }
+            Diario.actual().registro(Evento.PEDIDO_ESTADO_CAMBIADO).largo(idPedido).texto(nuevoEstado.getNombre()).registrar();
         }
-        System.out.println("Pedido con ID " + idPedido + " no encontrado");
+        return Resultado.EXITO;
     }
 
     /**
      * Cancela un pedido cambiando su estado a "Cancelado".
      * @param idPedido ID del pedido a cancelar.
-     * @param pedidos Lista de pedidos en el sistema.
+     * @param pedidos Registro de pedidos del sistema.
+     * @return {@link Resultado#EXITO}, {@link Resultado#CAMBIO_ESTADO_INVALIDO} si el pedido ya terminó
+     *         o {@link Resultado#PEDIDO_NO_ENCONTRADO}.
      */
-    public void cancelarPedido(int idPedido, ArrayList<Pedido> pedidos) {
-        for (Pedido p : pedidos) {
-            if (p.getId() == idPedido) {
-                p.setEstado("Cancelado");
-                return;
-            }
-        }
-        System.out.println("Pedido con ID " + idPedido + " no encontrado");
+    public Resultado cancelarPedido(long idPedido, RegistroPedidos pedidos) {
+        return actualizarEstadoPedido(idPedido, EstadoPedido.CANCELADO, pedidos);
     }
 
     /**
      * Devuelve una lista de pedidos con estado "Pendiente".
-     * @param pedidos Lista de pedidos en el sistema.
-     * @return Lista de pedidos pendientes.
-     */
-    public ArrayList<Pedido> verPedidosPendientes(ArrayList<Pedido> pedidos) {
-        ArrayList<Pedido> pendientes = new ArrayList<>();
-        for (Pedido p : pedidos) {
-            if ("Pendiente".equalsIgnoreCase(p.getEstado())) {
-                pendientes.add(p);
-            }
-        }
-        return pendientes;
+     * Se usa el índice por estado del registro, así no se recorren los demás pedidos.
+     * @param pedidos Registro de pedidos del sistema.
+     * @return Lista de pedidos pendientes, en orden de ID.
+     */
+    public ArrayList<Pedido> verPedidosPendientes(RegistroPedidos pedidos) {
+        return new ArrayList<>(pedidos.buscarPorEstado(EstadoPedido.PENDIENTE));
     }
 
     /**
-     * Verifica si un pedido ha sido completado.
+     * Verifica si un pedido ha sido pagado.
      * @param idPago ID del pedido a verificar (se asume que es el ID del pedido).
-     * @param pedidos Lista de pedidos en el sistema.
-     * @return true si el pedido está "Completado", false en caso contrario.
+     * @param pedidos Registro de pedidos del sistema.
+     * @return true si el pedido está "Pagado", "Enviado" o "Completado", false en caso contrario.
      */
-    public boolean verificarEstadoPago(int idPago, ArrayList<Pedido> pedidos) {
-        for (Pedido p : pedidos) {
-            if (p.getId() == idPago) {
-                return "Completado".equalsIgnoreCase(p.getEstado());
-            }
-        }
-        return false;
+    public boolean verificarEstadoPago(long idPago, RegistroPedidos pedidos) {
+        Pedido p = pedidos.buscar(idPago);
+        return p != null && p.getEstado().estaPagado();
     }
 
     /**
      * Consulta la dirección asociada a un pedido específico.
      * @param idPedido ID del pedido a consultar.
-     * @param pedidos Lista de pedidos en el sistema.
+     * @param pedidos Registro de pedidos del sistema.
      * @return La dirección del pedido, o null si no se encuentra.
      */
-    public Direccion consultarDireccionPedido(int idPedido, ArrayList<Pedido> pedidos) {
-        for (Pedido p : pedidos) {
-            if (p.getId() == idPedido) {
-                return p.getDireccion();
-            }
-        }
-        return null;
+    public Direccion consultarDireccionPedido(long idPedido, RegistroPedidos pedidos) {
+        Pedido p = pedidos.buscar(idPedido);
+        return p != null ? p.getDireccion() : null;
+    }
+
+    /**
+     * Devuelve los pedidos de un cliente.
+     * Se usa el índice por cliente del registro, así no se recorren los pedidos de los demás.
+     * @param clienteId ID del cliente.
+     * @param pedidos Registro de pedidos del sistema.
+     * @return Lista de pedidos del cliente, en orden de ID.
+     */
+    public ArrayList<Pedido> verPedidosCliente(int clienteId, RegistroPedidos pedidos) {
+        return new ArrayList<>(pedidos.buscarPorCliente(clienteId));
     }
 
     /**
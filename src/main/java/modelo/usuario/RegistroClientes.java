@@ -0,0 +1,106 @@
+package modelo.usuario;
+
+import modelo.util.ConcurrentLongObjectMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clase que guarda los clientes de la tienda, indexados por ID y por nombre de usuario.
+ * <p>
+ * Registrar un cliente, buscarlo por ID o iniciar sesión con su usuario cuestan O(1) sin recorrer
+ * los demás clientes ni copiar una lista. El índice por ID es un {@link ConcurrentLongObjectMap}
+ * y el de usuarios un {@link ConcurrentHashMap}, así cada sesión puede consultarlos mientras otras
+ * registran o eliminan clientes. Cada usuario pertenece a un solo cliente; el ID y el usuario
+ * de un cliente no deben cambiar después de agregarlo.
+ * <p>
+ * Como los índices no guardan un orden, los listados ordenan por ID los clientes que devuelven;
+ * los IDs siguen el orden de registro.
+ */
+public class RegistroClientes {
+    private final ConcurrentLongObjectMap<Cliente> porId;
+    private final ConcurrentHashMap<String, Cliente> porUsuario;
+
+    /**
+     * Constructor que inicializa un registro sin clientes.
+     */
+    public RegistroClientes() {
+        this.porId = new ConcurrentLongObjectMap<>();
+        this.porUsuario = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Agrega un cliente si su ID y su usuario no están registrados.
+     * El usuario se reserva antes que el ID, así dos registros simultáneos con el mismo usuario
+     * no pueden agregarse los dos.
+     * @param cliente Cliente a agregar.
+     * @return true si se agregó, false si ya existe un cliente con el mismo ID o usuario.
+     */
+    public boolean agregar(Cliente cliente) {
+        String usuario = cliente.getUsuario();
+        if (usuario != null && porUsuario.putIfAbsent(usuario, cliente) != null) {
+            return false;
+        }
+        if (porId.putIfAbsent(cliente.getId(), cliente) != null) {
+            if (usuario != null) {
+                porUsuario.remove(usuario, cliente);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Busca un cliente por su ID.
+     * @param id ID del cliente.
+     * @return El cliente, o null si no existe.
+     */
+    public Cliente buscar(int id) {
+        return porId.get(id);
+    }
+
+    /**
+     * Busca un cliente por su nombre de usuario.
+     * @param usuario Nombre de usuario.
+     * @return El cliente, o null si no existe o el usuario es nulo.
+     */
+    public Cliente buscarPorUsuario(String usuario) {
+        return usuario != null ? porUsuario.get(usuario) : null;
+    }
+
+    /**
+     * Elimina un cliente del registro.
+     * @param cliente Cliente a eliminar.
+     * @return true si se eliminó, false si no estaba registrado.
+     */
+    public boolean eliminar(Cliente cliente) {
+        if (!porId.remove(cliente.getId(), cliente)) {
+            return false;
+        }
+        if (cliente.getUsuario() != null) {
+            porUsuario.remove(cliente.getUsuario(), cliente);
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene todos los clientes, en orden de ID.
+     * @return Copia de la lista de clientes.
+     */
+    public List<Cliente> getClientes() {
+        List<Cliente> clientes = new ArrayList<>(porId.size());
+        porId.forEach((id, cliente) -> clientes.add(cliente));
+        clientes.sort(Comparator.comparingInt(Cliente::getId));
+        return clientes;
+    }
+
+    /**
+     * Obtiene la cantidad de clientes del registro.
+     * @return Número de clientes.
+     */
+    public int tamaño() {
+        return porId.size();
+    }
+}
@@ -0,0 +1,178 @@
+package modelo.util;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+
+/**
+ * Mapa de claves {@code long} a objetos que pueden usar varios hilos a la vez.
+ * Reparte las claves entre segmentos, cada uno un {@link LongObjectMap} con su propio bloqueo de lectura y escritura:
+ * las consultas de un segmento no se bloquean entre sí y las escrituras solo bloquean su segmento.
+ * Como {@link LongObjectMap}, no crea un {@code Long} por operación ni admite valores nulos.
+ * @param <V> Tipo de los valores.
+ */
+public class ConcurrentLongObjectMap<V> {
+    private static final int SEGMENTOS = 16;
+
+    private final LongObjectMap<V>[] mapas;
+    private final ReentrantReadWriteLock[] bloqueos;
+    private final int mascara;
+
+    /**
+     * Constructor que inicializa un mapa vacío con la cantidad predeterminada de segmentos.
+     */
+    public ConcurrentLongObjectMap() {
+        this(SEGMENTOS);
+    }
+
+    /**
+     * Constructor que inicializa un mapa vacío con una cantidad dada de segmentos.
+     * Un mapa pequeño con pocos hilos escribiendo puede usar uno solo.
+     * @param segmentos Cantidad de segmentos, se redondea a la potencia de dos siguiente.
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongObjectMap(int segmentos) {
+        if (segmentos < 1) {
+            throw new IllegalArgumentException("Debe haber al menos un segmento");
+        }
+        int cantidad = segmentos == 1 ? 1 : Integer.highestOneBit(segmentos - 1) << 1;
+        this.mapas = (LongObjectMap<V>[]) new LongObjectMap<?>[cantidad];
+        this.bloqueos = new ReentrantReadWriteLock[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            mapas[i] = new LongObjectMap<>();
+            bloqueos[i] = new ReentrantReadWriteLock();
+        }
+        this.mascara = cantidad - 1;
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     * @param clave Clave a buscar.
+     * @return El valor, o null si la clave no existe.
+     */
+    public V get(long clave) {
+        int s = segmento(clave);
+        bloqueos[s].readLock().lock();
+        try {
+            return mapas[s].get(clave);
+        } finally {
+            bloqueos[s].readLock().unlock();
+        }
+    }
+
+    /**
+     * Asocia un valor a una clave, reemplazando el anterior si existía.
+     * @param clave Clave de la entrada.
+     * @param valor Valor a guardar (no puede ser nulo).
+     * @return El valor anterior, o null si la clave no existía.
+     */
+    public V put(long clave, V valor) {
+        int s = segmento(clave);
+        bloqueos[s].writeLock().lock();
+        try {
+            return mapas[s].put(clave, valor);
+        } finally {
+            bloqueos[s].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Asocia un valor a una clave solo si la clave no existe, en un solo paso.
+     * @param clave Clave de la entrada.
+     * @param valor Valor a guardar (no puede ser nulo).
+     * @return El valor existente, o null si se guardó el nuevo.
+     */
+    public V putIfAbsent(long clave, V valor) {
+        int s = segmento(clave);
+        bloqueos[s].writeLock().lock();
+        try {
+            return mapas[s].putIfAbsent(clave, valor);
+        } finally {
+            bloqueos[s].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el valor de una clave, o crea y guarda uno si no existe, en un solo paso.
+     * @param clave Clave de la entrada.
+     * @param crear Función que crea el valor a partir de la clave (no puede devolver null).
+     * @return El valor existente o el creado.
+     */
+    public V computeIfAbsent(long clave, LongFunction<? extends V> crear) {
+        V actual = get(clave);
+        if (actual != null) {
+            return actual;
+        }
+        int s = segmento(clave);
+        bloqueos[s].writeLock().lock();
+        try {
+            actual = mapas[s].get(clave);
+            if (actual == null) {
+                actual = crear.apply(clave);
+                mapas[s].put(clave, actual);
+            }
+            return actual;
+        } finally {
+            bloqueos[s].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina la entrada de una clave solo si tiene el valor dado, en un solo paso.
+     * @param clave Clave a eliminar.
+     * @param valor Valor que debe tener la entrada (se compara por identidad).
+     * @return true si se eliminó.
+     */
+    public boolean remove(long clave, V valor) {
+        int s = segmento(clave);
+        bloqueos[s].writeLock().lock();
+        try {
+            if (mapas[s].get(clave) != valor) {
+                return false;
+            }
+            mapas[s].remove(clave);
+            return true;
+        } finally {
+            bloqueos[s].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de entradas del mapa.
+     * Si otros hilos escriben mientras tanto, cada segmento se cuenta en un momento distinto.
+     * @return Número de entradas.
+     */
+    public int size() {
+        int total = 0;
+        for (int s = 0; s < mapas.length; s++) {
+            bloqueos[s].readLock().lock();
+            try {
+                total += mapas[s].size();
+            } finally {
+                bloqueos[s].readLock().unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Recorre todas las entradas del mapa, sin un orden definido, de a un segmento por vez.
+     * El visitante se ejecuta con el segmento bloqueado para lectura y no debe escribir en este mapa.
+     * @param visitante Acción a ejecutar por cada entrada.
+     */
+    public void forEach(LongObjectMap.Visitante<? super V> visitante) {
+        for (int s = 0; s < mapas.length; s++) {
+            bloqueos[s].readLock().lock();
+            try {
+                mapas[s].forEach(visitante);
+            } finally {
+                bloqueos[s].readLock().unlock();
+            }
+        }
+    }
+
+    private int segmento(long clave) {
+        // Usa bits altos del hash para no coincidir con la casilla dentro del segmento
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & mascara;
+    }
+}
@@ -0,0 +1,62 @@
+package modelo.util;
+
+/**
+ * Diario de cambios (write-ahead log) de la tienda: cada operación del modelo que modifica datos
+ * anota un {@link Evento} con sus datos justo después de aplicarlo, y al reiniciar se repiten
+ * los eventos anotados para recuperar el estado. Si el evento no se puede anotar, la operación
+ * deshace el cambio antes de propagar el error, así no queda aplicado nada que el diario no tenga.
+ * <p>
+ * Hay un único diario instalado para todo el programa, igual que hay una única tienda;
+ * el modelo lo obtiene con {@link #actual()}. Mientras no se instale ninguno se usa
+ * {@link DiarioNulo}, que descarta los eventos sin costo. {@link DiarioArchivo} los guarda en disco.
+ * <p>
+ * Uso desde el modelo:
+ * <pre>{@code
+ * Diario.actual().registro(Evento.PEDIDO_CREADO).largo(pedido.getId()).entero(id).registrar();
+ * }</pre>
+ */
+public abstract class Diario {
+    private static volatile Diario actual;
+
+    /**
+     * Obtiene el diario instalado.
+     * @return El diario donde el modelo debe anotar sus cambios.
+     */
+    public static Diario actual() {
+        Diario diario = actual;
+        return diario != null ? diario : DiarioNulo.INSTANCIA;
+    }
+
+    /**
+     * Instala el diario donde se anotarán los cambios de todas las sesiones.
+     * @param diario Diario a instalar, o null para volver a descartar los eventos.
+     */
+    public static void instalar(Diario diario) {
+        actual = diario;
+    }
+
+    /**
+     * Empieza a anotar un evento. Los datos se agregan al registro devuelto en el orden
+     * que indica el tipo de evento, y se anota al llamar a {@link Registro#registrar()}.
+     * El registro pertenece al hilo actual y se reutiliza en el siguiente evento.
+     * @param evento Tipo de evento a anotar.
+     * @return El registro donde escribir los datos del evento.
+     */
+    public abstract Registro registro(Evento evento);
+
+    /**
+     * Espera a que los eventos anotados por el hilo actual estén guardados de forma duradera.
+     * Las sesiones lo llaman antes de responder al usuario; las esperas de varios hilos
+     * se atienden con una misma sincronización del archivo.
+     */
+    public abstract void sincronizar();
+
+    /**
+     * Agrega al diario los datos de un evento ya codificados.
+     * @param datos Arreglo con los datos del evento, empezando por el código del tipo.
+     * @param longitud Cantidad de bytes válidos en el arreglo.
+     * @param crc Suma de verificación de esos bytes.
+     * @return Número de secuencia asignado al evento.
+     */
+    abstract long anotar(byte[] datos, int longitud, int crc);
+}
@@ -0,0 +1,420 @@
+package modelo.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Diario que guarda los eventos al final de un archivo, sin modificar nunca lo ya escrito.
+ * <p>
+ * Los hilos que anotan eventos solo copian sus bytes en un lote en memoria; un hilo escritor
+ * toma el lote completo, lo escribe con una sola llamada al {@code FileChannel} y, mientras tanto,
+ * los demás hilos llenan un segundo lote (group commit). La sincronización con el disco
+ * ({@code force}) se hace cuando se juntan {@code registrosPorSincronizacion} eventos, cuando pasa
+ * {@code intervaloSincronizacion} desde la anterior o cuando algún hilo espera en {@link #sincronizar()};
+ * una misma sincronización confirma los eventos de todos los hilos que esperaban.
+ * <p>
+ * Al abrirse, se descarta lo que haya quedado a medio escribir al final del archivo
+ * y la numeración de eventos continúa desde el último válido.
+ * Si falla la escritura, el diario deja de aceptar eventos y {@link #sincronizar()} lanza
+ * {@link UncheckedIOException}: ninguna sesión confirma cambios que no quedaron guardados.
+ * <p>
+ * Con {@link #rotar(Path)} lo escrito se mueve a otro archivo y el diario sigue en un archivo vacío,
+ * así lo que ya incluye una instantánea puede borrarse sin que el archivo crezca sin límite.
+ */
+public final class DiarioArchivo extends Diario implements AutoCloseable {
+    /** Eventos que se juntan como máximo antes de sincronizar, si no se indica otra cantidad. */
+    public static final int REGISTROS_POR_SINCRONIZACION = 1024;
+    /** Milisegundos que pasan como máximo entre sincronizaciones, si no se indica otro intervalo. */
+    public static final long INTERVALO_SINCRONIZACION = 10;
+
+    private static final int CAPACIDAD_LOTE = 1 << 20;
+
+    private final Path archivo;
+    private final int registrosPorSincronizacion;
+    private final long intervaloSincronizacion;
+    private final boolean confirmarDurable;
+    private final ThreadLocal<Registro> registros = ThreadLocal.withInitial(() -> new Registro(this));
+    private final Thread escritor;
+
+    private final ReentrantLock bloqueo = new ReentrantLock();
+    private final Condition hayTrabajo = bloqueo.newCondition();
+    private final Condition hayEspacio = bloqueo.newCondition();
+    private final Condition sincronizado = bloqueo.newCondition();
+
+    // Protegidos por el bloqueo; el canal solo se reemplaza con el escritor detenido
+    private FileChannel canal;
+    private boolean rotando;
+    private ByteBuffer lote = ByteBuffer.allocateDirect(CAPACIDAD_LOTE);
+    private ByteBuffer libre = ByteBuffer.allocateDirect(CAPACIDAD_LOTE);
+    private int registrosEnLote;
+    private int registrosSinSincronizar;
+    private long ultimoLsn;
+    private long escritoHasta;
+    private long sincronizadoHasta;
+    private long solicitadoHasta;
+    private long ultimaSincronizacion = System.nanoTime();
+    private boolean cerrado;
+    private IOException error;
+
+    /**
+     * Constructor que abre un diario con la sincronización predeterminada: cada
+     * {@link #REGISTROS_POR_SINCRONIZACION} eventos o {@link #INTERVALO_SINCRONIZACION} ms,
+     * y siempre antes de que una sesión confirme sus cambios.
+     * @param archivo Ruta del archivo; se crea si no existe.
+     * @throws IOException Si el archivo no se puede abrir o leer.
+     */
+    public DiarioArchivo(Path archivo) throws IOException {
+        this(archivo, REGISTROS_POR_SINCRONIZACION, INTERVALO_SINCRONIZACION, true);
+    }
+
+    /**
+     * Constructor que abre un diario con una sincronización configurada.
+     * @param archivo Ruta del archivo; se crea si no existe.
+     * @param registrosPorSincronizacion Eventos que se juntan como máximo antes de sincronizar; 1 sincroniza cada lote.
+     * @param intervaloSincronizacion Milisegundos que pasan como máximo entre sincronizaciones.
+     * @param confirmarDurable true para que {@link #sincronizar()} espere a que los eventos del hilo estén
+     *                         en disco; false para confirmar sin esperar y perder, ante un corte, a lo sumo
+     *                         los eventos del último intervalo.
+     * @throws IOException Si el archivo no se puede abrir o leer.
+     */
+    public DiarioArchivo(Path archivo, int registrosPorSincronizacion, long intervaloSincronizacion,
+                         boolean confirmarDurable) throws IOException {
+        this(archivo, 0, 0, registrosPorSincronizacion, intervaloSincronizacion, confirmarDurable);
+    }
+
+    /**
+     * Constructor que abre un diario cuyo contenido hasta un evento ya se conoce, por ejemplo
+     * porque está incluido en una instantánea: solo se revisa lo escrito después de ese evento.
+     * @param archivo Ruta del archivo; se crea si no existe.
+     * @param posicion Posición del archivo donde termina el evento conocido.
+     * @param lsn Número de secuencia del evento conocido.
+     * @param registrosPorSincronizacion Eventos que se juntan como máximo antes de sincronizar.
+     * @param intervaloSincronizacion Milisegundos que pasan como máximo entre sincronizaciones.
+     * @param confirmarDurable true para que {@link #sincronizar()} espere a que los eventos del hilo estén en disco.
+     * @throws IOException Si el archivo no se puede abrir o leer, o es más corto que la posición.
+     */
+    public DiarioArchivo(Path archivo, long posicion, long lsn, int registrosPorSincronizacion,
+                         long intervaloSincronizacion, boolean confirmarDurable) throws IOException {
+        if (registrosPorSincronizacion < 1 || intervaloSincronizacion < 0) {
+            throw new IllegalArgumentException("La sincronización debe ser de al menos 1 registro y un intervalo no negativo");
+        }
+        this.archivo = archivo;
+        this.registrosPorSincronizacion = registrosPorSincronizacion;
+        this.intervaloSincronizacion = TimeUnit.MILLISECONDS.toNanos(intervaloSincronizacion);
+        this.confirmarDurable = confirmarDurable;
+
+        long posicionValida;
+        try (LectorDiario lector = new LectorDiario(archivo, posicion, lsn)) {
+            while (lector.siguiente()) {
+                // Solo se busca el final válido y el último número de secuencia
+            }
+            posicionValida = lector.getPosicionValida();
+            this.ultimoLsn = lector.getLsn();
+        }
+        this.escritoHasta = ultimoLsn;
+        this.sincronizadoHasta = ultimoLsn;
+        this.solicitadoHasta = ultimoLsn;
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            canal.truncate(posicionValida);
+            canal.position(posicionValida);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        this.escritor = new Thread(this::escribir, "diario-" + archivo.getFileName());
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    @Override
+    public Registro registro(Evento evento) {
+        return registros.get().iniciar(evento);
+    }
+
+    @Override
+    long anotar(byte[] datos, int longitud, int crc) {
+        int tamaño = LectorDiario.CABECERA + longitud + LectorDiario.COLA;
+        bloqueo.lock();
+        try {
+            while (rotando || lote.remaining() < tamaño) {
+                comprobarEstado();
+                if (!rotando && lote.position() == 0) {
+                    // Un evento más grande que un lote completo viaja en un lote propio
+                    lote = ByteBuffer.allocateDirect(tamaño);
+                    break;
+                }
+                hayTrabajo.signal();
+                hayEspacio.awaitUninterruptibly();
+            }
+            comprobarEstado();
+            long lsn = ++ultimoLsn;
+            lote.putInt(longitud).putLong(lsn).put(datos, 0, longitud).putInt(crc);
+            registrosEnLote++;
+            hayTrabajo.signal();
+            return lsn;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    @Override
+    public void sincronizar() {
+        if (!confirmarDurable) {
+            return;
+        }
+        long lsn = registros.get().getUltimoLsn();
+        bloqueo.lock();
+        try {
+            if (sincronizadoHasta >= lsn) {
+                return;
+            }
+            if (lsn > solicitadoHasta) {
+                solicitadoHasta = lsn;
+                hayTrabajo.signal();
+            }
+            while (sincronizadoHasta < lsn) {
+                if (error != null) {
+                    throw new UncheckedIOException("No se pudo guardar el diario", error);
+                }
+                sincronizado.awaitUninterruptibly();
+            }
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Mueve todo lo anotado hasta ahora a otro archivo y sigue anotando en un archivo vacío con la ruta
+     * original; la numeración de eventos continúa. Mientras tanto, los hilos que anotan eventos esperan
+     * a que se sincronicen los pendientes y se abra el archivo nuevo.
+     * @param destino Ruta a la que se mueve el archivo actual; no debe existir.
+     * @return Número de secuencia del último evento que quedó en {@code destino}.
+     * @throws IOException Si {@code destino} ya existe, o falla la sincronización, el cambio de nombre o la
+     *                     apertura del archivo nuevo; en los dos últimos casos el diario deja de aceptar eventos.
+     */
+    public long rotar(Path destino) throws IOException {
+        bloqueo.lock();
+        try {
+            comprobarEstado();
+            if (Files.exists(destino)) {
+                throw new IOException("Ya existe el archivo " + destino);
+            }
+            rotando = true;
+            while (lote.position() > 0 || sincronizadoHasta < ultimoLsn) {
+                if (error != null) {
+                    throw new IOException("No se pudo guardar el diario", error);
+                }
+                solicitadoHasta = Math.max(solicitadoHasta, ultimoLsn);
+                hayTrabajo.signal();
+                sincronizado.awaitUninterruptibly();
+            }
+            // El escritor está detenido: todo lo anotado está escrito y sincronizado
+            try {
+                Files.move(archivo, destino);
+                FileChannel anterior = canal;
+                canal = FileChannel.open(archivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                anterior.close();
+            } catch (IOException e) {
+                fallar(e);
+                throw e;
+            }
+            return ultimoLsn;
+        } finally {
+            rotando = false;
+            hayEspacio.signalAll();
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de secuencia del último evento anotado.
+     * @return El número de secuencia, o 0 si el diario está vacío.
+     */
+    public long getUltimoLsn() {
+        bloqueo.lock();
+        try {
+            return ultimoLsn;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de secuencia del último evento guardado de forma duradera.
+     * @return El número de secuencia sincronizado con el disco.
+     */
+    public long getSincronizadoHasta() {
+        bloqueo.lock();
+        try {
+            return sincronizadoHasta;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Indica si alguna escritura o sincronización del archivo falló.
+     * @return true si hubo un error de escritura.
+     */
+    public boolean tuvoError() {
+        bloqueo.lock();
+        try {
+            return error != null;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Escribe y sincroniza los eventos pendientes y cierra el archivo.
+     * Si este diario estaba instalado, el modelo vuelve a descartar los eventos.
+     */
+    @Override
+    public void close() {
+        if (Diario.actual() == this) {
+            Diario.instalar(null);
+        }
+        bloqueo.lock();
+        try {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            hayTrabajo.signal();
+        } finally {
+            bloqueo.unlock();
+        }
+        boolean interrumpido = false;
+        while (escritor.isAlive()) {
+            try {
+                escritor.join();
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        try {
+            canal.close();
+        } catch (IOException e) {
+            fallar(e);
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Ciclo del hilo escritor: toma lotes, los escribe y sincroniza según la configuración. */
+    private void escribir() {
+        try {
+            while (true) {
+                ByteBuffer porEscribir = null;
+                int registros = 0;
+                long hasta;
+                bloqueo.lock();
+                try {
+                    while (lote.position() == 0 && !debeSincronizar()) {
+                        if (cerrado && escritoHasta == sincronizadoHasta) {
+                            return;
+                        }
+                        if (escritoHasta > sincronizadoHasta) {
+                            hayTrabajo.awaitNanos(intervaloSincronizacion - (System.nanoTime() - ultimaSincronizacion));
+                        } else {
+                            hayTrabajo.awaitUninterruptibly();
+                        }
+                    }
+                    if (lote.position() > 0) {
+                        porEscribir = lote;
+                        registros = registrosEnLote;
+                        lote = libre;
+                        libre = null;
+                        registrosEnLote = 0;
+                        hayEspacio.signalAll();
+                    }
+                    hasta = ultimoLsn;
+                } finally {
+                    bloqueo.unlock();
+                }
+
+                if (porEscribir != null) {
+                    porEscribir.flip();
+                    while (porEscribir.hasRemaining()) {
+                        canal.write(porEscribir);
+                    }
+                    porEscribir.clear();
+                }
+
+                boolean forzar;
+                bloqueo.lock();
+                try {
+                    if (porEscribir != null) {
+                        libre = porEscribir;
+                        escritoHasta = hasta;
+                        registrosSinSincronizar += registros;
+                    }
+                    forzar = debeSincronizar();
+                    hasta = escritoHasta;
+                } finally {
+                    bloqueo.unlock();
+                }
+
+                if (forzar) {
+                    canal.force(false);
+                    bloqueo.lock();
+                    try {
+                        sincronizadoHasta = hasta;
+                        registrosSinSincronizar = 0;
+                        ultimaSincronizacion = System.nanoTime();
+                        sincronizado.signalAll();
+                    } finally {
+                        bloqueo.unlock();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            fallar(e);
+        } catch (InterruptedException e) {
+            fallar(new IOException("El escritor del diario fue interrumpido", e));
+        }
+    }
+
+    /** Indica si hay eventos escritos que ya deben sincronizarse. Se llama con el bloqueo tomado. */
+    private boolean debeSincronizar() {
+        return escritoHasta > sincronizadoHasta
+                && (registrosSinSincronizar >= registrosPorSincronizacion
+                || solicitadoHasta > sincronizadoHasta
+                || cerrado
+                || System.nanoTime() - ultimaSincronizacion >= intervaloSincronizacion);
+    }
+
+    /** Lanza la excepción que corresponde si el diario ya no acepta eventos. Se llama con el bloqueo tomado. */
+    private void comprobarEstado() {
+        if (error != null) {
+            throw new UncheckedIOException("No se pudo guardar el diario", error);
+        }
+        if (cerrado) {
+            throw new IllegalStateException("El diario está cerrado");
+        }
+    }
+
+    /** Registra un error de escritura y despierta a todos los hilos que esperan. */
+    private void fallar(IOException e) {
+        bloqueo.lock();
+        try {
+            if (error == null) {
+                error = e;
+            }
+            hayEspacio.signalAll();
+            sincronizado.signalAll();
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package modelo.util;
+
+/**
+ * Diario que descarta todos los eventos. Es el que usa el modelo mientras no se instale otro,
+ * por ejemplo al cargar los datos iniciales, al recuperar la tienda o en las pruebas.
+ */
+public final class DiarioNulo extends Diario {
+    /** Única instancia. */
+    public static final DiarioNulo INSTANCIA = new DiarioNulo();
+
+    private static final Registro DESCARTADO = new Registro(null);
+
+    private DiarioNulo() {
+    }
+
+    @Override
+    public Registro registro(Evento evento) {
+        return DESCARTADO;
+    }
+
+    @Override
+    public void sincronizar() {
+        // No hay nada que guardar
+    }
+
+    @Override
+    long anotar(byte[] datos, int longitud, int crc) {
+        return 0;
+    }
+}
@@ -0,0 +1,109 @@
+package modelo.util;
+
+/**
+ * Tipos de cambio que se anotan en el {@link Diario}.
+ * Cada cambio del estado de la tienda (catálogo, inventario, pedidos, clientes, empleados,
+ * etiquetas y puntos de entrega) se anota con uno de estos tipos seguido de sus datos,
+ * en el orden que indica cada constante, para poder repetirlo al recuperar la tienda.
+ * <p>
+ * El código de cada tipo es el byte que se guarda en el archivo: no debe cambiar.
+ * <p>
+ * Los cambios de inventario se anotan como diferencias (unidades sumadas o descontadas), no como
+ * la cantidad resultante: dos sesiones pueden anotar en otro orden que el que aplicaron, y como
+ * las diferencias se pueden sumar en cualquier orden, repetirlas da el mismo inventario.
+ * Los demás cambios (precio, nombre, etiquetas, datos de clientes, estado de pedidos) dependen del orden:
+ * se anotan con el objeto modificado bloqueado, así quedan en el diario en el orden en que se aplicaron.
+ */
+public enum Evento {
+    /** id, nombre, descripción, precio, inventario, cantidad de etiquetas y sus IDs. */
+    PRODUCTO_AGREGADO(1),
+    /** id, nombre, descripción, precio, diferencia entre el inventario nuevo y el anterior. */
+    PRODUCTO_EDITADO(2),
+    /** id. */
+    PRODUCTO_ELIMINADO(3),
+    /** ID del producto, ID y nombre de la etiqueta. */
+    ETIQUETA_PRODUCTO_AGREGADA(4),
+    /** ID del producto, ID de la etiqueta. */
+    ETIQUETA_PRODUCTO_ELIMINADA(5),
+    /** ID del producto, cantidad agregada. */
+    INVENTARIO_REPUESTO(6),
+    /** ID del producto, número de segmentos. */
+    INVENTARIO_SEGMENTADO(7),
+    /** ID del pedido (largo), ID del cliente. */
+    PEDIDO_CREADO(8),
+    /** ID del pedido (largo), ID del producto, cantidad. */
+    PRODUCTO_PEDIDO_AGREGADO(9),
+    /** ID del pedido (largo), nuevo estado. */
+    PEDIDO_ESTADO_CAMBIADO(10),
+    /** ID del pedido (largo), ID del cliente, ID de la dirección. */
+    PEDIDO_DIRECCION_ASIGNADA(11),
+    /** ID del pedido (largo), ID del cliente, ID del método de pago. */
+    PEDIDO_METODO_PAGO_ASIGNADO(12),
+    /** id, nombre, usuario, correo, contraseña, teléfono. */
+    CLIENTE_REGISTRADO(13),
+    /** id, nombre, correo, teléfono. */
+    CLIENTE_EDITADO(14),
+    /** id. */
+    CLIENTE_ELIMINADO(15),
+    /** ID del cliente, ID de la dirección, calle, ciudad. */
+    DIRECCION_AGREGADA(16),
+    /** ID del cliente, ID de la dirección, calle, ciudad. */
+    DIRECCION_EDITADA(17),
+    /** ID del cliente, ID de la dirección. */
+    DIRECCION_ELIMINADA(18),
+    /** ID del cliente, id, tipo, datos, estado. */
+    METODO_PAGO_AGREGADO(19),
+    /** ID del cliente, ID del método de pago, nuevos datos. */
+    METODO_PAGO_EDITADO(20),
+    /** ID del cliente, ID del método de pago. */
+    METODO_PAGO_ELIMINADO(21),
+    /** id, nombre. */
+    ETIQUETA_CREADA(22),
+    /** id. */
+    ETIQUETA_ELIMINADA(23),
+    /** id, nombre, usuario, correo, contraseña. */
+    EMPLEADO_REGISTRADO(24),
+    /** id, nombre, usuario. */
+    EMPLEADO_EDITADO(25),
+    /** id. */
+    EMPLEADO_ELIMINADO(26),
+    /** id, calle, ciudad. */
+    PUNTO_ENTREGA_AGREGADO(27),
+    /** id, calle, ciudad. */
+    PUNTO_ENTREGA_EDITADO(28),
+    /** id. */
+    PUNTO_ENTREGA_ELIMINADO(29),
+    /** ID del producto, umbral de reposición. */
+    UMBRAL_REPOSICION_CONFIGURADO(30);
+
+    private static final Evento[] POR_CODIGO = new Evento[128];
+
+    static {
+        for (Evento evento : values()) {
+            POR_CODIGO[evento.codigo] = evento;
+        }
+    }
+
+    private final byte codigo;
+
+    Evento(int codigo) {
+        this.codigo = (byte) codigo;
+    }
+
+    /**
+     * Obtiene el código con el que se guarda el tipo en el archivo.
+     * @return El código del tipo.
+     */
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Obtiene el tipo que corresponde a un código leído del archivo.
+     * @param codigo Código leído.
+     * @return El tipo, o null si el código no corresponde a ninguno.
+     */
+    public static Evento deCodigo(int codigo) {
+        return codigo >= 0 && codigo < POR_CODIGO.length ? POR_CODIGO[codigo] : null;
+    }
+}
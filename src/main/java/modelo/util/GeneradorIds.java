@@ -0,0 +1,88 @@
+package modelo.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generador central de los IDs nuevos de la tienda, con una secuencia creciente por tipo de entidad.
+ * <p>
+ * Un ID entregado no se vuelve a entregar aunque se elimine la entidad que lo usaba, y dos sesiones
+ * que crean a la vez nunca reciben el mismo, sin sincronizarse entre ellas: cada ID sale de un incremento
+ * atómico de la secuencia compartida. Las entidades se crean de a una por sesión y con poca frecuencia,
+ * así que ese contador casi nunca se disputa, y no se reservan IDs por hilo que los hilos virtuales
+ * de sesiones cortas dejarían sin usar.
+ * <p>
+ * Los datos agregados con un ID ya conocido (los iniciales, los de una instantánea o los repetidos
+ * del diario) se informan con {@link #avanzarHasta(Entidad, int)}, así los IDs nuevos quedan después.
+ * Debe hacerse al cargar, antes de atender sesiones, para que ningún ID entregado coincida con uno informado.
+ * <p>
+ * Los pedidos no usan este generador sino {@link GeneradorIdsDistribuidos}, porque sus IDs deben
+ * ser únicos también entre varias instancias de la tienda.
+ */
+public class GeneradorIds {
+    /**
+     * Tipos de entidad con secuencia de IDs propia.
+     */
+    public enum Entidad {
+        /** Clientes registrados. */
+        CLIENTE,
+        /** Empleados registrados por un administrador. */
+        EMPLEADO,
+        /** Etiquetas de productos. */
+        ETIQUETA,
+        /** Puntos de entrega de la tienda. */
+        PUNTO_ENTREGA,
+        /** Productos del catálogo. */
+        PRODUCTO
+    }
+
+    private static final Entidad[] ENTIDADES = Entidad.values();
+
+    /** Siguiente ID a entregar de cada entidad. */
+    private final AtomicInteger[] siguientes;
+
+    /**
+     * Constructor que inicializa todas las secuencias para empezar en el ID 1.
+     */
+    public GeneradorIds() {
+        this.siguientes = new AtomicInteger[ENTIDADES.length];
+        for (int i = 0; i < siguientes.length; i++) {
+            siguientes[i] = new AtomicInteger(1);
+        }
+    }
+
+    /**
+     * Entrega un ID nuevo para una entidad.
+     * @param entidad Tipo de entidad que se crea.
+     * @return Un ID que no se entregó antes ni pertenece a datos informados con {@link #avanzarHasta(Entidad, int)}.
+     * @throws IllegalStateException Si la secuencia se agotó.
+     */
+    public int siguiente(Entidad entidad) {
+        int id = siguientes[entidad.ordinal()].getAndIncrement();
+        if (id <= 0) {
+            throw new IllegalStateException("Se agotaron los IDs de " + entidad);
+        }
+        return id;
+    }
+
+    /**
+     * Informa que ya existe una entidad con un ID, para que los IDs que se entreguen después sean mayores.
+     * @param entidad Tipo de la entidad.
+     * @param id ID de la entidad existente.
+     */
+    public void avanzarHasta(Entidad entidad, int id) {
+        AtomicInteger siguiente = siguientes[entidad.ordinal()];
+        int actual = siguiente.get();
+        while (actual <= id && !siguiente.compareAndSet(actual, id + 1)) {
+            actual = siguiente.get();
+        }
+    }
+
+    /**
+     * Obtiene el primer ID de una entidad que todavía no se entregó, para guardarlo en una instantánea.
+     * @param entidad Tipo de entidad.
+     * @return El siguiente ID libre de la secuencia.
+     */
+    public int getSiguienteLibre(Entidad entidad) {
+        return siguientes[entidad.ordinal()].get();
+    }
+}
@@ -0,0 +1,110 @@
+package modelo.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generador de IDs de 64 bits que no se repiten entre varias instancias de la tienda (nodos)
+ * sin que se comuniquen entre ellas, al estilo Snowflake. Cada ID se compone de:
+ * <ul>
+ *     <li>41 bits con los milisegundos desde {@link #EPOCA}, suficientes para unos 69 años;</li>
+ *     <li>10 bits con el número de nodo, de 0 a {@link #MAXIMO_NODO};</li>
+ *     <li>12 bits con una secuencia dentro del mismo milisegundo.</li>
+ * </ul>
+ * Por eso los IDs quedan ordenados aproximadamente por fecha de creación, también entre nodos,
+ * y recorrerlos en orden de ID sigue el orden en que se crearon.
+ * <p>
+ * Generar un ID es un solo incremento atómico sin bloqueos. Dentro de un nodo los IDs son
+ * estrictamente crecientes: si en un milisegundo se piden más de 4096, o si el reloj retrocede,
+ * se sigue con los milisegundos siguientes en lugar de esperar al reloj.
+ */
+public class GeneradorIdsDistribuidos {
+    /** Instante desde el que se cuentan los milisegundos: 1 de enero de 2024 a las 00:00 UTC. */
+    public static final long EPOCA = 1704067200000L;
+    /** Número de nodo máximo. */
+    public static final int MAXIMO_NODO = 1023;
+
+    private static final int BITS_SECUENCIA = 12;
+    private static final int BITS_NODO = 10;
+    private static final long MASCARA_SECUENCIA = (1L << BITS_SECUENCIA) - 1;
+
+    private final int nodo;
+    private final LongSupplier reloj;
+    /** Milisegundos y secuencia del último ID entregado, sin el nodo: {@code (milisegundos << 12) | secuencia}. */
+    private final AtomicLong ultimo;
+
+    /**
+     * Constructor que inicializa el generador de un nodo con el reloj del sistema.
+     * @param nodo Número de este nodo, distinto en cada instancia de la tienda.
+     * @throws IllegalArgumentException Si el nodo está fuera de rango.
+     */
+    public GeneradorIdsDistribuidos(int nodo) {
+        this(nodo, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor que inicializa el generador de un nodo con un reloj dado, por ejemplo en pruebas.
+     * @param nodo Número de este nodo, distinto en cada instancia de la tienda.
+     * @param reloj Función que devuelve la hora actual en milisegundos desde 1970.
+     * @throws IllegalArgumentException Si el nodo está fuera de rango.
+     */
+    public GeneradorIdsDistribuidos(int nodo, LongSupplier reloj) {
+        if (nodo < 0 || nodo > MAXIMO_NODO) {
+            throw new IllegalArgumentException("El nodo debe estar entre 0 y " + MAXIMO_NODO);
+        }
+        this.nodo = nodo;
+        this.reloj = reloj;
+        this.ultimo = new AtomicLong();
+    }
+
+    /**
+     * Obtiene el número de nodo del generador.
+     * @return El número de nodo.
+     */
+    public int getNodo() {
+        return nodo;
+    }
+
+    /**
+     * Genera un ID nuevo, mayor que todos los entregados antes por este generador.
+     * @return El ID generado.
+     */
+    public long siguiente() {
+        long ahora = Math.max(0, reloj.getAsLong() - EPOCA) << BITS_SECUENCIA;
+        long compuesto = ultimo.updateAndGet(anterior -> Math.max(anterior + 1, ahora));
+        return ((compuesto >>> BITS_SECUENCIA) << (BITS_NODO + BITS_SECUENCIA))
+                | ((long) nodo << BITS_SECUENCIA)
+                | (compuesto & MASCARA_SECUENCIA);
+    }
+
+    /**
+     * Informa que ya existe un ID, por ejemplo al cargar datos, para que los siguientes IDs de este
+     * nodo sean mayores aunque el reloj haya retrocedido desde que se generó.
+     * Los IDs de otros nodos no pueden coincidir con los de este y no cambian nada.
+     * @param id ID existente.
+     */
+    public void avanzarHasta(long id) {
+        if (nodo(id) == nodo) {
+            long compuesto = ((id >>> (BITS_NODO + BITS_SECUENCIA)) << BITS_SECUENCIA) | (id & MASCARA_SECUENCIA);
+            ultimo.accumulateAndGet(compuesto, Math::max);
+        }
+    }
+
+    /**
+     * Obtiene el instante en que se generó un ID.
+     * @param id ID generado.
+     * @return Milisegundos desde 1970.
+     */
+    public static long instante(long id) {
+        return (id >>> (BITS_NODO + BITS_SECUENCIA)) + EPOCA;
+    }
+
+    /**
+     * Obtiene el nodo que generó un ID.
+     * @param id ID generado.
+     * @return El número de nodo.
+     */
+    public static int nodo(long id) {
+        return (int) (id >>> BITS_SECUENCIA) & MAXIMO_NODO;
+    }
+}
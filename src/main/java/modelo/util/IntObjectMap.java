@@ -0,0 +1,223 @@
+package modelo.util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de claves {@code int} a objetos con direccionamiento abierto y sondeo lineal.
+ * A diferencia de {@code HashMap<Integer, V>}, no crea un {@code Integer} por consulta
+ * y guarda cada entrada en dos arreglos paralelos, sin nodos intermedios.
+ * No admite valores nulos: un valor nulo en la tabla marca una casilla libre.
+ * @param <V> Tipo de los valores.
+ */
+public class IntObjectMap<V> {
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private int[] claves;
+    private Object[] valores;
+    private int tamaño;
+    private int mascara;
+    private int limite;
+
+    /**
+     * Constructor que inicializa un mapa vacío con la capacidad predeterminada.
+     */
+    public IntObjectMap() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Constructor que inicializa un mapa vacío con capacidad para la cantidad de entradas esperada.
+     * @param esperado Cantidad de entradas que se espera guardar sin redimensionar.
+     */
+    public IntObjectMap(int esperado) {
+        int capacidad = Integer.highestOneBit(Math.max(esperado * 2 - 1, CAPACIDAD_INICIAL - 1)) << 1;
+        iniciarTabla(capacidad);
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     * @param clave Clave a buscar.
+     * @return El valor, o null si la clave no existe.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int clave) {
+        int i = indice(clave);
+        Object valor;
+        while ((valor = valores[i]) != null) {
+            if (claves[i] == clave) {
+                return (V) valor;
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Indica si existe una entrada con la clave dada.
+     * @param clave Clave a buscar.
+     * @return true si la clave existe.
+     */
+    public boolean containsKey(int clave) {
+        return get(clave) != null;
+    }
+
+    /**
+     * Asocia un valor a una clave, reemplazando el anterior si existía.
+     * @param clave Clave de la entrada.
+     * @param valor Valor a guardar (no puede ser nulo).
+     * @return El valor anterior, o null si la clave no existía.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int clave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("IntObjectMap no admite valores nulos");
+        }
+        int i = indice(clave);
+        Object actual;
+        while ((actual = valores[i]) != null) {
+            if (claves[i] == clave) {
+                valores[i] = valor;
+                return (V) actual;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++tamaño > limite) {
+            redimensionar(claves.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Asocia un valor a una clave solo si la clave no existe.
+     * @param clave Clave de la entrada.
+     * @param valor Valor a guardar (no puede ser nulo).
+     * @return El valor existente, o null si se guardó el nuevo.
+     */
+    public V putIfAbsent(int clave, V valor) {
+        V actual = get(clave);
+        if (actual != null) {
+            return actual;
+        }
+        put(clave, valor);
+        return null;
+    }
+
+    /**
+     * Elimina la entrada con la clave dada.
+     * Las entradas siguientes del mismo grupo se desplazan hacia atrás, de modo que
+     * la tabla nunca acumula marcas de borrado.
+     * @param clave Clave a eliminar.
+     * @return El valor eliminado, o null si la clave no existía.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int clave) {
+        int i = indice(clave);
+        Object valor;
+        while ((valor = valores[i]) != null) {
+            if (claves[i] == clave) {
+                desplazarHaciaAtras(i);
+                tamaño--;
+                return (V) valor;
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene la cantidad de entradas del mapa.
+     * @return Número de entradas.
+     */
+    public int size() {
+        return tamaño;
+    }
+
+    /**
+     * Indica si el mapa no tiene entradas.
+     * @return true si está vacío.
+     */
+    public boolean isEmpty() {
+        return tamaño == 0;
+    }
+
+    /**
+     * Elimina todas las entradas conservando la capacidad actual.
+     */
+    public void clear() {
+        Arrays.fill(valores, null);
+        tamaño = 0;
+    }
+
+    /**
+     * Recorre todas las entradas del mapa, sin un orden definido.
+     * @param visitante Acción a ejecutar por cada entrada.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Visitante<? super V> visitante) {
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] != null) {
+                visitante.visitar(claves[i], (V) valores[i]);
+            }
+        }
+    }
+
+    /**
+     * Acción que recibe cada entrada del mapa sin envolver la clave en un {@code Integer}.
+     * @param <V> Tipo de los valores.
+     */
+    @FunctionalInterface
+    public interface Visitante<V> {
+        /**
+         * Procesa una entrada del mapa.
+         * @param clave Clave de la entrada.
+         * @param valor Valor de la entrada.
+         */
+        void visitar(int clave, V valor);
+    }
+
+    private int indice(int clave) {
+        int h = clave * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+
+    private void desplazarHaciaAtras(int libre) {
+        int i = (libre + 1) & mascara;
+        while (valores[i] != null) {
+            int ideal = indice(claves[i]);
+            // La entrada en i puede ocupar la casilla libre si su posición ideal no está entre libre e i
+            if (((i - ideal) & mascara) >= ((i - libre) & mascara)) {
+                claves[libre] = claves[i];
+                valores[libre] = valores[i];
+                libre = i;
+            }
+            i = (i + 1) & mascara;
+        }
+        valores[libre] = null;
+    }
+
+    private void iniciarTabla(int capacidad) {
+        claves = new int[capacidad];
+        valores = new Object[capacidad];
+        mascara = capacidad - 1;
+        limite = (int) (capacidad * 0.6f);
+    }
+
+    private void redimensionar(int capacidad) {
+        int[] clavesAnteriores = claves;
+        Object[] valoresAnteriores = valores;
+        iniciarTabla(capacidad);
+        for (int j = 0; j < valoresAnteriores.length; j++) {
+            Object valor = valoresAnteriores[j];
+            if (valor != null) {
+                int i = indice(clavesAnteriores[j]);
+                while (valores[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = clavesAnteriores[j];
+                valores[i] = valor;
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package modelo.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Lee en orden los eventos guardados por un {@link DiarioArchivo}.
+ * <p>
+ * Cada evento ocupa en el archivo: la longitud de sus datos (4 bytes), su número de secuencia
+ * (8 bytes), los datos (el código del {@link Evento} y sus valores) y la suma CRC32C de los datos
+ * (4 bytes). La lectura se detiene en el primer evento incompleto o dañado, que es lo que queda
+ * al final del archivo si el programa se detuvo mientras escribía.
+ * <p>
+ * Uso:
+ * <pre>{@code
+ * while (lector.siguiente()) {
+ *     switch (lector.getEvento()) { ... lector.leerEntero() ... }
+ * }
+ * }</pre>
+ */
+public class LectorDiario implements Closeable {
+    /** Bytes antes de los datos de cada evento: longitud y número de secuencia. */
+    static final int CABECERA = Integer.BYTES + Long.BYTES;
+    /** Bytes después de los datos de cada evento: la suma de verificación. */
+    static final int COLA = Integer.BYTES;
+    /** Longitud máxima de los datos de un evento; una mayor indica un archivo dañado. */
+    static final int MAXIMO_DATOS = 1 << 26;
+
+    private static final int CAPACIDAD_INICIAL = 1 << 16;
+
+    private final FileChannel canal;
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer buffer;
+    private boolean finArchivo;
+    private long posicionValida;
+    private long lsn;
+    private Evento evento;
+    private ByteBuffer datos;
+
+    /**
+     * Constructor que abre un diario para leerlo desde el principio.
+     * Si el archivo no existe se comporta como un diario vacío.
+     * @param archivo Ruta del archivo del diario.
+     * @throws IOException Si el archivo existe pero no se puede abrir.
+     */
+    public LectorDiario(Path archivo) throws IOException {
+        this(archivo, 0, 0);
+    }
+
+    /**
+     * Constructor que abre un diario para leerlo desde el final de un evento ya conocido,
+     * por ejemplo el último incluido en una instantánea.
+     * Si el archivo no existe y la posición es 0 se comporta como un diario vacío.
+     * @param archivo Ruta del archivo del diario.
+     * @param posicion Posición del archivo donde termina el evento conocido.
+     * @param lsn Número de secuencia del evento conocido; solo se leen eventos posteriores.
+     * @throws IOException Si el archivo no se puede abrir, o no existe o es más corto que la posición.
+     */
+    public LectorDiario(Path archivo, long posicion, long lsn) throws IOException {
+        this.canal = Files.exists(archivo) ? FileChannel.open(archivo, StandardOpenOption.READ) : null;
+        this.buffer = ByteBuffer.allocate(CAPACIDAD_INICIAL).flip();
+        this.finArchivo = canal == null;
+        this.posicionValida = posicion;
+        this.lsn = lsn;
+        if (posicion > 0) {
+            if (canal == null || canal.size() < posicion) {
+                if (canal != null) {
+                    canal.close();
+                }
+                throw new IOException("El diario " + archivo + " es más corto que la posición " + posicion);
+            }
+            canal.position(posicion);
+        }
+    }
+
+    /**
+     * Avanza al siguiente evento del diario.
+     * @return true si hay un evento completo y válido; false al llegar al final o a un evento dañado.
+     * @throws IOException Si falla la lectura del archivo.
+     */
+    public boolean siguiente() throws IOException {
+        evento = null;
+        if (!disponible(CABECERA)) {
+            return false;
+        }
+        int longitud = buffer.getInt(buffer.position());
+        long secuencia = buffer.getLong(buffer.position() + Integer.BYTES);
+        if (longitud < 1 || longitud > MAXIMO_DATOS || secuencia <= lsn || !disponible(CABECERA + longitud + COLA)) {
+            return false;
+        }
+        int inicio = buffer.position() + CABECERA;
+        crc.reset();
+        crc.update(buffer.array(), buffer.arrayOffset() + inicio, longitud);
+        Evento tipo = Evento.deCodigo(buffer.get(inicio));
+        if ((int) crc.getValue() != buffer.getInt(inicio + longitud) || tipo == null) {
+            return false;
+        }
+        datos = buffer.slice(inicio + 1, longitud - 1);
+        buffer.position(inicio + longitud + COLA);
+        posicionValida += CABECERA + longitud + COLA;
+        lsn = secuencia;
+        evento = tipo;
+        return true;
+    }
+
+    /**
+     * Obtiene el tipo del evento actual.
+     * @return El tipo del evento, o null si no hay evento actual.
+     */
+    public Evento getEvento() {
+        return evento;
+    }
+
+    /**
+     * Obtiene el número de secuencia del evento actual, o del último leído si ya no hay más.
+     * @return El número de secuencia, o 0 si no se leyó ningún evento.
+     */
+    public long getLsn() {
+        return lsn;
+    }
+
+    /**
+     * Obtiene la posición del archivo donde termina el último evento válido leído.
+     * @return Cantidad de bytes válidos desde el inicio del archivo.
+     */
+    public long getPosicionValida() {
+        return posicionValida;
+    }
+
+    /**
+     * Lee un entero de los datos del evento actual.
+     * @return El valor leído.
+     */
+    public int leerEntero() {
+        return datos.getInt();
+    }
+
+    /**
+     * Lee un entero largo de los datos del evento actual.
+     * @return El valor leído.
+     */
+    public long leerLargo() {
+        return datos.getLong();
+    }
+
+    /**
+     * Lee un número decimal de los datos del evento actual.
+     * @return El valor leído.
+     */
+    public double leerDecimal() {
+        return Double.longBitsToDouble(datos.getLong());
+    }
+
+    /**
+     * Lee un valor booleano de los datos del evento actual.
+     * @return El valor leído.
+     */
+    public boolean leerBooleano() {
+        return datos.get() != 0;
+    }
+
+    /**
+     * Lee un texto de los datos del evento actual.
+     * @return El texto leído; puede ser null.
+     */
+    public String leerTexto() {
+        int longitud = datos.getInt();
+        if (longitud < 0) {
+            return null;
+        }
+        String texto = new String(datos.array(), datos.arrayOffset() + datos.position(), longitud, StandardCharsets.UTF_8);
+        datos.position(datos.position() + longitud);
+        return texto;
+    }
+
+    /**
+     * Cierra el archivo del diario.
+     * @throws IOException Si falla el cierre.
+     */
+    @Override
+    public void close() throws IOException {
+        if (canal != null) {
+            canal.close();
+        }
+    }
+
+    /** Lee del archivo hasta tener al menos la cantidad de bytes indicada sin consumir. */
+    private boolean disponible(int cantidad) throws IOException {
+        while (buffer.remaining() < cantidad && !finArchivo) {
+            buffer.compact();
+            if (buffer.capacity() < cantidad) {
+                ByteBuffer mayor = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, cantidad));
+                buffer.flip();
+                mayor.put(buffer);
+                buffer = mayor;
+            }
+            finArchivo = canal.read(buffer) < 0;
+            buffer.flip();
+        }
+        return buffer.remaining() >= cantidad;
+    }
+}
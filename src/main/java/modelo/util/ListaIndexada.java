@@ -0,0 +1,197 @@
+package modelo.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Lista que además indexa sus elementos por ID, para buscarlos en O(1) sin recorrerla.
+ * <p>
+ * Se comporta como un {@link ArrayList}: conserva el orden y admite acceso por posición.
+ * Todas las modificaciones, incluidas las hechas con su iterador o con {@code removeIf},
+ * pasan por {@link #add(int, Object)}, {@link #set(int, Object)} y {@link #remove(int)},
+ * que mantienen el índice. Si hay IDs repetidos, {@link #buscar(long)} devuelve el primero en la lista,
+ * igual que una búsqueda lineal; solo en ese caso quitar un elemento vuelve a recorrer la lista.
+ * También recuerda el mayor ID que tuvo algún elemento, para numerar los nuevos sin reutilizar
+ * los IDs de los que se quitaron. El ID de un elemento no debe cambiar mientras está en la lista.
+ * <p>
+ * Es segura para varios hilos, como {@link java.util.Collections#synchronizedList(List)}: cada operación
+ * se sincroniza sobre la lista, y {@link #toArray()} copia todos los elementos en un solo paso.
+ * Para recorrerla mientras otros hilos la modifican hay que copiarla antes (por ejemplo con {@link List#copyOf})
+ * o sincronizarse sobre la lista durante el recorrido, igual que para varias operaciones que deban ser una sola.
+ * @param <T> Tipo de los elementos.
+ */
+public class ListaIndexada<T> extends AbstractList<T> {
+    private final List<T> elementos;
+    private final LongObjectMap<T> porId;
+    private final ToLongFunction<? super T> id;
+    private int repetidos;
+    private long mayorId;
+
+    /**
+     * Constructor que inicializa una lista vacía.
+     * @param id Función que obtiene el ID de un elemento.
+     */
+    public ListaIndexada(ToLongFunction<? super T> id) {
+        this.elementos = new ArrayList<>();
+        this.porId = new LongObjectMap<>();
+        this.id = id;
+    }
+
+    /**
+     * Busca un elemento por su ID.
+     * @param clave ID del elemento.
+     * @return El primer elemento con ese ID, o null si no hay ninguno.
+     */
+    public synchronized T buscar(long clave) {
+        return porId.get(clave);
+    }
+
+    /**
+     * Obtiene el mayor ID que tuvo algún elemento de la lista, aunque ya se haya quitado.
+     * @return El mayor ID agregado, o 0 si nunca se agregó ninguno.
+     */
+    public synchronized long getMayorId() {
+        return mayorId;
+    }
+
+    /**
+     * Obtiene el elemento de una posición.
+     * @param indice Posición del elemento.
+     * @return El elemento.
+     */
+    @Override
+    public synchronized T get(int indice) {
+        return elementos.get(indice);
+    }
+
+    /**
+     * Obtiene la cantidad de elementos.
+     * @return Número de elementos.
+     */
+    @Override
+    public synchronized int size() {
+        return elementos.size();
+    }
+
+    /**
+     * Inserta un elemento en una posición y lo indexa.
+     * @param indice Posición donde se inserta.
+     * @param elemento Elemento a insertar (no puede ser nulo).
+     */
+    @Override
+    public synchronized void add(int indice, T elemento) {
+        elementos.add(indice, elemento);
+        modCount++;
+        indexar(indice, elemento);
+    }
+
+    /**
+     * Reemplaza el elemento de una posición, actualizando el índice.
+     * @param indice Posición a reemplazar.
+     * @param elemento Nuevo elemento (no puede ser nulo).
+     * @return El elemento reemplazado.
+     */
+    @Override
+    public synchronized T set(int indice, T elemento) {
+        T anterior = elementos.remove(indice);
+        desindexar(anterior);
+        elementos.add(indice, elemento);
+        indexar(indice, elemento);
+        return anterior;
+    }
+
+    /**
+     * Quita el elemento de una posición y lo saca del índice.
+     * @param indice Posición a quitar.
+     * @return El elemento quitado.
+     */
+    @Override
+    public synchronized T remove(int indice) {
+        T anterior = elementos.remove(indice);
+        modCount++;
+        desindexar(anterior);
+        return anterior;
+    }
+
+    /**
+     * Busca un elemento y lo quita, en un solo paso.
+     * @param objeto Elemento a quitar.
+     * @return true si estaba en la lista.
+     */
+    @Override
+    public synchronized boolean remove(Object objeto) {
+        return super.remove(objeto);
+    }
+
+    /**
+     * Quita los elementos que cumplen una condición, en un solo paso.
+     * @param condicion Condición de los elementos a quitar.
+     * @return true si se quitó alguno.
+     */
+    @Override
+    public synchronized boolean removeIf(Predicate<? super T> condicion) {
+        return super.removeIf(condicion);
+    }
+
+    /**
+     * Copia los elementos en un arreglo, en un solo paso.
+     * @return Arreglo con los elementos en orden.
+     */
+    @Override
+    public synchronized Object[] toArray() {
+        return elementos.toArray();
+    }
+
+    /**
+     * Copia los elementos en un arreglo del tipo dado, en un solo paso.
+     * @param arreglo Arreglo donde copiarlos si alcanza, o del que se toma el tipo.
+     * @return Arreglo con los elementos en orden.
+     */
+    @Override
+    public synchronized <A> A[] toArray(A[] arreglo) {
+        return elementos.toArray(arreglo);
+    }
+
+    /**
+     * Agrega un elemento al índice, salvo que ya haya uno con el mismo ID antes en la lista.
+     * @param indice Posición del elemento.
+     * @param elemento Elemento agregado.
+     */
+    private void indexar(int indice, T elemento) {
+        long clave = id.applyAsLong(elemento);
+        mayorId = Math.max(mayorId, clave);
+        T existente = porId.putIfAbsent(clave, elemento);
+        if (existente != null) {
+            repetidos++;
+            if (indice < elementos.size() - 1 && elementos.indexOf(existente) > indice) {
+                porId.put(clave, elemento);
+            }
+        }
+    }
+
+    /**
+     * Saca un elemento del índice y, si había IDs repetidos, indexa el siguiente con el mismo ID.
+     * @param elemento Elemento quitado.
+     */
+    private void desindexar(T elemento) {
+        long clave = id.applyAsLong(elemento);
+        if (porId.get(clave) != elemento) {
+            repetidos--;
+            return;
+        }
+        porId.remove(clave);
+        if (repetidos == 0) {
+            return;
+        }
+        for (T otro : elementos) {
+            if (id.applyAsLong(otro) == clave) {
+                porId.put(clave, otro);
+                repetidos--;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package modelo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Codificador de los datos de un evento del {@link Diario}.
+ * Cada hilo reutiliza el mismo registro y su arreglo, así anotar un evento no crea objetos
+ * aparte de los bytes de los textos. Un registro sin diario (el de {@link DiarioNulo})
+ * ignora todos los datos.
+ * <p>
+ * Los valores se escriben en orden big-endian; los textos como su longitud en UTF-8
+ * (o -1 si son null) seguida de sus bytes. {@link LectorDiario} los lee en el mismo orden.
+ */
+public final class Registro {
+    private static final int CAPACIDAD_INICIAL = 128;
+
+    private final Diario diario;
+    private final CRC32C crc;
+    private byte[] datos;
+    private int longitud;
+    private long ultimoLsn;
+
+    /**
+     * Constructor que inicializa un registro para un diario.
+     * @param diario Diario donde se anotan los eventos, o null para descartarlos.
+     */
+    Registro(Diario diario) {
+        this.diario = diario;
+        this.crc = diario != null ? new CRC32C() : null;
+        this.datos = diario != null ? new byte[CAPACIDAD_INICIAL] : null;
+    }
+
+    /**
+     * Empieza un evento nuevo, descartando los datos del anterior.
+     * @param evento Tipo del evento.
+     * @return Este registro.
+     */
+    Registro iniciar(Evento evento) {
+        if (diario != null) {
+            longitud = 0;
+            asegurar(1);
+            datos[longitud++] = evento.getCodigo();
+        }
+        return this;
+    }
+
+    /**
+     * Agrega un entero a los datos del evento.
+     * @param valor Valor a agregar.
+     * @return Este registro.
+     */
+    public Registro entero(int valor) {
+        if (diario != null) {
+            asegurar(Integer.BYTES);
+            datos[longitud++] = (byte) (valor >>> 24);
+            datos[longitud++] = (byte) (valor >>> 16);
+            datos[longitud++] = (byte) (valor >>> 8);
+            datos[longitud++] = (byte) valor;
+        }
+        return this;
+    }
+
+    /**
+     * Agrega un entero largo a los datos del evento.
+     * @param valor Valor a agregar.
+     * @return Este registro.
+     */
+    public Registro largo(long valor) {
+        if (diario != null) {
+            entero((int) (valor >>> 32));
+            entero((int) valor);
+        }
+        return this;
+    }
+
+    /**
+     * Agrega un número decimal a los datos del evento.
+     * @param valor Valor a agregar.
+     * @return Este registro.
+     */
+    public Registro decimal(double valor) {
+        return diario != null ? largo(Double.doubleToRawLongBits(valor)) : this;
+    }
+
+    /**
+     * Agrega un valor booleano a los datos del evento.
+     * @param valor Valor a agregar.
+     * @return Este registro.
+     */
+    public Registro booleano(boolean valor) {
+        if (diario != null) {
+            asegurar(1);
+            datos[longitud++] = (byte) (valor ? 1 : 0);
+        }
+        return this;
+    }
+
+    /**
+     * Agrega un texto a los datos del evento.
+     * @param valor Texto a agregar; puede ser null.
+     * @return Este registro.
+     */
+    public Registro texto(String valor) {
+        if (diario == null) {
+            return this;
+        }
+        if (valor == null) {
+            return entero(-1);
+        }
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        entero(bytes.length);
+        asegurar(bytes.length);
+        System.arraycopy(bytes, 0, datos, longitud, bytes.length);
+        longitud += bytes.length;
+        return this;
+    }
+
+    /**
+     * Anota el evento en el diario con los datos agregados.
+     * @return Número de secuencia del evento, o 0 si el registro descarta los eventos.
+     */
+    public long registrar() {
+        if (diario == null) {
+            return 0;
+        }
+        crc.reset();
+        crc.update(datos, 0, longitud);
+        ultimoLsn = diario.anotar(datos, longitud, (int) crc.getValue());
+        return ultimoLsn;
+    }
+
+    /**
+     * Obtiene el número de secuencia del último evento anotado con este registro.
+     * @return El número de secuencia, o 0 si todavía no anotó ninguno.
+     */
+    long getUltimoLsn() {
+        return ultimoLsn;
+    }
+
+    private void asegurar(int adicional) {
+        if (longitud + adicional > datos.length) {
+            datos = Arrays.copyOf(datos, Math.max(datos.length * 2, longitud + adicional));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package modelo.util;
+
+/**
+ * Resultado de una operación del modelo (agregar, editar, eliminar, asignar...).
+ * Cada valor es una constante compartida con su mensaje ya armado, de modo que devolverlo
+ * no crea objetos y quien llama puede decidir qué hacer sin leer los mensajes de la consola.
+ */
+public enum Resultado {
+    /** La operación se realizó correctamente. */
+    EXITO("Operación realizada"),
+    /** Algún dato recibido es nulo, vacío o no válido. */
+    DATOS_INVALIDOS("Datos inválidos"),
+    /** La cantidad pedida no es mayor a 0 o está fuera de rango. */
+    CANTIDAD_INVALIDA("La cantidad debe ser mayor a 0"),
+    /** No hay inventario suficiente para la cantidad pedida. */
+    INVENTARIO_INSUFICIENTE("Inventario insuficiente"),
+    /** El elemento que se quiere agregar ya existe. */
+    DUPLICADO("El elemento ya existe"),
+    /** La contraseña de confirmación no coincide. */
+    CONTRASEÑA_INCORRECTA("Contraseña incorrecta"),
+    /** No existe un pedido con el ID indicado. */
+    PEDIDO_NO_ENCONTRADO("Pedido no encontrado"),
+    /** El pedido no puede pasar de su estado actual al estado indicado. */
+    CAMBIO_ESTADO_INVALIDO("El pedido no puede pasar a ese estado"),
+    /** No existe un producto con el ID indicado. */
+    PRODUCTO_NO_ENCONTRADO("Producto no encontrado"),
+    /** No existe una etiqueta con el ID indicado. */
+    ETIQUETA_NO_ENCONTRADA("Etiqueta no encontrada"),
+    /** No existe un empleado con el ID indicado. */
+    EMPLEADO_NO_ENCONTRADO("Empleado no encontrado"),
+    /** No existe una dirección con el ID indicado. */
+    DIRECCION_NO_ENCONTRADA("Dirección no encontrada"),
+    /** No existe un método de pago con el ID indicado. */
+    METODO_PAGO_NO_ENCONTRADO("Método de pago no encontrado"),
+    /** No existe un punto de entrega con el ID indicado. */
+    PUNTO_ENTREGA_NO_ENCONTRADO("Punto de entrega no encontrado");
+
+    private final String mensaje;
+
+    Resultado(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    /**
+     * Indica si la operación se realizó correctamente.
+     * @return true si el resultado es {@link #EXITO}.
+     */
+    public boolean esExito() {
+        return this == EXITO;
+    }
+
+    /**
+     * Obtiene el mensaje que describe el resultado, para mostrarlo al usuario.
+     * @return El mensaje del resultado.
+     */
+    public String getMensaje() {
+        return mensaje;
+    }
+}
@@ -0,0 +1,62 @@
+package modelo.util;
+
+/**
+ * Destino de los mensajes que el modelo y los menús muestran al usuario.
+ * Reemplaza las llamadas directas a {@code System.out}, que es un único {@code PrintStream}
+ * sincronizado para todo el programa: cada sesión escribe en su propia salida sin competir con las demás.
+ * <p>
+ * Implementaciones: {@link SalidaBuffer} acumula el texto y lo envía al vaciarse,
+ * {@link SalidaSesion} escribe en la salida de la sesión del hilo actual y
+ * {@link SalidaNula} descarta todo, para pruebas de carga.
+ */
+public interface Salida {
+    /**
+     * Escribe un texto sin salto de línea.
+     * @param texto Texto a escribir.
+     */
+    void imprimir(String texto);
+
+    /**
+     * Escribe un texto seguido de un salto de línea.
+     * @param texto Texto a escribir.
+     */
+    void imprimirLinea(String texto);
+
+    /**
+     * Escribe la representación en texto de un objeto seguida de un salto de línea.
+     * @param valor Objeto a escribir; null se escribe como "null".
+     */
+    default void imprimirLinea(Object valor) {
+        imprimirLinea(String.valueOf(valor));
+    }
+
+    /**
+     * Escribe un salto de línea.
+     */
+    default void imprimirLinea() {
+        imprimirLinea("");
+    }
+
+    /**
+     * Envía al destino final lo que esté acumulado.
+     */
+    void vaciar();
+
+    /**
+     * Obtiene la salida de la sesión que corre en el hilo actual.
+     * Es la que deben usar las clases del modelo para sus mensajes.
+     * @return La salida de la sesión actual, o la consola si el hilo no tiene sesión.
+     */
+    static Salida actual() {
+        return SalidaSesion.actual();
+    }
+
+    /**
+     * Obtiene la salida para los errores de los hilos internos (servidor, reactores, instantáneas),
+     * que no pertenecen a ninguna sesión.
+     * @return La consola de errores.
+     */
+    static Salida errores() {
+        return SalidaSesion.errores();
+    }
+}
@@ -0,0 +1,84 @@
+package modelo.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Salida que acumula el texto en memoria y lo escribe en un {@link OutputStream} (en UTF-8)
+ * solo al vaciarse o al superar su capacidad, así un menú completo sale en una sola escritura.
+ * Puede configurarse para vaciarse en cada salto de línea, como la consola.
+ * Si el destino falla, el error se registra y los mensajes siguientes se descartan.
+ */
+public class SalidaBuffer implements Salida {
+    private static final int CAPACIDAD_PREDETERMINADA = 8192;
+
+    private Writer destino;
+    private StringBuilder acumulado;
+    private int capacidad;
+    private boolean vaciarPorLinea;
+    private boolean conError;
+
+    /**
+     * Constructor que inicializa una salida con la capacidad predeterminada, que solo se vacía a pedido.
+     * @param destino Flujo donde se escribe el texto.
+     */
+    public SalidaBuffer(OutputStream destino) {
+        this(destino, CAPACIDAD_PREDETERMINADA, false);
+    }
+
+    /**
+     * Constructor que inicializa una salida con todas sus opciones.
+     * @param destino Flujo donde se escribe el texto.
+     * @param capacidad Caracteres acumulados a partir de los cuales se vacía sola.
+     * @param vaciarPorLinea true para vaciarse después de cada salto de línea.
+     */
+    public SalidaBuffer(OutputStream destino, int capacidad, boolean vaciarPorLinea) {
+        this.destino = new OutputStreamWriter(destino, StandardCharsets.UTF_8);
+        this.acumulado = new StringBuilder(Math.max(16, capacidad));
+        this.capacidad = Math.max(1, capacidad);
+        this.vaciarPorLinea = vaciarPorLinea;
+    }
+
+    @Override
+    public synchronized void imprimir(String texto) {
+        acumulado.append(texto);
+        if (acumulado.length() >= capacidad) {
+            vaciar();
+        }
+    }
+
+    @Override
+    public synchronized void imprimirLinea(String texto) {
+        acumulado.append(texto).append('\n');
+        if (vaciarPorLinea || acumulado.length() >= capacidad) {
+            vaciar();
+        }
+    }
+
+    @Override
+    public synchronized void vaciar() {
+        if (acumulado.isEmpty()) {
+            return;
+        }
+        if (!conError) {
+            try {
+                destino.append(acumulado);
+                destino.flush();
+            } catch (IOException e) {
+                conError = true;
+            }
+        }
+        acumulado.setLength(0);
+    }
+
+    /**
+     * Indica si alguna escritura en el destino falló, por ejemplo porque la conexión se cerró.
+     * @return true si hubo un error de escritura.
+     */
+    public synchronized boolean tuvoError() {
+        return conError;
+    }
+}
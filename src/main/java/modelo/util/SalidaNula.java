@@ -0,0 +1,25 @@
+package modelo.util;
+
+/**
+ * Salida que descarta todos los mensajes.
+ * Sirve para pruebas de carga y mediciones, donde escribir texto solo agregaría ruido.
+ */
+public final class SalidaNula implements Salida {
+    /** Única instancia de la salida nula. */
+    public static final SalidaNula INSTANCIA = new SalidaNula();
+
+    private SalidaNula() {
+    }
+
+    @Override
+    public void imprimir(String texto) {
+    }
+
+    @Override
+    public void imprimirLinea(String texto) {
+    }
+
+    @Override
+    public void vaciar() {
+    }
+}
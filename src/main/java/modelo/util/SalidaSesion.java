@@ -0,0 +1,67 @@
+package modelo.util;
+
+/**
+ * Salida que escribe en la salida asociada a la sesión del hilo actual.
+ * Cada sesión corre en su propio hilo y se asocia con {@link #vincular(Salida)} al empezar;
+ * así el modelo puede mostrar mensajes sin recibir la salida como parámetro.
+ * Los hilos sin sesión escriben directamente en la consola, y los errores de los hilos internos
+ * en la consola de errores con {@link #errores()}.
+ */
+public final class SalidaSesion implements Salida {
+    /** Única instancia, que delega en la salida de la sesión actual. */
+    public static final SalidaSesion INSTANCIA = new SalidaSesion();
+
+    private static final Salida CONSOLA = new SalidaBuffer(System.out, 1, true);
+    private static final Salida ERRORES = new SalidaBuffer(System.err, 1, true);
+    private static final ThreadLocal<Salida> DE_LA_SESION = new ThreadLocal<>();
+
+    private SalidaSesion() {
+    }
+
+    /**
+     * Asocia una salida a la sesión que corre en el hilo actual.
+     * @param salida Salida de la sesión.
+     */
+    public static void vincular(Salida salida) {
+        DE_LA_SESION.set(salida);
+    }
+
+    /**
+     * Quita la salida asociada al hilo actual; debe llamarse al terminar la sesión.
+     */
+    public static void desvincular() {
+        DE_LA_SESION.remove();
+    }
+
+    /**
+     * Obtiene la salida de la sesión del hilo actual.
+     * @return La salida vinculada, o la consola si no hay ninguna.
+     */
+    public static Salida actual() {
+        Salida salida = DE_LA_SESION.get();
+        return salida != null ? salida : CONSOLA;
+    }
+
+    /**
+     * Obtiene la salida para los errores de los hilos internos que no atienden ninguna sesión.
+     * @return La consola de errores.
+     */
+    public static Salida errores() {
+        return ERRORES;
+    }
+
+    @Override
+    public void imprimir(String texto) {
+        actual().imprimir(texto);
+    }
+
+    @Override
+    public void imprimirLinea(String texto) {
+        actual().imprimirLinea(texto);
+    }
+
+    @Override
+    public void vaciar() {
+        actual().vaciar();
+    }
+}
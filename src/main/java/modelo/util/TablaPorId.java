@@ -0,0 +1,155 @@
+package modelo.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Conjunto de elementos indexados por un ID {@code int} en un {@link IntObjectMap},
+ * y opcionalmente por un nombre sin distinguir mayúsculas, para buscarlos y quitarlos en O(1) sin recorrerlos.
+ * <p>
+ * No admite dos elementos con el mismo ID ni, si se indexan nombres, con el mismo nombre.
+ * El ID y el nombre de un elemento no deben cambiar mientras está en la tabla.
+ * <p>
+ * Es segura para varios hilos: cada operación se sincroniza sobre la tabla, y para que varias operaciones
+ * sean una sola (revisar un nombre y agregar) hay que sincronizarse sobre la tabla durante todas ellas.
+ * Los listados son copias de solo lectura ordenadas por ID, que se reutilizan hasta el siguiente cambio;
+ * así se pueden recorrer mientras otros hilos modifican la tabla.
+ * @param <T> Tipo de los elementos.
+ */
+public class TablaPorId<T> implements Iterable<T> {
+    private final IntObjectMap<T> porId;
+    private final Map<String, T> porNombre;
+    private final ToIntFunction<? super T> id;
+    private final Function<? super T, String> nombre;
+    private List<T> listado;
+
+    /**
+     * Constructor que inicializa una tabla vacía indexada solo por ID.
+     * @param id Función que obtiene el ID de un elemento.
+     */
+    public TablaPorId(ToIntFunction<? super T> id) {
+        this(id, null);
+    }
+
+    /**
+     * Constructor que inicializa una tabla vacía indexada por ID y por nombre.
+     * @param id Función que obtiene el ID de un elemento.
+     * @param nombre Función que obtiene el nombre de un elemento, o null para no indexar nombres.
+     */
+    public TablaPorId(ToIntFunction<? super T> id, Function<? super T, String> nombre) {
+        this.porId = new IntObjectMap<>();
+        this.porNombre = nombre != null ? new HashMap<>() : null;
+        this.id = id;
+        this.nombre = nombre;
+    }
+
+    /**
+     * Agrega un elemento si su ID y su nombre no están en la tabla.
+     * @param elemento Elemento a agregar (no puede ser nulo).
+     * @return true si se agregó, false si ya hay un elemento con el mismo ID o nombre.
+     */
+    public synchronized boolean agregar(T elemento) {
+        int clave = id.applyAsInt(elemento);
+        if (porId.containsKey(clave)) {
+            return false;
+        }
+        if (porNombre != null) {
+            String nombreElemento = clave(nombre.apply(elemento));
+            if (nombreElemento != null && porNombre.putIfAbsent(nombreElemento, elemento) != null) {
+                return false;
+            }
+        }
+        porId.put(clave, elemento);
+        listado = null;
+        return true;
+    }
+
+    /**
+     * Busca un elemento por su ID.
+     * @param clave ID del elemento.
+     * @return El elemento, o null si no existe.
+     */
+    public synchronized T buscar(int clave) {
+        return porId.get(clave);
+    }
+
+    /**
+     * Busca un elemento por su nombre, sin distinguir mayúsculas.
+     * @param nombreElemento Nombre a buscar.
+     * @return El elemento, o null si no existe o la tabla no indexa nombres.
+     */
+    public synchronized T buscarPorNombre(String nombreElemento) {
+        String clave = clave(nombreElemento);
+        return porNombre != null && clave != null ? porNombre.get(clave) : null;
+    }
+
+    /**
+     * Quita un elemento por su ID.
+     * @param clave ID del elemento.
+     * @return El elemento quitado, o null si no existía.
+     */
+    public synchronized T eliminar(int clave) {
+        T elemento = porId.remove(clave);
+        if (elemento != null) {
+            if (porNombre != null) {
+                String nombreElemento = clave(nombre.apply(elemento));
+                if (nombreElemento != null) {
+                    porNombre.remove(nombreElemento, elemento);
+                }
+            }
+            listado = null;
+        }
+        return elemento;
+    }
+
+    /**
+     * Obtiene la cantidad de elementos.
+     * @return Número de elementos.
+     */
+    public synchronized int tamaño() {
+        return porId.size();
+    }
+
+    /**
+     * Indica si la tabla no tiene elementos.
+     * @return true si está vacía.
+     */
+    public synchronized boolean estaVacia() {
+        return porId.isEmpty();
+    }
+
+    /**
+     * Obtiene los elementos ordenados por ID.
+     * @return Copia de solo lectura de los elementos.
+     */
+    public synchronized List<T> listar() {
+        if (listado == null) {
+            List<T> elementos = new ArrayList<>(porId.size());
+            porId.forEach((clave, elemento) -> elementos.add(elemento));
+            elementos.sort(Comparator.comparingInt(id));
+            listado = Collections.unmodifiableList(elementos);
+        }
+        return listado;
+    }
+
+    /**
+     * Permite recorrer los elementos en orden de ID con un for-each, sobre una copia.
+     * @return Iterador de solo lectura.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return listar().iterator();
+    }
+
+    private static String clave(String nombreElemento) {
+        return nombreElemento != null ? nombreElemento.toLowerCase(Locale.ROOT) : null;
+    }
+}
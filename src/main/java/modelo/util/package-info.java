@@ -0,0 +1,7 @@
+/**
+ * Paquete que contiene estructuras de datos de apoyo para los índices del modelo
+ * y las salidas ({@link modelo.util.Salida}) donde el modelo y los menús muestran sus mensajes.
+ * Las operaciones del modelo informan cómo terminaron con un {@link modelo.util.Resultado}
+ * y anotan sus cambios en el {@link modelo.util.Diario} instalado.
+ */
+package modelo.util;
@@ -0,0 +1,295 @@
+package sistema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Clase que une un canal de socket no bloqueante, atendido por un {@link Reactor},
+ * con la entrada y la salida bloqueantes que usa una {@link Sesion}.
+ * <p>
+ * El reactor deja los bytes recibidos en un buffer del que lee la sesión; si la sesión se atrasa
+ * más de {@value #LIMITE_ENTRADA} bytes, el reactor deja de leer el socket hasta que se vacíe.
+ * Lo que escribe la sesión se encola y el reactor lo envía cuando el socket lo acepta.
+ * Los métodos sin modificador de acceso solo se llaman desde el hilo del reactor.
+ */
+class Conexion {
+    /** Bytes recibidos sin leer a partir de los cuales se pausa la lectura del socket. */
+    static final int LIMITE_ENTRADA = 64 * 1024;
+
+    private SocketChannel canal;
+    private Reactor reactor;
+    private SelectionKey clave;
+
+    private ReentrantLock bloqueo;
+    private Condition hayDatos;
+    private byte[] recibidos;
+    private int inicio;
+    private int disponibles;
+    private boolean finEntrada;
+    private boolean lecturaPausada;
+
+    private ConcurrentLinkedQueue<ByteBuffer> porEnviar;
+    private AtomicBoolean envioSolicitado;
+    private volatile boolean cerrarAlEnviar;
+
+    private InputStream entrada;
+    private OutputStream salida;
+
+    /**
+     * Constructor que inicializa una conexión sobre un canal ya aceptado.
+     * @param canal Canal del socket, en modo no bloqueante.
+     * @param reactor Reactor que atiende el canal.
+     */
+    Conexion(SocketChannel canal, Reactor reactor) {
+        this.canal = canal;
+        this.reactor = reactor;
+        this.bloqueo = new ReentrantLock();
+        this.hayDatos = bloqueo.newCondition();
+        this.recibidos = new byte[1024];
+        this.porEnviar = new ConcurrentLinkedQueue<>();
+        this.envioSolicitado = new AtomicBoolean();
+        this.entrada = new Entrada();
+        this.salida = new Salida();
+    }
+
+    /**
+     * Obtiene el canal del socket.
+     * @return El canal.
+     */
+    SocketChannel getCanal() {
+        return canal;
+    }
+
+    /**
+     * Establece la clave con la que el canal quedó registrado en el selector.
+     * @param clave Clave del registro.
+     */
+    void setClave(SelectionKey clave) {
+        this.clave = clave;
+    }
+
+    /**
+     * Obtiene la entrada bloqueante de la sesión.
+     * @return Flujo con los bytes recibidos por el socket.
+     */
+    InputStream getEntrada() {
+        return entrada;
+    }
+
+    /**
+     * Obtiene la salida de la sesión; al cerrarla se envía lo pendiente y se cierra el socket.
+     * @return Flujo que envía los bytes por el socket.
+     */
+    OutputStream getSalida() {
+        return salida;
+    }
+
+    /**
+     * Lee lo disponible en el socket y lo deja para la sesión.
+     * @param lectura Buffer temporal del reactor.
+     */
+    void leer(ByteBuffer lectura) {
+        int leidos;
+        try {
+            lectura.clear();
+            leidos = canal.read(lectura);
+        } catch (IOException e) {
+            cerrar();
+            return;
+        }
+        if (leidos < 0) {
+            clave.interestOps(clave.interestOps() & ~SelectionKey.OP_READ);
+            terminarEntrada();
+            return;
+        }
+        lectura.flip();
+        bloqueo.lock();
+        try {
+            asegurarCapacidad(leidos);
+            lectura.get(recibidos, inicio + disponibles, leidos);
+            disponibles += leidos;
+            if (disponibles >= LIMITE_ENTRADA) {
+                lecturaPausada = true;
+                clave.interestOps(clave.interestOps() & ~SelectionKey.OP_READ);
+            }
+            hayDatos.signalAll();
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Envía lo pendiente mientras el socket lo acepte.
+     */
+    void escribir() {
+        try {
+            ByteBuffer siguiente;
+            while ((siguiente = porEnviar.peek()) != null) {
+                canal.write(siguiente);
+                if (siguiente.hasRemaining()) {
+                    clave.interestOps(clave.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+                porEnviar.poll();
+            }
+        } catch (IOException e) {
+            cerrar();
+            return;
+        }
+        if (clave != null && clave.isValid()) {
+            clave.interestOps(clave.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+        envioSolicitado.set(false);
+        if (!porEnviar.isEmpty()) {
+            solicitarEnvio();
+        } else if (cerrarAlEnviar) {
+            cerrar();
+        }
+    }
+
+    /**
+     * Cierra el socket y avisa a la sesión que la entrada terminó.
+     */
+    void cerrar() {
+        terminarEntrada();
+        porEnviar.clear();
+        try {
+            canal.close();
+        } catch (IOException e) {
+            // El canal ya no se usa; cerrarlo es solo liberar el recurso
+        }
+    }
+
+    private void reanudarLectura() {
+        if (clave != null && clave.isValid()) {
+            clave.interestOps(clave.interestOps() | SelectionKey.OP_READ);
+        }
+    }
+
+    private void solicitarEnvio() {
+        if (envioSolicitado.compareAndSet(false, true)) {
+            reactor.ejecutar(() -> {
+                if (clave == null) {
+                    // Aún no se registró: el registro ya está encolado, se reintenta después
+                    envioSolicitado.set(false);
+                    solicitarEnvio();
+                } else if (clave.isValid()) {
+                    escribir();
+                }
+            });
+        }
+    }
+
+    private void terminarEntrada() {
+        bloqueo.lock();
+        try {
+            finEntrada = true;
+            hayDatos.signalAll();
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    private void asegurarCapacidad(int adicionales) {
+        if (inicio + disponibles + adicionales <= recibidos.length) {
+            return;
+        }
+        if (disponibles + adicionales <= recibidos.length) {
+            System.arraycopy(recibidos, inicio, recibidos, 0, disponibles);
+        } else {
+            byte[] mayor = Arrays.copyOfRange(recibidos, inicio,
+                    Math.max(recibidos.length * 2, disponibles + adicionales));
+            recibidos = mayor;
+        }
+        inicio = 0;
+    }
+
+    /** Entrada bloqueante de la sesión: espera hasta que el reactor deje bytes o se cierre el socket. */
+    private class Entrada extends InputStream {
+        @Override
+        public int read() throws IOException {
+            byte[] uno = new byte[1];
+            return read(uno, 0, 1) < 0 ? -1 : uno[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] destino, int desde, int cantidad) throws IOException {
+            if (cantidad == 0) {
+                return 0;
+            }
+            bloqueo.lock();
+            try {
+                while (disponibles == 0 && !finEntrada) {
+                    hayDatos.awaitUninterruptibly();
+                }
+                if (disponibles == 0) {
+                    return -1;
+                }
+                int copiados = Math.min(cantidad, disponibles);
+                System.arraycopy(recibidos, inicio, destino, desde, copiados);
+                inicio += copiados;
+                disponibles -= copiados;
+                if (disponibles == 0) {
+                    inicio = 0;
+                }
+                if (lecturaPausada && disponibles < LIMITE_ENTRADA / 2) {
+                    lecturaPausada = false;
+                    reactor.ejecutar(Conexion.this::reanudarLectura);
+                }
+                return copiados;
+            } finally {
+                bloqueo.unlock();
+            }
+        }
+
+        @Override
+        public int available() {
+            bloqueo.lock();
+            try {
+                return disponibles;
+            } finally {
+                bloqueo.unlock();
+            }
+        }
+    }
+
+    /** Salida de la sesión: encola los bytes y pide al reactor que los envíe. */
+    private class Salida extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] origen, int desde, int cantidad) throws IOException {
+            if (cerrarAlEnviar || !canal.isOpen()) {
+                throw new IOException("La conexión está cerrada");
+            }
+            porEnviar.add(ByteBuffer.wrap(Arrays.copyOfRange(origen, desde, desde + cantidad)));
+            solicitarEnvio();
+        }
+
+        @Override
+        public void close() {
+            if (!cerrarAlEnviar) {
+                cerrarAlEnviar = true;
+                reactor.ejecutar(() -> {
+                    if (porEnviar.isEmpty()) {
+                        cerrar();
+                    } else {
+                        solicitarEnvio();
+                    }
+                });
+            }
+        }
+    }
+}
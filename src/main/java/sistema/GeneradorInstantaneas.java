@@ -0,0 +1,187 @@
+package sistema;
+
+import modelo.producto.CatalogoMapeado;
+import modelo.util.DiarioArchivo;
+import modelo.util.Salida;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Clase que genera periódicamente, en segundo plano, una {@link Instantanea} nueva a partir de
+ * la anterior y los eventos del diario escritos después.
+ * <p>
+ * La instantánea no se toma de la tienda que usan las sesiones: el diario se rota a
+ * {@link #archivoAnterior(Path)}, se carga la instantánea anterior en una tienda aparte, se le aplican
+ * los eventos del archivo rotado y se guarda. Así el resultado corresponde exactamente a un evento del
+ * diario y las sesiones solo se detienen mientras el diario cambia de archivo; el costo es la memoria de
+ * una segunda tienda mientras se genera. Una vez guardada la instantánea, el archivo rotado se borra:
+ * el diario solo conserva los eventos posteriores a la última instantánea.
+ * <p>
+ * Si el archivo rotado sigue existiendo (la generación falló o el programa se detuvo antes de borrarlo),
+ * la instantánea guardada puede apuntar todavía a él: al arrancar se repite primero ese archivo y luego el diario,
+ * y la siguiente generación lo termina de aplicar antes de volver a rotar.
+ */
+public final class GeneradorInstantaneas implements AutoCloseable {
+    /** Segundos entre instantáneas si no se indica otro intervalo. */
+    public static final long INTERVALO_PREDETERMINADO = 60;
+    /** Eventos nuevos que debe haber en el diario para generar una instantánea periódica, si no se indica otra cantidad. */
+    public static final long EVENTOS_PREDETERMINADOS = 10_000;
+
+    private DiarioArchivo diario;
+    private Path archivoAnterior;
+    private Path archivoInstantanea;
+    private CatalogoMapeado base;
+    private ScheduledExecutorService hilo;
+    private ReentrantLock generando;
+    private long eventosMinimos;
+    private volatile long ultimoLsn;
+    private volatile Exception ultimoError;
+
+    /**
+     * Constructor que empieza a generar instantáneas cada cierto intervalo.
+     * Debe existir ya una instantánea en {@code archivoInstantanea}, que sirve de base para la siguiente.
+     * @param diario Diario abierto donde se anotan los cambios de la tienda.
+     * @param archivoDiario Ruta del archivo del diario.
+     * @param archivoInstantanea Ruta de la instantánea, que se reemplaza en cada generación.
+     * @param lsnInstantanea Número de secuencia del último evento incluido en la instantánea existente.
+     * @param intervalo Segundos entre instantáneas; 0 para generarlas solo con {@link #generar()}.
+     */
+    public GeneradorInstantaneas(DiarioArchivo diario, Path archivoDiario, Path archivoInstantanea,
+                                 long lsnInstantanea, long intervalo) {
+        this(diario, archivoDiario, archivoInstantanea, null, lsnInstantanea, intervalo);
+    }
+
+    /**
+     * Constructor que empieza a generar instantáneas de una tienda cuyo catálogo usa una base mapeada.
+     * Debe existir ya una instantánea en {@code archivoInstantanea}, que sirve de base para la siguiente.
+     * @param diario Diario abierto donde se anotan los cambios de la tienda.
+     * @param archivoDiario Ruta del archivo del diario.
+     * @param archivoInstantanea Ruta de la instantánea, que se reemplaza en cada generación.
+     * @param base Productos de solo lectura del catálogo, o null si no tiene.
+     * @param lsnInstantanea Número de secuencia del último evento incluido en la instantánea existente.
+     * @param intervalo Segundos entre instantáneas; 0 para generarlas solo con {@link #generar()}.
+     */
+    public GeneradorInstantaneas(DiarioArchivo diario, Path archivoDiario, Path archivoInstantanea,
+                                 CatalogoMapeado base, long lsnInstantanea, long intervalo) {
+        this(diario, archivoDiario, archivoInstantanea, base, lsnInstantanea, intervalo, EVENTOS_PREDETERMINADOS);
+    }
+
+    /**
+     * Constructor que empieza a generar instantáneas de una tienda cuyo catálogo usa una base mapeada,
+     * solo cuando se junta una cantidad mínima de eventos nuevos.
+     * Debe existir ya una instantánea en {@code archivoInstantanea}, que sirve de base para la siguiente.
+     * @param diario Diario abierto donde se anotan los cambios de la tienda.
+     * @param archivoDiario Ruta del archivo del diario.
+     * @param archivoInstantanea Ruta de la instantánea, que se reemplaza en cada generación.
+     * @param base Productos de solo lectura del catálogo, o null si no tiene.
+     * @param lsnInstantanea Número de secuencia del último evento incluido en la instantánea existente.
+     * @param intervalo Segundos entre instantáneas; 0 para generarlas solo con {@link #generar()}.
+     * @param eventosMinimos Eventos nuevos que debe haber en el diario para que el hilo periódico genere
+     *                       una instantánea; con menos, espera al siguiente intervalo.
+     */
+    public GeneradorInstantaneas(DiarioArchivo diario, Path archivoDiario, Path archivoInstantanea,
+                                 CatalogoMapeado base, long lsnInstantanea, long intervalo, long eventosMinimos) {
+        this.diario = diario;
+        this.base = base;
+        this.archivoAnterior = archivoAnterior(archivoDiario);
+        this.archivoInstantanea = archivoInstantanea;
+        this.ultimoLsn = lsnInstantanea;
+        this.eventosMinimos = Math.max(1, eventosMinimos);
+        this.generando = new ReentrantLock();
+        this.hilo = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("cloudyshop-instantaneas").daemon().factory());
+        if (intervalo > 0) {
+            hilo.scheduleWithFixedDelay(this::generarPeriodicamente, intervalo, intervalo, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Obtiene la ruta a la que se rota el diario mientras se genera una instantánea.
+     * @param archivoDiario Ruta del archivo del diario.
+     * @return Ruta del archivo rotado, junto al diario.
+     */
+    public static Path archivoAnterior(Path archivoDiario) {
+        return archivoDiario.resolveSibling(archivoDiario.getFileName() + ".anterior");
+    }
+
+    /**
+     * Genera una instantánea con todos los eventos del diario, si hay alguno nuevo, y borra del
+     * diario los eventos que incluye.
+     * @return Número de secuencia del último evento incluido en la instantánea actual.
+     * @throws IOException Si no se puede leer la instantánea anterior, rotar o leer el diario, o guardar la nueva.
+     */
+    public long generar() throws IOException {
+        generando.lock();
+        try {
+            boolean pendiente = Files.exists(archivoAnterior);
+            if (!pendiente && diario.getUltimoLsn() <= ultimoLsn) {
+                return ultimoLsn;
+            }
+            Instantanea anterior = Instantanea.cargar(archivoInstantanea, base);
+            if (anterior == null) {
+                throw new IOException("No existe la instantánea " + archivoInstantanea);
+            }
+            // Un archivo rotado que quedó de una generación fallida se aplica completo antes de rotar otra vez
+            long hasta = pendiente ? Long.MAX_VALUE : diario.rotar(archivoAnterior);
+            Recuperacion recuperacion = new Recuperacion(anterior.getTienda());
+            long lsn = recuperacion.reproducir(archivoAnterior, anterior.getPosicionDiario(), anterior.getLsn(), hasta);
+            if (!pendiente && lsn != hasta) {
+                throw new IOException("El diario rotado " + archivoAnterior + " termina en el evento " + lsn
+                        + " y no en el " + hasta);
+            }
+            Instantanea.guardar(anterior.getTienda(), lsn, 0, archivoInstantanea);
+            Files.delete(archivoAnterior);
+            ultimoLsn = lsn;
+            return lsn;
+        } finally {
+            generando.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de secuencia del último evento incluido en la instantánea actual.
+     * @return El número de secuencia.
+     */
+    public long getUltimoLsn() {
+        return ultimoLsn;
+    }
+
+    /**
+     * Obtiene el error de la última generación periódica que falló.
+     * @return El error, o null si ninguna falló.
+     */
+    public Exception getUltimoError() {
+        return ultimoError;
+    }
+
+    /**
+     * Detiene la generación periódica, esperando a que termine la que esté en curso.
+     */
+    @Override
+    public void close() {
+        hilo.close();
+    }
+
+    /**
+     * Genera una instantánea desde el hilo periódico si se juntaron suficientes eventos nuevos,
+     * guardando el error si falla.
+     * También atrapa los errores no comprobados: si uno escapara, el ejecutor cancelaría
+     * en silencio todas las generaciones siguientes.
+     */
+    private void generarPeriodicamente() {
+        try {
+            if (diario.getUltimoLsn() - ultimoLsn >= eventosMinimos || Files.exists(archivoAnterior)) {
+                generar();
+            }
+        } catch (IOException | RuntimeException e) {
+            ultimoError = e;
+            Salida.errores().imprimirLinea("No se pudo generar la instantánea: " + e);
+        }
+    }
+}
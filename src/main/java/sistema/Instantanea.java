@@ -0,0 +1,547 @@
+package sistema;
+
+import modelo.pedido.Direccion;
+import modelo.pedido.EstadoPedido;
+import modelo.pedido.Pago;
+import modelo.pedido.Pedido;
+import modelo.producto.Catalogo;
+import modelo.producto.CatalogoMapeado;
+import modelo.producto.Etiqueta;
+import modelo.producto.Producto;
+import modelo.usuario.Admin;
+import modelo.usuario.Cliente;
+import modelo.usuario.Empleado;
+import modelo.util.GeneradorIds;
+import modelo.util.TablaPorId;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Clase que guarda y carga en formato binario el estado completo de una {@link Tienda}:
+ * administradores, empleados, etiquetas, puntos de entrega, catálogo, clientes y pedidos, y el siguiente
+ * ID libre de cada secuencia del {@link GeneradorIds}, así no se reutilizan los IDs de datos eliminados.
+ * <p>
+ * Cada instantánea indica hasta qué evento del diario incluye ({@link #getLsn()}) y dónde termina
+ * ese evento en el archivo ({@link #getPosicionDiario()}), así al arrancar solo se repiten los eventos
+ * posteriores. Los objetos compartidos (el producto del catálogo que aparece en un pedido, la dirección
+ * o el método de pago del cliente asignados a un pedido) se guardan una vez y se referencian por su
+ * posición, para que al cargarlos sigan siendo el mismo objeto.
+ * <p>
+ * Si el catálogo tiene una base {@link CatalogoMapeado}, solo se guardan los productos cargados en memoria
+ * y los IDs de los eliminados de la base; la instantánea debe cargarse con la misma base.
+ * <p>
+ * El archivo termina con la suma CRC32C de todo lo anterior y se reemplaza de forma atómica:
+ * una instantánea a medio escribir nunca sustituye a la anterior.
+ */
+public class Instantanea {
+    /** Primeros bytes de todo archivo de instantánea. */
+    private static final int MAGIA = 0x43534E50;
+    /** Versión del formato. */
+    private static final int VERSION = 5;
+    /** Referencia a un objeto que no existe. */
+    private static final int NINGUNO = -2;
+    /** Referencia a un objeto que no se comparte y se guarda completo. */
+    private static final int PROPIO = -1;
+    /** Tamaño de base que se guarda cuando el catálogo no tiene base mapeada. */
+    private static final int SIN_BASE = -1;
+    private static final int CAPACIDAD_BUFFER = 1 << 16;
+    /** Longitud máxima de un texto; una mayor indica un archivo dañado. */
+    private static final int MAXIMO_TEXTO = 1 << 24;
+
+    private Tienda tienda;
+    private long lsn;
+    private long posicionDiario;
+
+    /**
+     * Constructor que agrupa una tienda cargada con el punto del diario que incluye.
+     * @param tienda Tienda cargada.
+     * @param lsn Número de secuencia del último evento incluido.
+     * @param posicionDiario Posición del diario donde termina ese evento.
+     */
+    private Instantanea(Tienda tienda, long lsn, long posicionDiario) {
+        this.tienda = tienda;
+        this.lsn = lsn;
+        this.posicionDiario = posicionDiario;
+    }
+
+    /**
+     * Obtiene la tienda cargada de la instantánea.
+     * @return La tienda.
+     */
+    public Tienda getTienda() { return tienda; }
+
+    /**
+     * Obtiene el número de secuencia del último evento del diario incluido en la instantánea.
+     * @return El número de secuencia, o 0 si no incluye ninguno.
+     */
+    public long getLsn() { return lsn; }
+
+    /**
+     * Obtiene la posición del diario donde termina el último evento incluido.
+     * @return Cantidad de bytes del diario incluidos.
+     */
+    public long getPosicionDiario() { return posicionDiario; }
+
+    /**
+     * Guarda el estado de una tienda que ninguna sesión está modificando.
+     * Escribe primero un archivo temporal, lo sincroniza con el disco y luego reemplaza el archivo destino.
+     * @param tienda Tienda a guardar.
+     * @param lsn Número de secuencia del último evento del diario incluido en la tienda.
+     * @param posicionDiario Posición del diario donde termina ese evento.
+     * @param archivo Ruta de la instantánea.
+     * @throws IOException Si falla la escritura.
+     */
+    public static void guardar(Tienda tienda, long lsn, long posicionDiario, Path archivo) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CheckedOutputStream verificado = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(canal), CAPACIDAD_BUFFER), new CRC32C());
+            DataOutputStream salida = new DataOutputStream(verificado);
+            salida.writeInt(MAGIA);
+            salida.writeInt(VERSION);
+            salida.writeLong(lsn);
+            salida.writeLong(posicionDiario);
+            escribirTienda(tienda, salida);
+            salida.writeInt((int) verificado.getChecksum().getValue());
+            salida.flush();
+            canal.force(true);
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Carga una instantánea en una tienda nueva, con un catálogo sin base mapeada.
+     * @param archivo Ruta de la instantánea.
+     * @return La instantánea cargada, o null si el archivo no existe.
+     * @throws IOException Si falla la lectura o el archivo está incompleto o dañado.
+     */
+    public static Instantanea cargar(Path archivo) throws IOException {
+        return cargar(archivo, null);
+    }
+
+    /**
+     * Carga una instantánea en una tienda nueva cuyo catálogo usa una base mapeada.
+     * @param archivo Ruta de la instantánea.
+     * @param base Productos de solo lectura con los que se guardó la instantánea, o null si no tenía.
+     * @return La instantánea cargada, o null si el archivo no existe.
+     * @throws IOException Si falla la lectura, el archivo está incompleto o dañado, o se guardó con otra base.
+     */
+    public static Instantanea cargar(Path archivo, CatalogoMapeado base) throws IOException {
+        return cargar(archivo, base, 0);
+    }
+
+    /**
+     * Carga una instantánea en una tienda nueva de un nodo dado, cuyo catálogo puede usar una base mapeada.
+     * @param archivo Ruta de la instantánea.
+     * @param base Productos de solo lectura con los que se guardó la instantánea, o null si no tenía.
+     * @param nodo Número de nodo con el que la tienda cargada genera los IDs de pedido.
+     * @return La instantánea cargada, o null si el archivo no existe.
+     * @throws IOException Si falla la lectura, el archivo está incompleto o dañado, o se guardó con otra base.
+     */
+    public static Instantanea cargar(Path archivo, CatalogoMapeado base, int nodo) throws IOException {
+        if (!Files.exists(archivo)) {
+            return null;
+        }
+        try (InputStream flujo = Files.newInputStream(archivo)) {
+            CheckedInputStream verificado = new CheckedInputStream(new BufferedInputStream(flujo, CAPACIDAD_BUFFER), new CRC32C());
+            DataInputStream entrada = new DataInputStream(verificado);
+            if (entrada.readInt() != MAGIA || entrada.readInt() != VERSION) {
+                throw new IOException("El archivo " + archivo + " no es una instantánea compatible");
+            }
+            long lsn = entrada.readLong();
+            long posicionDiario = entrada.readLong();
+            Tienda tienda = leerTienda(entrada, Files.size(archivo), base, nodo);
+            int esperado = (int) verificado.getChecksum().getValue();
+            if (entrada.readInt() != esperado || entrada.read() != -1) {
+                throw new IOException("La instantánea " + archivo + " está dañada");
+            }
+            return new Instantanea(tienda, lsn, posicionDiario);
+        } catch (EOFException e) {
+            throw new IOException("La instantánea " + archivo + " está incompleta", e);
+        }
+    }
+
+    /**
+     * Escribe todas las colecciones de la tienda.
+     * @param tienda Tienda a escribir.
+     * @param salida Flujo de salida.
+     * @throws IOException Si falla la escritura.
+     */
+    private static void escribirTienda(Tienda tienda, DataOutputStream salida) throws IOException {
+        salida.writeInt(tienda.getAdmins().size());
+        for (Admin admin : tienda.getAdmins()) {
+            escribirEmpleado(admin, salida);
+        }
+        salida.writeInt(tienda.getEmpleados().size());
+        for (Empleado empleado : tienda.getEmpleados()) {
+            escribirEmpleado(empleado, salida);
+        }
+        List<Etiqueta> etiquetasTienda = tienda.getEtiquetas().listar();
+        salida.writeInt(etiquetasTienda.size());
+        for (Etiqueta etiqueta : etiquetasTienda) {
+            escribirEtiqueta(etiqueta, salida);
+        }
+        List<Direccion> puntos = tienda.getPuntosEntrega().listar();
+        salida.writeInt(puntos.size());
+        for (Direccion punto : puntos) {
+            escribirDireccion(punto, salida);
+        }
+
+        List<Pedido> pedidos = List.copyOf(tienda.getPedidos().getPedidos());
+
+        // Productos del catálogo en memoria seguidos de los que se eliminaron pero siguen en algún pedido
+        Catalogo catalogo = tienda.getCatalogo();
+        salida.writeInt(catalogo.getBase() != null ? catalogo.getBase().tamaño() : SIN_BASE);
+        int[] eliminadosDeBase = catalogo.getBase() != null ? catalogo.getEliminadosDeBase() : new int[0];
+        salida.writeInt(eliminadosDeBase.length);
+        for (int id : eliminadosDeBase) {
+            salida.writeInt(id);
+        }
+        List<Producto> productos = new ArrayList<>(catalogo.getProductosEnMemoria());
+        int enCatalogo = productos.size();
+        Map<Producto, Integer> posicionProducto = new IdentityHashMap<>();
+        for (int i = 0; i < productos.size(); i++) {
+            posicionProducto.put(productos.get(i), i);
+        }
+        for (Pedido pedido : pedidos) {
+            for (Producto producto : pedido.getProductos()) {
+                if (!posicionProducto.containsKey(producto)) {
+                    posicionProducto.put(producto, productos.size());
+                    productos.add(producto);
+                }
+            }
+        }
+        salida.writeInt(productos.size());
+        salida.writeInt(enCatalogo);
+        for (Producto producto : productos) {
+            salida.writeInt(producto.getId());
+            escribirTexto(producto.getNombre(), salida);
+            escribirTexto(producto.getDescripcion(), salida);
+            salida.writeDouble(producto.getPrecio());
+            salida.writeInt(producto.getInventario());
+            salida.writeInt(producto.getSegmentosInventario());
+            salida.writeInt(producto.getPopularidad());
+            salida.writeInt(producto.getUmbralReposicion());
+            List<Etiqueta> etiquetas = producto.getEtiquetas();
+            salida.writeInt(etiquetas.size());
+            for (Etiqueta etiqueta : etiquetas) {
+                escribirEtiqueta(etiqueta, salida);
+            }
+        }
+
+        Map<Pedido, Integer> posicionPedido = new IdentityHashMap<>();
+        for (Pedido pedido : pedidos) {
+            posicionPedido.put(pedido, posicionPedido.size());
+        }
+        Map<Pedido, Cliente> dueño = new IdentityHashMap<>();
+        Map<Cliente, Integer> posicionCliente = new IdentityHashMap<>();
+        // Copias de las listas de cada cliente, que otras sesiones pueden cambiar mientras se escribe
+        Map<Cliente, List<Direccion>> direcciones = new IdentityHashMap<>();
+        Map<Cliente, List<Pago>> metodosPago = new IdentityHashMap<>();
+        List<Cliente> clientes = tienda.getClientes().getClientes();
+        salida.writeInt(clientes.size());
+        for (Cliente cliente : clientes) {
+            posicionCliente.put(cliente, posicionCliente.size());
+            salida.writeInt(cliente.getId());
+            escribirTexto(cliente.getNombre(), salida);
+            escribirTexto(cliente.getUsuario(), salida);
+            escribirTexto(cliente.getCorreo(), salida);
+            escribirTexto(cliente.getPassword(), salida);
+            escribirTexto(cliente.getTelefono(), salida);
+            List<Direccion> delCliente = List.copyOf(cliente.getDirecciones());
+            direcciones.put(cliente, delCliente);
+            salida.writeInt(delCliente.size());
+            for (Direccion direccion : delCliente) {
+                escribirDireccion(direccion, salida);
+            }
+            List<Pago> pagosDelCliente = List.copyOf(cliente.getMetodosPago());
+            metodosPago.put(cliente, pagosDelCliente);
+            salida.writeInt(pagosDelCliente.size());
+            for (Pago pago : pagosDelCliente) {
+                escribirPago(pago, salida);
+            }
+            for (Pedido pedido : List.copyOf(cliente.getPedidos())) {
+                if (posicionPedido.containsKey(pedido)) {
+                    dueño.put(pedido, cliente);
+                }
+            }
+        }
+
+        salida.writeInt(pedidos.size());
+        for (Pedido pedido : pedidos) {
+            Cliente cliente = dueño.get(pedido);
+            salida.writeLong(pedido.getId());
+            salida.writeInt(pedido.getClienteId());
+            escribirTexto(pedido.getEstado().getNombre(), salida);
+            salida.writeInt(cliente != null ? posicionCliente.get(cliente) : PROPIO);
+            salida.writeInt(pedido.getProductos().size());
+            for (Producto producto : pedido.getProductos()) {
+                salida.writeInt(posicionProducto.get(producto));
+            }
+
+            Direccion direccion = pedido.getDireccion();
+            int referencia = direccion == null ? NINGUNO : posicionIdentica(direcciones.get(cliente), direccion);
+            salida.writeInt(referencia);
+            if (referencia == PROPIO) {
+                escribirDireccion(direccion, salida);
+            }
+            Pago pago = pedido.getMetodoPago();
+            referencia = pago == null ? NINGUNO : posicionIdentica(metodosPago.get(cliente), pago);
+            salida.writeInt(referencia);
+            if (referencia == PROPIO) {
+                escribirPago(pago, salida);
+            }
+        }
+
+        for (GeneradorIds.Entidad entidad : GeneradorIds.Entidad.values()) {
+            salida.writeInt(tienda.getIds().getSiguienteLibre(entidad));
+        }
+    }
+
+    /**
+     * Lee todas las colecciones de una tienda en el orden en que se escribieron.
+     * @param entrada Flujo de entrada.
+     * @param tamaño Tamaño del archivo, que limita la cantidad de elementos de cada colección.
+     * @param base Base mapeada del catálogo, o null.
+     * @param nodo Número de nodo de la tienda cargada.
+     * @return La tienda cargada.
+     * @throws IOException Si falla la lectura o alguna cantidad es inválida.
+     */
+    private static Tienda leerTienda(DataInputStream entrada, long tamaño, CatalogoMapeado base, int nodo) throws IOException {
+        Tienda tienda = new Tienda(new Catalogo(base), nodo);
+        int cantidad = leerCantidad(entrada, tamaño);
+        for (int i = 0; i < cantidad; i++) {
+            tienda.getAdmins().add(new Admin(entrada.readInt(), leerTexto(entrada), leerTexto(entrada),
+                    leerTexto(entrada), leerTexto(entrada)));
+        }
+        cantidad = leerCantidad(entrada, tamaño);
+        for (int i = 0; i < cantidad; i++) {
+            tienda.getEmpleados().add(new Empleado(entrada.readInt(), leerTexto(entrada), leerTexto(entrada),
+                    leerTexto(entrada), leerTexto(entrada)));
+        }
+        cantidad = leerCantidad(entrada, tamaño);
+        TablaPorId<Etiqueta> etiquetas = tienda.getEtiquetas();
+        for (int i = 0; i < cantidad; i++) {
+            etiquetas.agregar(new Etiqueta(entrada.readInt(), leerTexto(entrada)));
+        }
+        cantidad = leerCantidad(entrada, tamaño);
+        for (int i = 0; i < cantidad; i++) {
+            tienda.getPuntosEntrega().agregar(leerDireccion(entrada));
+        }
+
+        int tamañoBase = entrada.readInt();
+        if (tamañoBase != (base != null ? base.tamaño() : SIN_BASE)) {
+            throw new IOException("La instantánea se guardó con otro catálogo mapeado");
+        }
+        cantidad = leerCantidad(entrada, tamaño);
+        for (int i = 0; i < cantidad; i++) {
+            tienda.getCatalogo().eliminar(entrada.readInt());
+        }
+        cantidad = leerCantidad(entrada, tamaño);
+        int enCatalogo = leerCantidad(entrada, cantidad);
+        Producto[] productos = new Producto[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            Producto producto = new Producto(entrada.readInt(), leerTexto(entrada), leerTexto(entrada),
+                    entrada.readDouble(), entrada.readInt());
+            int segmentos = entrada.readInt();
+            if (segmentos > 1) {
+                producto.configurarSegmentosInventario(segmentos);
+            }
+            producto.setPopularidad(entrada.readInt());
+            producto.setUmbralReposicion(entrada.readInt());
+            int cantidadEtiquetas = leerCantidad(entrada, tamaño);
+            for (int j = 0; j < cantidadEtiquetas; j++) {
+                int idEtiqueta = entrada.readInt();
+                String nombre = leerTexto(entrada);
+                Etiqueta etiqueta = etiquetas.buscar(idEtiqueta);
+                producto.agregarEtiqueta(etiqueta != null ? etiqueta : new Etiqueta(idEtiqueta, nombre));
+            }
+            productos[i] = producto;
+            if (i < enCatalogo && !tienda.getCatalogo().agregar(producto)) {
+                tienda.getCatalogo().reemplazarDeBase(producto);
+            }
+        }
+
+        cantidad = leerCantidad(entrada, tamaño);
+        Cliente[] clientes = new Cliente[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            Cliente cliente = new Cliente(entrada.readInt(), leerTexto(entrada), leerTexto(entrada),
+                    leerTexto(entrada), leerTexto(entrada), leerTexto(entrada));
+            int cantidadDirecciones = leerCantidad(entrada, tamaño);
+            for (int j = 0; j < cantidadDirecciones; j++) {
+                cliente.getDirecciones().add(leerDireccion(entrada));
+            }
+            int cantidadPagos = leerCantidad(entrada, tamaño);
+            for (int j = 0; j < cantidadPagos; j++) {
+                cliente.getMetodosPago().add(leerPago(entrada));
+            }
+            clientes[i] = cliente;
+            tienda.getClientes().agregar(cliente);
+        }
+
+        cantidad = leerCantidad(entrada, tamaño);
+        List<Pedido> pedidos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            long id = entrada.readLong();
+            int clienteId = entrada.readInt();
+            String nombreEstado = leerTexto(entrada);
+            EstadoPedido estado = EstadoPedido.desdeNombre(nombreEstado);
+            if (estado == null) {
+                throw new IOException("Estado de pedido desconocido: " + nombreEstado);
+            }
+            int posicionCliente = entrada.readInt();
+            Cliente cliente = posicionCliente >= 0 ? clientes[posicionCliente] : null;
+            int cantidadProductos = leerCantidad(entrada, tamaño);
+            List<Producto> productosPedido = new ArrayList<>(cantidadProductos);
+            for (int j = 0; j < cantidadProductos; j++) {
+                productosPedido.add(productos[entrada.readInt()]);
+            }
+
+            int referencia = entrada.readInt();
+            Direccion direccion = referencia == NINGUNO ? null
+                    : referencia == PROPIO ? leerDireccion(entrada) : cliente.getDirecciones().get(referencia);
+            referencia = entrada.readInt();
+            Pago pago = referencia == NINGUNO ? null
+                    : referencia == PROPIO ? leerPago(entrada) : cliente.getMetodosPago().get(referencia);
+
+            Pedido pedido = new Pedido(id, new CopyOnWriteArrayList<>(productosPedido), direccion, pago, estado, clienteId);
+            pedidos.add(pedido);
+            if (cliente != null) {
+                cliente.agregarPedido(pedido);
+            }
+        }
+        for (Pedido pedido : pedidos) {
+            tienda.getPedidos().agregar(pedido);
+        }
+
+        for (GeneradorIds.Entidad entidad : GeneradorIds.Entidad.values()) {
+            tienda.getIds().avanzarHasta(entidad, entrada.readInt() - 1);
+        }
+        tienda.ajustarIds();
+        return tienda;
+    }
+
+    /**
+     * Lee la cantidad de elementos de una colección.
+     * @param entrada Flujo de entrada.
+     * @param maximo Cantidad máxima posible.
+     * @return La cantidad leída.
+     * @throws IOException Si falla la lectura o la cantidad es negativa o mayor que el máximo.
+     */
+    private static int leerCantidad(DataInputStream entrada, long maximo) throws IOException {
+        int cantidad = entrada.readInt();
+        if (cantidad < 0 || cantidad > maximo) {
+            throw new IOException("La instantánea tiene una cantidad de elementos inválida");
+        }
+        return cantidad;
+    }
+
+    /**
+     * Busca un objeto por identidad en una lista.
+     * @param lista Lista donde buscar; puede ser null.
+     * @param objeto Objeto buscado.
+     * @return Su posición en la lista, o {@link #PROPIO} si no está.
+     */
+    private static int posicionIdentica(List<?> lista, Object objeto) {
+        if (lista != null) {
+            for (int i = 0; i < lista.size(); i++) {
+                if (lista.get(i) == objeto) {
+                    return i;
+                }
+            }
+        }
+        return PROPIO;
+    }
+
+    private static void escribirEmpleado(Empleado empleado, DataOutputStream salida) throws IOException {
+        salida.writeInt(empleado.getId());
+        escribirTexto(empleado.getNombre(), salida);
+        escribirTexto(empleado.getUsuario(), salida);
+        escribirTexto(empleado.getCorreo(), salida);
+        escribirTexto(empleado.getContraseña(), salida);
+    }
+
+    private static void escribirEtiqueta(Etiqueta etiqueta, DataOutputStream salida) throws IOException {
+        salida.writeInt(etiqueta.getId());
+        escribirTexto(etiqueta.getNombre(), salida);
+    }
+
+    private static void escribirDireccion(Direccion direccion, DataOutputStream salida) throws IOException {
+        salida.writeInt(direccion.getId());
+        escribirTexto(direccion.getCalle(), salida);
+        escribirTexto(direccion.getCiudad(), salida);
+        salida.writeBoolean(direccion.getEsPuntoDeEntrega());
+    }
+
+    private static Direccion leerDireccion(DataInputStream entrada) throws IOException {
+        return new Direccion(entrada.readInt(), leerTexto(entrada), leerTexto(entrada), entrada.readBoolean());
+    }
+
+    private static void escribirPago(Pago pago, DataOutputStream salida) throws IOException {
+        salida.writeInt(pago.getId());
+        escribirTexto(pago.getTipo(), salida);
+        escribirTexto(pago.getDatos(), salida);
+        escribirTexto(pago.getEstado(), salida);
+    }
+
+    private static Pago leerPago(DataInputStream entrada) throws IOException {
+        return new Pago(entrada.readInt(), leerTexto(entrada), leerTexto(entrada), leerTexto(entrada));
+    }
+
+    /**
+     * Escribe un texto como su longitud en bytes UTF-8 seguida de los bytes; -1 si es null.
+     * @param texto Texto a escribir.
+     * @param salida Flujo de salida.
+     * @throws IOException Si falla la escritura.
+     */
+    private static void escribirTexto(String texto, DataOutputStream salida) throws IOException {
+        if (texto == null) {
+            salida.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+
+    /**
+     * Lee un texto escrito por {@link #escribirTexto(String, DataOutputStream)}.
+     * @param entrada Flujo de entrada.
+     * @return El texto leído; puede ser null.
+     * @throws IOException Si falla la lectura.
+     */
+    private static String leerTexto(DataInputStream entrada) throws IOException {
+        int longitud = entrada.readInt();
+        if (longitud < 0) {
+            return null;
+        }
+        if (longitud > MAXIMO_TEXTO) {
+            throw new IOException("La instantánea tiene un texto de longitud inválida");
+        }
+        byte[] bytes = new byte[longitud];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,32 +1,51 @@
 package sistema;
 
 import modelo.pedido.Direccion;
+import modelo.pedido.EstadoPedido;
 import modelo.pedido.Pago;
 import modelo.pedido.Pedido;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
+import modelo.producto.CatalogoMapeado;
 import modelo.producto.Etiqueta;
 import modelo.producto.Producto;
 import modelo.usuario.Admin;
 import modelo.usuario.Cliente;
 import modelo.usuario.Empleado;
-
-import java.util.ArrayList;
+import modelo.usuario.RegistroClientes;
+import modelo.util.Diario;
+import modelo.util.DiarioArchivo;
+import modelo.util.GeneradorIdsDistribuidos;
+import modelo.util.SalidaBuffer;
+import modelo.util.TablaPorId;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Clase principal que coordina la ejecución del sistema CloudyShop.
- * Gestiona la inicialización de datos, la interacción con el usuario a través de un menú interactivo,
- * y delega las operaciones a las clases correspondientes según la opción seleccionada por el usuario.
+ * Gestiona la inicialización de datos y atiende al usuario de la consola con una {@link Sesion}.
+ * Los datos se guardan en una {@link Tienda}, que puede compartirse con otras sesiones
+ * concurrentes a través de un {@link MotorSesiones}.
+ * Con el argumento {@code --servidor [puerto]} los menús se atienden por TCP con un {@link ServidorSesiones}.
+ * Con {@code --diario archivo} los cambios se guardan en un {@link DiarioArchivo} y se recuperan al reiniciar;
+ * un {@link GeneradorInstantaneas} guarda además cada cierto tiempo una {@link Instantanea} del estado completo,
+ * así al arrancar solo se repiten los cambios posteriores a ella.
+ * Con {@code --catalogo archivo} los productos del catálogo se leen de un {@link CatalogoMapeado}
+ * a medida que se consultan, en lugar de cargarse todos en memoria.
+ * Con {@code --nodo número} la instancia genera los IDs de pedido como ese nodo, para ejecutar varias
+ * instancias detrás de un balanceador sin que repitan IDs.
  */
 public class Main {
 
-    private static ArrayList<Empleado> empleados = new ArrayList<>();
-    private static ArrayList<Admin> admins = new ArrayList<>();
-    private static ArrayList<Cliente> clientes = new ArrayList<>();
-    private static ArrayList<Producto> catalogo = new ArrayList<>();
-    private static ArrayList<Pedido> pedidos = new ArrayList<>();
-    private static ArrayList<Etiqueta> etiquetas = new ArrayList<>();
-    private static ArrayList<Direccion> puntosEntrega = new ArrayList<>();
-    private static Scanner sc = new Scanner(System.in);
+    /** Puerto en el que escucha el modo servidor si no se indica otro. */
+    private static final int PUERTO_PREDETERMINADO = 5050;
+
+    private static Tienda tienda = new Tienda();
 
     /**
      * Constructor por defecto de la clase sistema.Main.
@@ -39,44 +58,172 @@ public class Main {
     /**
      * Método principal que inicia el sistema CloudyShop.
      * Presenta un menú interactivo que permite al usuario iniciar sesión como administrador,
-     * empleado o cliente, registrarse como cliente, o salir del sistema. Los argumentos de la
-     * línea de comandos no se utilizan en esta implementación.
+     * empleado o cliente, registrarse como cliente, o salir del sistema.
+     * Con {@code --servidor [puerto]} atiende el mismo menú por TCP en lugar de la consola.
+     * Con {@code --diario archivo} carga la última instantánea, repite los cambios del archivo posteriores
+     * a ella y anota allí los cambios nuevos. Cada {@code --instantaneas} segundos genera una instantánea
+     * nueva si se juntaron al menos {@code --eventos-instantanea} cambios, y borra del diario los que incluye.
+     * Con {@code --catalogo archivo} usa los productos de ese archivo como base del catálogo.
+     * Con {@code --nodo número} genera los IDs de pedido como ese nodo (0 si no se indica).
      *
-     * @param args Argumentos de la línea de comandos (no utilizados).
+     * @param args Argumentos de la línea de comandos: {@code --servidor} y opcionalmente el puerto,
+     *             {@code --diario} seguido de la ruta del archivo, {@code --instantaneas} seguido
+     *             de los segundos entre instantáneas, {@code --eventos-instantanea} seguido de los cambios
+     *             mínimos para generar una, {@code --catalogo} seguido de la ruta del
+     *             catálogo mapeado, y {@code --nodo} seguido del número de nodo; todos son opcionales.
      */
     public static void main(String[] args) {
-        inicializarDatos();
-        while (true) {
-            System.out.println("\nBienvenido al sistema de CloudyShop");
-            System.out.println("1. Iniciar sesión como administrador");
-            System.out.println("2. Iniciar sesión como empleado");
-            System.out.println("3. Iniciar sesión como cliente");
-            System.out.println("4. Registrarse como cliente");
-            System.out.println("5. Salir");
-            System.out.print("Seleccione una opción: ");
-            String opcion = sc.nextLine();
-
-            switch (opcion) {
-                case "1":
-                    manejarAdmin();
-                    break;
-                case "2":
-                    manejarEmpleado();
-                    break;
-                case "3":
-                    manejarCliente();
-                    break;
-                case "4":
-                    registrarCliente();
-                    break;
-                case "5":
-                    System.out.println("Saliendo del sistema...");
-                    sc.close();
-                    return;
-                default:
-                    System.out.println("Opción no válida, intente de nuevo.");
+        boolean servidor = false;
+        int puerto = PUERTO_PREDETERMINADO;
+        Path archivoDiario = null;
+        long intervaloInstantaneas = GeneradorInstantaneas.INTERVALO_PREDETERMINADO;
+        long eventosInstantanea = GeneradorInstantaneas.EVENTOS_PREDETERMINADOS;
+        Path archivoCatalogo = null;
+        int nodo = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--servidor")) {
+                servidor = true;
+                if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                    puerto = Integer.parseInt(args[++i]);
+                }
+            } else if (args[i].equals("--diario") && i + 1 < args.length) {
+                archivoDiario = Path.of(args[++i]);
+            } else if (args[i].equals("--instantaneas") && i + 1 < args.length) {
+                intervaloInstantaneas = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--eventos-instantanea") && i + 1 < args.length) {
+                eventosInstantanea = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--catalogo") && i + 1 < args.length) {
+                archivoCatalogo = Path.of(args[++i]);
+            } else if (args[i].equals("--nodo") && i + 1 < args.length) {
+                nodo = Integer.parseInt(args[++i]);
+            }
+        }
+
+        CatalogoMapeado base = null;
+        if (archivoCatalogo != null) {
+            try {
+                base = CatalogoMapeado.abrir(archivoCatalogo);
+            } catch (IOException e) {
+                System.out.println("No se pudo abrir el catálogo: " + e.getMessage());
+                return;
             }
+            System.out.println("Se abrió el catálogo " + archivoCatalogo + " con " + base.tamaño() + " productos");
+        }
+        if (nodo < 0 || nodo > GeneradorIdsDistribuidos.MAXIMO_NODO) {
+            System.out.println("El nodo debe estar entre 0 y " + GeneradorIdsDistribuidos.MAXIMO_NODO);
+            return;
+        }
+        tienda = new Tienda(new Catalogo(base), nodo);
+
+        if (archivoDiario == null) {
+            inicializarDatos();
+            atender(servidor, puerto);
+            return;
+        }
+        Path archivoInstantanea = archivoDiario.resolveSibling(archivoDiario.getFileName() + ".instantanea");
+        try (DiarioArchivo diario = abrirDiario(archivoDiario, archivoInstantanea, base, nodo);
+             GeneradorInstantaneas instantaneas = new GeneradorInstantaneas(diario, archivoDiario, archivoInstantanea,
+                     base, diario.getUltimoLsn(), intervaloInstantaneas, eventosInstantanea)) {
+            atender(servidor, puerto);
+            if (instantaneas.getUltimoError() != null) {
+                System.out.println("La última instantánea periódica falló: el próximo arranque repetirá más eventos del diario");
+            }
+        } catch (IOException e) {
+            System.out.println("No se pudo abrir el diario: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Atiende al usuario de la consola, o por TCP si se pidió el modo servidor.
+     * @param servidor true para atender por TCP.
+     * @param puerto Puerto en el que escuchar en modo servidor.
+     */
+    private static void atender(boolean servidor, int puerto) {
+        if (servidor) {
+            iniciarServidor(puerto);
+        } else {
+            new Sesion(tienda, System.in, new SalidaBuffer(System.out)).run();
+        }
+    }
+
+    /**
+     * Carga la última instantánea, repite los cambios del diario posteriores a ella e instala
+     * el diario para anotar los siguientes. Si no hay instantánea, o está dañada, se parte de los
+     * datos iniciales y se repite el diario completo.
+     * Si quedó un diario rotado por el {@link GeneradorInstantaneas}, se repite antes que el diario actual.
+     * Al terminar guarda una instantánea con lo recuperado y borra el diario rotado, así el siguiente
+     * arranque no repite esos cambios otra vez.
+     * @param archivo Ruta del archivo del diario; se crea si no existe.
+     * @param archivoInstantanea Ruta de la instantánea.
+     * @param base Catálogo mapeado con el que se guardan las instantáneas, o null si no hay.
+     * @param nodo Número de nodo con el que la tienda recuperada genera los IDs de pedido.
+     * @return El diario abierto e instalado.
+     * @throws IOException Si el diario no se puede abrir o leer, le faltan eventos, o la instantánea no se puede guardar.
+     */
+    private static DiarioArchivo abrirDiario(Path archivo, Path archivoInstantanea, CatalogoMapeado base, int nodo)
+            throws IOException {
+        Instantanea instantanea = null;
+        try {
+            instantanea = Instantanea.cargar(archivoInstantanea, base, nodo);
+        } catch (IOException e) {
+            System.out.println("No se pudo cargar la instantánea (" + e.getMessage() + "); se repetirá el diario completo");
         }
+        long posicion = 0;
+        long lsn = 0;
+        if (instantanea != null) {
+            tienda = instantanea.getTienda();
+            posicion = instantanea.getPosicionDiario();
+            lsn = instantanea.getLsn();
+        } else {
+            inicializarDatos();
+        }
+
+        Recuperacion recuperacion = new Recuperacion(tienda);
+        Path anterior = GeneradorInstantaneas.archivoAnterior(archivo);
+        boolean rotado = Files.exists(anterior);
+        long ultimo = lsn;
+        if (rotado) {
+            ultimo = recuperacion.reproducir(anterior, posicion, lsn, Long.MAX_VALUE);
+            posicion = 0;
+        }
+        ultimo = recuperacion.reproducir(archivo, posicion, ultimo, Long.MAX_VALUE);
+        if (instantanea != null) {
+            System.out.println("Se cargó la instantánea " + archivoInstantanea + " hasta el cambio " + lsn);
+        }
+        System.out.println("Se recuperaron " + (ultimo - lsn) + " cambios del diario " + archivo);
+        if (instantanea == null || ultimo > lsn || rotado) {
+            Instantanea.guardar(tienda, ultimo, recuperacion.getPosicionDiario(), archivoInstantanea);
+        }
+        Files.deleteIfExists(anterior);
+
+        DiarioArchivo diario = new DiarioArchivo(archivo, recuperacion.getPosicionDiario(), ultimo,
+                DiarioArchivo.REGISTROS_POR_SINCRONIZACION, DiarioArchivo.INTERVALO_SINCRONIZACION, true);
+        Diario.instalar(diario);
+        return diario;
+    }
+
+    /**
+     * Atiende los menús por TCP hasta que se presiona Enter en la consola.
+     * Usa un hilo selector por cada dos procesadores.
+     * @param puerto Puerto en el que escuchar.
+     */
+    private static void iniciarServidor(int puerto) {
+        int reactores = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        try (ServidorSesiones servidor = new ServidorSesiones(tienda, puerto, reactores)) {
+            System.out.println("Servidor escuchando en el puerto " + servidor.getPuerto() + ". Presione Enter para detenerlo.");
+            new Scanner(System.in).nextLine();
+            System.out.println("Deteniendo el servidor...");
+        } catch (IOException e) {
+            System.out.println("No se pudo iniciar el servidor: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene los datos compartidos de la tienda.
+     * @return La tienda del sistema.
+     */
+    public static Tienda getTienda() {
+        return tienda;
     }
 
     /**
@@ -85,6 +232,24 @@ public class Main {
      * puntos de entrega y pedidos para simular un entorno con datos preexistentes.
      */
     public static void inicializarDatos() {
+        inicializarDatos(tienda);
+    }
+
+    /**
+     * Inicializa los datos de prueba en una tienda vacía.
+     * Todos los datos, también los pedidos, tienen siempre los mismos IDs, así los cambios anotados
+     * en un diario los encuentran al repetirse en otro arranque.
+     * @param tienda Tienda donde se agregan los datos.
+     */
+    public static void inicializarDatos(Tienda tienda) {
+        List<Admin> admins = tienda.getAdmins();
+        List<Empleado> empleados = tienda.getEmpleados();
+        RegistroClientes clientes = tienda.getClientes();
+        Catalogo catalogo = tienda.getCatalogo();
+        RegistroPedidos pedidos = tienda.getPedidos();
+        TablaPorId<Etiqueta> etiquetas = tienda.getEtiquetas();
+        TablaPorId<Direccion> puntosEntrega = tienda.getPuntosEntrega();
+
         // 1. INICIALIZACIÓN DE USUARIOS
 
         // Crear administrador
@@ -94,188 +259,80 @@ public class Main {
         empleados.add(new Empleado(1, "Ana Lucia", "empleado1", "ana@empresa.com", "emp123"));
 
         // Crear cliente con datos básicos
-        clientes.add(new Cliente(1, "María Jose", "cliente1", "maria@cliente.com", "cli123", "555-1234"));
+        Cliente cliente = new Cliente(1, "María Jose", "cliente1", "maria@cliente.com", "cli123", "555-1234");
+        clientes.agregar(cliente);
 
         // 2. CONFIGURACIÓN DE ETIQUETAS
 
         // Agregar etiquetas para categorizar productos
-        etiquetas.add(new Etiqueta(1, "Electrónica"));
-        etiquetas.add(new Etiqueta(2, "Hogar"));
+        etiquetas.agregar(new Etiqueta(1, "Electrónica"));
+        etiquetas.agregar(new Etiqueta(2, "Hogar"));
 
         // 3. CONFIGURACIÓN DEL CATÁLOGO DE PRODUCTOS
 
         // Producto 1: Laptop (Electrónica)
-        catalogo.add(new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10));
-        catalogo.getLast().agregarEtiqueta(etiquetas.get(0)); // Asignar etiqueta "Electrónica"
+        catalogo.agregar(new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10));
+        catalogo.buscar(1).agregarEtiqueta(etiquetas.buscar(1)); // Asignar etiqueta "Electrónica"
 
         // Producto 2: Silla (Hogar)
-        catalogo.add(new Producto(2, "Silla", "Silla ergonómica", 150.0, 20));
-        catalogo.getLast().agregarEtiqueta(etiquetas.getLast()); // Asignar etiqueta "Hogar"
+        catalogo.agregar(new Producto(2, "Silla", "Silla ergonómica", 150.0, 20));
+        catalogo.buscar(2).agregarEtiqueta(etiquetas.buscar(2)); // Asignar etiqueta "Hogar"
 
         // Producto 3: Teléfono (Electrónica)
-        catalogo.add(new Producto(3, "Teléfono", "Smartphone moderno", 500.0, 15));
-        catalogo.getLast().agregarEtiqueta(etiquetas.get(0)); // Asignar etiqueta "Electrónica"
+        catalogo.agregar(new Producto(3, "Teléfono", "Smartphone moderno", 500.0, 15));
+        catalogo.buscar(3).agregarEtiqueta(etiquetas.buscar(1)); // Asignar etiqueta "Electrónica"
 
         // 4. CONFIGURACIÓN DEL CLIENTE
 
         // Agregar dirección al cliente
-        clientes.get(0).agregarNuevaDireccion("Calle 123", "San Salvador");
+        cliente.agregarNuevaDireccion("Calle 123", "San Salvador");
 
         // Agregar método de pago al cliente
-        Pago pago1 = new Pago(clientes.get(0).getMetodosPago().size() + 1, "Tarjeta", "123", "Activo");
-        clientes.get(0).agregarMetodoPagoSistema(pago1);
+        Pago pago1 = new Pago(cliente.nuevoIdMetodoPago(), "Tarjeta", "123", "Activo");
+        cliente.agregarMetodoPagoSistema(pago1);
 
         // CONFIGURACIÓN DE PUNTOS DE ENTREGA
 
         // Agregar punto de entrega predeterminado
-        puntosEntrega.add(new Direccion(1, "Punto Central", "Ciudad C", true));
+        puntosEntrega.agregar(new Direccion(1, "Punto Central", "Ciudad C", true));
+
+        // Los datos anteriores se agregaron con IDs fijos: los nuevos deben quedar después
+        tienda.ajustarIds();
 
         // CREACIÓN DE PEDIDOS DE EJEMPLO
+        // Con IDs fijos: los generados dependen de la hora y cambiarían en cada arranque.
+        // No coinciden con ningún ID generado, que lleva la hora en los bits altos
 
         // Pedido 1
-        clientes.get(0).crearPedido(pedidos);
-        clientes.get(0).agregarProductoPedido(1, 1, 1, catalogo); // Agregar Laptop
-        clientes.get(0).agregarProductoPedido(2, 1, 1, catalogo); // Agregar Teléfono
-        clientes.get(0).agregarDireccionEntrega(1, 1); // Asignar dirección
-        clientes.get(0).agregarMetodoPago(1, 1); // Asignar método de pago
+        long idPedido1 = 1;
+        crearPedidoInicial(idPedido1, cliente, pedidos);
+        cliente.agregarProductoPedido(1, 1, idPedido1, catalogo); // Agregar Laptop
+        cliente.agregarProductoPedido(2, 1, idPedido1, catalogo); // Agregar Teléfono
+        cliente.agregarDireccionEntrega(1, idPedido1); // Asignar dirección
+        cliente.agregarMetodoPago(1, idPedido1); // Asignar método de pago
 
         // Pedido 2
-        clientes.get(0).crearPedido(pedidos);
-        clientes.get(0).agregarProductoPedido(1, 1, 2, catalogo); // Agregar Laptop
-        clientes.get(0).agregarDireccionEntrega(1, 2); // Asignar dirección
-        clientes.get(0).agregarMetodoPago(1, 2); // Asignar método de pago
-
-        // Actualizar estado del segundo pedido a "Completado"
-        empleados.get(0).actualizarEstadoPedido(2, "Completado", pedidos);
+        long idPedido2 = 2;
+        crearPedidoInicial(idPedido2, cliente, pedidos);
+        cliente.agregarProductoPedido(1, 1, idPedido2, catalogo); // Agregar Laptop
+        cliente.agregarDireccionEntrega(1, idPedido2); // Asignar dirección
+        cliente.agregarMetodoPago(1, idPedido2); // Asignar método de pago
+
+        // Llevar el segundo pedido hasta "Completado"
+        empleados.get(0).actualizarEstadoPedido(idPedido2, EstadoPedido.PAGADO, pedidos);
+        empleados.get(0).actualizarEstadoPedido(idPedido2, EstadoPedido.ENVIADO, pedidos);
+        empleados.get(0).actualizarEstadoPedido(idPedido2, EstadoPedido.COMPLETADO, pedidos);
     }
 
     /**
-     * Maneja el proceso de inicio de sesión y el menú para un administrador.
-     * Solicita las credenciales al usuario, las verifica y, si son correctas, inicia la sesión
-     * y muestra el menú correspondiente al administrador.
+     * Crea un pedido inicial pendiente con un ID fijo y lo agrega al cliente y al registro.
+     * @param id ID del pedido.
+     * @param cliente Cliente dueño del pedido.
+     * @param pedidos Registro de pedidos de la tienda.
      */
-    public static void manejarAdmin() {
-        System.out.print("Usuario: ");
-        String usuario = sc.nextLine();
-        System.out.print("Contraseña: ");
-        String password = sc.nextLine();
-        Admin admin = buscarAdmin(usuario, password);
-        if (admin != null) {
-            System.out.println("Sesión iniciada como administrador");
-            SistemaAdmin sistemaAdmin = new SistemaAdmin(sc);
-            sistemaAdmin.menuAdmin(admin, etiquetas, empleados, catalogo, pedidos, puntosEntrega);
-        } else {
-            System.out.println("Credenciales incorrectas");
-        }
-    }
-
-    /**
-     * Maneja el proceso de inicio de sesión y el menú para un empleado.
-     * Solicita las credenciales al usuario, las verifica y, si son correctas, inicia la sesión
-     * y muestra el menú correspondiente al empleado.
-     */
-    public static void manejarEmpleado() {
-        System.out.print("Usuario: ");
-        String usuario = sc.nextLine();
-        System.out.print("Contraseña: ");
-        String contraseña = sc.nextLine();
-        Empleado empleado = buscarEmpleado(usuario, contraseña);
-        if (empleado != null) {
-            System.out.println("Sesión iniciada como empleado");
-            SistemaEmpleado sistemaEmpleado = new SistemaEmpleado(sc);
-            sistemaEmpleado.menuEmpleado(empleado, catalogo, pedidos, etiquetas);
-        } else {
-            System.out.println("Credenciales incorrectas");
-        }
-    }
-
-    /**
-     * Maneja el proceso de inicio de sesión y el menú para un cliente.
-     * Solicita las credenciales al usuario, las verifica y, si son correctas, inicia la sesión
-     * y muestra el menú correspondiente al cliente.
-     */
-    public static void manejarCliente() {
-        System.out.print("Usuario: ");
-        String usuario = sc.nextLine();
-        System.out.print("Contraseña: ");
-        String password = sc.nextLine();
-        Cliente cliente = buscarCliente(usuario, password);
-        if (cliente != null) {
-            System.out.println("Sesión iniciada como cliente");
-            SistemaCliente sistemaCliente = new SistemaCliente(sc);
-            sistemaCliente.menuCliente(cliente, catalogo, pedidos, etiquetas, clientes);
-        } else {
-            System.out.println("Credenciales incorrectas");
-        }
-    }
-
-    /**
-     * Registra un nuevo cliente en el sistema.
-     * Solicita al usuario los datos necesarios (nombre, usuario, correo, contraseña y teléfono)
-     * para crear una nueva cuenta de cliente y la agrega a la lista de clientes.
-     */
-    public static void registrarCliente() {
-        System.out.print("Nombre: ");
-        String nombre = sc.nextLine();
-        System.out.print("Usuario: ");
-        String usuario = sc.nextLine();
-        System.out.print("Correo: ");
-        String correo = sc.nextLine();
-        System.out.print("Contraseña: ");
-        String password = sc.nextLine();
-        System.out.print("Teléfono: ");
-        String telefono = sc.nextLine();
-        int nuevoId = clientes.size() + 1;
-        Cliente nuevoCliente = new Cliente(nuevoId, nombre, usuario, correo, password, telefono);
-        clientes.add(nuevoCliente);
-        System.out.println("Cliente registrado exitosamente.");
-    }
-
-    /**
-     * Busca un administrador en la lista de administradores según su usuario y contraseña.
-     *
-     * @param usuario El nombre de usuario del administrador.
-     * @param contraseña La contraseña del administrador.
-     * @return El objeto {@code Admin} si las credenciales son correctas, o {@code null} si no se encuentra.
-     */
-    private static Admin buscarAdmin(String usuario, String contraseña) {
-        for (Admin admin : admins) {
-            if (admin.iniciarSesion(usuario, contraseña)) {
-                return admin;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Busca un empleado en la lista de empleados según su usuario y contraseña.
-     *
-     * @param usuario El nombre de usuario del empleado.
-     * @param contraseña La contraseña del empleado.
-     * @return El objeto {@code Empleado} si las credenciales son correctas, o {@code null} si no se encuentra.
-     */
-    private static Empleado buscarEmpleado(String usuario, String contraseña) {
-        for (Empleado empleado : empleados) {
-            if (empleado.iniciarSesion(usuario, contraseña)) {
-                return empleado;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Busca un cliente en la lista de clientes según su usuario y contraseña.
-     *
-     * @param usuario El nombre de usuario del cliente.
-     * @param contraseña La contraseña del cliente.
-     * @return El objeto {@code Cliente} si las credenciales son correctas, o {@code null} si no se encuentra.
-     */
-    private static Cliente buscarCliente(String usuario, String contraseña) {
-        for (Cliente cliente : clientes) {
-            if (cliente.iniciarSesion(usuario, contraseña)) {
-                return cliente;
-            }
-        }
-        return null;
+    private static void crearPedidoInicial(long id, Cliente cliente, RegistroPedidos pedidos) {
+        Pedido pedido = new Pedido(id, new CopyOnWriteArrayList<>(), null, null, EstadoPedido.PENDIENTE, cliente.getId());
+        pedidos.agregar(pedido);
+        cliente.agregarPedido(pedido);
     }
-}
\ No newline at end of file
+}
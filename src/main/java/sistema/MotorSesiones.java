@@ -0,0 +1,77 @@
+package sistema;
+
+import modelo.util.SalidaBuffer;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase que ejecuta muchas sesiones de CloudyShop a la vez sobre una misma {@link Tienda}.
+ * Cada sesión corre en su propio hilo virtual, así una sesión bloqueada esperando la entrada
+ * de su terminal no ocupa un hilo del sistema operativo y se pueden atender cientos de terminales.
+ */
+public class MotorSesiones implements AutoCloseable {
+    private Tienda tienda;
+    private ExecutorService hilos;
+    private AtomicInteger sesionesActivas;
+
+    /**
+     * Constructor que inicializa el motor sobre los datos de una tienda.
+     * @param tienda Datos compartidos por todas las sesiones.
+     */
+    public MotorSesiones(Tienda tienda) {
+        this.tienda = tienda;
+        this.hilos = Executors.newVirtualThreadPerTaskExecutor();
+        this.sesionesActivas = new AtomicInteger();
+    }
+
+    /**
+     * Inicia una sesión que lee de una entrada y escribe en una salida, ambas en UTF-8.
+     * La salida se acumula en un {@link SalidaBuffer} propio de la sesión.
+     * Al terminar la sesión se cierran las dos.
+     * @param entrada Entrada de la terminal del usuario.
+     * @param salida Salida de la terminal del usuario.
+     * @return Un {@link Future} que se completa cuando la sesión termina.
+     */
+    public Future<?> iniciarSesion(InputStream entrada, OutputStream salida) {
+        SalidaBuffer out = new SalidaBuffer(salida);
+        sesionesActivas.incrementAndGet();
+        return hilos.submit(() -> {
+            try {
+                new Sesion(tienda, entrada, out).run();
+            } finally {
+                sesionesActivas.decrementAndGet();
+                cerrar(salida);
+                cerrar(entrada);
+            }
+        });
+    }
+
+    /**
+     * Obtiene la cantidad de sesiones que todavía no terminaron.
+     * @return Número de sesiones activas.
+     */
+    public int getSesionesActivas() {
+        return sesionesActivas.get();
+    }
+
+    private static void cerrar(AutoCloseable flujo) {
+        try {
+            flujo.close();
+        } catch (Exception e) {
+            // La sesión ya terminó; un error al cerrar su terminal no afecta a las demás
+        }
+    }
+
+    /**
+     * Deja de aceptar sesiones nuevas y espera a que terminen las que están en curso.
+     */
+    @Override
+    public void close() {
+        hilos.close();
+    }
+}
@@ -0,0 +1,115 @@
+package sistema;
+
+import modelo.util.Salida;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hilo que atiende muchas conexiones con un único {@link Selector}.
+ * Lee los bytes que llegan y envía los pendientes sin bloquearse; los cambios sobre las conexiones
+ * que piden otros hilos se encolan con {@link #ejecutar(Runnable)} y se aplican en este hilo,
+ * así el estado de cada {@link SelectionKey} solo lo toca el reactor.
+ */
+class Reactor implements Runnable {
+    private Selector selector;
+    private ConcurrentLinkedQueue<Runnable> tareas;
+    private Thread hilo;
+    private volatile boolean activo;
+
+    /**
+     * Constructor que abre el selector del reactor.
+     * @param nombre Nombre del hilo del reactor.
+     * @throws IOException Si no se puede abrir el selector.
+     */
+    Reactor(String nombre) throws IOException {
+        this.selector = Selector.open();
+        this.tareas = new ConcurrentLinkedQueue<>();
+        this.hilo = Thread.ofPlatform().name(nombre).daemon(true).unstarted(this);
+        this.activo = true;
+    }
+
+    /**
+     * Inicia el hilo del reactor.
+     */
+    void iniciar() {
+        hilo.start();
+    }
+
+    /**
+     * Encola una tarea para ejecutarla en el hilo del reactor y lo despierta.
+     * @param tarea Tarea a ejecutar.
+     */
+    void ejecutar(Runnable tarea) {
+        tareas.add(tarea);
+        selector.wakeup();
+    }
+
+    /**
+     * Registra una conexión en el selector para empezar a leer de ella.
+     * @param conexion Conexión aceptada.
+     */
+    void registrar(Conexion conexion) {
+        ejecutar(() -> {
+            try {
+                conexion.setClave(conexion.getCanal().register(selector, SelectionKey.OP_READ, conexion));
+            } catch (IOException e) {
+                conexion.cerrar();
+            }
+        });
+    }
+
+    /**
+     * Atiende el selector hasta que se detiene el reactor; al salir cierra todas sus conexiones.
+     */
+    @Override
+    public void run() {
+        ByteBuffer lectura = ByteBuffer.allocateDirect(8192);
+        try {
+            while (activo) {
+                selector.select();
+                Runnable tarea;
+                while ((tarea = tareas.poll()) != null) {
+                    tarea.run();
+                }
+                Iterator<SelectionKey> seleccionadas = selector.selectedKeys().iterator();
+                while (seleccionadas.hasNext()) {
+                    SelectionKey clave = seleccionadas.next();
+                    seleccionadas.remove();
+                    Conexion conexion = (Conexion) clave.attachment();
+                    if (clave.isValid() && clave.isReadable()) {
+                        conexion.leer(lectura);
+                    }
+                    if (clave.isValid() && clave.isWritable()) {
+                        conexion.escribir();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Salida.errores().imprimirLinea("Error en " + hilo.getName() + ": " + e.getMessage());
+        } finally {
+            for (SelectionKey clave : selector.keys()) {
+                ((Conexion) clave.attachment()).cerrar();
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // El reactor ya terminó; no hay nada más que liberar
+            }
+        }
+    }
+
+    /**
+     * Detiene el reactor, cierra sus conexiones y espera a que su hilo termine.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    void detener() throws InterruptedException {
+        activo = false;
+        selector.wakeup();
+        hilo.join();
+    }
+}
@@ -0,0 +1,367 @@
+package sistema;
+
+import modelo.pedido.Direccion;
+import modelo.pedido.EstadoPedido;
+import modelo.pedido.Pago;
+import modelo.pedido.Pedido;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
+import modelo.producto.Etiqueta;
+import modelo.producto.Producto;
+import modelo.usuario.Cliente;
+import modelo.usuario.Empleado;
+import modelo.usuario.RegistroClientes;
+import modelo.util.GeneradorIds;
+import modelo.util.LectorDiario;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Clase que reconstruye el estado de una {@link Tienda} repitiendo los eventos de un diario
+ * guardado por {@link modelo.util.DiarioArchivo}.
+ * <p>
+ * Los eventos se aplican directamente sobre los datos, con los mismos IDs que se anotaron,
+ * sin volver a pasar por las validaciones del modelo, así lo repetido no se anota otra vez en el diario.
+ * Los cambios de inventario se suman sin comprobar que alcance: son diferencias que pueden estar
+ * anotadas en otro orden que el que se aplicaron, y una reserva se repite aunque la reposición
+ * que la cubrió esté anotada después.
+ * Las secuencias del {@link GeneradorIds} de la tienda avanzan más allá de cada ID creado, aunque
+ * después se elimine, para que los IDs nuevos no repitan ninguno anotado.
+ * Debe usarse sobre una tienda que ninguna sesión esté usando: al arrancar, o sobre la tienda aparte
+ * de un {@link GeneradorInstantaneas}. Los eventos que se refieren a datos que ya no existen se ignoran.
+ */
+public class Recuperacion {
+    private Tienda tienda;
+    private RegistroClientes clientes;
+    private RegistroPedidos pedidos;
+    private GeneradorIds ids;
+    private long posicionDiario;
+
+    /**
+     * Constructor que prepara la recuperación sobre una tienda, que puede tener datos iniciales.
+     * @param tienda Tienda donde se aplican los eventos.
+     */
+    public Recuperacion(Tienda tienda) {
+        this.tienda = tienda;
+        this.clientes = tienda.getClientes();
+        this.pedidos = tienda.getPedidos();
+        this.ids = tienda.getIds();
+    }
+
+    /**
+     * Aplica en orden todos los eventos válidos de un diario.
+     * @param archivo Ruta del archivo del diario; si no existe no se aplica nada.
+     * @return Número de secuencia del último evento aplicado, o 0 si el diario está vacío.
+     * @throws IOException Si falla la lectura del archivo.
+     */
+    public long reproducir(Path archivo) throws IOException {
+        return reproducir(archivo, 0, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Aplica en orden los eventos válidos de un diario posteriores a un evento ya incluido
+     * en la tienda, por ejemplo el último de una instantánea.
+     * @param archivo Ruta del archivo del diario; si no existe no se aplica nada.
+     * @param posicion Posición del archivo donde termina el evento ya incluido, o 0 para leer desde el principio.
+     * @param lsn Número de secuencia del evento ya incluido, o 0.
+     * @param hastaLsn Número de secuencia del último evento que se aplica.
+     * @return Número de secuencia del último evento aplicado, o {@code lsn} si no se aplicó ninguno.
+     * @throws IOException Si falla la lectura del archivo, o falta algún evento entre {@code lsn} y los
+     *                     del archivo, por ejemplo porque se borró un diario rotado sin su instantánea.
+     */
+    public long reproducir(Path archivo, long posicion, long lsn, long hastaLsn) throws IOException {
+        long aplicadoHasta = lsn;
+        posicionDiario = posicion;
+        try (LectorDiario lector = new LectorDiario(archivo, posicion, lsn)) {
+            while (lector.siguiente() && lector.getLsn() <= hastaLsn) {
+                if (lector.getLsn() != aplicadoHasta + 1) {
+                    throw new IOException("Al diario " + archivo + " le faltan los eventos " + (aplicadoHasta + 1)
+                            + " a " + (lector.getLsn() - 1));
+                }
+                aplicar(lector);
+                aplicadoHasta = lector.getLsn();
+                posicionDiario = lector.getPosicionValida();
+            }
+        }
+        return aplicadoHasta;
+    }
+
+    /**
+     * Obtiene la posición del diario donde termina el último evento aplicado.
+     * @return Cantidad de bytes del diario ya aplicados.
+     */
+    public long getPosicionDiario() {
+        return posicionDiario;
+    }
+
+    /**
+     * Aplica el evento actual del lector sobre la tienda.
+     * @param lector Lector posicionado en el evento a aplicar.
+     */
+    private void aplicar(LectorDiario lector) {
+        Catalogo catalogo = tienda.getCatalogo();
+        switch (lector.getEvento()) {
+            case PRODUCTO_AGREGADO: {
+                Producto producto = new Producto(lector.leerEntero(), lector.leerTexto(), lector.leerTexto(),
+                        lector.leerDecimal(), lector.leerEntero());
+                int cantidadEtiquetas = lector.leerEntero();
+                for (int i = 0; i < cantidadEtiquetas; i++) {
+                    producto.agregarEtiqueta(tienda.getEtiquetas().buscar(lector.leerEntero()));
+                }
+                catalogo.agregar(producto);
+                ids.avanzarHasta(GeneradorIds.Entidad.PRODUCTO, producto.getId());
+                break;
+            }
+            case PRODUCTO_EDITADO: {
+                Producto producto = catalogo.buscar(lector.leerEntero());
+                String nombre = lector.leerTexto();
+                String descripcion = lector.leerTexto();
+                double precio = lector.leerDecimal();
+                int diferencia = lector.leerEntero();
+                if (producto != null) {
+                    producto.setNombre(nombre);
+                    producto.setDescripcion(descripcion);
+                    producto.setPrecio(precio);
+                    producto.ajustarInventario(diferencia);
+                }
+                break;
+            }
+            case PRODUCTO_ELIMINADO:
+                catalogo.eliminar(lector.leerEntero());
+                break;
+            case ETIQUETA_PRODUCTO_AGREGADA: {
+                Producto producto = catalogo.buscar(lector.leerEntero());
+                int idEtiqueta = lector.leerEntero();
+                String nombreEtiqueta = lector.leerTexto();
+                Etiqueta etiqueta = tienda.getEtiquetas().buscar(idEtiqueta);
+                if (producto != null) {
+                    // La etiqueta pudo eliminarse de la tienda después de asignarse; el producto la conserva
+                    producto.agregarEtiqueta(etiqueta != null ? etiqueta : new Etiqueta(idEtiqueta, nombreEtiqueta));
+                }
+                break;
+            }
+            case ETIQUETA_PRODUCTO_ELIMINADA: {
+                Producto producto = catalogo.buscar(lector.leerEntero());
+                int idEtiqueta = lector.leerEntero();
+                if (producto != null) {
+                    producto.eliminarEtiqueta(new Etiqueta(idEtiqueta));
+                }
+                break;
+            }
+            case INVENTARIO_REPUESTO: {
+                Producto producto = catalogo.buscar(lector.leerEntero());
+                int cantidad = lector.leerEntero();
+                if (producto != null) {
+                    producto.ajustarInventario(cantidad);
+                }
+                break;
+            }
+            case INVENTARIO_SEGMENTADO: {
+                Producto producto = catalogo.buscar(lector.leerEntero());
+                int segmentos = lector.leerEntero();
+                if (producto != null) {
+                    producto.configurarSegmentosInventario(segmentos);
+                }
+                break;
+            }
+            case UMBRAL_REPOSICION_CONFIGURADO: {
+                Producto producto = catalogo.buscar(lector.leerEntero());
+                int umbral = lector.leerEntero();
+                if (producto != null) {
+                    producto.setUmbralReposicion(umbral);
+                }
+                break;
+            }
+            case PEDIDO_CREADO: {
+                Pedido pedido = new Pedido(lector.leerLargo(), new CopyOnWriteArrayList<>(), null, null,
+                        EstadoPedido.PENDIENTE, lector.leerEntero());
+                Cliente cliente = clientes.buscar(pedido.getClienteId());
+                if (pedidos.agregar(pedido) && cliente != null) {
+                    cliente.agregarPedido(pedido);
+                }
+                break;
+            }
+            case PRODUCTO_PEDIDO_AGREGADO: {
+                Pedido pedido = pedidos.buscar(lector.leerLargo());
+                Producto producto = catalogo.buscar(lector.leerEntero());
+                int cantidad = lector.leerEntero();
+                if (producto != null) {
+                    // La reserva ya se validó al anotarse; una reposición anotada después puede haberla cubierto
+                    producto.ajustarInventario(-cantidad);
+                    if (pedido != null) {
+                        pedido.getProductos().add(producto);
+                        catalogo.registrarEnPedido(producto);
+                    }
+                }
+                break;
+            }
+            case PEDIDO_ESTADO_CAMBIADO: {
+                Pedido pedido = pedidos.buscar(lector.leerLargo());
+                EstadoPedido estado = EstadoPedido.desdeNombre(lector.leerTexto());
+                if (pedido != null && estado != null) {
+                    pedido.cambiarEstado(estado);
+                }
+                break;
+            }
+            case PEDIDO_DIRECCION_ASIGNADA: {
+                Pedido pedido = pedidos.buscar(lector.leerLargo());
+                Cliente cliente = clientes.buscar(lector.leerEntero());
+                int idDireccion = lector.leerEntero();
+                Direccion direccion = cliente != null ? cliente.buscarDireccion(idDireccion) : null;
+                if (pedido != null && direccion != null) {
+                    pedido.setDireccion(direccion);
+                }
+                break;
+            }
+            case PEDIDO_METODO_PAGO_ASIGNADO: {
+                Pedido pedido = pedidos.buscar(lector.leerLargo());
+                Cliente cliente = clientes.buscar(lector.leerEntero());
+                int idPago = lector.leerEntero();
+                Pago pago = cliente != null ? cliente.buscarMetodoPago(idPago) : null;
+                if (pedido != null && pago != null) {
+                    pedido.setMetodoPago(pago);
+                }
+                break;
+            }
+            case CLIENTE_REGISTRADO: {
+                Cliente cliente = new Cliente(lector.leerEntero(), lector.leerTexto(), lector.leerTexto(),
+                        lector.leerTexto(), lector.leerTexto(), lector.leerTexto());
+                clientes.agregar(cliente);
+                ids.avanzarHasta(GeneradorIds.Entidad.CLIENTE, cliente.getId());
+                break;
+            }
+            case CLIENTE_EDITADO: {
+                Cliente cliente = clientes.buscar(lector.leerEntero());
+                String nombre = lector.leerTexto();
+                String correo = lector.leerTexto();
+                String telefono = lector.leerTexto();
+                if (cliente != null) {
+                    cliente.setNombre(nombre);
+                    cliente.setCorreo(correo);
+                    cliente.setTelefono(telefono);
+                }
+                break;
+            }
+            case CLIENTE_ELIMINADO: {
+                Cliente cliente = clientes.buscar(lector.leerEntero());
+                if (cliente != null) {
+                    clientes.eliminar(cliente);
+                }
+                break;
+            }
+            case DIRECCION_AGREGADA: {
+                Cliente cliente = clientes.buscar(lector.leerEntero());
+                Direccion direccion = new Direccion(lector.leerEntero(), lector.leerTexto(), lector.leerTexto(), false);
+                if (cliente != null) {
+                    cliente.getDirecciones().add(direccion);
+                }
+                break;
+            }
+            case DIRECCION_EDITADA: {
+                Cliente cliente = clientes.buscar(lector.leerEntero());
+                int idDireccion = lector.leerEntero();
+                String calle = lector.leerTexto();
+                String ciudad = lector.leerTexto();
+                Direccion direccion = cliente != null ? cliente.buscarDireccion(idDireccion) : null;
+                if (direccion != null) {
+                    direccion.setCalle(calle);
+                    direccion.setCiudad(ciudad);
+                }
+                break;
+            }
+            case DIRECCION_ELIMINADA: {
+                Cliente cliente = clientes.buscar(lector.leerEntero());
+                int idDireccion = lector.leerEntero();
+                Direccion direccion = cliente != null ? cliente.buscarDireccion(idDireccion) : null;
+                if (direccion != null) {
+                    cliente.getDirecciones().remove(direccion);
+                }
+                break;
+            }
+            case METODO_PAGO_AGREGADO: {
+                Cliente cliente = clientes.buscar(lector.leerEntero());
+                Pago pago = new Pago(lector.leerEntero(), lector.leerTexto(), lector.leerTexto(), lector.leerTexto());
+                if (cliente != null) {
+                    cliente.getMetodosPago().add(pago);
+                }
+                break;
+            }
+            case METODO_PAGO_EDITADO: {
+                Cliente cliente = clientes.buscar(lector.leerEntero());
+                int idPago = lector.leerEntero();
+                String datos = lector.leerTexto();
+                Pago pago = cliente != null ? cliente.buscarMetodoPago(idPago) : null;
+                if (pago != null) {
+                    pago.setDatos(datos);
+                }
+                break;
+            }
+            case METODO_PAGO_ELIMINADO: {
+                Cliente cliente = clientes.buscar(lector.leerEntero());
+                int idPago = lector.leerEntero();
+                Pago pago = cliente != null ? cliente.buscarMetodoPago(idPago) : null;
+                if (pago != null) {
+                    pago.setEstado("Eliminado");
+                }
+                break;
+            }
+            case ETIQUETA_CREADA: {
+                Etiqueta etiqueta = new Etiqueta(lector.leerEntero(), lector.leerTexto());
+                tienda.getEtiquetas().agregar(etiqueta);
+                ids.avanzarHasta(GeneradorIds.Entidad.ETIQUETA, etiqueta.getId());
+                break;
+            }
+            case ETIQUETA_ELIMINADA: {
+                tienda.getEtiquetas().eliminar(lector.leerEntero());
+                break;
+            }
+            case EMPLEADO_REGISTRADO: {
+                Empleado empleado = new Empleado(lector.leerEntero(), lector.leerTexto(), lector.leerTexto(),
+                        lector.leerTexto(), lector.leerTexto());
+                tienda.getEmpleados().add(empleado);
+                ids.avanzarHasta(GeneradorIds.Entidad.EMPLEADO, empleado.getId());
+                break;
+            }
+            case EMPLEADO_EDITADO: {
+                int idEmpleado = lector.leerEntero();
+                String nombre = lector.leerTexto();
+                String usuario = lector.leerTexto();
+                for (Empleado empleado : tienda.getEmpleados()) {
+                    if (empleado.getId() == idEmpleado) {
+                        empleado.setNombre(nombre);
+                        empleado.setUsuario(usuario);
+                        break;
+                    }
+                }
+                break;
+            }
+            case EMPLEADO_ELIMINADO: {
+                int idEmpleado = lector.leerEntero();
+                tienda.getEmpleados().removeIf(e -> e.getId() == idEmpleado);
+                break;
+            }
+            case PUNTO_ENTREGA_AGREGADO: {
+                Direccion punto = new Direccion(lector.leerEntero(), lector.leerTexto(), lector.leerTexto(), true);
+                tienda.getPuntosEntrega().agregar(punto);
+                ids.avanzarHasta(GeneradorIds.Entidad.PUNTO_ENTREGA, punto.getId());
+                break;
+            }
+            case PUNTO_ENTREGA_EDITADO: {
+                Direccion punto = tienda.getPuntosEntrega().buscar(lector.leerEntero());
+                String calle = lector.leerTexto();
+                String ciudad = lector.leerTexto();
+                if (punto != null) {
+                    punto.setCalle(calle);
+                    punto.setCiudad(ciudad);
+                }
+                break;
+            }
+            case PUNTO_ENTREGA_ELIMINADO: {
+                tienda.getPuntosEntrega().eliminar(lector.leerEntero());
+                break;
+            }
+        }
+    }
+}
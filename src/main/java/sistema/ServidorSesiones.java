@@ -0,0 +1,118 @@
+package sistema;
+
+import modelo.util.Salida;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Servidor TCP que atiende los menús de CloudyShop por socket, una {@link Sesion} por conexión.
+ * El protocolo es el mismo texto de la consola, línea por línea: el cliente envía cada opción
+ * o dato terminado en salto de línea y recibe los menús y respuestas.
+ * <p>
+ * Unos pocos {@link Reactor} multiplexan con NIO todas las conexiones, de modo que las terminales
+ * inactivas no ocupan hilos; cada sesión corre en un hilo virtual del {@link MotorSesiones}
+ * y lee y escribe a través de su {@link Conexion}.
+ */
+public class ServidorSesiones implements AutoCloseable {
+    private MotorSesiones motor;
+    private ServerSocketChannel servidor;
+    private Reactor[] reactores;
+    private Thread aceptador;
+    private int siguienteReactor;
+
+    /**
+     * Constructor que abre el puerto y empieza a aceptar conexiones.
+     * @param tienda Datos compartidos por todas las sesiones.
+     * @param puerto Puerto TCP donde escuchar; 0 elige uno libre.
+     * @param cantidadReactores Cantidad de hilos selectores; al menos 1.
+     * @throws IOException Si no se puede abrir el puerto o los selectores.
+     */
+    public ServidorSesiones(Tienda tienda, int puerto, int cantidadReactores) throws IOException {
+        this.motor = new MotorSesiones(tienda);
+        this.servidor = ServerSocketChannel.open();
+        this.servidor.bind(new InetSocketAddress(puerto));
+        this.reactores = new Reactor[Math.max(1, cantidadReactores)];
+        for (int i = 0; i < reactores.length; i++) {
+            reactores[i] = new Reactor("cloudyshop-reactor-" + i);
+            reactores[i].iniciar();
+        }
+        this.aceptador = Thread.ofPlatform().name("cloudyshop-aceptador").start(this::aceptar);
+    }
+
+    /**
+     * Obtiene el puerto en el que escucha el servidor.
+     * @return Número de puerto.
+     * @throws IOException Si el servidor ya está cerrado.
+     */
+    public int getPuerto() throws IOException {
+        return ((InetSocketAddress) servidor.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Obtiene la cantidad de sesiones conectadas que todavía no terminaron.
+     * @return Número de sesiones activas.
+     */
+    public int getSesionesActivas() {
+        return motor.getSesionesActivas();
+    }
+
+    /**
+     * Acepta conexiones hasta que se cierra el servidor, repartiéndolas entre los reactores.
+     */
+    private void aceptar() {
+        while (true) {
+            SocketChannel canal;
+            try {
+                canal = servidor.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                Salida.errores().imprimirLinea("Error al aceptar una conexión: " + e.getMessage());
+                continue;
+            }
+            try {
+                canal.configureBlocking(false);
+                canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            } catch (IOException e) {
+                cerrarCanal(canal);
+                continue;
+            }
+            Reactor reactor = reactores[siguienteReactor];
+            siguienteReactor = (siguienteReactor + 1) % reactores.length;
+            Conexion conexion = new Conexion(canal, reactor);
+            reactor.registrar(conexion);
+            motor.iniciarSesion(conexion.getEntrada(), conexion.getSalida());
+        }
+    }
+
+    /**
+     * Deja de aceptar conexiones, cierra las abiertas y espera a que terminen sus sesiones.
+     * @throws IOException Si falla el cierre del puerto.
+     */
+    @Override
+    public void close() throws IOException {
+        servidor.close();
+        try {
+            aceptador.join();
+            for (Reactor reactor : reactores) {
+                reactor.detener();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        motor.close();
+    }
+
+    private static void cerrarCanal(SocketChannel canal) {
+        try {
+            canal.close();
+        } catch (IOException e) {
+            // La conexión se descarta de todas formas
+        }
+    }
+}
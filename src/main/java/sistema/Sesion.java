@@ -0,0 +1,207 @@
+package sistema;
+
+import modelo.usuario.Admin;
+import modelo.usuario.Cliente;
+import modelo.usuario.Empleado;
+import modelo.util.Diario;
+import modelo.util.Salida;
+import modelo.util.SalidaSesion;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+/**
+ * Clase que representa la sesión de un usuario frente a una terminal.
+ * Cada sesión tiene su propia entrada y salida y atiende el menú de bienvenida
+ * y los menús de cada rol, mientras comparte con las demás los datos de la {@link Tienda}.
+ * <p>
+ * Mientras corre, su salida queda vinculada al hilo con {@link SalidaSesion}, así los mensajes
+ * del modelo llegan al mismo usuario. La salida se vacía justo antes de cada lectura de la entrada:
+ * todo lo que se muestra entre dos respuestas del usuario sale en una sola escritura.
+ * Antes de vaciarla se espera a que los cambios de la sesión estén guardados en el {@link Diario},
+ * así el usuario no ve confirmado un cambio que podría perderse.
+ */
+public class Sesion implements Runnable {
+    private Tienda tienda;
+    private Scanner sc;
+    private Salida out;
+
+    /**
+     * Constructor que inicializa una sesión.
+     * @param tienda Datos compartidos de la tienda.
+     * @param entrada Entrada de la terminal del usuario, en UTF-8.
+     * @param out Salida donde se muestran los menús al usuario.
+     */
+    public Sesion(Tienda tienda, InputStream entrada, Salida out) {
+        this.tienda = tienda;
+        this.sc = new Scanner(new VaciarAntesDeLeer(entrada, out), StandardCharsets.UTF_8);
+        this.out = out;
+    }
+
+    /**
+     * Presenta el menú de bienvenida hasta que el usuario elige salir o se cierra su entrada.
+     * Permite iniciar sesión como administrador, empleado o cliente, o registrarse como cliente.
+     */
+    @Override
+    public void run() {
+        SalidaSesion.vincular(out);
+        try {
+            while (true) {
+                out.imprimirLinea("\nBienvenido al sistema de CloudyShop");
+                out.imprimirLinea("1. Iniciar sesión como administrador");
+                out.imprimirLinea("2. Iniciar sesión como empleado");
+                out.imprimirLinea("3. Iniciar sesión como cliente");
+                out.imprimirLinea("4. Registrarse como cliente");
+                out.imprimirLinea("5. Salir");
+                out.imprimir("Seleccione una opción: ");
+                String opcion = sc.nextLine();
+
+                switch (opcion) {
+                    case "1":
+                        manejarAdmin();
+                        break;
+                    case "2":
+                        manejarEmpleado();
+                        break;
+                    case "3":
+                        manejarCliente();
+                        break;
+                    case "4":
+                        registrarCliente();
+                        break;
+                    case "5":
+                        out.imprimirLinea("Saliendo del sistema...");
+                        return;
+                    default:
+                        out.imprimirLinea("Opción no válida, intente de nuevo.");
+                }
+            }
+        } catch (NoSuchElementException | IllegalStateException e) {
+            // La entrada se cerró: la terminal se desconectó y la sesión termina
+        } finally {
+            try {
+                Diario.actual().sincronizar();
+            } finally {
+                out.vaciar();
+                SalidaSesion.desvincular();
+            }
+        }
+    }
+
+    /**
+     * Maneja el proceso de inicio de sesión y el menú para un administrador.
+     * Solicita las credenciales al usuario, las verifica y, si son correctas, inicia la sesión
+     * y muestra el menú correspondiente al administrador.
+     */
+    private void manejarAdmin() {
+        out.imprimir("Usuario: ");
+        String usuario = sc.nextLine();
+        out.imprimir("Contraseña: ");
+        String password = sc.nextLine();
+        Admin admin = tienda.buscarAdmin(usuario, password);
+        if (admin != null) {
+            out.imprimirLinea("Sesión iniciada como administrador");
+            SistemaAdmin sistemaAdmin = new SistemaAdmin(sc, out);
+            sistemaAdmin.menuAdmin(admin, tienda.getEtiquetas(), tienda.getEmpleados(), tienda.getCatalogo(),
+                    tienda.getPedidos(), tienda.getPuntosEntrega(), tienda.getIds());
+        } else {
+            out.imprimirLinea("Credenciales incorrectas");
+        }
+    }
+
+    /**
+     * Maneja el proceso de inicio de sesión y el menú para un empleado.
+     * Solicita las credenciales al usuario, las verifica y, si son correctas, inicia la sesión
+     * y muestra el menú correspondiente al empleado.
+     */
+    private void manejarEmpleado() {
+        out.imprimir("Usuario: ");
+        String usuario = sc.nextLine();
+        out.imprimir("Contraseña: ");
+        String contraseña = sc.nextLine();
+        Empleado empleado = tienda.buscarEmpleado(usuario, contraseña);
+        if (empleado != null) {
+            out.imprimirLinea("Sesión iniciada como empleado");
+            SistemaEmpleado sistemaEmpleado = new SistemaEmpleado(sc, out);
+            sistemaEmpleado.menuEmpleado(empleado, tienda.getCatalogo(), tienda.getPedidos(), tienda.getEtiquetas(),
+                    tienda.getIds());
+        } else {
+            out.imprimirLinea("Credenciales incorrectas");
+        }
+    }
+
+    /**
+     * Maneja el proceso de inicio de sesión y el menú para un cliente.
+     * Solicita las credenciales al usuario, las verifica y, si son correctas, inicia la sesión
+     * y muestra el menú correspondiente al cliente.
+     */
+    private void manejarCliente() {
+        out.imprimir("Usuario: ");
+        String usuario = sc.nextLine();
+        out.imprimir("Contraseña: ");
+        String password = sc.nextLine();
+        Cliente cliente = tienda.buscarCliente(usuario, password);
+        if (cliente != null) {
+            out.imprimirLinea("Sesión iniciada como cliente");
+            SistemaCliente sistemaCliente = new SistemaCliente(sc, out);
+            sistemaCliente.menuCliente(cliente, tienda.getCatalogo(), tienda.getPedidos(), tienda.getEtiquetas(),
+                    tienda.getClientes());
+        } else {
+            out.imprimirLinea("Credenciales incorrectas");
+        }
+    }
+
+    /**
+     * Registra un nuevo cliente en el sistema.
+     * Solicita al usuario los datos necesarios (nombre, usuario, correo, contraseña y teléfono)
+     * para crear una nueva cuenta de cliente y la agrega a la lista de clientes.
+     */
+    private void registrarCliente() {
+        out.imprimir("Nombre: ");
+        String nombre = sc.nextLine();
+        out.imprimir("Usuario: ");
+        String usuario = sc.nextLine();
+        out.imprimir("Correo: ");
+        String correo = sc.nextLine();
+        out.imprimir("Contraseña: ");
+        String password = sc.nextLine();
+        out.imprimir("Teléfono: ");
+        String telefono = sc.nextLine();
+        if (tienda.registrarCliente(nombre, usuario, correo, password, telefono) != null) {
+            out.imprimirLinea("Cliente registrado exitosamente.");
+        } else {
+            out.imprimirLinea("El usuario " + usuario + " ya existe");
+        }
+    }
+
+    /**
+     * Entrada que, antes de bloquearse esperando al usuario, espera a que el diario guarde
+     * los cambios de la sesión y vacía su salida.
+     */
+    private static class VaciarAntesDeLeer extends FilterInputStream {
+        private Salida salida;
+
+        VaciarAntesDeLeer(InputStream entrada, Salida salida) {
+            super(entrada);
+            this.salida = salida;
+        }
+
+        @Override
+        public int read() throws IOException {
+            Diario.actual().sincronizar();
+            salida.vaciar();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] destino, int desde, int cantidad) throws IOException {
+            Diario.actual().sincronizar();
+            salida.vaciar();
+            return super.read(destino, desde, cantidad);
+        }
+    }
+}
@@ -2,12 +2,18 @@ package sistema;
 
 import modelo.pedido.Direccion;
 import modelo.pedido.Pedido;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
 import modelo.producto.Etiqueta;
 import modelo.producto.Producto;
 import modelo.usuario.Admin;
 import modelo.usuario.Empleado;
+import modelo.util.GeneradorIds;
+import modelo.util.Resultado;
+import modelo.util.Salida;
+import modelo.util.SalidaSesion;
+import modelo.util.TablaPorId;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
@@ -16,152 +22,159 @@ import java.util.Scanner;
  */
 public class SistemaAdmin {
     private Scanner sc;
+    private Salida out;
     /**
-     * Constructor que inicializa el sistema con un scanner.
+     * Constructor que inicializa el sistema con un scanner, mostrando el menú en la salida de la sesión actual.
      * @param sc El scanner para leer la entrada del usuario.
      */
-    public SistemaAdmin(Scanner sc){
+    public SistemaAdmin(Scanner sc) {
+        this(sc, SalidaSesion.INSTANCIA);
+    }
+
+    /**
+     * Constructor que inicializa el sistema con la entrada y la salida de una sesión.
+     * @param sc El scanner para leer la entrada del usuario.
+     * @param out Salida donde se muestra el menú al usuario.
+     */
+    public SistemaAdmin(Scanner sc, Salida out) {
         this.sc = sc;
+        this.out = out;
     }
     /**
      * Muestra y gestiona el menú interactivo para el administrador.
      * @param admin El administrador que utiliza el menú.
-     * @param etiquetas Lista de etiquetas en el sistema.
+     * @param etiquetas Etiquetas del sistema.
      * @param empleados Lista de empleados registrados.
-     * @param catalogo Lista de productos disponibles.
-     * @param pedidos Lista de pedidos en el sistema.
-     * @param puntosEntrega Lista de puntos de entrega.
+     * @param catalogo Catálogo de productos disponibles.
+     * @param pedidos Registro de pedidos del sistema.
+     * @param puntosEntrega Puntos de entrega del sistema.
+     * @param ids Generador de IDs de la tienda, para las etiquetas, empleados y puntos de entrega nuevos.
      */
-    public void menuAdmin(Admin admin, ArrayList<Etiqueta> etiquetas, ArrayList<Empleado> empleados,
-                           ArrayList<Producto> catalogo, ArrayList<Pedido> pedidos,
-                           ArrayList<Direccion> puntosEntrega) {
+    public void menuAdmin(Admin admin, TablaPorId<Etiqueta> etiquetas, List<Empleado> empleados,
+                           Catalogo catalogo, RegistroPedidos pedidos,
+                           TablaPorId<Direccion> puntosEntrega, GeneradorIds ids) {
         while (true) {
             // Mostrar el menú con todas las opciones organizadas por categorías
-            System.out.println("\nMenú para Administrador");
-            System.out.println("-- Gestión de Etiquetas --");
-            System.out.println("1. Crear etiqueta");
-            System.out.println("2. Eliminar etiqueta");
-            System.out.println("-- Gestión de Empleados --");
-            System.out.println("3. Registrar empleado");
-            System.out.println("4. Eliminar cuenta de empleado");
-            System.out.println("5. Editar información de empleado");
-            System.out.println("-- Gestión de Inventario --");
-            System.out.println("6. Conocer inventario");
-            System.out.println("-- Gestión de Pedidos --");
-            System.out.println("7. Consultar cantidad de pedidos");
-            System.out.println("8. Consultar pagos realizados");
-            System.out.println("-- Gestión de Puntos de Entrega --");
-            System.out.println("9. Agregar punto de entrega");
-            System.out.println("10. Editar punto de entrega");
-            System.out.println("11. Eliminar punto de entrega");
-            System.out.println("-- Sistema --");
-            System.out.println("12. Cerrar sesión");
+            out.imprimirLinea("\nMenú para Administrador");
+            out.imprimirLinea("-- Gestión de Etiquetas --");
+            out.imprimirLinea("1. Crear etiqueta");
+            out.imprimirLinea("2. Eliminar etiqueta");
+            out.imprimirLinea("-- Gestión de Empleados --");
+            out.imprimirLinea("3. Registrar empleado");
+            out.imprimirLinea("4. Eliminar cuenta de empleado");
+            out.imprimirLinea("5. Editar información de empleado");
+            out.imprimirLinea("-- Gestión de Inventario --");
+            out.imprimirLinea("6. Conocer inventario");
+            out.imprimirLinea("-- Gestión de Pedidos --");
+            out.imprimirLinea("7. Consultar cantidad de pedidos");
+            out.imprimirLinea("8. Consultar pagos realizados");
+            out.imprimirLinea("-- Gestión de Puntos de Entrega --");
+            out.imprimirLinea("9. Agregar punto de entrega");
+            out.imprimirLinea("10. Editar punto de entrega");
+            out.imprimirLinea("11. Eliminar punto de entrega");
+            out.imprimirLinea("-- Sistema --");
+            out.imprimirLinea("12. Cerrar sesión");
 
             // Solicitar la opción al usuario
-            System.out.print("Seleccione una opción: ");
+            out.imprimir("Seleccione una opción: ");
             String opcion = sc.nextLine();
 
             // Procesar la opción seleccionada con un switch
             switch (opcion) {
                 case "1": // Crear etiqueta
-                    System.out.print("Nombre de la etiqueta: ");
+                    out.imprimir("Nombre de la etiqueta: ");
                     String nombreEtiqueta = sc.nextLine();
-                    admin.crearEtiqueta(nombreEtiqueta, etiquetas);
-                    System.out.println("Etiqueta creada");
+                    informar(admin.crearEtiqueta(nombreEtiqueta, etiquetas, ids), "Etiqueta creada");
                     break;
 
                 case "2": // Eliminar etiqueta
                     for(Etiqueta etiqueta: etiquetas){
-                        System.out.println(etiqueta);
+                        out.imprimirLinea(etiqueta);
                     }
-                    System.out.print("ID de la etiqueta a eliminar: ");
+                    out.imprimir("ID de la etiqueta a eliminar: ");
                     int idEtiquetaEliminar = Integer.parseInt(sc.nextLine());
-                    admin.eliminarEtiqueta(idEtiquetaEliminar, etiquetas);
-                    System.out.println("Etiqueta eliminada");
+                    informar(admin.eliminarEtiqueta(idEtiquetaEliminar, etiquetas), "Etiqueta eliminada");
                     break;
 
                 case "3": // Registrar empleado
-                    System.out.print("Nombre del empleado: ");
+                    out.imprimir("Nombre del empleado: ");
                     String nombreEmpleado = sc.nextLine();
-                    System.out.print("Usuario: ");
+                    out.imprimir("Usuario: ");
                     String usuarioEmpleado = sc.nextLine();
-                    System.out.print("Contraseña: ");
+                    out.imprimir("Contraseña: ");
                     String contraseñaEmpleado = sc.nextLine();
-                    admin.registrarEmpleado(nombreEmpleado, usuarioEmpleado, contraseñaEmpleado, empleados);
-                    System.out.println("Empleado registrado");
+                    admin.registrarEmpleado(nombreEmpleado, usuarioEmpleado, contraseñaEmpleado, empleados, ids);
+                    out.imprimirLinea("Empleado registrado");
                     break;
 
                 case "4": // Eliminar cuenta de empleado
                     for(Empleado empleado: empleados){
-                        System.out.println(empleado);
+                        out.imprimirLinea(empleado);
                     }
-                    System.out.print("ID del empleado a eliminar: ");
+                    out.imprimir("ID del empleado a eliminar: ");
                     int idEmpleadoEliminar = Integer.parseInt(sc.nextLine());
-                    admin.eliminarCuentaEmpleado(idEmpleadoEliminar, empleados);
-                    System.out.println("Cuenta de empleado eliminada");
+                    informar(admin.eliminarCuentaEmpleado(idEmpleadoEliminar, empleados), "Cuenta de empleado eliminada");
                     break;
 
                 case "5": // Editar información de empleado
-                    System.out.print("ID del empleado a editar: ");
+                    out.imprimir("ID del empleado a editar: ");
                     int idEmpleadoEditar = Integer.parseInt(sc.nextLine());
-                    System.out.print("Nuevo nombre: ");
+                    out.imprimir("Nuevo nombre: ");
                     String nuevoNombre = sc.nextLine();
-                    System.out.print("Nuevo usuario: ");
+                    out.imprimir("Nuevo usuario: ");
                     String nuevoUsuario = sc.nextLine();
-                    System.out.print("Nueva contraseña: ");
+                    out.imprimir("Nueva contraseña: ");
                     String nuevoPassword = sc.nextLine();
-                    admin.editarInformacionEmpleado(idEmpleadoEditar, empleados, nuevoNombre, nuevoUsuario, nuevoPassword);
-                    System.out.println("Información del empleado actualizada");
+                    informar(admin.editarInformacionEmpleado(idEmpleadoEditar, empleados, nuevoNombre, nuevoUsuario, nuevoPassword), "Información del empleado actualizada");
                     break;
 
                 case "6": // Conocer inventario
                     List<Producto> inventario = admin.conocerInventario(catalogo);
-                    System.out.println("Inventario:");
+                    out.imprimirLinea("Inventario:");
                     for (Producto p : inventario){
-                        System.out.println(p);
+                        out.imprimirLinea(p);
                     }
+                    out.imprimirLinea("Valor total del inventario: " + admin.conocerValorInventario(catalogo));
                     break;
 
                 case "7": // Consultar cantidad de pedidos
                     int cantidadPedidos = admin.consultarCantidadPedidos(pedidos);
-                    System.out.println("Cantidad de pedidos: " + cantidadPedidos);
+                    out.imprimirLinea("Cantidad de pedidos: " + cantidadPedidos);
                     break;
 
                 case "8": // Consultar pagos realizados -- Pedidos Completados
                     List<Pedido> pagosRealizados = admin.consultarPagosRealizados(pedidos);
-                    System.out.println("Pagos realizados: " + pagosRealizados);
+                    out.imprimirLinea("Pagos realizados: " + pagosRealizados);
                     break;
 
                 case "9": // Agregar punto de entrega
-                    System.out.print("Calle: ");
+                    out.imprimir("Calle: ");
                     String callePunto = sc.nextLine();
-                    System.out.print("Ciudad: ");
+                    out.imprimir("Ciudad: ");
                     String ciudadPunto = sc.nextLine();
-                    admin.agregarPuntoEntrega(callePunto, ciudadPunto, puntosEntrega);
-                    System.out.println("Punto de entrega agregado");
+                    admin.agregarPuntoEntrega(callePunto, ciudadPunto, puntosEntrega, ids);
+                    out.imprimirLinea("Punto de entrega agregado");
                     break;
 
                 case "10": // Editar punto de entrega
-                    System.out.print("ID del punto de entrega a editar: ");
+                    out.imprimir("ID del punto de entrega a editar: ");
                     int idPuntoEditar = Integer.parseInt(sc.nextLine());
-                    System.out.print("Nueva calle: ");
+                    out.imprimir("Nueva calle: ");
                     String nuevaCalle = sc.nextLine();
-                    System.out.print("Nueva ciudad: ");
+                    out.imprimir("Nueva ciudad: ");
                     String nuevaCiudad = sc.nextLine();
-                    System.out.print("Nuevo código postal: ");
+                    out.imprimir("Nuevo código postal: ");
                     String nuevoCodigoPostal = sc.nextLine();
-                    admin.editarPuntoEntrega(idPuntoEditar, nuevaCalle, nuevaCiudad, nuevoCodigoPostal, puntosEntrega);
-                    System.out.println("Punto de entrega actualizado");
+                    informar(admin.editarPuntoEntrega(idPuntoEditar, nuevaCalle, nuevaCiudad, nuevoCodigoPostal, puntosEntrega), "Punto de entrega actualizado");
                     break;
 
                 case "11": // Eliminar punto de entrega
                     for(Direccion direccion: puntosEntrega){
-                        System.out.println(direccion);
+                        out.imprimirLinea(direccion);
                     }
-                    System.out.print("ID del punto de entrega a eliminar: ");
+                    out.imprimir("ID del punto de entrega a eliminar: ");
                     int idPuntoEliminar = Integer.parseInt(sc.nextLine());
-                    admin.eliminarPuntoEntrega(idPuntoEliminar, puntosEntrega);
-                    System.out.println("Punto de entrega eliminado");
+                    informar(admin.eliminarPuntoEntrega(idPuntoEliminar, puntosEntrega), "Punto de entrega eliminado");
                     break;
 
                 case "12": // Cerrar sesión
@@ -169,9 +182,17 @@ public class SistemaAdmin {
                     return;
 
                 default:
-                    System.out.println("Opción no válida");
+                    out.imprimirLinea("Opción no válida");
             }
         }
     }
 
+    /**
+     * Muestra el mensaje de éxito de una operación o, si no se realizó, el mensaje de su resultado.
+     * @param resultado Resultado devuelto por la operación.
+     * @param mensajeExito Mensaje a mostrar si la operación se realizó.
+     */
+    private void informar(Resultado resultado, String mensajeExito) {
+        out.imprimirLinea(resultado.esExito() ? mensajeExito : resultado.getMensaje());
+    }
 }
@@ -3,9 +3,17 @@ package sistema;
 import modelo.pedido.Direccion;
 import modelo.pedido.Pago;
 import modelo.pedido.Pedido;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
 import modelo.producto.Etiqueta;
+import modelo.producto.FiltroEtiquetas;
 import modelo.producto.Producto;
 import modelo.usuario.Cliente;
+import modelo.usuario.RegistroClientes;
+import modelo.util.Resultado;
+import modelo.util.Salida;
+import modelo.util.SalidaSesion;
+import modelo.util.TablaPorId;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,253 +23,356 @@ import java.util.Scanner;
  * Clase que gestiona el menú interactivo para los clientes.
  */
 public class SistemaCliente {
+    /** Pedidos por página al mostrar el historial de compras. */
+    private static final int PEDIDOS_POR_PAGINA = 10;
+
     private Scanner sc;
+    private Salida out;
 
     /**
-     * Constructor que inicializa el sistema con un scanner.
+     * Constructor que inicializa el sistema con un scanner, mostrando el menú en la salida de la sesión actual.
      * @param sc El scanner para leer la entrada del usuario.
      */
-    public SistemaCliente(Scanner sc){
+    public SistemaCliente(Scanner sc) {
+        this(sc, SalidaSesion.INSTANCIA);
+    }
+
+    /**
+     * Constructor que inicializa el sistema con la entrada y la salida de una sesión.
+     * @param sc El scanner para leer la entrada del usuario.
+     * @param out Salida donde se muestra el menú al usuario.
+     */
+    public SistemaCliente(Scanner sc, Salida out) {
         this.sc = sc;
+        this.out = out;
     }
     /**
      * Muestra y gestiona el menú interactivo para el cliente.
      * @param cliente El cliente que utiliza el menú.
-     * @param catalogo Lista de productos disponibles.
-     * @param pedidos Lista de pedidos en el sistema.
-     * @param etiquetas Lista de etiquetas para filtrar productos.
-     * @param clientes Lista de clientes registrados.
+     * @param catalogo Catálogo de productos disponibles.
+     * @param pedidos Registro de pedidos del sistema.
+     * @param etiquetas Etiquetas para filtrar productos, indexadas por nombre.
+     * @param clientes Registro de clientes del sistema.
      */
-    public void menuCliente(Cliente cliente, ArrayList<Producto> catalogo, ArrayList<Pedido> pedidos,
-                             ArrayList<Etiqueta> etiquetas, ArrayList<Cliente> clientes) {
+    public void menuCliente(Cliente cliente, Catalogo catalogo, RegistroPedidos pedidos,
+                             TablaPorId<Etiqueta> etiquetas, RegistroClientes clientes) {
         while (true) {
             // Muestra el menú organizado por categorías
-            System.out.println("\nMenú para Cliente");
-            System.out.println("-- Mi Cuenta --");
-            System.out.println("1. Editar mis datos");
-            System.out.println("2. Eliminar mi cuenta");
-            System.out.println("3. Ver métodos de pago guardados");
-            System.out.println("4. Agregar método de pago al sistema");
-            System.out.println("5. Editar método de pago");
-            System.out.println("6. Eliminar método de pago");
-            System.out.println("7. Ver direcciones de entrega");
-            System.out.println("8. Agregar nueva dirección");
-            System.out.println("9. Editar dirección");
-            System.out.println("10. Eliminar dirección");
-            System.out.println("-- Productos --");
-            System.out.println("11. Ver productos");
-            System.out.println("12. Filtrar productos por etiqueta");
-            System.out.println("13. Consultar inventario de un producto");
-            System.out.println("14. Comprar producto (agregar al pedido)");
-            System.out.println("-- Mis Pedidos --");
-            System.out.println("15. Crear pedido");
-            System.out.println("16. Consultar estado de mis pedidos");
-            System.out.println("17. Ver todos mis pedidos");
-            System.out.println("18. Ver historial de compras");
-            System.out.println("19. Agregar dirección a pedido");
-            System.out.println("20. Agregar método de pago a pedido");
-            System.out.println("21. Cancelar pedido");
-            System.out.println("-- Sistema --");
-            System.out.println("22. Cerrar sesión");
+            out.imprimirLinea("\nMenú para Cliente");
+            out.imprimirLinea("-- Mi Cuenta --");
+            out.imprimirLinea("1. Editar mis datos");
+            out.imprimirLinea("2. Eliminar mi cuenta");
+            out.imprimirLinea("3. Ver métodos de pago guardados");
+            out.imprimirLinea("4. Agregar método de pago al sistema");
+            out.imprimirLinea("5. Editar método de pago");
+            out.imprimirLinea("6. Eliminar método de pago");
+            out.imprimirLinea("7. Ver direcciones de entrega");
+            out.imprimirLinea("8. Agregar nueva dirección");
+            out.imprimirLinea("9. Editar dirección");
+            out.imprimirLinea("10. Eliminar dirección");
+            out.imprimirLinea("-- Productos --");
+            out.imprimirLinea("11. Ver productos");
+            out.imprimirLinea("12. Filtrar productos por etiqueta");
+            out.imprimirLinea("13. Consultar inventario de un producto");
+            out.imprimirLinea("14. Comprar producto (agregar al pedido)");
+            out.imprimirLinea("-- Mis Pedidos --");
+            out.imprimirLinea("15. Crear pedido");
+            out.imprimirLinea("16. Consultar estado de mis pedidos");
+            out.imprimirLinea("17. Ver todos mis pedidos");
+            out.imprimirLinea("18. Ver historial de compras");
+            out.imprimirLinea("19. Agregar dirección a pedido");
+            out.imprimirLinea("20. Agregar método de pago a pedido");
+            out.imprimirLinea("21. Cancelar pedido");
+            out.imprimirLinea("-- Búsqueda avanzada --");
+            out.imprimirLinea("22. Filtrar productos por varias etiquetas");
+            out.imprimirLinea("23. Buscar productos por rango de precio");
+            out.imprimirLinea("24. Buscar productos por texto");
+            out.imprimirLinea("25. Sugerencias de productos por nombre");
+            out.imprimirLinea("-- Sistema --");
+            out.imprimirLinea("26. Cerrar sesión");
             String opcion = sc.nextLine();
 
             switch (opcion) {
                 // -- Mi Cuenta --
                 case "1": // Editar mis datos
-                    System.out.print("Nuevo nombre: ");
+                    out.imprimir("Nuevo nombre: ");
                     String nuevoNombre = sc.nextLine();
-                    System.out.print("Nuevo correo: ");
+                    out.imprimir("Nuevo correo: ");
                     String nuevoCorreo = sc.nextLine();
-                    System.out.print("Nuevo teléfono: ");
+                    out.imprimir("Nuevo teléfono: ");
                     String nuevoTelefono = sc.nextLine();
-                    cliente.editarDatos(nuevoNombre, nuevoCorreo, nuevoTelefono);
-                    System.out.println("Datos actualizados");
+                    informar(cliente.editarDatos(nuevoNombre, nuevoCorreo, nuevoTelefono), "Datos actualizados");
                     break;
 
                 case "2": // Eliminar mi cuenta
-                    cliente.eliminarCuenta(clientes);
-                    System.out.println("Cuenta eliminada. Sesión cerrada.");
+                    out.imprimirLinea("Estas seguro de eliminar?\nIngresa tu contraseña para confirmar.");
+                    String passwordConfirmacion = sc.nextLine();
+                    Resultado eliminacion = cliente.eliminarCuenta(passwordConfirmacion, clientes);
+                    if (!eliminacion.esExito()) {
+                        out.imprimirLinea(eliminacion.getMensaje());
+                        break;
+                    }
+                    out.imprimirLinea("Cuenta eliminada. Sesión cerrada.");
                     return;
 
                 case "3": // Ver métodos de pago guardados
                     List<Pago> metodosPago = cliente.verMetodosPagoGuardados();
-                    System.out.println("Métodos de pago: " + metodosPago);
+                    out.imprimirLinea("Métodos de pago: " + metodosPago);
                     break;
 
                 case "4": // Agregar método de pago al sistema
-                    System.out.print("Tipo de pago (e.g., Tarjeta): ");
+                    out.imprimir("Tipo de pago (e.g., Tarjeta): ");
                     String tipo = sc.nextLine();
-                    System.out.print("Datos (e.g., número de tarjeta): ");
+                    out.imprimir("Datos (e.g., número de tarjeta): ");
                     String datos = sc.nextLine();
-                    Pago nuevoPago = new Pago(cliente.getMetodosPago().size() + 1, tipo, datos, "Activo");
-                    cliente.agregarMetodoPagoSistema(nuevoPago);
+                    Pago nuevoPago = new Pago(cliente.nuevoIdMetodoPago(), tipo, datos, "Activo");
                     //pagos.add(nuevoPago);
-                    System.out.println("Método de pago agregado");
+                    informar(cliente.agregarMetodoPagoSistema(nuevoPago), "Método de pago agregado");
                     break;
 
                 case "5": // Editar método de pago
-                    System.out.print("ID del método de pago a editar: ");
+                    out.imprimir("ID del método de pago a editar: ");
                     int idPagoEditar = Integer.parseInt(sc.nextLine());
-                    System.out.print("Nuevos datos (e.g., número de tarjeta): ");
+                    out.imprimir("Nuevos datos (e.g., número de tarjeta): ");
                     String nuevosDatosPago = sc.nextLine();
-                    Pago pagoEditado = new Pago(idPagoEditar - 1, "Tarjeta", nuevosDatosPago, "Pendiente");
-                    cliente.editarMetodoPago(idPagoEditar - 1, pagoEditado);
-                    System.out.println("Método de pago actualizado");
+                    Pago pagoEditado = new Pago(idPagoEditar, "Tarjeta", nuevosDatosPago, "Pendiente");
+                    informar(cliente.editarMetodoPago(idPagoEditar, pagoEditado), "Método de pago actualizado");
                     break;
 
                 case "6": // Eliminar método de pago
 
-                    System.out.print("ID del método de pago a eliminar: ");
+                    out.imprimir("ID del método de pago a eliminar: ");
                     int idPagoEliminar = Integer.parseInt(sc.nextLine());
-                    cliente.eliminarMetodoPago(idPagoEliminar);
-                    System.out.println("Método de pago eliminado");
+                    informar(cliente.eliminarMetodoPago(idPagoEliminar), "Método de pago eliminado");
                     break;
 
                 case "7": // Ver direcciones de entrega
                     List<Direccion> direccionesEntrega = cliente.verDireccionesEntrega();
-                    System.out.println("Direcciones: " + direccionesEntrega);
+                    out.imprimirLinea("Direcciones: " + direccionesEntrega);
                     break;
 
                 case "8": // Agregar nueva dirección
-                    System.out.print("Calle: ");
+                    out.imprimir("Calle: ");
                     String calle = sc.nextLine();
-                    System.out.print("Ciudad: ");
+                    out.imprimir("Ciudad: ");
                     String ciudad = sc.nextLine();
-                    cliente.agregarNuevaDireccion(calle, ciudad);
-                    System.out.println("Dirección agregada");
+                    informar(cliente.agregarNuevaDireccion(calle, ciudad), "Dirección agregada");
                     break;
 
                 case "9": // Editar dirección
-                    System.out.print("ID de la dirección a editar: ");
+                    out.imprimir("ID de la dirección a editar: ");
                     int idDireccionEditar = Integer.parseInt(sc.nextLine());
-                    System.out.print("Nueva calle: ");
+                    out.imprimir("Nueva calle: ");
                     String nuevaCalle = sc.nextLine();
-                    System.out.print("Nueva ciudad: ");
+                    out.imprimir("Nueva ciudad: ");
                     String nuevaCiudad = sc.nextLine();
-                    cliente.editarDireccion(idDireccionEditar, nuevaCalle, nuevaCiudad);
-                    System.out.println("Dirección actualizada");
+                    informar(cliente.editarDireccion(idDireccionEditar, nuevaCalle, nuevaCiudad), "Dirección actualizada");
                     break;
 
                 case "10": // Eliminar dirección
-                    System.out.print("ID de la dirección a eliminar: ");
+                    out.imprimir("ID de la dirección a eliminar: ");
                     int idDireccionEliminar = Integer.parseInt(sc.nextLine());
-                    cliente.eliminarDireccion(idDireccionEliminar);
-                    System.out.println("Dirección eliminada");
+                    informar(cliente.eliminarDireccion(idDireccionEliminar), "Dirección eliminada");
                     break;
 
                 // -- Productos --
                 case "11": // Ver productos
                     List<Producto> productos = cliente.verProductos(catalogo);
-                    System.out.println("Catálogo:\n ");
+                    out.imprimirLinea("Catálogo:\n ");
                     for (Producto p : productos){
-                        System.out.println("- " + p);
+                        out.imprimirLinea("- " + p);
                     }
                     break;
 
                 case "12": // Filtrar productos por etiqueta
-                    System.out.print("Etiquetas:\n");
+                    out.imprimir("Etiquetas:\n");
                     for (Etiqueta p : etiquetas){
-                        System.out.println("- " + p);
+                        out.imprimirLinea("- " + p);
                     }
-                    System.out.print("Nombre de la etiqueta (e.g., Electrónica): ");
+                    out.imprimir("Nombre de la etiqueta (e.g., Electrónica): ");
 
                     String nombreEtiqueta = sc.nextLine();
-                    Etiqueta etiqueta = null;
-                    for (Etiqueta e : etiquetas) {
-                        if (e.getNombre().equalsIgnoreCase(nombreEtiqueta)) {
-                            etiqueta = e;
-                            break;
-                        }
-                    }
+                    Etiqueta etiqueta = etiquetas.buscarPorNombre(nombreEtiqueta);
                     if (etiqueta != null) {
                         List<Producto> productosFiltrados = cliente.filtrarProductosPorEtiqueta(etiqueta, catalogo);
-                        System.out.println("Productos filtrados: ");
+                        out.imprimirLinea("Productos filtrados: ");
                         for (Producto p : productosFiltrados){
-                            System.out.println("- " + p);
+                            out.imprimirLinea("- " + p);
                         }
                     } else {
-                        System.out.println("Etiqueta no encontrada");
+                        out.imprimirLinea("Etiqueta no encontrada");
                     }
                     break;
 
                 case "13": // Consultar inventario de un producto
-                    System.out.print("ID del producto: ");
+                    out.imprimir("ID del producto: ");
                     int idProductoConsulta = Integer.parseInt(sc.nextLine());
                     int cantidadDisponible = cliente.consultarInventarioProducto(idProductoConsulta, catalogo);
-                    System.out.println("Existen " +  cantidadDisponible + " unidades disponibles");
+                    out.imprimirLinea("Existen " +  cantidadDisponible + " unidades disponibles");
                     break;
 
                 case "14": // Comprar producto (agregar al pedido)
-                    System.out.print("ID del pedido: ");
-                    int idPedido = Integer.parseInt(sc.nextLine());
-                    System.out.print("ID del producto: ");
+                    out.imprimir("ID del pedido: ");
+                    long idPedido = Long.parseLong(sc.nextLine());
+                    out.imprimir("ID del producto: ");
                     int idProducto = Integer.parseInt(sc.nextLine());
-                    System.out.print("Cantidad: ");
+                    out.imprimir("Cantidad: ");
                     int cantidad = Integer.parseInt(sc.nextLine());
-                    cliente.agregarProductoPedido(idProducto, cantidad, idPedido, catalogo);
-                    System.out.println("Producto agregado al pedido " + idPedido);
+                    informar(cliente.agregarProductoPedido(idProducto, cantidad, idPedido, catalogo), "Producto agregado al pedido " + idPedido);
                     break;
 
                 // -- Mis Pedidos --
                 case "15": // Crear pedido
                     Pedido nuevoPedido = cliente.crearPedido(pedidos);
-                    System.out.println("Pedido creado con ID: " + nuevoPedido.getId());
+                    out.imprimirLinea("Pedido creado con ID: " + nuevoPedido.getId());
                     break;
 
                 case "16": // Consultar estado de mis pedidos
                     List<Pedido> estadoPedidos = cliente.consultarEstadoPedidos();
-                    System.out.println("Estado de mis pedidos: " + estadoPedidos);
+                    out.imprimirLinea("Estado de mis pedidos: " + estadoPedidos);
                     break;
 
                 case "17": // Ver todos mis pedidos
                     List<Pedido> pedidosPasados = cliente.consultarPedidosPasados();
-                    System.out.println("Todos mis pedidos: " + pedidosPasados);
+                    out.imprimirLinea("Todos mis pedidos: " + pedidosPasados);
                     break;
 
                 case "18": // Ver historial de compras
-                    List<Pedido> historial = cliente.consultarHistorialCompras();
-                    System.out.println("Historial de compras: " + historial);
+                    out.imprimir("Página (1 = compras más recientes): ");
+                    int paginaHistorial = Integer.parseInt(sc.nextLine());
+                    List<Pedido> historial = cliente.consultarHistorialCompras(paginaHistorial - 1, PEDIDOS_POR_PAGINA);
+                    out.imprimirLinea("Historial de compras: " + historial);
                     break;
 
                 case "19": // Agregar dirección a pedido
-                    System.out.print("ID del pedido: ");
-                    int idPedidoDir = Integer.parseInt(sc.nextLine());
-                    System.out.print("ID de la dirección: ");
+                    out.imprimir("ID del pedido: ");
+                    long idPedidoDir = Long.parseLong(sc.nextLine());
+                    out.imprimir("ID de la dirección: ");
                     int idDireccion = Integer.parseInt(sc.nextLine());
-                    cliente.agregarDireccionEntrega(idDireccion, idPedidoDir);
-                    System.out.println("Dirección agregada al pedido " + idPedidoDir);
+                    informar(cliente.agregarDireccionEntrega(idDireccion, idPedidoDir), "Dirección agregada al pedido " + idPedidoDir);
                     break;
 
                 case "20": // Agregar método de pago a pedido
-                    System.out.print("ID del pedido: ");
-                    int idPedidoPago = Integer.parseInt(sc.nextLine());
-                    System.out.print("ID del método de pago: ");
+                    out.imprimir("ID del pedido: ");
+                    long idPedidoPago = Long.parseLong(sc.nextLine());
+                    out.imprimir("ID del método de pago: ");
                     int idPago = Integer.parseInt(sc.nextLine());
-                    Pago metodoPago = cliente.getMetodosPago().stream().filter(p -> p.getId() == idPago).findFirst().orElse(null); // Buscar método de pago, usar stream para filtrar y obtener
+                    Pago metodoPago = cliente.buscarMetodoPago(idPago);
                     if (metodoPago != null) {
-                        cliente.agregarMetodoPago(metodoPago.getId(), idPedidoPago);
-                        System.out.println("Método de pago agregado al pedido " + idPedidoPago);
+                        informar(cliente.agregarMetodoPago(metodoPago.getId(), idPedidoPago), "Método de pago agregado al pedido " + idPedidoPago);
                     } else {
-                        System.out.println("Método de pago no encontrado");
+                        out.imprimirLinea("Método de pago no encontrado");
                     }
                     break;
 
                 case "21": // Cancelar pedido
-                    System.out.print("ID del pedido a cancelar: ");
-                    int idPedidoCancelar = Integer.parseInt(sc.nextLine());
-                    cliente.cancelarPedido(idPedidoCancelar);
-                    System.out.println("Pedido " + idPedidoCancelar + " cancelado");
+                    out.imprimir("ID del pedido a cancelar: ");
+                    long idPedidoCancelar = Long.parseLong(sc.nextLine());
+                    informar(cliente.cancelarPedido(idPedidoCancelar), "Pedido " + idPedidoCancelar + " cancelado");
+                    break;
+
+                // -- Búsqueda avanzada --
+                case "22": // Filtrar productos por varias etiquetas
+                    out.imprimir("Etiquetas:\n");
+                    for (Etiqueta e : etiquetas){
+                        out.imprimirLinea("- " + e);
+                    }
+                    FiltroEtiquetas filtro = new FiltroEtiquetas();
+                    out.imprimir("Etiquetas requeridas, separadas por coma (e.g., Electrónica): ");
+                    for (Etiqueta e : leerEtiquetas(etiquetas)) {
+                        filtro.requerir(e);
+                    }
+                    out.imprimir("Etiquetas alternativas, separadas por coma (vacío para omitir): ");
+                    for (Etiqueta e : leerEtiquetas(etiquetas)) {
+                        filtro.permitir(e);
+                    }
+                    out.imprimir("Etiquetas excluidas, separadas por coma (e.g., Hogar): ");
+                    for (Etiqueta e : leerEtiquetas(etiquetas)) {
+                        filtro.excluir(e);
+                    }
+                    List<Producto> productosEtiquetas = cliente.filtrarProductosPorEtiquetas(filtro, catalogo);
+                    out.imprimirLinea(productosEtiquetas.size() + " productos encontrados: ");
+                    for (Producto p : productosEtiquetas){
+                        out.imprimirLinea("- " + p);
+                    }
+                    break;
+
+                case "23": // Buscar productos por rango de precio
+                    out.imprimir("Precio mínimo: ");
+                    double precioMinimo = Double.parseDouble(sc.nextLine());
+                    out.imprimir("Precio máximo: ");
+                    double precioMaximo = Double.parseDouble(sc.nextLine());
+                    out.imprimir("Página: ");
+                    int pagina = Integer.parseInt(sc.nextLine());
+                    out.imprimir("Productos por página: ");
+                    int tamañoPagina = Integer.parseInt(sc.nextLine());
+                    List<Producto> productosPrecio = cliente.buscarProductosPorPrecio(precioMinimo, precioMaximo, pagina, tamañoPagina, catalogo);
+                    out.imprimirLinea("Productos entre " + precioMinimo + " y " + precioMaximo + " (página " + pagina + "): ");
+                    for (Producto p : productosPrecio){
+                        out.imprimirLinea("- " + p);
+                    }
+                    break;
+
+                case "24": // Buscar productos por texto
+                    out.imprimir("Buscar: ");
+                    String consulta = sc.nextLine();
+                    List<Producto> encontrados = cliente.buscarProductosPorTexto(consulta, 20, catalogo);
+                    out.imprimirLinea("Resultados: ");
+                    for (Producto p : encontrados){
+                        out.imprimirLinea("- " + p);
+                    }
+                    break;
+
+                case "25": // Sugerencias de productos por nombre
+                    out.imprimir("Escriba el inicio del nombre: ");
+                    String prefijo = sc.nextLine();
+                    List<Producto> sugeridos = cliente.autocompletarProductos(prefijo, 5, catalogo);
+                    out.imprimirLinea("Sugerencias: ");
+                    for (Producto p : sugeridos){
+                        out.imprimirLinea("- " + p.getNombre() + " (pedido " + p.getPopularidad() + " veces)");
+                    }
                     break;
 
                 // -- Sistema --
-                case "22": // Cerrar sesión
+                case "26": // Cerrar sesión
                     cliente.cerrarSesion();
                     return;
 
                 default:
-                    System.out.println("Opción no válida");
+                    out.imprimirLinea("Opción no válida");
             }
         }
     }
 
+    /**
+     * Lee una línea con nombres de etiquetas separados por coma y los convierte en etiquetas.
+     * Los nombres que no corresponden a ninguna etiqueta se informan y se ignoran.
+     * @param etiquetas Etiquetas del sistema, indexadas por nombre.
+     * @return Lista de etiquetas encontradas.
+     */
+    private List<Etiqueta> leerEtiquetas(TablaPorId<Etiqueta> etiquetas) {
+        List<Etiqueta> encontradas = new ArrayList<>();
+        for (String nombre : sc.nextLine().split(",")) {
+            nombre = nombre.trim();
+            if (nombre.isEmpty()) {
+                continue;
+            }
+            Etiqueta encontrada = etiquetas.buscarPorNombre(nombre);
+            if (encontrada != null) {
+                encontradas.add(encontrada);
+            } else {
+                out.imprimirLinea("Etiqueta no encontrada: " + nombre);
+            }
+        }
+        return encontradas;
+    }
+
+    /**
+     * Muestra el mensaje de éxito de una operación o, si no se realizó, el mensaje de su resultado.
+     * @param resultado Resultado devuelto por la operación.
+     * @param mensajeExito Mensaje a mostrar si la operación se realizó.
+     */
+    private void informar(Resultado resultado, String mensajeExito) {
+        out.imprimirLinea(resultado.esExito() ? mensajeExito : resultado.getMensaje());
+    }
 }
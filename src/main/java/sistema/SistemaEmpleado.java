@@ -1,12 +1,19 @@
 package sistema;
 
 import modelo.pedido.Direccion;
+import modelo.pedido.EstadoPedido;
 import modelo.pedido.Pedido;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
 import modelo.producto.Etiqueta;
 import modelo.producto.Producto;
 import modelo.usuario.Empleado;
+import modelo.util.GeneradorIds;
+import modelo.util.Resultado;
+import modelo.util.Salida;
+import modelo.util.SalidaSesion;
+import modelo.util.TablaPorId;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
@@ -15,200 +22,228 @@ import java.util.Scanner;
  */
 public class SistemaEmpleado {
     private Scanner sc;
+    private Salida out;
 
     /**
-     * Constructor que inicializa el sistema con un scanner.
+     * Constructor que inicializa el sistema con un scanner, mostrando el menú en la salida de la sesión actual.
      * @param sc El scanner para leer la entrada del usuario.
      */
     public SistemaEmpleado(Scanner sc) {
+        this(sc, SalidaSesion.INSTANCIA);
+    }
+
+    /**
+     * Constructor que inicializa el sistema con la entrada y la salida de una sesión.
+     * @param sc El scanner para leer la entrada del usuario.
+     * @param out Salida donde se muestra el menú al usuario.
+     */
+    public SistemaEmpleado(Scanner sc, Salida out) {
         this.sc = sc;
+        this.out = out;
     }
 
     /**
      * Muestra y gestiona el menú interactivo para el empleado.
      * @param empleado El empleado que utiliza el menú.
-     * @param catalogo Lista de productos disponibles.
-     * @param pedidos Lista de pedidos en el sistema.
-     * @param etiquetas Lista de etiquetas para productos.
+     * @param catalogo Catálogo de productos disponibles.
+     * @param pedidos Registro de pedidos del sistema.
+     * @param etiquetas Etiquetas para productos, indexadas por ID.
+     * @param ids Generador de IDs de la tienda, para los productos nuevos.
      */
-    public void menuEmpleado(Empleado empleado, ArrayList<Producto> catalogo, ArrayList<Pedido> pedidos,
-                             ArrayList<Etiqueta> etiquetas) {
+    public void menuEmpleado(Empleado empleado, Catalogo catalogo, RegistroPedidos pedidos,
+                             TablaPorId<Etiqueta> etiquetas, GeneradorIds ids) {
         while (true) {
-            System.out.println("\nMenú para Empleado");
-            System.out.println("-- Gestión de Productos --");
-            System.out.println("1. Consultar productos del catálogo");
-            System.out.println("2. Agregar producto al catálogo");
-            System.out.println("3. Eliminar producto del catálogo");
-            System.out.println("4. Editar producto del catálogo");
-            System.out.println("5. Agregar etiqueta a producto");
-            System.out.println("6. Eliminar etiqueta de producto");
-            System.out.println("-- Gestión de Inventario --");
-            System.out.println("7. Consultar inventario de un producto");
-            System.out.println("8. Registrar entrada de inventario");
-            System.out.println("9. Recibir alertas de inventario bajo");
-            System.out.println("-- Gestión de Pedidos --");
-            System.out.println("10. Actualizar estado de pedido");
-            System.out.println("11. Cancelar pedido");
-            System.out.println("12. Ver pedidos pendientes");
-            System.out.println("13. Verificar estado de pago");
-            System.out.println("14. Consultar dirección de pedido");
-            System.out.println("-- Sistema --");
-            System.out.println("15. Cerrar sesión");
-            System.out.print("Seleccione una opción: ");
+            out.imprimirLinea("\nMenú para Empleado");
+            out.imprimirLinea("-- Gestión de Productos --");
+            out.imprimirLinea("1. Consultar productos del catálogo");
+            out.imprimirLinea("2. Agregar producto al catálogo");
+            out.imprimirLinea("3. Eliminar producto del catálogo");
+            out.imprimirLinea("4. Editar producto del catálogo");
+            out.imprimirLinea("5. Agregar etiqueta a producto");
+            out.imprimirLinea("6. Eliminar etiqueta de producto");
+            out.imprimirLinea("-- Gestión de Inventario --");
+            out.imprimirLinea("7. Consultar inventario de un producto");
+            out.imprimirLinea("8. Registrar entrada de inventario");
+            out.imprimirLinea("9. Recibir alertas de inventario bajo");
+            out.imprimirLinea("10. Configurar umbral de reposición");
+            out.imprimirLinea("-- Gestión de Pedidos --");
+            out.imprimirLinea("11. Actualizar estado de pedido");
+            out.imprimirLinea("12. Cancelar pedido");
+            out.imprimirLinea("13. Ver pedidos pendientes");
+            out.imprimirLinea("14. Verificar estado de pago");
+            out.imprimirLinea("15. Consultar dirección de pedido");
+            out.imprimirLinea("16. Ver pedidos de un cliente");
+            out.imprimirLinea("-- Sistema --");
+            out.imprimirLinea("17. Cerrar sesión");
+            out.imprimir("Seleccione una opción: ");
             String opcion = sc.nextLine();
 
             switch (opcion) {
                 case "1":
                     List<Producto> productos = empleado.consultarProductosCatalogo(catalogo);
-                    System.out.println("Catálogo: ");
+                    out.imprimirLinea("Catálogo: ");
                     for (Producto p : productos) {
-                        System.out.println(p);
+                        out.imprimirLinea(p);
                     }
                     break;
 
                 case "2":
-                    int idProducto = catalogo.size() + 1;
-                    System.out.print("Nombre: ");
+                    int idProducto = ids.siguiente(GeneradorIds.Entidad.PRODUCTO);
+                    out.imprimir("Nombre: ");
                     String nombre = sc.nextLine();
-                    System.out.print("Descripción: ");
+                    out.imprimir("Descripción: ");
                     String descripcion = sc.nextLine();
-                    System.out.print("Precio: ");
+                    out.imprimir("Precio: ");
                     double precio = Double.parseDouble(sc.nextLine());
-                    System.out.print("Inventario: ");
+                    out.imprimir("Inventario: ");
                     int inventario = Integer.parseInt(sc.nextLine());
                     Producto nuevoProducto = new Producto(idProducto, nombre, descripcion, precio, inventario);
-                    empleado.agregarProductoCatalogo(nuevoProducto, catalogo);
-                    System.out.println("Producto agregado");
+                    informar(empleado.agregarProductoCatalogo(nuevoProducto, catalogo), "Producto agregado");
                     break;
 
                 case "3":
                     for (Producto producto : catalogo) {
-                        System.out.println(producto);
+                        out.imprimirLinea(producto);
                     }
-                    System.out.print("ID del producto a eliminar: ");
+                    out.imprimir("ID del producto a eliminar: ");
                     int idEliminar = Integer.parseInt(sc.nextLine());
-                    empleado.eliminarProductoCatalogo(idEliminar, catalogo);
-                    System.out.println("Producto eliminado");
+                    informar(empleado.eliminarProductoCatalogo(idEliminar, catalogo), "Producto eliminado");
                     break;
 
                 case "4":
-                    System.out.print("ID del producto a editar: ");
+                    out.imprimir("ID del producto a editar: ");
                     int idEditar = Integer.parseInt(sc.nextLine());
-                    System.out.print("Nuevo nombre: ");
+                    out.imprimir("Nuevo nombre: ");
                     String nuevoNombre = sc.nextLine();
-                    System.out.print("Nueva descripción: ");
+                    out.imprimir("Nueva descripción: ");
                     String nuevaDescripcion = sc.nextLine();
-                    System.out.print("Nuevo precio: ");
+                    out.imprimir("Nuevo precio: ");
                     double nuevoPrecio = Double.parseDouble(sc.nextLine());
-                    System.out.print("Nuevo inventario: ");
+                    out.imprimir("Nuevo inventario: ");
                     int nuevoInventario = Integer.parseInt(sc.nextLine());
-                    empleado.editarProductoCatalogo(idEditar, catalogo, nuevoNombre, nuevaDescripcion, nuevoPrecio, nuevoInventario);
-                    System.out.println("Producto actualizado");
+                    informar(empleado.editarProductoCatalogo(idEditar, catalogo, nuevoNombre, nuevaDescripcion, nuevoPrecio, nuevoInventario), "Producto actualizado");
                     break;
 
                 case "5":
-                    int idProdEtiqueta = etiquetas.size() + 1;
-                    System.out.print("ID de la etiqueta: ");
+                    for (Producto producto : catalogo) {
+                        out.imprimirLinea(producto);
+                    }
+                    out.imprimir("ID del producto: ");
+                    int idProdEtiqueta = Integer.parseInt(sc.nextLine());
+                    out.imprimir("ID de la etiqueta: ");
                     int idEtiqueta = Integer.parseInt(sc.nextLine());
-                    Etiqueta etiqueta = etiquetas.stream()
-                            .filter(e -> e.getId() == idEtiqueta)
-                            .findFirst()
-                            .orElse(null);
+                    Etiqueta etiqueta = etiquetas.buscar(idEtiqueta);
                     if (etiqueta != null) {
-                        empleado.agregarEtiquetaProducto(idProdEtiqueta, etiqueta, catalogo);
-                        System.out.println("Etiqueta agregada al producto");
+                        informar(empleado.agregarEtiquetaProducto(idProdEtiqueta, etiqueta, catalogo), "Etiqueta agregada al producto");
                     } else {
-                        System.out.println("Etiqueta no encontrada");
+                        out.imprimirLinea("Etiqueta no encontrada");
                     }
                     break;
 
                 case "6":
                     for (Producto producto : catalogo) {
-                        System.out.println(producto);
+                        out.imprimirLinea(producto);
                     }
-                    System.out.print("ID del producto: ");
+                    out.imprimir("ID del producto: ");
                     int idProdEliminarEtiqueta = Integer.parseInt(sc.nextLine());
-                    System.out.print("ID de la etiqueta: ");
+                    out.imprimir("ID de la etiqueta: ");
                     int idEtiquetaEliminar = Integer.parseInt(sc.nextLine());
-                    Etiqueta etiquetaEliminar = etiquetas.stream()
-                            .filter(e -> e.getId() == idEtiquetaEliminar)
-                            .findFirst()
-                            .orElse(null);
+                    Etiqueta etiquetaEliminar = etiquetas.buscar(idEtiquetaEliminar);
                     if (etiquetaEliminar != null) {
-                        empleado.eliminarEtiquetaProducto(idProdEliminarEtiqueta, etiquetaEliminar, catalogo);
-                        System.out.println("Etiqueta eliminada del producto");
+                        informar(empleado.eliminarEtiquetaProducto(idProdEliminarEtiqueta, etiquetaEliminar, catalogo), "Etiqueta eliminada del producto");
                     } else {
-                        System.out.println("Etiqueta no encontrada");
+                        out.imprimirLinea("Etiqueta no encontrada");
                     }
                     break;
 
                 case "7":
-                    System.out.print("ID del producto: ");
+                    out.imprimir("ID del producto: ");
                     int idConsultarInventario = Integer.parseInt(sc.nextLine());
                     int cantidad = empleado.consultarInventarioProducto(idConsultarInventario, catalogo);
-                    System.out.println("Inventario del producto: " + cantidad);
+                    out.imprimirLinea("Inventario del producto: " + cantidad);
                     break;
 
                 case "8":
-                    System.out.print("ID del producto: ");
+                    out.imprimir("ID del producto: ");
                     int idRegistrarEntrada = Integer.parseInt(sc.nextLine());
-                    System.out.print("Cantidad a agregar: ");
+                    out.imprimir("Cantidad a agregar: ");
                     int cantidadAgregar = Integer.parseInt(sc.nextLine());
-                    empleado.registrarEntradaInventario(idRegistrarEntrada, cantidadAgregar, catalogo);
-                    System.out.println("Entrada de inventario registrada");
+                    informar(empleado.registrarEntradaInventario(idRegistrarEntrada, cantidadAgregar, catalogo), "Entrada de inventario registrada");
                     break;
 
                 case "9":
                     List<Producto> alertas = empleado.recibirAlertasInventarioBajo(catalogo);
-                    System.out.println("Productos con inventario bajo: " + alertas);
+                    out.imprimirLinea("Productos con inventario bajo: " + alertas);
                     break;
 
                 case "10":
-                    System.out.print("ID del pedido: ");
-                    int idPedidoActualizar = Integer.parseInt(sc.nextLine());
-                    System.out.print("Nuevo estado: ");
-                    String nuevoEstado = sc.nextLine();
-                    empleado.actualizarEstadoPedido(idPedidoActualizar, nuevoEstado, pedidos);
-                    System.out.println("Estado del pedido actualizado");
+                    out.imprimir("ID del producto: ");
+                    int idUmbral = Integer.parseInt(sc.nextLine());
+                    out.imprimir("Umbral de reposición: ");
+                    int umbral = Integer.parseInt(sc.nextLine());
+                    informar(empleado.configurarUmbralReposicion(idUmbral, umbral, catalogo), "Umbral de reposición configurado");
                     break;
 
                 case "11":
-                    System.out.print("ID del pedido a cancelar: ");
-                    int idPedidoCancelar = Integer.parseInt(sc.nextLine());
-                    empleado.cancelarPedido(idPedidoCancelar, pedidos);
-                    System.out.println("Pedido cancelado");
+                    out.imprimir("ID del pedido: ");
+                    long idPedidoActualizar = Long.parseLong(sc.nextLine());
+                    out.imprimir("Nuevo estado (Pagado, Enviado, Completado o Cancelado): ");
+                    EstadoPedido nuevoEstado = EstadoPedido.desdeNombre(sc.nextLine());
+                    informar(empleado.actualizarEstadoPedido(idPedidoActualizar, nuevoEstado, pedidos), "Estado del pedido actualizado");
                     break;
 
                 case "12":
-                    List<Pedido> pendientes = empleado.verPedidosPendientes(pedidos);
-                    System.out.println("Pedidos pendientes: " + pendientes);
+                    out.imprimir("ID del pedido a cancelar: ");
+                    long idPedidoCancelar = Long.parseLong(sc.nextLine());
+                    informar(empleado.cancelarPedido(idPedidoCancelar, pedidos), "Pedido cancelado");
                     break;
 
                 case "13":
-                    System.out.print("ID del pago: ");
-                    int idPagoVerificar = Integer.parseInt(sc.nextLine());
-                    boolean pagoProcesado = empleado.verificarEstadoPago(idPagoVerificar, pedidos);
-                    System.out.println("Estado del pago: " + (pagoProcesado ? "Procesado" : "No procesado"));
+                    List<Pedido> pendientes = empleado.verPedidosPendientes(pedidos);
+                    out.imprimirLinea("Pedidos pendientes: " + pendientes);
                     break;
 
                 case "14":
-                    System.out.print("ID del pedido: ");
-                    int idPedidoDireccion = Integer.parseInt(sc.nextLine());
+                    out.imprimir("ID del pago: ");
+                    long idPagoVerificar = Long.parseLong(sc.nextLine());
+                    boolean pagoProcesado = empleado.verificarEstadoPago(idPagoVerificar, pedidos);
+                    out.imprimirLinea("Estado del pago: " + (pagoProcesado ? "Procesado" : "No procesado"));
+                    break;
+
+                case "15":
+                    out.imprimir("ID del pedido: ");
+                    long idPedidoDireccion = Long.parseLong(sc.nextLine());
                     Direccion direccion = empleado.consultarDireccionPedido(idPedidoDireccion, pedidos);
                     if (direccion != null) {
-                        System.out.println("Dirección del pedido: " + direccion);
+                        out.imprimirLinea("Dirección del pedido: " + direccion);
                     } else {
-                        System.out.println("Pedido no encontrado o sin dirección");
+                        out.imprimirLinea("Pedido no encontrado o sin dirección");
                     }
                     break;
 
-                case "15":
+                case "16":
+                    out.imprimir("ID del cliente: ");
+                    int idCliente = Integer.parseInt(sc.nextLine());
+                    List<Pedido> pedidosCliente = empleado.verPedidosCliente(idCliente, pedidos);
+                    out.imprimirLinea("Pedidos del cliente: " + pedidosCliente);
+                    break;
+
+                case "17":
                     empleado.cerrarSesion();
                     return;
 
                 default:
-                    System.out.println("Opción no válida");
+                    out.imprimirLinea("Opción no válida");
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Muestra el mensaje de éxito de una operación o, si no se realizó, el mensaje de su resultado.
+     * @param resultado Resultado devuelto por la operación.
+     * @param mensajeExito Mensaje a mostrar si la operación se realizó.
+     */
+    private void informar(Resultado resultado, String mensajeExito) {
+        out.imprimirLinea(resultado.esExito() ? mensajeExito : resultado.getMensaje());
+    }
+}
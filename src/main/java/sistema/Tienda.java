@@ -0,0 +1,233 @@
+package sistema;
+
+import modelo.pedido.Direccion;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
+import modelo.producto.CatalogoMapeado;
+import modelo.producto.Etiqueta;
+import modelo.producto.Producto;
+import modelo.usuario.Admin;
+import modelo.usuario.Cliente;
+import modelo.usuario.Empleado;
+import modelo.usuario.RegistroClientes;
+import modelo.util.Diario;
+import modelo.util.Evento;
+import modelo.util.GeneradorIds;
+import modelo.util.GeneradorIdsDistribuidos;
+import modelo.util.TablaPorId;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Clase que agrupa los datos compartidos por todas las sesiones de CloudyShop:
+ * usuarios, catálogo, pedidos, etiquetas y puntos de entrega.
+ * <p>
+ * Las listas son copy-on-write, así cada sesión puede recorrerlas mientras otras las modifican;
+ * los clientes se guardan en un {@link RegistroClientes}, que los indexa por ID y por usuario;
+ * las etiquetas y los puntos de entrega se guardan en una {@link TablaPorId}, que los busca y quita por ID
+ * sin recorrerlos y cuyos listados también pueden recorrerse mientras otras sesiones los modifican;
+ * los pedidos se guardan en un {@link RegistroPedidos}, que además los indexa por estado.
+ * Las operaciones compuestas (revisar duplicados y agregar) se sincronizan sobre la lista o tabla
+ * que modifican, tanto aquí como en los métodos del modelo que las reciben. Los IDs nuevos
+ * salen del {@link GeneradorIds} de la tienda, que no repite IDs aunque se eliminen datos; los de pedidos,
+ * de un {@link GeneradorIdsDistribuidos} con el número de nodo de la tienda, para que varias instancias
+ * detrás de un balanceador no generen el mismo ID de pedido.
+ */
+public class Tienda {
+    private List<Empleado> empleados;
+    private List<Admin> admins;
+    private RegistroClientes clientes;
+    private Catalogo catalogo;
+    private RegistroPedidos pedidos;
+    private TablaPorId<Etiqueta> etiquetas;
+    private TablaPorId<Direccion> puntosEntrega;
+    private GeneradorIds ids;
+
+    /**
+     * Constructor que inicializa una tienda sin datos.
+     */
+    public Tienda() {
+        this(new Catalogo());
+    }
+
+    /**
+     * Constructor que inicializa una tienda sin usuarios ni pedidos sobre un catálogo dado,
+     * por ejemplo uno con productos en un {@link modelo.producto.CatalogoMapeado}.
+     * Los productos nuevos reciben IDs mayores que los que ya tiene el catálogo.
+     * @param catalogo Catálogo de productos de la tienda.
+     */
+    public Tienda(Catalogo catalogo) {
+        this(catalogo, 0);
+    }
+
+    /**
+     * Constructor que inicializa una tienda sin usuarios ni pedidos sobre un catálogo dado,
+     * como uno de los nodos de una instalación con varias instancias.
+     * @param catalogo Catálogo de productos de la tienda.
+     * @param nodo Número de nodo de esta instancia, de 0 a {@link GeneradorIdsDistribuidos#MAXIMO_NODO}.
+     * @throws IllegalArgumentException Si el nodo está fuera de rango.
+     */
+    public Tienda(Catalogo catalogo, int nodo) {
+        this.ids = new GeneradorIds();
+        this.empleados = new CopyOnWriteArrayList<>();
+        this.admins = new CopyOnWriteArrayList<>();
+        this.clientes = new RegistroClientes();
+        this.catalogo = catalogo;
+        this.pedidos = new RegistroPedidos(new GeneradorIdsDistribuidos(nodo));
+        this.etiquetas = new TablaPorId<>(Etiqueta::getId, Etiqueta::getNombre);
+        this.puntosEntrega = new TablaPorId<>(Direccion::getId);
+        // Las listas empiezan vacías: solo el catálogo puede traer IDs existentes
+        ajustarIdsProductos();
+    }
+
+    /**
+     * Obtiene la lista de empleados.
+     * @return Lista de empleados.
+     */
+    public List<Empleado> getEmpleados() { return empleados; }
+
+    /**
+     * Obtiene la lista de administradores.
+     * @return Lista de administradores.
+     */
+    public List<Admin> getAdmins() { return admins; }
+
+    /**
+     * Obtiene el registro de clientes.
+     * @return Registro de clientes.
+     */
+    public RegistroClientes getClientes() { return clientes; }
+
+    /**
+     * Obtiene el catálogo de productos.
+     * @return El catálogo.
+     */
+    public Catalogo getCatalogo() { return catalogo; }
+
+    /**
+     * Obtiene el registro de pedidos.
+     * @return Registro de pedidos.
+     */
+    public RegistroPedidos getPedidos() { return pedidos; }
+
+    /**
+     * Obtiene las etiquetas, indexadas por ID y por nombre.
+     * @return Tabla de etiquetas.
+     */
+    public TablaPorId<Etiqueta> getEtiquetas() { return etiquetas; }
+
+    /**
+     * Obtiene los puntos de entrega, indexados por ID.
+     * @return Tabla de puntos de entrega.
+     */
+    public TablaPorId<Direccion> getPuntosEntrega() { return puntosEntrega; }
+
+    /**
+     * Obtiene el generador de los IDs nuevos de la tienda.
+     * @return Generador de IDs.
+     */
+    public GeneradorIds getIds() { return ids; }
+
+    /**
+     * Avanza las secuencias de IDs más allá de los datos agregados directamente a las listas,
+     * como los datos iniciales, para que los IDs nuevos no coincidan con ellos.
+     * Los pedidos no lo necesitan porque el registro de pedidos lo hace al agregarlos.
+     * Debe llamarse antes de atender sesiones.
+     */
+    public void ajustarIds() {
+        for (Cliente cliente : clientes.getClientes()) {
+            ids.avanzarHasta(GeneradorIds.Entidad.CLIENTE, cliente.getId());
+        }
+        for (Empleado empleado : empleados) {
+            ids.avanzarHasta(GeneradorIds.Entidad.EMPLEADO, empleado.getId());
+        }
+        for (Etiqueta etiqueta : etiquetas) {
+            ids.avanzarHasta(GeneradorIds.Entidad.ETIQUETA, etiqueta.getId());
+        }
+        for (Direccion punto : puntosEntrega) {
+            ids.avanzarHasta(GeneradorIds.Entidad.PUNTO_ENTREGA, punto.getId());
+        }
+        ajustarIdsProductos();
+    }
+
+    /**
+     * Avanza la secuencia de IDs de productos más allá de los productos del catálogo.
+     */
+    private void ajustarIdsProductos() {
+        // La base mapeada está ordenada por ID: su último producto tiene el mayor
+        CatalogoMapeado base = catalogo.getBase();
+        if (base != null && base.tamaño() > 0) {
+            ids.avanzarHasta(GeneradorIds.Entidad.PRODUCTO, base.id(base.tamaño() - 1));
+        }
+        for (Producto producto : catalogo.getProductosEnMemoria()) {
+            ids.avanzarHasta(GeneradorIds.Entidad.PRODUCTO, producto.getId());
+        }
+    }
+
+    /**
+     * Registra un nuevo cliente con un ID nuevo del generador de la tienda.
+     * @param nombre Nombre completo del cliente.
+     * @param usuario Nombre de usuario del cliente.
+     * @param correo Correo electrónico del cliente.
+     * @param password Contraseña del cliente.
+     * @param telefono Teléfono del cliente.
+     * @return El cliente registrado, o null si ya hay un cliente con ese usuario.
+     */
+    public Cliente registrarCliente(String nombre, String usuario, String correo, String password, String telefono) {
+        int nuevoId = ids.siguiente(GeneradorIds.Entidad.CLIENTE);
+        Cliente nuevoCliente = new Cliente(nuevoId, nombre, usuario, correo, password, telefono);
+        if (!clientes.agregar(nuevoCliente)) {
+            return null;
+        }
+        try {
+            Diario.actual().registro(Evento.CLIENTE_REGISTRADO).entero(nuevoId).texto(nombre).texto(usuario)
+                    .texto(correo).texto(password).texto(telefono).registrar();
+        } catch (RuntimeException e) {
+            clientes.eliminar(nuevoCliente);
+            throw e;
+        }
+        return nuevoCliente;
+    }
+
+    /**
+     * Busca un administrador según su usuario y contraseña.
+     * @param usuario El nombre de usuario del administrador.
+     * @param contraseña La contraseña del administrador.
+     * @return El objeto {@code Admin} si las credenciales son correctas, o {@code null} si no se encuentra.
+     */
+    public Admin buscarAdmin(String usuario, String contraseña) {
+        for (Admin admin : admins) {
+            if (admin.iniciarSesion(usuario, contraseña)) {
+                return admin;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca un empleado según su usuario y contraseña.
+     * @param usuario El nombre de usuario del empleado.
+     * @param contraseña La contraseña del empleado.
+     * @return El objeto {@code Empleado} si las credenciales son correctas, o {@code null} si no se encuentra.
+     */
+    public Empleado buscarEmpleado(String usuario, String contraseña) {
+        for (Empleado empleado : empleados) {
+            if (empleado.iniciarSesion(usuario, contraseña)) {
+                return empleado;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca un cliente según su usuario y contraseña, con el índice de usuarios del registro de clientes.
+     * @param usuario El nombre de usuario del cliente.
+     * @param contraseña La contraseña del cliente.
+     * @return El objeto {@code Cliente} si las credenciales son correctas, o {@code null} si no se encuentra.
+     */
+    public Cliente buscarCliente(String usuario, String contraseña) {
+        Cliente cliente = clientes.buscarPorUsuario(usuario);
+        return cliente != null && cliente.iniciarSesion(usuario, contraseña) ? cliente : null;
+    }
+}
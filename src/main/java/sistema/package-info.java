@@ -5,5 +5,10 @@
  * {@link sistema.SistemaCliente},
  * {@link sistema.SistemaEmpleado} y
  * {@link sistema.SistemaAdmin}.
+ * Los datos compartidos se agrupan en {@link sistema.Tienda}; cada terminal se atiende con una
+ * {@link sistema.Sesion}, y {@link sistema.MotorSesiones} ejecuta muchas sesiones a la vez en hilos virtuales.
+ * {@link sistema.ServidorSesiones} atiende las sesiones por TCP, y {@link sistema.Recuperacion}
+ * carga los cambios guardados en el diario al arrancar, a partir de la última {@link sistema.Instantanea}
+ * que genera en segundo plano {@link sistema.GeneradorInstantaneas}.
  */
 package sistema;
\ No newline at end of file
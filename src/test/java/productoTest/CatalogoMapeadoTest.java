@@ -0,0 +1,272 @@
+package productoTest;
+
+import modelo.producto.Catalogo;
+import modelo.producto.CatalogoMapeado;
+import modelo.producto.Etiqueta;
+import modelo.producto.FiltroEtiquetas;
+import modelo.producto.Producto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase de testeo unitario para {@link CatalogoMapeado} y el {@link Catalogo} que lo usa como base.
+ */
+public class CatalogoMapeadoTest {
+    /** Archivo temporal del catálogo mapeado */
+    private Path archivo;
+    /** Catálogo con el archivo como base */
+    private Catalogo catalogo;
+
+    /**
+     * Escribe un catálogo mapeado con tres productos, en desorden, antes de cada test.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        archivo = Files.createTempFile("catalogo", ".cat");
+        Producto laptop = new Producto(10, "Laptop", "Laptop de alta gama", 1000.0, 10);
+        laptop.agregarEtiqueta(new Etiqueta(1, "Electrónica"));
+        laptop.configurarSegmentosInventario(2);
+        laptop.setPopularidad(7);
+        List<Producto> productos = List.of(
+                new Producto(30, "Teléfono", "Smartphone moderno", 500.0, 3),
+                laptop,
+                new Producto(20, "Silla", null, 150.0, 0));
+        CatalogoMapeado.escribir(productos, archivo);
+        catalogo = new Catalogo(CatalogoMapeado.abrir(archivo));
+    }
+
+    /**
+     * Borra el archivo temporal después de cada test.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    /**
+     * Verifica que los registros queden ordenados por ID y se lean sin crear productos.
+     */
+    @Test
+    void registrosTest() {
+        CatalogoMapeado base = catalogo.getBase();
+        assertEquals(3, base.tamaño());
+        assertEquals(10, base.id(0));
+        assertEquals(30, base.id(2));
+        int posicion = base.posicion(30);
+        assertEquals(2, posicion);
+        assertEquals(3, base.inventario(posicion));
+        assertEquals(500.0, base.precio(posicion));
+        assertEquals(-1, base.posicion(15), "Un ID inexistente no tiene posición");
+        assertTrue(catalogo.getProductosEnMemoria().isEmpty(), "Leer registros no debe cargar productos");
+    }
+
+    /**
+     * Verifica que un producto de la base se cargue completo la primera vez que se busca
+     * y que después se devuelva siempre el mismo objeto.
+     */
+    @Test
+    void buscarTest() {
+        assertEquals(3, catalogo.tamaño());
+        assertTrue(catalogo.contiene(20));
+        Producto laptop = catalogo.buscar(10);
+        assertEquals("Laptop", laptop.getNombre());
+        assertEquals("Laptop de alta gama", laptop.getDescripcion());
+        assertEquals(1000.0, laptop.getPrecio());
+        assertEquals(2, laptop.getSegmentosInventario());
+        assertEquals(7, laptop.getPopularidad());
+        assertEquals("Electrónica", laptop.getEtiquetas().get(0).getNombre());
+        assertNull(catalogo.buscar(20).getDescripcion(), "Un texto nulo debe seguir siendo nulo");
+        assertSame(laptop, catalogo.buscar(10), "Debe devolver el producto ya cargado");
+        assertEquals(2, catalogo.getProductosEnMemoria().size());
+        assertEquals(3, catalogo.tamaño(), "Cargar productos no cambia el tamaño");
+        assertNull(catalogo.buscar(99));
+    }
+
+    /**
+     * Verifica que no se pueda agregar un ID de la base y que los productos nuevos convivan con ella.
+     */
+    @Test
+    void agregarTest() {
+        assertFalse(catalogo.agregar(new Producto(20, "Otra Silla", "Duplicada", 1.0, 1)), "No debe agregar un ID de la base");
+        assertEquals("Silla", catalogo.buscar(20).getNombre());
+        assertTrue(catalogo.agregar(new Producto(5, "Mouse", "Mouse inalámbrico", 20.0, 4)));
+        assertEquals(4, catalogo.tamaño());
+
+        List<Integer> ids = new ArrayList<>();
+        for (Producto producto : catalogo.getProductos()) {
+            ids.add(producto.getId());
+        }
+        assertEquals(List.of(10, 20, 30, 5), ids, "Cada producto debe aparecer una sola vez");
+    }
+
+    /**
+     * Verifica que recorrer o acceder por posición a los productos lea la base sin cargarla
+     * y que, si un producto ya estaba cargado, se devuelva el del catálogo.
+     */
+    @Test
+    void getProductosSinCargarTest() {
+        Producto silla = catalogo.buscar(20);
+        catalogo.eliminar(10);
+        catalogo.agregar(new Producto(5, "Mouse", "Mouse inalámbrico", 20.0, 4));
+        List<Producto> productos = catalogo.getProductos();
+
+        List<Integer> ids = new ArrayList<>();
+        for (Producto producto : productos) {
+            ids.add(producto.getId());
+        }
+        assertEquals(List.of(20, 30, 5), ids);
+        for (int i = 0; i < productos.size(); i++) {
+            assertEquals((int) ids.get(i), productos.get(i).getId(), "El acceso por posición debe seguir el orden del recorrido");
+        }
+        assertSame(silla, productos.get(0), "Un producto cargado debe ser el del catálogo");
+        assertEquals("Teléfono", productos.get(1).getNombre());
+        assertEquals(2, catalogo.getProductosEnMemoria().size(), "Listar no debe cargar productos de la base");
+        assertNull(catalogo.getProductosEnMemoria().stream().filter(p -> p.getId() == 30).findAny().orElse(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> productos.get(3));
+    }
+
+    /**
+     * Verifica que se eliminen productos de la base tanto cargados como sin cargar.
+     */
+    @Test
+    void eliminarTest() {
+        catalogo.buscar(10);
+        assertTrue(catalogo.eliminar(10), "Debe eliminar un producto ya cargado");
+        assertTrue(catalogo.eliminar(30), "Debe eliminar un producto sin cargar");
+        assertFalse(catalogo.eliminar(30), "No debe eliminar dos veces");
+        assertNull(catalogo.buscar(10));
+        assertNull(catalogo.buscar(30), "Un producto eliminado no debe volver a cargarse");
+        assertEquals(1, catalogo.tamaño());
+        assertEquals(1, catalogo.getProductos().size());
+        assertArrayEquals(new int[] {10, 30}, catalogo.getEliminadosDeBase());
+        assertTrue(catalogo.agregar(new Producto(30, "Tablet", "Tablet nueva", 300.0, 2)), "El ID eliminado queda libre");
+        assertEquals("Tablet", catalogo.buscar(30).getNombre());
+    }
+
+    /**
+     * Verifica que no se escriba un catálogo con IDs repetidos.
+     */
+    @Test
+    void escribirDuplicadosTest() {
+        List<Producto> productos = List.of(new Producto(1, "A", "a", 1.0, 1), new Producto(1, "B", "b", 2.0, 2));
+        assertThrows(IllegalArgumentException.class, () -> CatalogoMapeado.escribir(productos, archivo));
+    }
+
+    /**
+     * Verifica que la búsqueda por inventario incluya los productos de la base sin cargar,
+     * cargando solo los que cumplen el rango.
+     */
+    @Test
+    void buscarPorInventarioTest() {
+        Producto laptop = catalogo.buscar(10);
+        laptop.actualizarInventario(2);
+        List<Producto> bajos = catalogo.buscarPorInventario(Integer.MIN_VALUE, 4);
+        assertEquals(List.of(laptop, catalogo.buscar(20), catalogo.buscar(30)), bajos);
+        catalogo.eliminar(30);
+        assertEquals(List.of(laptop), catalogo.buscarPorInventario(1, 4));
+    }
+
+    /**
+     * Verifica que la búsqueda por inventario no cargue los productos de la base fuera del rango.
+     */
+    @Test
+    void buscarPorInventarioSinCargarTest() {
+        assertEquals(1, catalogo.buscarPorInventario(0, 0).size());
+        assertEquals(1, catalogo.getProductosEnMemoria().size(), "Solo debe cargar la silla");
+    }
+
+    /**
+     * Verifica que el valor del inventario y el filtro de precio incluyan los productos de la base
+     * y que el valor no los cargue en memoria.
+     */
+    @Test
+    void valorYPrecioTest() {
+        assertEquals(10000.0 + 1500.0, catalogo.valorInventario(), 1e-9);
+        assertTrue(catalogo.getProductosEnMemoria().isEmpty(), "El valor no debe cargar productos");
+        catalogo.buscar(10).actualizarInventario(1);
+        assertEquals(1000.0 + 1500.0, catalogo.valorInventario(), 1e-9);
+        assertEquals(List.of(catalogo.buscar(10), catalogo.buscar(30)), catalogo.buscarPorPrecio(500.0, 1000.0));
+    }
+
+    /**
+     * Verifica que las alertas de inventario incluyan los productos de la base con poco inventario.
+     */
+    @Test
+    void alertasInventarioTest() {
+        assertEquals(List.of(catalogo.buscar(20), catalogo.buscar(30)), catalogo.getAlertasInventario());
+        assertEquals(2, catalogo.getProductosEnMemoria().size(), "Solo deben cargarse los productos con alerta");
+    }
+
+    /**
+     * Verifica que los filtros por etiquetas incluyan los productos de la base sin cargar
+     * y que contar no los cargue.
+     */
+    @Test
+    void filtrarPorEtiquetasTest() {
+        Etiqueta electronica = new Etiqueta(1, "Electrónica");
+        Etiqueta oferta = new Etiqueta(2, "Oferta");
+        assertEquals(1, catalogo.contarPorEtiquetas(new FiltroEtiquetas().requerir(electronica)));
+        assertEquals(2, catalogo.contarPorEtiquetas(new FiltroEtiquetas().excluir(electronica)));
+        assertTrue(catalogo.getProductosEnMemoria().isEmpty(), "Contar no debe cargar productos");
+
+        Producto telefono = catalogo.buscar(30);
+        telefono.agregarEtiqueta(electronica);
+        telefono.agregarEtiqueta(oferta);
+        List<Producto> electronicos = catalogo.filtrarPorEtiqueta(1);
+        assertEquals(List.of(telefono, catalogo.buscar(10)), electronicos);
+        assertEquals(List.of(telefono), catalogo.filtrarPorEtiquetas(new FiltroEtiquetas().requerir(electronica).requerir(oferta)));
+        assertEquals(2, catalogo.getProductosEnMemoria().size(), "La silla no debe cargarse");
+    }
+
+    /**
+     * Verifica que la búsqueda paginada por rango de precio mezcle en orden los productos en memoria
+     * con los de la base sin cargar.
+     */
+    @Test
+    void buscarPorRangoPrecioTest() {
+        Producto mouse = new Producto(5, "Mouse", "Mouse inalámbrico", 500.0, 4);
+        catalogo.agregar(mouse);
+        List<Producto> pagina = catalogo.buscarPorRangoPrecio(100.0, 1000.0, false, 1, 3);
+        assertEquals(List.of(catalogo.buscar(20), mouse, catalogo.buscar(30)), pagina,
+                "Los precios iguales se ordenan por ID");
+        assertEquals(List.of(catalogo.buscar(10)), catalogo.buscarPorRangoPrecio(100.0, 1000.0, false, 2, 3));
+        catalogo.eliminar(30);
+        assertEquals(List.of(mouse, catalogo.buscar(10)), catalogo.buscarPorRangoPrecio(100.0, 1000.0, true, 1, 5),
+                "Deben omitirse los agotados y los eliminados");
+    }
+
+    /**
+     * Verifica que la búsqueda por rango de precio cargue solo los productos de la página.
+     */
+    @Test
+    void buscarPorRangoPrecioSinCargarTest() {
+        assertEquals(1, catalogo.buscarPorRangoPrecio(0.0, 2000.0, true, 2, 1).size());
+        assertEquals(1, catalogo.getProductosEnMemoria().size(), "Solo debe cargar el producto de la página");
+    }
+
+    /**
+     * Verifica que la búsqueda por texto y el autocompletado incluyan los productos de la base sin cargar.
+     */
+    @Test
+    void buscarPorTextoYAutocompletarTest() {
+        catalogo.agregar(new Producto(5, "Lapicera", "Tinta azul", 2.0, 4));
+        List<Producto> encontrados = catalogo.buscarPorTexto("lap", 10);
+        assertEquals(List.of(catalogo.buscar(10), catalogo.buscar(5)), encontrados,
+                "La laptop tiene la palabra en el nombre y en la descripción");
+        assertEquals(List.of(catalogo.buscar(30)), catalogo.buscarPorTexto("telefono", 10));
+        assertEquals(3, catalogo.getProductosEnMemoria().size(), "La silla no debe cargarse");
+
+        assertEquals(List.of(catalogo.buscar(10), catalogo.buscar(5)), catalogo.autocompletar("La", 5),
+                "La laptop es más popular");
+        assertEquals(List.of(catalogo.buscar(10)), catalogo.autocompletar("la", 1));
+        catalogo.eliminar(20);
+        assertTrue(catalogo.autocompletar("sil", 5).isEmpty());
+    }
+}
@@ -0,0 +1,458 @@
+package productoTest;
+
+import modelo.producto.Catalogo;
+import modelo.producto.Etiqueta;
+import modelo.producto.FiltroEtiquetas;
+import modelo.producto.OyenteInventario;
+import modelo.producto.Producto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase de testeo unitario para {@link Catalogo}.
+ * Verifica el índice por ID del catálogo: altas, búsquedas, duplicados y eliminaciones.
+ */
+public class CatalogoTest {
+    /** Catálogo utilizado en las pruebas */
+    private Catalogo catalogo;
+    /** Productos de prueba */
+    private Producto producto1, producto2;
+
+    /**
+     * Configura el entorno de prueba antes de cada test.
+     * Inicializa el catálogo con dos productos.
+     */
+    @BeforeEach
+    void setUp() {
+        catalogo = new Catalogo();
+        producto1 = new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10);
+        producto2 = new Producto(2, "Mouse", "Mouse inalámbrico", 20.0, 3);
+        catalogo.agregar(producto1);
+        catalogo.agregar(producto2);
+    }
+
+    /**
+     * Prueba el método {@link Catalogo#agregar(Producto)}.
+     * Verifica que rechace nulos e IDs duplicados.
+     */
+    @Test
+    void agregarTest() {
+        assertTrue(catalogo.agregar(new Producto(3, "Teclado", "Teclado mecánico", 50.0, 5)), "Debe agregar un ID nuevo");
+        assertEquals(3, catalogo.tamaño(), "El catálogo debe tener tres productos");
+        // Duplicados y nulos
+        assertFalse(catalogo.agregar(new Producto(1, "Otra Laptop", "Duplicada", 900.0, 1)), "No debe agregar un ID duplicado");
+        assertFalse(catalogo.agregar(null), "No debe agregar un producto nulo");
+        assertEquals(3, catalogo.tamaño(), "El tamaño no debe cambiar");
+        assertEquals("Laptop", catalogo.buscar(1).getNombre(), "El producto original no debe reemplazarse");
+    }
+
+    /**
+     * Prueba los métodos {@link Catalogo#buscar(int)} y {@link Catalogo#contiene(int)}.
+     * Verifica la búsqueda por ID.
+     */
+    @Test
+    void buscarTest() {
+        assertSame(producto2, catalogo.buscar(2), "Debe devolver el producto con ID 2");
+        assertTrue(catalogo.contiene(1), "Debe contener el producto 1");
+        assertNull(catalogo.buscar(99), "Debe devolver null si el producto no existe");
+        assertFalse(catalogo.contiene(99), "No debe contener un ID inexistente");
+    }
+
+    /**
+     * Prueba el método {@link Catalogo#eliminar(int)}.
+     * Verifica que el producto desaparezca del índice y de la lista.
+     */
+    @Test
+    void eliminarTest() {
+        assertTrue(catalogo.eliminar(1), "Debe eliminar el producto 1");
+        assertNull(catalogo.buscar(1), "El producto eliminado no debe encontrarse");
+        assertEquals(1, catalogo.tamaño(), "Debe quedar un producto");
+        assertFalse(catalogo.eliminar(1), "No debe eliminar dos veces");
+        // El ID puede volver a usarse tras eliminar
+        assertTrue(catalogo.agregar(new Producto(1, "Laptop Nueva", "Reemplazo", 1200.0, 2)), "Debe aceptar el ID liberado");
+    }
+
+    /**
+     * Prueba el método {@link Catalogo#getProductos()}.
+     * Verifica el orden de inserción y que la vista sea de solo lectura.
+     */
+    @Test
+    void getProductosTest() {
+        List<Producto> productos = catalogo.getProductos();
+        assertEquals(2, productos.size(), "Debe devolver todos los productos");
+        assertSame(producto1, productos.get(0), "Debe conservar el orden de inserción");
+        assertThrows(UnsupportedOperationException.class, () -> productos.add(producto1), "La vista debe ser de solo lectura");
+    }
+
+    /**
+     * Verifica que {@link Catalogo#getProductos()} conserve el orden de inserción después de eliminar
+     * muchos productos, y que una lista ya obtenida no cambie con las altas y bajas posteriores.
+     */
+    @Test
+    void getProductosDespuesDeEliminarTest() {
+        for (int id = 10; id < 300; id++) {
+            catalogo.agregar(new Producto(id, "Producto " + id, "Producto de prueba", 1.0, 1));
+        }
+        List<Producto> antes = catalogo.getProductos();
+        for (int id = 10; id < 300; id += 2) {
+            catalogo.eliminar(id);
+        }
+        catalogo.eliminar(1);
+        catalogo.agregar(new Producto(1, "Laptop Nueva", "Reemplazo", 1200.0, 2));
+        assertEquals(292, antes.size(), "Una lista ya obtenida no debe cambiar");
+
+        List<Producto> productos = catalogo.getProductos();
+        assertEquals(catalogo.tamaño(), productos.size());
+        assertEquals(147, productos.size());
+        assertSame(producto2, productos.get(0), "Debe conservar el orden de inserción");
+        for (int i = 1; i < 146; i++) {
+            assertEquals(9 + 2 * i, productos.get(i).getId());
+        }
+        assertEquals("Laptop Nueva", productos.get(146).getNombre(), "El producto agregado al final debe quedar último");
+    }
+
+    /**
+     * Prueba el método {@link Catalogo#filtrarPorEtiqueta(int)}.
+     * Verifica que el índice invertido siga los cambios de etiquetas de los productos.
+     */
+    @Test
+    void filtrarPorEtiquetaTest() {
+        Etiqueta electronica = new Etiqueta(1, "Electrónica");
+        producto1.agregarEtiqueta(electronica);
+        producto2.agregarEtiqueta(electronica);
+        assertEquals(List.of(producto1, producto2), catalogo.filtrarPorEtiqueta(1), "Debe devolver ambos productos");
+
+        producto1.eliminarEtiqueta(electronica);
+        assertEquals(List.of(producto2), catalogo.filtrarPorEtiqueta(1), "Debe reflejar la etiqueta eliminada");
+
+        catalogo.eliminar(2);
+        assertTrue(catalogo.filtrarPorEtiqueta(1).isEmpty(), "Un producto eliminado no debe aparecer en el filtro");
+        assertTrue(catalogo.filtrarPorEtiqueta(99).isEmpty(), "Una etiqueta sin productos devuelve una lista vacía");
+    }
+
+    /**
+     * Verifica que las etiquetas asignadas antes de agregar el producto también se indexen.
+     */
+    @Test
+    void etiquetasPreviasTest() {
+        Producto teclado = new Producto(3, "Teclado", "Teclado mecánico", 50.0, 5);
+        teclado.agregarEtiqueta(new Etiqueta(2, "Accesorios"));
+        catalogo.agregar(teclado);
+        assertEquals(List.of(teclado), catalogo.filtrarPorEtiqueta(2), "Debe indexar las etiquetas existentes");
+        assertFalse(new Catalogo().agregar(teclado), "Un producto no puede pertenecer a dos catálogos");
+    }
+
+    /**
+     * Prueba los métodos {@link Catalogo#filtrarPorEtiquetas(FiltroEtiquetas)} y
+     * {@link Catalogo#contarPorEtiquetas(FiltroEtiquetas)}.
+     * Verifica combinaciones AND, OR y NOT de etiquetas.
+     */
+    @Test
+    void filtrarPorEtiquetasTest() {
+        Etiqueta electronica = new Etiqueta(1, "Electrónica");
+        Etiqueta hogar = new Etiqueta(2, "Hogar");
+        Etiqueta oferta = new Etiqueta(3, "Oferta");
+        Producto lampara = new Producto(3, "Lámpara", "Lámpara inteligente", 40.0, 8);
+        catalogo.agregar(lampara);
+        producto1.agregarEtiqueta(electronica);
+        producto2.agregarEtiqueta(electronica);
+        producto2.agregarEtiqueta(oferta);
+        lampara.agregarEtiqueta(electronica);
+        lampara.agregarEtiqueta(hogar);
+
+        FiltroEtiquetas sinHogar = new FiltroEtiquetas().requerir(electronica).excluir(hogar);
+        assertEquals(List.of(producto1, producto2), catalogo.filtrarPorEtiquetas(sinHogar), "Electrónica AND NOT Hogar");
+        assertEquals(2, catalogo.contarPorEtiquetas(sinHogar), "El conteo debe coincidir con la lista");
+
+        FiltroEtiquetas hogarUOferta = new FiltroEtiquetas().permitir(hogar).permitir(oferta);
+        assertEquals(List.of(producto2, lampara), catalogo.filtrarPorEtiquetas(hogarUOferta), "Hogar OR Oferta");
+
+        FiltroEtiquetas ambas = new FiltroEtiquetas().requerir(electronica).requerir(oferta);
+        assertEquals(List.of(producto2), catalogo.filtrarPorEtiquetas(ambas), "Electrónica AND Oferta");
+
+        assertEquals(3, catalogo.contarPorEtiquetas(new FiltroEtiquetas()), "Un filtro vacío incluye todo el catálogo");
+        assertEquals(0, catalogo.contarPorEtiquetas(new FiltroEtiquetas().requerir(new Etiqueta(9, "Sin uso"))), "Una etiqueta sin productos no coincide");
+    }
+
+    /**
+     * Verifica que el ordinal de un producto eliminado se reutilice sin heredar sus etiquetas.
+     */
+    @Test
+    void reutilizarOrdinalTest() {
+        Etiqueta electronica = new Etiqueta(1, "Electrónica");
+        producto1.agregarEtiqueta(electronica);
+        catalogo.eliminar(1);
+        Producto nuevo = new Producto(5, "Monitor", "Monitor 4K", 300.0, 4);
+        catalogo.agregar(nuevo);
+        assertTrue(catalogo.filtrarPorEtiqueta(1).isEmpty(), "El producto nuevo no debe heredar etiquetas");
+        assertEquals(List.of(nuevo, producto2), catalogo.filtrarPorEtiquetas(new FiltroEtiquetas()), "El producto nuevo ocupa el ordinal liberado");
+    }
+
+    /**
+     * Prueba el método {@link Catalogo#buscarPorRangoPrecio(double, double, boolean, int, int)}.
+     * Verifica el orden por precio, la paginación y el filtro de disponibilidad.
+     */
+    @Test
+    void buscarPorRangoPrecioTest() {
+        Producto teclado = new Producto(3, "Teclado", "Teclado mecánico", 50.0, 0);
+        Producto monitor = new Producto(4, "Monitor", "Monitor 4K", 300.0, 4);
+        catalogo.agregar(teclado);
+        catalogo.agregar(monitor);
+
+        assertEquals(List.of(producto2, teclado, monitor), catalogo.buscarPorRangoPrecio(20.0, 500.0, false, 1, 10), "Debe ordenar por precio");
+        assertEquals(List.of(producto2, monitor), catalogo.buscarPorRangoPrecio(20.0, 500.0, true, 1, 10), "Debe omitir productos sin inventario");
+        assertEquals(List.of(producto2, monitor), catalogo.buscarPorRangoPrecio(0.0, 2000.0, true, 1, 2), "La primera página tiene los dos más baratos");
+        assertEquals(List.of(producto1), catalogo.buscarPorRangoPrecio(0.0, 2000.0, true, 2, 2), "La segunda página debe continuar la primera");
+        assertTrue(catalogo.buscarPorRangoPrecio(0.0, 2000.0, true, 3, 2).isEmpty(), "Una página fuera de rango está vacía");
+        assertTrue(catalogo.buscarPorRangoPrecio(500.0, 100.0, false, 1, 10).isEmpty(), "Un rango invertido no devuelve resultados");
+    }
+
+    /**
+     * Verifica que el índice de precios siga los cambios de precio y las eliminaciones.
+     */
+    @Test
+    void actualizarPrecioTest() {
+        producto2.setPrecio(1500.0);
+        assertEquals(List.of(producto1, producto2), catalogo.buscarPorRangoPrecio(0.0, 2000.0, false, 1, 10), "Debe reordenar tras el cambio de precio");
+        assertTrue(catalogo.buscarPorRangoPrecio(0.0, 100.0, false, 1, 10).isEmpty(), "El precio anterior no debe seguir indexado");
+
+        catalogo.eliminar(1);
+        assertEquals(List.of(producto2), catalogo.buscarPorRangoPrecio(0.0, 2000.0, false, 1, 10), "Un producto eliminado no debe aparecer");
+    }
+
+    /**
+     * Prueba el método {@link Catalogo#buscarPorTexto(String, int)}.
+     * Verifica la búsqueda sin tildes, por prefijo y el orden por relevancia.
+     */
+    @Test
+    void buscarPorTextoTest() {
+        Producto telefono = new Producto(3, "Teléfono", "Smartphone moderno", 500.0, 15);
+        Producto funda = new Producto(4, "Funda", "Funda para teléfono", 10.0, 30);
+        catalogo.agregar(telefono);
+        catalogo.agregar(funda);
+
+        assertEquals(List.of(telefono, funda), catalogo.buscarPorTexto("TELEFONO", 10), "Debe ignorar tildes y preferir coincidencias en el nombre");
+        assertEquals(List.of(telefono, funda), catalogo.buscarPorTexto("tel", 10), "Debe encontrar por prefijo");
+        assertEquals(List.of(funda), catalogo.buscarPorTexto("funda teléfono", 10), "Debe exigir todas las palabras");
+        assertEquals(List.of(telefono), catalogo.buscarPorTexto("teléfono", 1), "Debe respetar el límite");
+        assertTrue(catalogo.buscarPorTexto("tablet", 10).isEmpty(), "Una palabra sin coincidencias no devuelve resultados");
+        assertTrue(catalogo.buscarPorTexto("  ", 10).isEmpty(), "Una consulta vacía no devuelve resultados");
+    }
+
+    /**
+     * Verifica que el índice de texto siga las ediciones y eliminaciones de productos.
+     */
+    @Test
+    void actualizarTextoTest() {
+        producto2.setNombre("Ratón");
+        producto2.setDescripcion("Inalámbrico");
+        assertTrue(catalogo.buscarPorTexto("mouse", 10).isEmpty(), "Los textos anteriores no deben seguir indexados");
+        assertEquals(List.of(producto2), catalogo.buscarPorTexto("raton inalambrico", 10), "Debe encontrar los textos nuevos");
+
+        producto1.setNombre("Portátil");
+        assertEquals(List.of(producto1), catalogo.buscarPorTexto("portatil", 10), "Debe encontrar el nombre nuevo");
+        assertEquals(List.of(producto1), catalogo.buscarPorTexto("alta gama", 10), "La descripción debe seguir indexada");
+
+        catalogo.eliminar(1);
+        assertTrue(catalogo.buscarPorTexto("portatil", 10).isEmpty(), "Un producto eliminado no debe aparecer");
+    }
+
+    /**
+     * Verifica que el autocompletado sugiera por prefijo, ordenado por popularidad.
+     */
+    @Test
+    void autocompletarTest() {
+        Producto telefono = new Producto(3, "Teléfono", "Smartphone moderno", 500.0, 15);
+        Producto television = new Producto(4, "Televisión", "Pantalla 4K", 800.0, 5);
+        catalogo.agregar(telefono);
+        catalogo.agregar(television);
+
+        assertEquals(List.of(telefono, television), catalogo.autocompletar("TEL", 10), "Sin pedidos debe ordenar por nombre");
+        catalogo.registrarEnPedido(television);
+        assertEquals(1, television.getPopularidad(), "Debe contar la aparición en el pedido");
+        assertEquals(List.of(television, telefono), catalogo.autocompletar("tel", 10), "Debe preferir el producto más pedido");
+        assertEquals(List.of(television), catalogo.autocompletar("tel", 1), "Debe respetar la cantidad pedida");
+        assertEquals(List.of(telefono), catalogo.autocompletar("telef", 10), "Debe ignorar tildes y mayúsculas");
+        assertTrue(catalogo.autocompletar("tablet", 10).isEmpty(), "Un prefijo sin coincidencias no devuelve resultados");
+    }
+
+    /**
+     * Verifica que el autocompletado siga los cambios de nombre y las eliminaciones.
+     */
+    @Test
+    void autocompletarActualizarTest() {
+        catalogo.registrarEnPedido(producto1);
+        producto1.setNombre("Portátil");
+        assertTrue(catalogo.autocompletar("lap", 10).isEmpty(), "El nombre anterior no debe sugerirse");
+        assertEquals(List.of(producto1), catalogo.autocompletar("port", 10), "Debe sugerir el nombre nuevo");
+
+        catalogo.eliminar(1);
+        assertTrue(catalogo.autocompletar("port", 10).isEmpty(), "Un producto eliminado no debe sugerirse");
+        assertEquals(List.of(producto2), catalogo.autocompletar("", 10), "Un prefijo vacío sugiere todo el catálogo");
+    }
+
+    /**
+     * Verifica que la popularidad no pierda aumentos simultáneos y que un producto eliminado
+     * mientras tenía aumentos pendientes no vuelva a las sugerencias.
+     */
+    @Test
+    void popularidadConcurrenteTest() throws InterruptedException {
+        Thread[] hilos = new Thread[4];
+        for (int i = 0; i < hilos.length; i++) {
+            hilos[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    catalogo.registrarEnPedido(producto2);
+                }
+            });
+            hilos[i].start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertEquals(4000, producto2.getPopularidad(), "No debe perder aumentos");
+        assertEquals(List.of(producto2, producto1), catalogo.autocompletar("", 10), "Debe aplicar los aumentos pendientes");
+
+        catalogo.registrarEnPedido(producto2);
+        catalogo.eliminar(2);
+        assertEquals(List.of(producto1), catalogo.autocompletar("", 10), "Un producto eliminado no debe sugerirse");
+    }
+
+    /**
+     * Prueba el método {@link Catalogo#buscarPorInventario(int, int)}.
+     * Verifica que la columna de inventario siga los cambios de los productos y conserve el orden.
+     */
+    @Test
+    void buscarPorInventarioTest() {
+        Producto teclado = new Producto(3, "Teclado", "Teclado mecánico", 50.0, 0);
+        catalogo.agregar(teclado);
+        assertEquals(List.of(producto2, teclado), catalogo.buscarPorInventario(Integer.MIN_VALUE, 4));
+        assertEquals(List.of(producto1, producto2), catalogo.buscarPorInventario(1, Integer.MAX_VALUE));
+        assertTrue(catalogo.buscarPorInventario(5, 4).isEmpty(), "Un rango invertido no tiene productos");
+
+        assertTrue(producto1.reservar(7));
+        teclado.actualizarInventario(9);
+        producto2.reponer(1);
+        assertEquals(List.of(producto1, producto2), catalogo.buscarPorInventario(Integer.MIN_VALUE, 4));
+        producto1.configurarSegmentosInventario(4);
+        assertTrue(producto1.reservar(3));
+        assertEquals(List.of(producto1), catalogo.buscarPorInventario(0, 0), "Debe seguir al inventario segmentado");
+
+        catalogo.eliminar(1);
+        producto1.actualizarInventario(100);
+        assertEquals(List.of(producto2), catalogo.buscarPorInventario(Integer.MIN_VALUE, 4), "El producto eliminado no debe aparecer");
+        assertEquals(List.of(producto2, teclado), catalogo.buscarPorInventario(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Verifica que las columnas conserven el orden y los inventarios al compactarse
+     * después de eliminar muchos productos.
+     */
+    @Test
+    void buscarPorInventarioCompactadoTest() {
+        for (int id = 10; id < 300; id++) {
+            catalogo.agregar(new Producto(id, "Producto " + id, "Producto de prueba", 1.0, id % 7));
+        }
+        for (int id = 10; id < 300; id += 2) {
+            catalogo.eliminar(id);
+        }
+        catalogo.buscar(11).actualizarInventario(0);
+        List<Producto> agotados = catalogo.buscarPorInventario(0, 0);
+        List<Producto> esperados = new ArrayList<>();
+        for (Producto producto : catalogo) {
+            if (producto.getInventario() == 0) {
+                esperados.add(producto);
+            }
+        }
+        assertEquals(esperados, agotados);
+        assertEquals(11, agotados.get(0).getId());
+        assertEquals(catalogo.tamaño(), catalogo.buscarPorInventario(Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+    }
+
+    /**
+     * Prueba el método {@link Catalogo#buscarPorPrecio(double, double)}.
+     * Verifica el filtro por rango de precio sobre más productos que un vector, incluidos los eliminados.
+     */
+    @Test
+    void buscarPorPrecioTest() {
+        for (int id = 3; id <= 40; id++) {
+            catalogo.agregar(new Producto(id, "Producto " + id, "Producto de prueba", id, 1));
+        }
+        catalogo.eliminar(20);
+        List<Producto> rango = catalogo.buscarPorPrecio(15.0, 25.0);
+        List<Integer> ids = new ArrayList<>();
+        for (Producto producto : rango) {
+            ids.add(producto.getId());
+        }
+        assertEquals(List.of(2, 15, 16, 17, 18, 19, 21, 22, 23, 24, 25), ids, "Debe respetar el orden del catálogo");
+        assertTrue(catalogo.buscarPorPrecio(0.0, 0.0).isEmpty(), "Las filas eliminadas no deben aparecer");
+        assertTrue(catalogo.buscarPorPrecio(30.0, 10.0).isEmpty(), "Un rango invertido no tiene productos");
+        catalogo.buscar(3).setPrecio(2000.0);
+        assertEquals(List.of(producto1, catalogo.buscar(3)), catalogo.buscarPorPrecio(1000.0, 2000.0));
+    }
+
+    /**
+     * Prueba el método {@link Catalogo#valorInventario()}.
+     * Verifica la suma del precio por el inventario y que siga los cambios de inventario y precio.
+     */
+    @Test
+    void valorInventarioTest() {
+        assertEquals(10060.0, catalogo.valorInventario(), 1e-9, "10 × 1000 + 3 × 20");
+        double esperado = 10060.0;
+        for (int id = 3; id <= 40; id++) {
+            catalogo.agregar(new Producto(id, "Producto " + id, "Producto de prueba", id * 0.5, id));
+            esperado += id * 0.5 * id;
+        }
+        assertEquals(esperado, catalogo.valorInventario(), 1e-6, "Debe sumar todos los productos");
+        catalogo.eliminar(40);
+        producto1.reservar(4);
+        producto2.setPrecio(30.0);
+        esperado += -40 * 0.5 * 40 - 4000.0 + 30.0;
+        assertEquals(esperado, catalogo.valorInventario(), 1e-6, "Debe seguir los cambios");
+    }
+
+    /**
+     * Prueba las alertas de inventario del catálogo y sus suscripciones.
+     * Verifica que se avise solo cuando el inventario cruza el umbral y que la lista se mantenga.
+     */
+    @Test
+    void alertasInventarioTest() {
+        List<String> avisos = new ArrayList<>();
+        OyenteInventario oyente = new OyenteInventario() {
+            @Override
+            public void inventarioBajo(Producto producto, int inventario) {
+                avisos.add("bajo " + producto.getId() + " " + inventario);
+            }
+
+            @Override
+            public void inventarioRepuesto(Producto producto, int inventario) {
+                avisos.add("repuesto " + producto.getId() + " " + inventario);
+            }
+        };
+        catalogo.suscribirAlertas(oyente);
+        assertEquals(List.of(producto2), catalogo.getAlertasInventario());
+
+        assertTrue(producto1.reservar(5));
+        assertTrue(producto1.reservar(1));
+        assertTrue(producto1.reservar(1));
+        assertEquals(List.of("bajo 1 4"), avisos, "Debe avisar una sola vez al cruzar el umbral");
+        assertEquals(List.of(producto1, producto2), catalogo.getAlertasInventario());
+
+        producto2.reponer(10);
+        producto1.setUmbralReposicion(3);
+        assertEquals(List.of("bajo 1 4", "repuesto 2 13", "repuesto 1 3"), avisos);
+        assertTrue(catalogo.getAlertasInventario().isEmpty());
+
+        catalogo.agregar(new Producto(3, "Teclado", "Teclado mecánico", 50.0, 0));
+        producto1.actualizarInventario(0);
+        catalogo.eliminar(1);
+        assertEquals(3, catalogo.getAlertasInventario().get(0).getId(), "El producto eliminado no debe tener alerta");
+        assertEquals(1, catalogo.getAlertasInventario().size());
+
+        assertTrue(catalogo.cancelarSuscripcionAlertas(oyente));
+        producto2.actualizarInventario(0);
+        assertEquals(5, avisos.size(), "No debe avisar después de cancelar la suscripción");
+    }
+}
@@ -0,0 +1,175 @@
+package productoTest;
+
+import modelo.producto.Catalogo;
+import modelo.producto.Producto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase de testeo unitario para {@link Producto}.
+ * Verifica las operaciones atómicas sobre el inventario.
+ */
+public class ProductoTest {
+    /** Producto utilizado en las pruebas */
+    private Producto producto;
+
+    /**
+     * Configura el entorno de prueba antes de cada test.
+     * Inicializa un producto con 10 unidades en inventario.
+     */
+    @BeforeEach
+    void setUp() {
+        producto = new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10);
+    }
+
+    /**
+     * Prueba el método {@link Producto#reservar(int)}.
+     * Verifica que solo descuente unidades cuando hay suficientes.
+     */
+    @Test
+    void reservarTest() {
+        assertTrue(producto.reservar(4), "Debe reservar si hay inventario suficiente");
+        assertEquals(6, producto.getInventario(), "El inventario debe reducirse en 4");
+        assertFalse(producto.reservar(7), "No debe reservar más de lo disponible");
+        assertFalse(producto.reservar(0), "No debe aceptar cantidades no positivas");
+        assertTrue(producto.reservar(6), "Debe poder reservar el inventario completo");
+        assertEquals(0, producto.getInventario(), "El inventario debe quedar en 0");
+    }
+
+    /**
+     * Prueba el método {@link Producto#reponer(int)}.
+     * Verifica que sume unidades y rechace cantidades inválidas o desbordes.
+     */
+    @Test
+    void reponerTest() {
+        assertTrue(producto.reponer(5), "Debe reponer una cantidad positiva");
+        assertEquals(15, producto.getInventario(), "El inventario debe incrementarse en 5");
+        assertFalse(producto.reponer(-3), "No debe aceptar cantidades negativas");
+        assertFalse(producto.reponer(Integer.MAX_VALUE), "No debe desbordar el inventario");
+        assertEquals(15, producto.getInventario(), "El inventario no debe cambiar");
+    }
+
+    /**
+     * Verifica que reservas simultáneas desde varios hilos no vendan más unidades de las que hay.
+     */
+    @Test
+    void reservarConcurrenteTest() throws InterruptedException {
+        producto.actualizarInventario(1000);
+        AtomicInteger reservadas = new AtomicInteger();
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            hilos.add(Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < 200; j++) {
+                    if (producto.reservar(1)) {
+                        reservadas.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertEquals(1000, reservadas.get(), "Deben reservarse exactamente las unidades disponibles");
+        assertEquals(0, producto.getInventario(), "No debe quedar inventario negativo ni sobrante");
+    }
+
+    /**
+     * Prueba el método {@link Producto#configurarSegmentosInventario(int)}.
+     * Verifica que el inventario segmentado conserve la cantidad y tome prestado entre segmentos.
+     */
+    @Test
+    void inventarioSegmentadoTest() {
+        producto.configurarSegmentosInventario(3);
+        assertEquals(4, producto.getSegmentosInventario(), "Debe redondear a potencia de 2");
+        assertEquals(10, producto.getInventario(), "Debe conservar la cantidad actual");
+        assertTrue(producto.reservar(9), "Debe tomar prestado de los otros segmentos");
+        assertFalse(producto.reservar(2), "No debe reservar más de lo disponible");
+        assertEquals(1, producto.getInventario(), "Una reserva fallida debe devolver lo tomado");
+        assertTrue(producto.reponer(5), "Debe reponer en el inventario segmentado");
+        assertEquals(6, producto.getInventario(), "El inventario debe incrementarse en 5");
+
+        assertEquals(-2, producto.actualizarInventario(4), "Debe devolver la diferencia con la cantidad anterior");
+        assertEquals(4, producto.getInventario(), "Debe reemplazar la cantidad de todos los segmentos");
+        producto.ajustarInventario(2);
+        assertEquals(6, producto.getInventario(), "Debe sumar la diferencia");
+
+        producto.configurarSegmentosInventario(1);
+        assertEquals(1, producto.getSegmentosInventario(), "Debe volver al contador único");
+        assertEquals(6, producto.getInventario(), "Debe conservar la cantidad al volver");
+    }
+
+    /**
+     * Verifica que el inventario segmentado no venda de más con reservas simultáneas.
+     */
+    @Test
+    void inventarioSegmentadoConcurrenteTest() throws InterruptedException {
+        producto.actualizarInventario(1000);
+        producto.configurarSegmentosInventario(8);
+        AtomicInteger reservadas = new AtomicInteger();
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            hilos.add(Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < 200; j++) {
+                    if (producto.reservar(1)) {
+                        reservadas.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertEquals(1000, reservadas.get(), "Deben reservarse exactamente las unidades disponibles");
+        assertEquals(0, producto.getInventario(), "No debe quedar inventario en ningún segmento");
+    }
+
+    /**
+     * Verifica que cambiar los segmentos mientras otras sesiones reservan y reponen
+     * no pierda unidades ni haga fallar reservas con inventario suficiente.
+     */
+    @Test
+    void configurarSegmentosConcurrenteTest() throws InterruptedException {
+        producto.actualizarInventario(100_000);
+        AtomicInteger fallidas = new AtomicInteger();
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            hilos.add(Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < 5000; j++) {
+                    if (!producto.reservar(2)) {
+                        fallidas.incrementAndGet();
+                    }
+                    producto.reponer(1);
+                }
+            }));
+        }
+        for (int i = 0; hilos.stream().anyMatch(Thread::isAlive); i++) {
+            producto.configurarSegmentosInventario(i % 2 == 0 ? 8 : 1);
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertEquals(0, fallidas.get(), "Ninguna reserva debe fallar con inventario suficiente");
+        assertEquals(100_000 - 8 * 5000, producto.getInventario(), "No deben perderse ni duplicarse unidades");
+    }
+
+    /**
+     * Prueba el método {@link Producto#setId(int)}.
+     * Verifica que no se pueda cambiar el ID de un producto mientras está en un catálogo.
+     */
+    @Test
+    void setIdTest() {
+        producto.setId(2);
+        assertEquals(2, producto.getId());
+        Catalogo catalogo = new Catalogo();
+        catalogo.agregar(producto);
+        assertThrows(IllegalStateException.class, () -> producto.setId(3));
+        assertSame(producto, catalogo.buscar(2), "El índice debe seguir encontrándolo");
+        catalogo.eliminar(2);
+        producto.setId(3);
+        assertEquals(3, producto.getId(), "Fuera del catálogo debe poder cambiarse");
+    }
+}
@@ -0,0 +1,3 @@
+/** Clases para Test Unitarios de las clases del paquete producto
+ */
+package productoTest;
\ No newline at end of file
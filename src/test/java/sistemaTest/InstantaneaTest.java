@@ -0,0 +1,246 @@
+package sistemaTest;
+
+import modelo.pedido.Direccion;
+import modelo.pedido.EstadoPedido;
+import modelo.pedido.Pago;
+import modelo.pedido.Pedido;
+import modelo.producto.Catalogo;
+import modelo.producto.CatalogoMapeado;
+import modelo.producto.Etiqueta;
+import modelo.producto.Producto;
+import modelo.usuario.Admin;
+import modelo.usuario.Cliente;
+import modelo.usuario.Empleado;
+import modelo.util.Diario;
+import modelo.util.DiarioArchivo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sistema.GeneradorInstantaneas;
+import sistema.Instantanea;
+import sistema.Recuperacion;
+import sistema.Tienda;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Clase de testeo unitario para {@link Instantanea} y {@link GeneradorInstantaneas}.
+ */
+public class InstantaneaTest {
+    /** Archivo temporal del diario */
+    private Path archivoDiario;
+    /** Archivo temporal de la instantánea */
+    private Path archivoInstantanea;
+
+    /**
+     * Crea los archivos temporales antes de cada test.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        archivoDiario = Files.createTempFile("diario", ".log");
+        archivoInstantanea = archivoDiario.resolveSibling(archivoDiario.getFileName() + ".instantanea");
+    }
+
+    /**
+     * Desinstala el diario y borra los archivos temporales después de cada test.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        Diario.instalar(null);
+        Files.deleteIfExists(archivoDiario);
+        Files.deleteIfExists(archivoInstantanea);
+        Files.deleteIfExists(GeneradorInstantaneas.archivoAnterior(archivoDiario));
+    }
+
+    /**
+     * Crea una tienda con los mismos datos iniciales en cada llamada.
+     * @return Tienda con un administrador, un empleado, una etiqueta y dos productos.
+     */
+    private Tienda tiendaInicial() {
+        Tienda tienda = new Tienda();
+        tienda.getAdmins().add(new Admin(1, "Juan Admin", "admin1", "admin1@empresa.com", "admin123"));
+        tienda.getEmpleados().add(new Empleado(1, "Ana Lucia", "empleado1", "ana@empresa.com", "emp123"));
+        tienda.getEtiquetas().agregar(new Etiqueta(1, "Electrónica"));
+        tienda.getCatalogo().agregar(new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10));
+        tienda.getCatalogo().agregar(new Producto(2, "Silla", "Silla ergonómica", 150.0, 20));
+        tienda.ajustarIds();
+        return tienda;
+    }
+
+    /**
+     * Verifica que una tienda guardada se cargue con los mismos datos y que los objetos
+     * compartidos entre pedidos, clientes y catálogo sigan siendo el mismo objeto.
+     */
+    @Test
+    void guardarYCargarTest() throws IOException {
+        Tienda tienda = tiendaInicial();
+        Empleado empleado = tienda.getEmpleados().get(0);
+        empleado.agregarEtiquetaProducto(1, tienda.getEtiquetas().buscar(1), tienda.getCatalogo());
+        empleado.configurarInventarioSegmentado(1, 4, tienda.getCatalogo());
+        empleado.configurarUmbralReposicion(1, 9, tienda.getCatalogo());
+        tienda.getPuntosEntrega().agregar(new Direccion(1, "Punto Central", "Ciudad C", true));
+
+        Cliente cliente = tienda.registrarCliente("María Jose", "cliente1", "maria@cliente.com", "cli123", "555-1234");
+        cliente.agregarNuevaDireccion("Calle 123", "San Salvador");
+        cliente.agregarMetodoPagoSistema(new Pago(1, "Tarjeta", "123", "Activo"));
+        Pedido pedido = cliente.crearPedido(tienda.getPedidos());
+        cliente.agregarProductoPedido(1, 2, pedido.getId(), tienda.getCatalogo());
+        cliente.agregarProductoPedido(2, 1, pedido.getId(), tienda.getCatalogo());
+        cliente.agregarDireccionEntrega(1, pedido.getId());
+        cliente.agregarMetodoPago(1, pedido.getId());
+        empleado.eliminarProductoCatalogo(2, tienda.getCatalogo());
+
+        Instantanea.guardar(tienda, 42, 1234, archivoInstantanea);
+        Instantanea instantanea = Instantanea.cargar(archivoInstantanea);
+
+        assertEquals(42, instantanea.getLsn());
+        assertEquals(1234, instantanea.getPosicionDiario());
+        Tienda cargada = instantanea.getTienda();
+        assertEquals(1, cargada.getAdmins().size());
+        assertEquals("admin1", cargada.getAdmins().get(0).getUsuario());
+        assertEquals(1, cargada.getEmpleados().size());
+        assertEquals(1, cargada.getEtiquetas().tamaño());
+        assertEquals(1, cargada.getPuntosEntrega().tamaño());
+        assertTrue(cargada.getPuntosEntrega().buscar(1).getEsPuntoDeEntrega());
+
+        assertEquals(1, cargada.getCatalogo().tamaño(), "El producto eliminado no debe volver al catálogo");
+        Producto laptop = cargada.getCatalogo().buscar(1);
+        assertEquals(8, laptop.getInventario());
+        assertEquals(4, laptop.getSegmentosInventario());
+        assertEquals(1, laptop.getPopularidad());
+        assertEquals(9, laptop.getUmbralReposicion());
+        assertEquals(List.of(laptop), cargada.getCatalogo().getAlertasInventario(), "8 unidades están bajo el umbral 9");
+        assertSame(cargada.getEtiquetas().buscar(1), laptop.getEtiquetas().get(0), "La etiqueta debe ser la de la tienda");
+        assertEquals(1, cargada.getCatalogo().filtrarPorEtiqueta(1).size());
+
+        Cliente clienteCargado = cargada.getClientes().getClientes().get(0);
+        assertEquals("cli123", clienteCargado.getPassword());
+        Pedido pedidoCargado = cargada.getPedidos().getPedidos().get(0);
+        assertSame(pedidoCargado, clienteCargado.getPedidos().get(0), "El pedido debe ser el mismo para el cliente y la tienda");
+        assertSame(laptop, pedidoCargado.getProductos().get(0), "El producto del pedido debe ser el del catálogo");
+        assertEquals("Silla", pedidoCargado.getProductos().get(1).getNombre(), "El pedido conserva el producto eliminado");
+        assertSame(clienteCargado.getDirecciones().get(0), pedidoCargado.getDireccion());
+        assertSame(clienteCargado.getMetodosPago().get(0), pedidoCargado.getMetodoPago());
+        assertEquals(EstadoPedido.PENDIENTE, pedidoCargado.getEstado());
+        assertEquals(List.of(pedidoCargado), cargada.getPedidos().buscarPorEstado(EstadoPedido.PENDIENTE));
+    }
+
+    /**
+     * Verifica que una instantánea dañada o inexistente no se cargue.
+     */
+    @Test
+    void instantaneaDañadaTest() throws IOException {
+        assertNull(Instantanea.cargar(archivoInstantanea), "Sin archivo no hay instantánea");
+
+        Instantanea.guardar(tiendaInicial(), 1, 10, archivoInstantanea);
+        byte[] bytes = Files.readAllBytes(archivoInstantanea);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(archivoInstantanea, bytes);
+        assertThrows(IOException.class, () -> Instantanea.cargar(archivoInstantanea), "Debe detectar el byte cambiado");
+
+        Files.write(archivoInstantanea, Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(IOException.class, () -> Instantanea.cargar(archivoInstantanea), "Debe detectar el archivo incompleto");
+    }
+
+    /**
+     * Verifica que el generador incluya solo los eventos nuevos del diario y que la instantánea
+     * más los eventos posteriores a ella reconstruyan la tienda completa.
+     */
+    @Test
+    void generarTest() throws IOException {
+        Tienda tienda = tiendaInicial();
+        Instantanea.guardar(tienda, 0, 0, archivoInstantanea);
+        try (DiarioArchivo diario = new DiarioArchivo(archivoDiario);
+             GeneradorInstantaneas generador = new GeneradorInstantaneas(diario, archivoDiario, archivoInstantanea, 0, 0)) {
+            Diario.instalar(diario);
+            Cliente cliente = tienda.registrarCliente("Cliente 1", "cliente1", "c1@mail.com", "pass", "555");
+            Pedido pedido = cliente.crearPedido(tienda.getPedidos());
+            cliente.agregarProductoPedido(1, 3, pedido.getId(), tienda.getCatalogo());
+            diario.sincronizar();
+
+            assertEquals(3, generador.generar(), "Debe incluir los eventos sincronizados");
+            assertEquals(3, generador.generar(), "Sin eventos nuevos no cambia la instantánea");
+            assertEquals(0, Files.size(archivoDiario), "Los eventos incluidos deben borrarse del diario");
+            assertFalse(Files.exists(GeneradorInstantaneas.archivoAnterior(archivoDiario)), "Debe borrar el diario rotado");
+
+            tienda.registrarCliente("Cliente 2", "cliente2", "c2@mail.com", "pass", "555");
+            tienda.getEmpleados().get(0).actualizarEstadoPedido(pedido.getId(), EstadoPedido.PAGADO, tienda.getPedidos());
+            tienda.getEmpleados().get(0).actualizarEstadoPedido(pedido.getId(), EstadoPedido.ENVIADO, tienda.getPedidos());
+        }
+
+        Instantanea instantanea = Instantanea.cargar(archivoInstantanea);
+        assertEquals(3, instantanea.getLsn());
+        Tienda recuperada = instantanea.getTienda();
+        assertEquals(1, recuperada.getClientes().tamaño());
+        assertEquals(7, recuperada.getCatalogo().buscar(1).getInventario());
+
+        Recuperacion recuperacion = new Recuperacion(recuperada);
+        long ultimo = recuperacion.reproducir(archivoDiario, instantanea.getPosicionDiario(), instantanea.getLsn(), Long.MAX_VALUE);
+        assertEquals(6, ultimo, "Solo deben repetirse los eventos posteriores a la instantánea");
+        assertEquals(Files.size(archivoDiario), recuperacion.getPosicionDiario());
+        assertEquals(2, recuperada.getClientes().tamaño());
+        assertEquals(EstadoPedido.ENVIADO, recuperada.getPedidos().getPedidos().get(0).getEstado());
+        assertEquals(7, recuperada.getCatalogo().buscar(1).getInventario(), "El inventario no debe descontarse dos veces");
+    }
+
+    /**
+     * Verifica que un diario rotado que quedó de una generación fallida se aplique completo
+     * en la siguiente generación, antes de volver a rotar.
+     */
+    @Test
+    void generarConDiarioRotadoTest() throws IOException {
+        Tienda tienda = tiendaInicial();
+        Instantanea.guardar(tienda, 0, 0, archivoInstantanea);
+        Path anterior = GeneradorInstantaneas.archivoAnterior(archivoDiario);
+        try (DiarioArchivo diario = new DiarioArchivo(archivoDiario);
+             GeneradorInstantaneas generador = new GeneradorInstantaneas(diario, archivoDiario, archivoInstantanea, 0, 0)) {
+            Diario.instalar(diario);
+            tienda.registrarCliente("Cliente 1", "cliente1", "c1@mail.com", "pass", "555");
+            diario.rotar(anterior);
+            tienda.registrarCliente("Cliente 2", "cliente2", "c2@mail.com", "pass", "555");
+            diario.sincronizar();
+
+            assertEquals(1, generador.generar(), "Primero debe terminar de aplicar el diario rotado");
+            assertFalse(Files.exists(anterior));
+            assertEquals(2, generador.generar(), "Después debe rotar e incluir los eventos nuevos");
+        }
+        assertEquals(2, Instantanea.cargar(archivoInstantanea).getTienda().getClientes().tamaño());
+    }
+
+    /**
+     * Verifica que con un catálogo mapeado la instantánea guarde solo los productos cargados y los
+     * eliminados de la base, y que no se cargue con otra base.
+     */
+    @Test
+    void instantaneaConBaseTest() throws IOException {
+        Path archivoCatalogo = archivoDiario.resolveSibling(archivoDiario.getFileName() + ".cat");
+        try {
+            CatalogoMapeado.escribir(List.of(
+                    new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10),
+                    new Producto(2, "Silla", "Silla ergonómica", 150.0, 20),
+                    new Producto(3, "Teléfono", "Smartphone moderno", 500.0, 15)), archivoCatalogo);
+            CatalogoMapeado base = CatalogoMapeado.abrir(archivoCatalogo);
+            Tienda tienda = new Tienda(new Catalogo(base));
+            Empleado empleado = new Empleado(1, "Ana Lucia", "empleado1", "ana@empresa.com", "emp123");
+            empleado.registrarEntradaInventario(1, 5, tienda.getCatalogo());
+            empleado.eliminarProductoCatalogo(2, tienda.getCatalogo());
+            tienda.getCatalogo().agregar(new Producto(4, "Mouse", "Mouse inalámbrico", 20.0, 4));
+
+            Instantanea.guardar(tienda, 3, 30, archivoInstantanea);
+            Catalogo cargado = Instantanea.cargar(archivoInstantanea, base).getTienda().getCatalogo();
+            assertEquals(2, cargado.getProductosEnMemoria().size(), "Solo deben cargarse los productos usados");
+            assertEquals(15, cargado.buscar(1).getInventario(), "Debe conservar el inventario modificado");
+            assertNull(cargado.buscar(2), "El producto eliminado de la base no debe volver");
+            assertEquals("Mouse", cargado.buscar(4).getNombre());
+            assertEquals(3, cargado.tamaño());
+
+            assertThrows(IOException.class, () -> Instantanea.cargar(archivoInstantanea), "Sin la base no debe cargarse");
+        } finally {
+            Files.deleteIfExists(archivoCatalogo);
+        }
+    }
+}
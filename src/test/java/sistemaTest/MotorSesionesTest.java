@@ -0,0 +1,146 @@
+package sistemaTest;
+
+import modelo.producto.Producto;
+import modelo.pedido.EstadoPedido;
+import modelo.pedido.Pedido;
+import modelo.usuario.Cliente;
+import modelo.usuario.Empleado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sistema.MotorSesiones;
+import sistema.Tienda;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+/**
+ * Clase de testeo unitario para {@link MotorSesiones}.
+ * Ejecuta varias sesiones a la vez con entradas guionadas sobre una misma {@link Tienda}.
+ */
+public class MotorSesionesTest {
+    /** Tienda compartida por las sesiones */
+    private Tienda tienda;
+
+    /**
+     * Configura el entorno de prueba antes de cada test.
+     * Inicializa una tienda con un producto de 50 unidades.
+     */
+    @BeforeEach
+    void setUp() {
+        tienda = new Tienda();
+        tienda.getCatalogo().agregar(new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 50));
+    }
+
+    /**
+     * Verifica que varias sesiones simultáneas registren clientes con IDs distintos
+     * y que cada una escriba en su propia salida.
+     */
+    @Test
+    void registrarClientesConcurrenteTest() throws Exception {
+        List<Future<?>> sesiones = new ArrayList<>();
+        List<ByteArrayOutputStream> salidas = new ArrayList<>();
+        try (MotorSesiones motor = new MotorSesiones(tienda)) {
+            for (int i = 0; i < 50; i++) {
+                String guion = "4\nCliente " + i + "\ncliente" + i + "\nc" + i + "@mail.com\npass\n555\n5\n";
+                ByteArrayOutputStream salida = new ByteArrayOutputStream();
+                salidas.add(salida);
+                sesiones.add(motor.iniciarSesion(entrada(guion), salida));
+            }
+            for (Future<?> sesion : sesiones) {
+                sesion.get();
+            }
+            assertEquals(0, motor.getSesionesActivas(), "Todas las sesiones deben haber terminado");
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (Cliente cliente : tienda.getClientes().getClientes()) {
+            ids.add(cliente.getId());
+        }
+        assertEquals(50, tienda.getClientes().tamaño(), "Deben registrarse todos los clientes");
+        assertEquals(50, ids.size(), "Cada cliente debe recibir un ID distinto");
+        for (ByteArrayOutputStream salida : salidas) {
+            String texto = salida.toString(StandardCharsets.UTF_8);
+            assertTrue(texto.contains("Cliente registrado exitosamente."), "Cada sesión debe ver su propia respuesta");
+            assertTrue(texto.contains("Saliendo del sistema..."), "Cada sesión debe terminar al salir");
+        }
+    }
+
+    /**
+     * Verifica que clientes comprando a la vez desde varias sesiones no vendan más del inventario.
+     */
+    @Test
+    void comprarConcurrenteTest() throws Exception {
+        List<Long> idsPedidos = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Cliente cliente = tienda.registrarCliente("Cliente " + i, "cliente" + i, "c" + i + "@mail.com", "pass", "555");
+            idsPedidos.add(cliente.crearPedido(tienda.getPedidos()).getId());
+        }
+        List<Future<?>> sesiones = new ArrayList<>();
+        try (MotorSesiones motor = new MotorSesiones(tienda)) {
+            for (int i = 0; i < 20; i++) {
+                // Iniciar sesión y agregar 5 laptops al pedido del cliente
+                String guion = "3\ncliente" + i + "\npass\n14\n" + idsPedidos.get(i) + "\n1\n5\n";
+                sesiones.add(motor.iniciarSesion(entrada(guion), new ByteArrayOutputStream()));
+            }
+            for (Future<?> sesion : sesiones) {
+                sesion.get();
+            }
+        }
+        int vendidas = 0;
+        for (Cliente cliente : tienda.getClientes().getClientes()) {
+            vendidas += 5 * cliente.getPedidos().get(0).getProductos().size();
+        }
+        assertEquals(50, vendidas, "Solo deben venderse las unidades disponibles");
+        assertEquals(0, tienda.getCatalogo().buscar(1).getInventario(), "El inventario debe agotarse sin quedar negativo");
+    }
+
+    /**
+     * Verifica que los mensajes del modelo lleguen a la salida de la sesión que los provocó.
+     */
+    @Test
+    void mensajesDelModeloTest() throws Exception {
+        tienda.registrarCliente("Cliente", "cliente", "c@mail.com", "pass", "555");
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (MotorSesiones motor = new MotorSesiones(tienda)) {
+            // Agregar un producto a un pedido que no existe
+            motor.iniciarSesion(entrada("3\ncliente\npass\n14\n99\n1\n1\n"), salida).get();
+        }
+        assertTrue(salida.toString(StandardCharsets.UTF_8).contains("Pedido no encontrado"), "El error del modelo debe verse en la sesión");
+    }
+
+    /**
+     * Verifica que un empleado pueda consultar desde el menú el pago de un pedido con un ID generado de 64 bits.
+     */
+    @Test
+    void verificarPagoIdGeneradoTest() throws Exception {
+        tienda.getEmpleados().add(new Empleado(1, "Ana", "empleado", "ana@empresa.com", "emp123"));
+        Cliente cliente = tienda.registrarCliente("Cliente", "cliente", "c@mail.com", "pass", "555");
+        Pedido pedido = cliente.crearPedido(tienda.getPedidos());
+        pedido.cambiarEstado(EstadoPedido.PAGADO);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (MotorSesiones motor = new MotorSesiones(tienda)) {
+            motor.iniciarSesion(entrada("2\nempleado\nemp123\n14\n" + pedido.getId() + "\n"), salida).get();
+        }
+        assertTrue(salida.toString(StandardCharsets.UTF_8).contains("Estado del pago: Procesado"), "Debe encontrar el pedido por su ID generado");
+    }
+
+    /**
+     * Verifica que una sesión termine sin errores cuando su entrada se cierra sin elegir salir.
+     */
+    @Test
+    void entradaCerradaTest() throws Exception {
+        try (MotorSesiones motor = new MotorSesiones(tienda)) {
+            Future<?> sesion = motor.iniciarSesion(entrada("1\n"), new ByteArrayOutputStream());
+            assertDoesNotThrow(() -> sesion.get(), "La sesión debe terminar al cerrarse la entrada");
+        }
+    }
+
+    private static ByteArrayInputStream entrada(String guion) {
+        return new ByteArrayInputStream(guion.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,240 @@
+package sistemaTest;
+
+import modelo.pedido.EstadoPedido;
+import modelo.pedido.Pago;
+import modelo.pedido.Pedido;
+import modelo.producto.Etiqueta;
+import modelo.producto.Producto;
+import modelo.usuario.Admin;
+import modelo.usuario.Cliente;
+import modelo.usuario.Empleado;
+import modelo.util.Diario;
+import modelo.util.DiarioArchivo;
+import modelo.util.Evento;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sistema.Main;
+import sistema.Recuperacion;
+import sistema.Tienda;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Clase de testeo unitario para {@link Recuperacion}.
+ * Anota cambios hechos con los métodos del modelo y verifica que repetirlos
+ * sobre los mismos datos iniciales reconstruya la tienda.
+ */
+public class RecuperacionTest {
+    /** Archivo temporal del diario */
+    private Path archivo;
+
+    /**
+     * Crea un archivo temporal para el diario antes de cada test.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        archivo = Files.createTempFile("diario", ".log");
+    }
+
+    /**
+     * Desinstala el diario y borra el archivo temporal después de cada test.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        Diario.instalar(null);
+        Files.deleteIfExists(archivo);
+    }
+
+    /**
+     * Crea una tienda con los mismos datos iniciales en cada llamada.
+     * @return Tienda con un administrador, un empleado y dos productos.
+     */
+    private Tienda tiendaInicial() {
+        Tienda tienda = new Tienda();
+        tienda.getAdmins().add(new Admin(1, "Juan Admin", "admin1", "admin1@empresa.com", "admin123"));
+        tienda.getEmpleados().add(new Empleado(1, "Ana Lucia", "empleado1", "ana@empresa.com", "emp123"));
+        tienda.getCatalogo().agregar(new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10));
+        tienda.getCatalogo().agregar(new Producto(2, "Silla", "Silla ergonómica", 150.0, 20));
+        tienda.ajustarIds();
+        return tienda;
+    }
+
+    /**
+     * Verifica que clientes, pedidos, inventario, etiquetas, empleados y puntos de entrega
+     * se recuperen igual que quedaron al anotarse.
+     */
+    @Test
+    void reproducirTest() throws IOException {
+        Tienda original = tiendaInicial();
+        try (DiarioArchivo diario = new DiarioArchivo(archivo)) {
+            Diario.instalar(diario);
+            Admin admin = original.getAdmins().get(0);
+            Empleado empleado = original.getEmpleados().get(0);
+
+            admin.crearEtiqueta("Electrónica", original.getEtiquetas(), original.getIds());
+            admin.registrarEmpleado("Luis", "empleado2", "emp456", original.getEmpleados(), original.getIds());
+            admin.agregarPuntoEntrega("Punto Central", "Ciudad C", original.getPuntosEntrega(), original.getIds());
+            empleado.agregarProductoCatalogo(new Producto(3, "Teléfono", "Smartphone moderno", 500.0, 15), original.getCatalogo());
+            empleado.agregarEtiquetaProducto(3, original.getEtiquetas().buscarPorNombre("Electrónica"), original.getCatalogo());
+            empleado.registrarEntradaInventario(2, 5, original.getCatalogo());
+            empleado.configurarUmbralReposicion(3, 20, original.getCatalogo());
+
+            Cliente cliente = original.registrarCliente("María Jose", "cliente1", "maria@cliente.com", "cli123", "555-1234");
+            cliente.agregarNuevaDireccion("Calle 123", "San Salvador");
+            cliente.agregarMetodoPagoSistema(new Pago(1, "Tarjeta", "123", "Activo"));
+            Pedido pedido = cliente.crearPedido(original.getPedidos());
+            cliente.agregarProductoPedido(1, 3, pedido.getId(), original.getCatalogo());
+            cliente.agregarProductoPedido(3, 1, pedido.getId(), original.getCatalogo());
+            cliente.agregarDireccionEntrega(1, pedido.getId());
+            cliente.agregarMetodoPago(1, pedido.getId());
+            empleado.actualizarEstadoPedido(pedido.getId(), EstadoPedido.PAGADO, original.getPedidos());
+            empleado.actualizarEstadoPedido(pedido.getId(), EstadoPedido.ENVIADO, original.getPedidos());
+            empleado.actualizarEstadoPedido(pedido.getId(), EstadoPedido.COMPLETADO, original.getPedidos());
+
+            Cliente otro = original.registrarCliente("Pedro", "cliente2", "pedro@cliente.com", "cli456", "555-5678");
+            otro.eliminarCuenta("cli456", original.getClientes());
+            empleado.eliminarProductoCatalogo(2, original.getCatalogo());
+        }
+
+        Tienda recuperada = tiendaInicial();
+        long ultimo = new Recuperacion(recuperada).reproducir(archivo);
+        assertTrue(ultimo > 0, "Debe aplicar los eventos anotados");
+
+        assertEquals(1, recuperada.getClientes().tamaño(), "El cliente eliminado no debe recuperarse");
+        Cliente cliente = recuperada.getClientes().getClientes().get(0);
+        assertEquals("cliente1", cliente.getUsuario());
+        assertEquals(1, cliente.getDirecciones().size());
+        assertEquals(1, cliente.getMetodosPago().size());
+
+        assertEquals(1, recuperada.getPedidos().tamaño());
+        Pedido pedido = recuperada.getPedidos().getPedidos().get(0);
+        assertSame(pedido, cliente.getPedidos().get(0), "El pedido debe ser el mismo para el cliente y la tienda");
+        assertEquals(EstadoPedido.COMPLETADO, pedido.getEstado());
+        assertEquals(List.of(pedido), recuperada.getPedidos().buscarPorEstado(EstadoPedido.COMPLETADO));
+        assertEquals(2, pedido.getProductos().size());
+        assertEquals("Calle 123", pedido.getDireccion().getCalle());
+        assertEquals("Tarjeta", pedido.getMetodoPago().getTipo());
+
+        assertEquals(7, recuperada.getCatalogo().buscar(1).getInventario(), "El inventario debe descontar lo pedido");
+        assertNull(recuperada.getCatalogo().buscar(2), "El producto eliminado no debe recuperarse");
+        Producto telefono = recuperada.getCatalogo().buscar(3);
+        assertEquals(14, telefono.getInventario());
+        assertEquals(20, telefono.getUmbralReposicion());
+        assertEquals(1, telefono.getEtiquetas().size());
+        assertEquals(1, recuperada.getCatalogo().filtrarPorEtiqueta(1).size(), "Los índices del catálogo deben incluir la etiqueta");
+
+        assertEquals(1, recuperada.getEtiquetas().tamaño());
+        assertEquals(2, recuperada.getEmpleados().size());
+        assertEquals(1, recuperada.getPuntosEntrega().tamaño());
+    }
+
+    /**
+     * Verifica que al reabrir el diario la numeración continúe y los eventos nuevos
+     * se repitan junto con los anteriores.
+     */
+    @Test
+    void reabrirTest() throws IOException {
+        Tienda tienda = tiendaInicial();
+        try (DiarioArchivo diario = new DiarioArchivo(archivo)) {
+            Diario.instalar(diario);
+            tienda.registrarCliente("Cliente 1", "cliente1", "c1@mail.com", "pass", "555");
+        }
+        try (DiarioArchivo diario = new DiarioArchivo(archivo)) {
+            assertEquals(1, new Recuperacion(tiendaInicial()).reproducir(archivo));
+            Diario.instalar(diario);
+            tienda.registrarCliente("Cliente 2", "cliente2", "c2@mail.com", "pass", "555");
+        }
+        Tienda recuperada = tiendaInicial();
+        assertEquals(2, new Recuperacion(recuperada).reproducir(archivo));
+        assertEquals(2, recuperada.getClientes().tamaño());
+        assertEquals("cliente2", recuperada.getClientes().getClientes().get(1).getUsuario());
+    }
+
+    /**
+     * Verifica que una reserva anotada antes que la reposición que la cubrió se repita igual:
+     * con 10 unidades, se reponen 5 y se reservan 15, pero el diario tiene la reserva primero.
+     */
+    @Test
+    void reproducirInventarioDesordenadoTest() throws IOException {
+        Tienda original = tiendaInicial();
+        long idPedido;
+        try (DiarioArchivo diario = new DiarioArchivo(archivo)) {
+            Diario.instalar(diario);
+            Cliente cliente = original.registrarCliente("María Jose", "cliente1", "maria@cliente.com", "cli123", "555-1234");
+            idPedido = cliente.crearPedido(original.getPedidos()).getId();
+            // Orden en que dos sesiones simultáneas pudieron anotar sus cambios
+            Diario.actual().registro(Evento.PRODUCTO_PEDIDO_AGREGADO).largo(idPedido).entero(1).entero(15).registrar();
+            Diario.actual().registro(Evento.INVENTARIO_REPUESTO).entero(1).entero(5).registrar();
+            Diario.actual().registro(Evento.PRODUCTO_EDITADO).entero(2).texto("Silla").texto("Silla ergonómica")
+                    .decimal(150.0).entero(-8).registrar();
+        }
+
+        Tienda recuperada = tiendaInicial();
+        new Recuperacion(recuperada).reproducir(archivo);
+        assertEquals(0, recuperada.getCatalogo().buscar(1).getInventario(), "La reserva no debe perderse ni duplicar la reposición");
+        assertEquals(1, recuperada.getPedidos().buscar(idPedido).getProductos().size(), "El pedido debe conservar el producto reservado");
+        assertEquals(12, recuperada.getCatalogo().buscar(2).getInventario(), "La edición debe aplicar la diferencia anotada");
+    }
+
+    /**
+     * Verifica que un cambio de inventario que no se pudo anotar se deshaga.
+     */
+    @Test
+    void cambioSinAnotarTest() throws IOException {
+        Tienda tienda = tiendaInicial();
+        Empleado empleado = tienda.getEmpleados().get(0);
+        Cliente cliente = tienda.registrarCliente("María Jose", "cliente1", "maria@cliente.com", "cli123", "555-1234");
+        Pedido pedido = cliente.crearPedido(tienda.getPedidos());
+        DiarioArchivo diario = new DiarioArchivo(archivo);
+        diario.close();
+        Diario.instalar(diario);
+
+        assertThrows(IllegalStateException.class, () -> empleado.registrarEntradaInventario(1, 5, tienda.getCatalogo()));
+        assertThrows(IllegalStateException.class, () -> cliente.agregarProductoPedido(1, 3, pedido.getId(), tienda.getCatalogo()));
+        assertThrows(IllegalStateException.class,
+                () -> empleado.editarProductoCatalogo(2, tienda.getCatalogo(), "Sillón", "Sillón reclinable", 300.0, 4));
+        assertEquals(10, tienda.getCatalogo().buscar(1).getInventario(), "Los cambios no anotados deben deshacerse");
+        assertTrue(pedido.getProductos().isEmpty());
+        Producto silla = tienda.getCatalogo().buscar(2);
+        assertEquals("Silla", silla.getNombre());
+        assertEquals(150.0, silla.getPrecio());
+        assertEquals(20, silla.getInventario());
+
+        Etiqueta etiqueta = new Etiqueta(90, "Oferta");
+        assertThrows(IllegalStateException.class, () -> empleado.agregarEtiquetaProducto(2, etiqueta, tienda.getCatalogo()));
+        assertFalse(silla.getEtiquetas().contains(etiqueta), "La etiqueta no anotada debe quitarse");
+        silla.agregarEtiqueta(etiqueta);
+        assertThrows(IllegalStateException.class, () -> empleado.eliminarEtiquetaProducto(2, etiqueta, tienda.getCatalogo()));
+        assertTrue(silla.getEtiquetas().contains(etiqueta), "La etiqueta cuya baja no se anotó debe volver");
+    }
+
+    /**
+     * Verifica que, sin instantánea, los cambios anotados sobre los pedidos de los datos iniciales
+     * se repitan sobre los datos iniciales creados en otro arranque.
+     */
+    @Test
+    void reproducirPedidoInicialTest() throws IOException, InterruptedException {
+        Tienda original = new Tienda();
+        Main.inicializarDatos(original);
+        Pedido pedido = original.getClientes().getClientes().get(0).getPedidos().get(0);
+        try (DiarioArchivo diario = new DiarioArchivo(archivo)) {
+            Diario.instalar(diario);
+            original.getClientes().getClientes().get(0).agregarProductoPedido(3, 2, pedido.getId(), original.getCatalogo());
+            original.getEmpleados().get(0).actualizarEstadoPedido(pedido.getId(), EstadoPedido.PAGADO, original.getPedidos());
+        }
+
+        Thread.sleep(5);
+        Tienda recuperada = new Tienda();
+        Main.inicializarDatos(recuperada);
+        new Recuperacion(recuperada).reproducir(archivo);
+        Pedido recuperado = recuperada.getPedidos().buscar(pedido.getId());
+        assertNotNull(recuperado, "Los pedidos iniciales deben tener los mismos IDs en cada arranque");
+        assertEquals(EstadoPedido.PAGADO, recuperado.getEstado());
+        assertEquals(3, recuperado.getProductos().size());
+        assertEquals(13, recuperada.getCatalogo().buscar(3).getInventario());
+    }
+}
@@ -0,0 +1,104 @@
+package sistemaTest;
+
+import modelo.usuario.Cliente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sistema.ServidorSesiones;
+import sistema.Tienda;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase de testeo unitario para {@link ServidorSesiones}.
+ * Conecta clientes TCP reales y recorre los menús con el protocolo de líneas.
+ */
+public class ServidorSesionesTest {
+    /** Tienda compartida por las conexiones */
+    private Tienda tienda;
+
+    /**
+     * Configura el entorno de prueba antes de cada test.
+     * Inicializa una tienda con un cliente registrado.
+     */
+    @BeforeEach
+    void setUp() {
+        tienda = new Tienda();
+        tienda.registrarCliente("María Jose", "cliente1", "maria@cliente.com", "cli123", "555-1234");
+    }
+
+    /**
+     * Verifica que una conexión reciba el menú, pueda iniciar sesión y termine al salir.
+     */
+    @Test
+    void sesionPorSocketTest() throws Exception {
+        try (ServidorSesiones servidor = new ServidorSesiones(tienda, 0, 2);
+             Socket socket = new Socket("localhost", servidor.getPuerto())) {
+            OutputStream salida = socket.getOutputStream();
+            salida.write("3\ncliente1\ncli123\n26\n5\n".getBytes(StandardCharsets.UTF_8));
+            salida.flush();
+            String respuesta = leerTodo(socket);
+            assertTrue(respuesta.contains("Bienvenido al sistema de CloudyShop"), "Debe enviar el menú principal");
+            assertTrue(respuesta.contains("Sesión iniciada como cliente"), "Debe iniciar sesión por el socket");
+            assertTrue(respuesta.contains("Saliendo del sistema..."), "Debe cerrar la conexión al salir");
+        }
+    }
+
+    /**
+     * Verifica que muchas conexiones simultáneas se atiendan con pocos hilos selectores.
+     */
+    @Test
+    void conexionesConcurrentesTest() throws Exception {
+        try (ServidorSesiones servidor = new ServidorSesiones(tienda, 0, 2)) {
+            List<Socket> sockets = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                sockets.add(new Socket("localhost", servidor.getPuerto()));
+            }
+            for (int i = 0; i < sockets.size(); i++) {
+                String guion = "4\nCliente " + i + "\nusuario" + i + "\nc" + i + "@mail.com\npass\n555\n5\n";
+                sockets.get(i).getOutputStream().write(guion.getBytes(StandardCharsets.UTF_8));
+            }
+            for (Socket socket : sockets) {
+                assertTrue(leerTodo(socket).contains("Cliente registrado exitosamente."), "Cada conexión debe recibir su respuesta");
+                socket.close();
+            }
+        }
+        assertEquals(101, tienda.getClientes().tamaño(), "Deben registrarse todos los clientes");
+        for (int i = 0; i < 100; i++) {
+            boolean encontrado = false;
+            for (Cliente cliente : tienda.getClientes().getClientes()) {
+                encontrado |= ("usuario" + i).equals(cliente.getUsuario());
+            }
+            assertTrue(encontrado, "Debe registrarse el cliente de la conexión " + i);
+        }
+    }
+
+    /**
+     * Verifica que cerrar el servidor termine las sesiones de conexiones inactivas.
+     */
+    @Test
+    void cerrarConConexionesInactivasTest() throws Exception {
+        ServidorSesiones servidor = new ServidorSesiones(tienda, 0, 1);
+        Socket socket = new Socket("localhost", servidor.getPuerto());
+        socket.getInputStream().read();
+        assertDoesNotThrow(servidor::close, "Debe cerrar aunque haya sesiones esperando entrada");
+        assertEquals(0, servidor.getSesionesActivas(), "No deben quedar sesiones activas");
+        socket.close();
+    }
+
+    private static String leerTodo(Socket socket) throws Exception {
+        socket.setSoTimeout(10000);
+        BufferedReader lector = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        StringBuilder texto = new StringBuilder();
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            texto.append(linea).append('\n');
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,3 @@
+/** Clases para Test Unitarios de las clases del paquete sistema
+ */
+package sistemaTest;
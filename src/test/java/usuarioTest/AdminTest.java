@@ -1,11 +1,17 @@
 package usuarioTest;
 
 import modelo.pedido.Direccion;
+import modelo.pedido.EstadoPedido;
 import modelo.pedido.Pedido;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
 import modelo.producto.Etiqueta;
 import modelo.producto.Producto;
 import modelo.usuario.Admin;
 import modelo.usuario.Empleado;
+import modelo.util.GeneradorIds;
+import modelo.util.Resultado;
+import modelo.util.TablaPorId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,14 +28,16 @@ public class AdminTest {
     private Admin admin;
     /** Lista de empleados para pruebas */
     private ArrayList<Empleado> empleados;
-    /** Lista de etiquetas para pruebas */
-    private ArrayList<Etiqueta> etiquetas;
+    /** Etiquetas para pruebas */
+    private TablaPorId<Etiqueta> etiquetas;
     /** Catálogo de productos para pruebas */
-    private ArrayList<Producto> catalogo;
-    /** Lista de pedidos para pruebas */
-    private ArrayList<Pedido> pedidos;
+    private Catalogo catalogo;
+    /** Registro de pedidos para pruebas */
+    private RegistroPedidos pedidos;
     /** Puntos de entrega para pruebas */
-    private ArrayList<Direccion> puntosEntrega;
+    private TablaPorId<Direccion> puntosEntrega;
+    /** Generador de IDs para pruebas */
+    private GeneradorIds ids;
 
     /**
      * Configura el entorno de prueba antes de cada test.
@@ -39,41 +47,45 @@ public class AdminTest {
     void setUp() {
         admin = new Admin(1, "Juan Admin", "admin1", "admin1@empresa.com", "admin123");
         empleados = new ArrayList<>();
-        etiquetas = new ArrayList<>();
-        catalogo = new ArrayList<>();
-        pedidos = new ArrayList<>();
-        puntosEntrega = new ArrayList<>();
+        etiquetas = new TablaPorId<>(Etiqueta::getId, Etiqueta::getNombre);
+        catalogo = new Catalogo();
+        pedidos = new RegistroPedidos();
+        puntosEntrega = new TablaPorId<>(Direccion::getId);
 
         // Datos iniciales para pruebas
         empleados.add(new Empleado(1, "Ana Lucia", "empleado1", "ana@empresa.com", "emp123"));
-        etiquetas.add(new Etiqueta(1, "Electrónica"));
-        catalogo.add(new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10));
-        pedidos.add(new Pedido(1, new ArrayList<>(), new Direccion(1, "Calle 123", "Ciudad A", false), null, "Pendiente", 1));
-        pedidos.add(new Pedido(2, new ArrayList<>(), new Direccion(2, "Avenida 456", "Ciudad B", true), null, "Completado", 1));
-        puntosEntrega.add(new Direccion(1, "Punto Central", "Ciudad A", true));
+        etiquetas.agregar(new Etiqueta(1, "Electrónica"));
+        catalogo.agregar(new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10));
+        pedidos.agregar(new Pedido(1, new ArrayList<>(), new Direccion(1, "Calle 123", "Ciudad A", false), null, EstadoPedido.PENDIENTE, 1));
+        pedidos.agregar(new Pedido(2, new ArrayList<>(), new Direccion(2, "Avenida 456", "Ciudad B", true), null, EstadoPedido.COMPLETADO, 1));
+        puntosEntrega.agregar(new Direccion(1, "Punto Central", "Ciudad A", true));
+        ids = new GeneradorIds();
+        ids.avanzarHasta(GeneradorIds.Entidad.EMPLEADO, 1);
+        ids.avanzarHasta(GeneradorIds.Entidad.ETIQUETA, 1);
+        ids.avanzarHasta(GeneradorIds.Entidad.PUNTO_ENTREGA, 1);
     }
 
     /**
-     * Prueba el método {@link Admin#registrarEmpleado(String, String, String, List)}.
+     * Prueba el método {@link Admin#registrarEmpleado(String, String, String, List, GeneradorIds)}.
      * Verifica el registro correcto de empleados y manejo de casos inválidos.
      */
     @Test
     void registrarEmpleadoTest() {
-        Empleado nuevoEmpleado = admin.registrarEmpleado("Ana Lucia", "empleado2", "emp123", empleados);
+        Empleado nuevoEmpleado = admin.registrarEmpleado("Ana Lucia", "empleado2", "emp123", empleados, ids);
         // Agregar empleado de forma correcta
         assertNotNull(nuevoEmpleado, "El empleado creado no debe ser nulo");
         assertEquals(2, empleados.size(), "El empleado debe añadirse a la lista");
         assertEquals("empleado2", nuevoEmpleado.getUsuario(), "El usuario debe coincidir");
         // Usuario duplicado
-        Empleado duplicado = admin.registrarEmpleado("Otro", "empleado2", "otro123", empleados);
+        Empleado duplicado = admin.registrarEmpleado("Otro", "empleado2", "otro123", empleados, ids);
         assertNull(duplicado, "No debe registrar empleado con usuario duplicado");
         assertEquals(2, empleados.size(), "La lista no debe cambiar");
         // Manejo de vacios y null
-        Empleado vacio = admin.registrarEmpleado("", "emp2", "pass", empleados);
+        Empleado vacio = admin.registrarEmpleado("", "emp2", "pass", empleados, ids);
         assertNull(vacio, "No debe registrar empleado con nombre vacío");
         assertEquals(2, empleados.size(), "La lista no debe cambiar");
 
-        Empleado nullNombre = admin.registrarEmpleado(null, "emp3", "pass", empleados);
+        Empleado nullNombre = admin.registrarEmpleado(null, "emp3", "pass", empleados, ids);
         assertNull(nullNombre, "No debe registrar empleado con nombre null");
         assertEquals(2, empleados.size(), "La lista no debe cambiar");    }
 
@@ -106,86 +118,110 @@ public class AdminTest {
         assertEquals("anaActualizada", empleado.getUsuario(), "El usuario debe actualizarse");
         // Si no existe
         int tamanoAntes = empleados.size();
-        admin.editarInformacionEmpleado(99, empleados, "Nombre", "Usuario", "Pass");
+        assertEquals(Resultado.EMPLEADO_NO_ENCONTRADO, admin.editarInformacionEmpleado(99, empleados, "Nombre", "Usuario", "Pass"));
         assertEquals(tamanoAntes, empleados.size(), "La lista no debe cambiar si el empleado no existe");
     }
 
 
     /**
-     * Prueba el método {@link Admin#crearEtiqueta(String, ArrayList)}.
+     * Prueba el método {@link Admin#crearEtiqueta(String, TablaPorId, GeneradorIds)}.
      * Verifica la creación de etiquetas y manejo de casos inválidos.
      */
     @Test
     void crearEtiquetaTest() {
-        admin.crearEtiqueta("Accesorios", etiquetas);
+        admin.crearEtiqueta("Accesorios", etiquetas, ids);
         // Agregar etiqueta correctamente
-        assertEquals(2, etiquetas.size(), "Debe haber dos etiquetas");
-        assertEquals("Accesorios", etiquetas.get(1).getNombre(), "La nueva etiqueta debe ser Accesorios");
+        assertEquals(2, etiquetas.tamaño(), "Debe haber dos etiquetas");
+        assertEquals("Accesorios", etiquetas.buscar(2).getNombre(), "La nueva etiqueta debe ser Accesorios");
 
         // Fallar con duplicados
-        admin.crearEtiqueta("Electrónica", etiquetas);
-        assertEquals(2, etiquetas.size(), "No debe agregar etiqueta duplicada");
+        assertEquals(Resultado.DUPLICADO, admin.crearEtiqueta("ELECTRÓNICA", etiquetas, ids));
+        assertEquals(2, etiquetas.tamaño(), "No debe agregar etiqueta duplicada");
         // Fallar con nulls y empty
-        admin.crearEtiqueta("", etiquetas);
-        assertEquals(2, etiquetas.size(), "No debe agregar etiqueta con nombre vacío");
+        admin.crearEtiqueta("", etiquetas, ids);
+        assertEquals(2, etiquetas.tamaño(), "No debe agregar etiqueta con nombre vacío");
 
-        admin.crearEtiqueta(null, etiquetas);
-        assertEquals(2, etiquetas.size(), "No debe agregar etiqueta con nombre null");
+        admin.crearEtiqueta(null, etiquetas, ids);
+        assertEquals(2, etiquetas.tamaño(), "No debe agregar etiqueta con nombre null");
     }
 
     /**
-     * Prueba el método {@link Admin#eliminarEtiqueta(int, List)}.
+     * Verifica que una etiqueta creada después de eliminar otra no reciba el ID de la eliminada.
+     */
+    @Test
+    void crearEtiquetaSinReutilizarIdTest() {
+        admin.crearEtiqueta("Accesorios", etiquetas, ids);
+        assertEquals(2, etiquetas.buscarPorNombre("Accesorios").getId(), "Debe recibir el ID siguiente al de la etiqueta existente");
+        admin.eliminarEtiqueta(2, etiquetas);
+        admin.crearEtiqueta("Hogar", etiquetas, ids);
+        assertEquals(3, etiquetas.buscarPorNombre("Hogar").getId(), "No debe reutilizar el ID de la etiqueta eliminada");
+    }
+
+    /**
+     * Prueba el método {@link Admin#eliminarEtiqueta(int, TablaPorId)}.
      * Verifica la eliminación de etiquetas.
      */
     @Test
     void eliminarEtiquetaTest() {
-        admin.eliminarEtiqueta(1, etiquetas);
-        assertTrue(etiquetas.isEmpty(), "La etiqueta debe eliminarse");
+        assertEquals(Resultado.EXITO, admin.eliminarEtiqueta(1, etiquetas), "Debe informar que la etiqueta se eliminó");
+        assertTrue(etiquetas.estaVacia(), "La etiqueta debe eliminarse");
 
         assertDoesNotThrow(() -> admin.eliminarEtiqueta(99, etiquetas), "No debe fallar si la etiqueta no existe");
+        assertEquals(Resultado.ETIQUETA_NO_ENCONTRADA, admin.eliminarEtiqueta(99, etiquetas), "Debe informar que la etiqueta no existe");
     }
 
     /**
-     * Prueba el método {@link Admin#conocerInventario(List)}.
+     * Prueba el método {@link Admin#conocerInventario(Catalogo)}.
      * Verifica la consulta del inventario de productos.
      */
     @Test
     void conocerInventarioTest() {
-        ArrayList<Producto> inventario = admin.conocerInventario(catalogo);
-        assertEquals(1, inventario.size(), "Debe devolver una copia del catálogo");
+        List<Producto> inventario = admin.conocerInventario(catalogo);
+        assertEquals(1, inventario.size(), "Debe devolver los productos del catálogo");
         assertEquals("Laptop", inventario.get(0).getNombre(), "El producto debe coincidir");
     }
 
     /**
-     * Prueba el método {@link Admin#agregarPuntoEntrega(String, String, List)}.
+     * Prueba el método {@link Admin#conocerValorInventario(Catalogo)}.
+     * Verifica que sume el precio por el inventario de los productos.
+     */
+    @Test
+    void conocerValorInventarioTest() {
+        assertEquals(10000.0, admin.conocerValorInventario(catalogo), "Debe valer 10 laptops de 1000");
+        catalogo.agregar(new Producto(2, "Mouse", "Mouse inalámbrico", 20.5, 2));
+        assertEquals(10041.0, admin.conocerValorInventario(catalogo), "Debe sumar el nuevo producto");
+    }
+
+    /**
+     * Prueba el método {@link Admin#agregarPuntoEntrega(String, String, TablaPorId, GeneradorIds)}.
      * Verifica la creación de puntos de entrega y manejo de casos inválidos.
      */
     @Test
     void agregarPuntoEntregaTest() {
         // Agregar punto de entrega
-        Direccion nuevoPunto = admin.agregarPuntoEntrega("Nueva Calle", "Nueva Ciudad", puntosEntrega);
+        Direccion nuevoPunto = admin.agregarPuntoEntrega("Nueva Calle", "Nueva Ciudad", puntosEntrega, ids);
         //Se agrega de forma exitosa
         assertNotNull(nuevoPunto, "El punto de entrega creado no debe ser nulo");
-        assertEquals(2, puntosEntrega.size(), "Debe haber dos puntos de entrega");
+        assertEquals(2, puntosEntrega.tamaño(), "Debe haber dos puntos de entrega");
         assertEquals("Nueva Calle", nuevoPunto.getCalle(), "La calle debe coincidir");
 
         // Manejo de parametros vacios
-        Direccion vacio = admin.agregarPuntoEntrega("", "Ciudad", puntosEntrega);
+        Direccion vacio = admin.agregarPuntoEntrega("", "Ciudad", puntosEntrega, ids);
         assertNull(vacio, "No debe agregar punto con calle vacía");
-        assertEquals(2, puntosEntrega.size(), "La lista no debe cambiar");
+        assertEquals(2, puntosEntrega.tamaño(), "La lista no debe cambiar");
 
-        Direccion vacioCiudad = admin.agregarPuntoEntrega("Calle", "", puntosEntrega);
+        Direccion vacioCiudad = admin.agregarPuntoEntrega("Calle", "", puntosEntrega, ids);
         assertNull(vacioCiudad, "No debe agregar punto con ciudad vacía");
-        assertEquals(2, puntosEntrega.size(), "La lista no debe cambiar");    }
+        assertEquals(2, puntosEntrega.tamaño(), "La lista no debe cambiar");    }
 
     /**
-     * Prueba el método {@link Admin#editarPuntoEntrega(int, String, String, String, List)}.
+     * Prueba el método {@link Admin#editarPuntoEntrega(int, String, String, String, TablaPorId)}.
      * Verifica la edición de puntos de entrega.
      */
     @Test
     void editarPuntoEntregaTest() {
         admin.editarPuntoEntrega(1, "Calle Editada", "Ciudad Editada", "12345", puntosEntrega);
-        Direccion punto = puntosEntrega.get(0);
+        Direccion punto = puntosEntrega.buscar(1);
         assertEquals("Calle Editada", punto.getCalle(), "La calle debe actualizarse");
         assertEquals("Ciudad Editada", punto.getCiudad(), "La ciudad debe actualizarse");
 
@@ -193,14 +229,32 @@ public class AdminTest {
     }
 
     /**
-     * Prueba el método {@link Admin#eliminarPuntoEntrega(int, List)}.
+     * Prueba el método {@link Admin#eliminarPuntoEntrega(int, TablaPorId)}.
      * Verifica la eliminación de puntos de entrega.
      */
     @Test
     void eliminarPuntoEntregaTest() {
         admin.eliminarPuntoEntrega(1, puntosEntrega);
-        assertTrue(puntosEntrega.isEmpty(), "El punto de entrega debe eliminarse");
+        assertTrue(puntosEntrega.estaVacia(), "El punto de entrega debe eliminarse");
 
         assertDoesNotThrow(() -> admin.eliminarPuntoEntrega(99, puntosEntrega), "No debe fallar si el punto no existe");
     }
-}
\ No newline at end of file
+
+    /**
+     * Prueba el método {@link Admin#consultarPagosRealizados(RegistroPedidos)}.
+     * Verifica que devuelva solo los pedidos completados y siga los cambios de estado.
+     */
+    @Test
+    void consultarPagosRealizadosTest() {
+        List<Pedido> realizados = admin.consultarPagosRealizados(pedidos);
+        assertEquals(1, realizados.size(), "Debe haber un pedido completado");
+        assertEquals(2, realizados.get(0).getId());
+
+        Pedido pedido1 = pedidos.getPedidos().get(0);
+        pedido1.cambiarEstado(EstadoPedido.PAGADO);
+        pedido1.cambiarEstado(EstadoPedido.ENVIADO);
+        pedido1.cambiarEstado(EstadoPedido.COMPLETADO);
+        assertEquals(2, admin.consultarPagosRealizados(pedidos).size(), "Debe incluir el pedido recién completado");
+        assertEquals(2, admin.consultarCantidadPedidos(pedidos));
+    }
+}
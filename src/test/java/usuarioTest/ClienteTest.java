@@ -1,11 +1,16 @@
 package usuarioTest;
 
 import modelo.pedido.Direccion;
+import modelo.pedido.EstadoPedido;
 import modelo.pedido.Pago;
 import modelo.pedido.Pedido;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
 import modelo.producto.Etiqueta;
 import modelo.producto.Producto;
 import modelo.usuario.Cliente;
+import modelo.usuario.RegistroClientes;
+import modelo.util.Resultado;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,12 +28,12 @@ public class ClienteTest {
     public ClienteTest(){}
     /** Cliente utilizado en las pruebas. */
     private Cliente cliente;
-    /** Lista de pedidos en el sistema para las pruebas. */
-    private ArrayList<Pedido> pedidosSistema;
+    /** Registro de pedidos del sistema para las pruebas. */
+    private RegistroPedidos pedidosSistema;
     /** Catálogo de productos disponibles para las pruebas. */
-    private ArrayList<Producto> catalogo;
-    /** Lista de clientes de prueba registrados en el sistema. */
-    private ArrayList<Cliente> clientes;
+    private Catalogo catalogo;
+    /** Registro de clientes de prueba del sistema. */
+    private RegistroClientes clientes;
     /** Direcciones de entrega para pruebas. */
     private Direccion dir1, dir2;
     /** Métodos de pago para pruebas. */
@@ -44,12 +49,12 @@ public class ClienteTest {
     void setUp() {
         // Crear cliente y catalogo de prueba
         cliente = new Cliente(1, "Juan Perez", "jperez", "jperez@mail.com", "pass123", "123456789");
-        pedidosSistema = new ArrayList<>();
-        catalogo = new ArrayList<>();
-        catalogo.add(new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10));
-        catalogo.add(new Producto(2, "Mouse", "Mouse inalámbrico", 20.0, 0)); // Sin inventario
-        clientes = new ArrayList<>();
-        clientes.add(cliente);
+        pedidosSistema = new RegistroPedidos();
+        catalogo = new Catalogo();
+        catalogo.agregar(new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10));
+        catalogo.agregar(new Producto(2, "Mouse", "Mouse inalámbrico", 20.0, 0)); // Sin inventario
+        clientes = new RegistroClientes();
+        clientes.agregar(cliente);
 
         // Agregar direcciones
         dir1 = new Direccion(1, "Calle 123", "Ciudad A", false);
@@ -64,20 +69,20 @@ public class ClienteTest {
         cliente.getMetodosPago().add(pago2);
 
         // Agregar pedidos a al cliente y sistema
-        pedido1 = new Pedido(1, new ArrayList<>(), dir1, pago1, "Pendiente", cliente.getId());
-        pedido2 = new Pedido(2, new ArrayList<>(), dir2, pago2, "Completado", cliente.getId());
-        cliente.getPedidos().add(pedido1);
-        cliente.getPedidos().add(pedido2);
-        pedidosSistema.add(pedido1);
-        pedidosSistema.add(pedido2);
+        pedido1 = new Pedido(1, new ArrayList<>(), dir1, pago1, EstadoPedido.PENDIENTE, cliente.getId());
+        pedido2 = new Pedido(2, new ArrayList<>(), dir2, pago2, EstadoPedido.COMPLETADO, cliente.getId());
+        cliente.agregarPedido(pedido1);
+        cliente.agregarPedido(pedido2);
+        pedidosSistema.agregar(pedido1);
+        pedidosSistema.agregar(pedido2);
 
         // Agregar etiquetas a productos
         Etiqueta etiqueta1 = new Etiqueta(1, "Electrónica");
         Etiqueta etiqueta2 = new Etiqueta(2, "Accesorios");
-        catalogo.get(0).getEtiquetas().add(etiqueta1); // Laptop tiene Electrónica
+        catalogo.buscar(1).agregarEtiqueta(etiqueta1); // Laptop tiene Electrónica
         Producto teclado = new Producto(3, "Teclado", "Teclado mecánico", 50.0, 5);
-        teclado.getEtiquetas().add(etiqueta2); // Teclado tiene Accesorios
-        catalogo.add(teclado);
+        teclado.agregarEtiqueta(etiqueta2); // Teclado tiene Accesorios
+        catalogo.agregar(teclado);
     }
     /**
      * Prueba el método {@link Cliente#iniciarSesion(String, String)}.
@@ -98,7 +103,7 @@ public class ClienteTest {
         assertFalse(cliente.iniciarSesion("jperez", null), "Debe retornar false con contraseña nula");    }
 
     /**
-     * Prueba el método {@link Cliente#crearPedido(List)}.
+     * Prueba el método {@link Cliente#crearPedido(RegistroPedidos)}.
      * Verifica que se cree un nuevo pedido y se añada correctamente al sistema
      * y a la lista de pedidos del cliente.
      */
@@ -108,13 +113,14 @@ public class ClienteTest {
         // El pedido existe
         assertNotNull(pedido, "El pedido creado no debe ser nulo");
         // El pedido se agrega correctamente al sistema y al cliente
-        assertEquals(3, pedidosSistema.size(), "El pedido debe añadirse a la lista del sistema");
+        assertEquals(3, pedidosSistema.tamaño(), "El pedido debe añadirse al registro del sistema");
+        assertEquals(EstadoPedido.PENDIENTE, pedido.getEstado(), "El pedido nuevo debe estar pendiente");
         assertEquals(3, cliente.getPedidos().size(), "El pedido debe añadirse a los pedidos del cliente");
         // Error al pedir null
         assertNull(cliente.crearPedido(null), "Debe retornar null con lista nula");    }
 
     /**
-     * Prueba el método {@link Cliente#agregarProductoPedido(int, int, int, ArrayList)}.
+     * Prueba el método {@link Cliente#agregarProductoPedido(int, int, long, Catalogo)}.
      * Verifica la adición de productos a un pedido y el ajuste del inventario.
      * Verifica excepciones por valores nulos
      */
@@ -123,17 +129,17 @@ public class ClienteTest {
         Pedido pedido = cliente.crearPedido(pedidosSistema);
         cliente.agregarProductoPedido(1, 2, pedido.getId(), catalogo);
         assertEquals(1, pedido.getProductos().size(), "Debe agregar el producto al pedido");
-        assertEquals(8, catalogo.get(0).getInventario(), "El inventario debe reducirse en 2");
+        assertEquals(8, catalogo.buscar(1).getInventario(), "El inventario debe reducirse en 2");
 
         // Manejo de nulls
         int productosAntes = pedido.getProductos().size();
-        cliente.agregarProductoPedido(99, 1, pedido.getId(), catalogo);
+        assertEquals(Resultado.PRODUCTO_NO_ENCONTRADO, cliente.agregarProductoPedido(99, 1, pedido.getId(), catalogo));
         assertEquals(productosAntes, pedido.getProductos().size(), "No debe agregar producto inexistente");
 
-        cliente.agregarProductoPedido(1, 1, 99, catalogo);
+        assertEquals(Resultado.PEDIDO_NO_ENCONTRADO, cliente.agregarProductoPedido(1, 1, 99, catalogo));
         assertEquals(productosAntes, pedido.getProductos().size(), "No debe agregar a pedido inexistente");
 
-        cliente.agregarProductoPedido(1, 11, pedido.getId(), catalogo);
+        assertEquals(Resultado.INVENTARIO_INSUFICIENTE, cliente.agregarProductoPedido(1, 11, pedido.getId(), catalogo));
         assertEquals(productosAntes, pedido.getProductos().size(), "No debe agregar si inventario es insuficiente");    }
 
     /**
@@ -161,21 +167,18 @@ public class ClienteTest {
         assertEquals(telefonoOriginal, cliente.getTelefono(), "No debe actualizarse con teléfono vacío");    }
 
     /**
-     * Prueba el método {@link Cliente#eliminarCuenta(ArrayList)}.
+     * Prueba el método {@link Cliente#eliminarCuenta(String, RegistroClientes)}.
      * Verifica la eliminación de la cuenta del cliente con contraseña correcta.
      */
     @Test
     void eliminarCuentaTest() {
         // Eliminar de forma correcta
-        System.setIn(new java.io.ByteArrayInputStream("pass123\n".getBytes()));
-        cliente.eliminarCuenta(clientes);
-        assertTrue(clientes.isEmpty(), "La cuenta debe eliminarse con contraseña correcta");
+        cliente.eliminarCuenta("pass123", clientes);
+        assertEquals(0, clientes.tamaño(), "La cuenta debe eliminarse con contraseña correcta");
         // Eliminar de forma incorrecta
-        clientes.add(cliente); // Restaurar para otra prueba
-        System.setIn(new java.io.ByteArrayInputStream("wrongpass\n".getBytes()));
-        cliente.eliminarCuenta(clientes);
-        int tamanoAntes = clientes.size();
-        assertEquals(tamanoAntes, clientes.size(), "No debe eliminarse con contraseña incorrecta");
+        clientes.agregar(cliente); // Restaurar para otra prueba
+        cliente.eliminarCuenta("wrongpass", clientes);
+        assertSame(cliente, clientes.buscarPorUsuario(cliente.getUsuario()), "No debe eliminarse con contraseña incorrecta");
     }
     /**
      * Prueba el método {@link Cliente#cerrarSesion()}.
@@ -193,7 +196,7 @@ public class ClienteTest {
      */
     @Test
     void consultarPedidosPasadosTest() {
-        ArrayList<Pedido> pedidosPasados = cliente.consultarPedidosPasados();
+        List<Pedido> pedidosPasados = cliente.consultarPedidosPasados();
         assertEquals(2, pedidosPasados.size(), "Debe devolver todos los pedidos del cliente");
         assertTrue(pedidosPasados.contains(pedido1), "Debe contener el pedido 1");
         assertTrue(pedidosPasados.contains(pedido2), "Debe contener el pedido 2");
@@ -204,24 +207,51 @@ public class ClienteTest {
      */
     @Test
     void consultarHistorialComprasTest() {
-        ArrayList<Pedido> historial = cliente.consultarHistorialCompras();
+        List<Pedido> historial = cliente.consultarHistorialCompras();
         assertEquals(1, historial.size(), "Debe devolver solo los pedidos completados");
-        assertEquals("Completado", historial.get(0).getEstado(), "El pedido debe estar completado");
+        assertEquals(EstadoPedido.COMPLETADO, historial.get(0).getEstado(), "El pedido debe estar completado");
+        assertThrows(UnsupportedOperationException.class, () -> historial.add(pedido1), "El historial debe ser de solo lectura");
+    }
+
+    /**
+     * Prueba el método {@link Cliente#consultarHistorialCompras(int, int)}.
+     * Verifica que los pedidos se agreguen al completarse y se paginen del más reciente al más antiguo.
+     */
+    @Test
+    void consultarHistorialComprasPaginadoTest() {
+        List<Pedido> anterior = cliente.consultarHistorialCompras();
+        List<Pedido> completados = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Pedido pedido = cliente.crearPedido(pedidosSistema);
+            pedido.cambiarEstado(EstadoPedido.PAGADO);
+            pedido.cambiarEstado(EstadoPedido.ENVIADO);
+            pedido.cambiarEstado(EstadoPedido.COMPLETADO);
+            completados.add(pedido);
+        }
+        pedido1.cambiarEstado(EstadoPedido.CANCELADO);
+
+        assertEquals(1, anterior.size(), "Una vista ya obtenida no debe cambiar");
+        assertEquals(5, cliente.consultarHistorialCompras().size(), "Los cancelados no deben entrar al historial");
+        assertEquals(List.of(completados.get(3), completados.get(2)), cliente.consultarHistorialCompras(0, 2));
+        assertEquals(List.of(completados.get(1), completados.get(0)), cliente.consultarHistorialCompras(1, 2));
+        assertEquals(List.of(pedido2), cliente.consultarHistorialCompras(2, 2), "La última página puede estar incompleta");
+        assertTrue(cliente.consultarHistorialCompras(3, 2).isEmpty(), "Una página inexistente debe estar vacía");
+        assertTrue(cliente.consultarHistorialCompras(-1, 2).isEmpty());
     }
     /**
-     * Prueba el método {@link Cliente#verProductos(ArrayList)}.
+     * Prueba el método {@link Cliente#verProductos(Catalogo)}.
      * Verifica que devuelva solo productos con inventario disponible.
      */
     @Test
     void verProductosTest() {
-        ArrayList<Producto> disponibles = cliente.verProductos((ArrayList<Producto>) catalogo);
+        ArrayList<Producto> disponibles = cliente.verProductos(catalogo);
         assertEquals(2, disponibles.size(), "Debe devolver productos con inventario > 0");
         assertEquals("Laptop", disponibles.get(0).getNombre(), "Primer producto disponible");
         assertEquals("Teclado", disponibles.get(1).getNombre(), "Segundo producto disponible");
     }
 
     /**
-     * Prueba el método {@link Cliente#filtrarProductosPorEtiqueta(Etiqueta, List)}.
+     * Prueba el método {@link Cliente#filtrarProductosPorEtiqueta(Etiqueta, Catalogo)}.
      * Verifica el filtrado de productos por etiqueta.
      */
     @Test
@@ -238,7 +268,7 @@ public class ClienteTest {
     }
 
     /**
-     * Prueba el método {@link Cliente#consultarInventarioProducto(int, List)}.
+     * Prueba el método {@link Cliente#consultarInventarioProducto(int, Catalogo)}.
      * Verifica la consulta del inventario de un producto.
      */
     @Test
@@ -250,7 +280,7 @@ public class ClienteTest {
     }
 
     /**
-     * Prueba el método {@link Cliente#agregarDireccionEntrega(int, int)}.
+     * Prueba el método {@link Cliente#agregarDireccionEntrega(int, long)}.
      * Verifica la asociación de una dirección a un pedido.
      */
     @Test
@@ -263,16 +293,17 @@ public class ClienteTest {
     }
 
     /**
-     * Prueba el método {@link Cliente#agregarMetodoPago(int, int)}.
+     * Prueba el método {@link Cliente#agregarMetodoPago(int, long)}.
      * Verifica la asociación de un método de pago a un pedido.
      */
     @Test
     void agregarMetodoPagoTest() {
         Pedido nuevoPedido = cliente.crearPedido(pedidosSistema);
-        cliente.agregarMetodoPago(2, nuevoPedido.getId());
+        assertEquals(Resultado.EXITO, cliente.agregarMetodoPago(2, nuevoPedido.getId()));
         assertEquals("PayPal", nuevoPedido.getMetodoPago().getTipo(), "El método de pago debe asociarse al pedido");
-        cliente.agregarMetodoPago(99, nuevoPedido.getId()); // Método no existente
+        assertEquals(Resultado.METODO_PAGO_NO_ENCONTRADO, cliente.agregarMetodoPago(99, nuevoPedido.getId())); // Método no existente
         assertEquals("PayPal", nuevoPedido.getMetodoPago().getTipo(), "No debe cambiar si la ID no existe");
+        assertEquals(Resultado.PEDIDO_NO_ENCONTRADO, cliente.agregarMetodoPago(2, 99)); // Pedido no existente
     }
 
     /**
@@ -281,19 +312,21 @@ public class ClienteTest {
      */
     @Test
     void consultarEstadoPedidosTest() {
-        ArrayList<Pedido> estadoPedidos = cliente.consultarEstadoPedidos();
+        List<Pedido> estadoPedidos = cliente.consultarEstadoPedidos();
         assertEquals(2, estadoPedidos.size(), "Debe devolver todos los pedidos del cliente");
     }
 
     /**
-     * Prueba el método {@link Cliente#cancelarPedido(int)}.
+     * Prueba el método {@link Cliente#cancelarPedido(long)}.
      * Verifica la cancelación de un pedido.
      */
     @Test
     void cancelarPedidoTest() {
         cliente.cancelarPedido(1);
-        assertEquals("Cancelado", pedido1.getEstado(), "El pedido 1 debe estar cancelado");
-        assertEquals("Completado", pedido2.getEstado(), "El pedido 2 no debe cambiar");
+        assertEquals(EstadoPedido.CANCELADO, pedido1.getEstado(), "El pedido 1 debe estar cancelado");
+        assertEquals(Resultado.CAMBIO_ESTADO_INVALIDO, cliente.cancelarPedido(2), "Un pedido completado no se cancela");
+        assertEquals(EstadoPedido.COMPLETADO, pedido2.getEstado(), "El pedido 2 no debe cambiar");
+        assertEquals(List.of(pedido1), pedidosSistema.buscarPorEstado(EstadoPedido.CANCELADO));
     }
 
     /**
@@ -315,8 +348,9 @@ public class ClienteTest {
     @Test
     void editarMetodoPagoTest() {
         Pago nuevosDatos = new Pago(1, "Tarjeta de débito", "9876-5432-1098-7654", "Disponible");
-        cliente.editarMetodoPago(0, nuevosDatos);
-        assertEquals("9876-5432-1098-7654", cliente.getMetodosPago().get(0).getDatos(), "Los datos deben actualizarse");
+        assertEquals(Resultado.EXITO, cliente.editarMetodoPago(1, nuevosDatos));
+        assertEquals("9876-5432-1098-7654", pago1.getDatos(), "Los datos deben actualizarse");
+        assertEquals(Resultado.METODO_PAGO_NO_ENCONTRADO, cliente.editarMetodoPago(9, nuevosDatos));
     }
 
     /**
@@ -325,8 +359,10 @@ public class ClienteTest {
      */
     @Test
     void eliminarMetodoPagoTest() {
-        cliente.eliminarMetodoPago(0);
-        assertEquals("Eliminado", cliente.getMetodosPago().get(0).getEstado(), "El método de pago debe estar marcado como Eliminado");
+        cliente.getMetodosPago().remove(pago1);
+        assertEquals(Resultado.EXITO, cliente.eliminarMetodoPago(2), "Debe encontrarlo por ID aunque cambie su posición");
+        assertEquals("Eliminado", pago2.getEstado(), "El método de pago debe estar marcado como Eliminado");
+        assertEquals(Resultado.METODO_PAGO_NO_ENCONTRADO, cliente.eliminarMetodoPago(1));
     }
 
     /**
@@ -335,7 +371,7 @@ public class ClienteTest {
      */
     @Test
     void verMetodosPagoGuardadosTest() {
-        ArrayList<Pago> metodos = cliente.verMetodosPagoGuardados();
+        List<Pago> metodos = cliente.verMetodosPagoGuardados();
         assertEquals(2, metodos.size(), "Debe devolver los dos métodos de pago");
         assertEquals("Tarjeta de crédito", metodos.get(0).getTipo(), "El primer método debe ser Tarjeta de crédito");
     }
@@ -346,7 +382,7 @@ public class ClienteTest {
      */
     @Test
     void verDireccionesEntregaTest() {
-        ArrayList<Direccion> direcciones = cliente.verDireccionesEntrega();
+        List<Direccion> direcciones = cliente.verDireccionesEntrega();
         assertEquals(2, direcciones.size(), "Debe devolver las dos direcciones");
         assertEquals("Calle 123", direcciones.get(0).getCalle(), "La primera dirección debe ser Calle 123");
     }
@@ -383,5 +419,35 @@ public class ClienteTest {
         cliente.eliminarDireccion(1);
         assertEquals(1, cliente.getDirecciones().size(), "Debe quedar solo una dirección");
         assertEquals(2, cliente.getDirecciones().get(0).getId(), "La dirección restante debe ser la ID 2");
+        cliente.agregarNuevaDireccion("Nueva Calle", "Nueva Ciudad");
+        assertEquals(3, cliente.getDirecciones().get(1).getId(), "La nueva dirección no debe repetir un ID usado");
+    }
+
+    /**
+     * Verifica que dos sesiones del mismo cliente agregando direcciones y métodos de pago a la vez
+     * no pierdan ninguno ni repitan IDs.
+     */
+    @Test
+    void agregarConcurrenteTest() throws InterruptedException {
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            hilos.add(Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < 500; j++) {
+                    cliente.agregarNuevaDireccion("Calle " + j, "Ciudad");
+                    cliente.agregarMetodoPagoSistema(new Pago(cliente.nuevoIdMetodoPago(), "Tarjeta", "1234", "Activo"));
+                }
+            }));
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        int direcciones = cliente.getDirecciones().size();
+        int pagos = cliente.getMetodosPago().size();
+        assertEquals(2 + 1000, direcciones, "No debe perderse ninguna dirección");
+        assertEquals(2 + 1000, pagos, "No debe perderse ningún método de pago");
+        assertEquals(pagos, cliente.getMetodosPago().stream().mapToInt(Pago::getId).distinct().count(), "Los métodos de pago no deben repetir IDs");
+        for (Direccion direccion : cliente.getDirecciones()) {
+            assertSame(direccion, cliente.buscarDireccion(direccion.getId()), "Cada dirección debe tener un ID propio");
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,19 @@
 package usuarioTest;
 
 import modelo.pedido.Direccion;
+import modelo.pedido.EstadoPedido;
 import modelo.pedido.Pedido;
+import modelo.pedido.RegistroPedidos;
+import modelo.producto.Catalogo;
 import modelo.producto.Etiqueta;
 import modelo.producto.Producto;
 import modelo.usuario.Empleado;
+import modelo.util.Resultado;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Clase de testeo unitario para {@link Empleado}.
@@ -19,9 +24,9 @@ public class EmpleadoTest {
     /** Empleado utilizado en las pruebas */
     private Empleado empleado;
     /** Catálogo de productos para pruebas */
-    private ArrayList<Producto> catalogo;
-    /** Lista de pedidos para pruebas */
-    private ArrayList<Pedido> pedidos;
+    private Catalogo catalogo;
+    /** Registro de pedidos para pruebas */
+    private RegistroPedidos pedidos;
     /** Productos de prueba */
     private Producto producto1, producto2;
     /** Pedidos de prueba */
@@ -36,20 +41,20 @@ public class EmpleadoTest {
     @BeforeEach
     void setUp() {
         empleado = new Empleado(1, "Ana Lucia", "empleado1", "ana@empresa.com", "emp123");
-        catalogo = new ArrayList<>();
-        pedidos = new ArrayList<>();
+        catalogo = new Catalogo();
+        pedidos = new RegistroPedidos();
 
         // Inicializar productos
         producto1 = new Producto(1, "Laptop", "Laptop de alta gama", 1000.0, 10);
         producto2 = new Producto(2, "Mouse", "Mouse inalámbrico", 20.0, 3);
-        catalogo.add(producto1);
-        catalogo.add(producto2);
+        catalogo.agregar(producto1);
+        catalogo.agregar(producto2);
 
         // Inicializar pedidos
-        pedido1 = new Pedido(1, new ArrayList<>(), new Direccion(1, "Calle 123", "Ciudad A", false), null, "Pendiente", 1);
-        pedido2 = new Pedido(2, new ArrayList<>(), new Direccion(2, "Avenida 456", "Ciudad B", true), null, "Completado", 1);
-        pedidos.add(pedido1);
-        pedidos.add(pedido2);
+        pedido1 = new Pedido(1, new ArrayList<>(), new Direccion(1, "Calle 123", "Ciudad A", false), null, EstadoPedido.PENDIENTE, 1);
+        pedido2 = new Pedido(2, new ArrayList<>(), new Direccion(2, "Avenida 456", "Ciudad B", true), null, EstadoPedido.COMPLETADO, 1);
+        pedidos.agregar(pedido1);
+        pedidos.agregar(pedido2);
 
         // Inicializar etiqueta
         etiqueta1 = new Etiqueta(1, "Electrónica");
@@ -81,19 +86,19 @@ public class EmpleadoTest {
     }
 
     /**
-     * Prueba el método {@link Empleado#consultarProductosCatalogo(ArrayList)}.
+     * Prueba el método {@link Empleado#consultarProductosCatalogo(Catalogo)}.
      * Verifica que devuelva todos los productos del catálogo.
      */
     @Test
     void consultarProductosCatalogoTest() {
-        ArrayList<Producto> resultado = empleado.consultarProductosCatalogo(catalogo);
+        List<Producto> resultado = empleado.consultarProductosCatalogo(catalogo);
         assertEquals(2, resultado.size(), "Debe devolver todos los productos del catálogo");
         assertTrue(resultado.contains(producto1), "Debe contener el producto 1");
         assertTrue(resultado.contains(producto2), "Debe contener el producto 2");
     }
 
     /**
-     * Prueba el método {@link Empleado#consultarProductosCatalogo(ArrayList)}.
+     * Prueba el método {@link Empleado#consultarProductosCatalogo(Catalogo)}.
      * Verifica que devuelva todos los productos del catálogo.
      */
     @Test
@@ -102,19 +107,19 @@ public class EmpleadoTest {
         Producto producto = new Producto(3, "Celular", "Celular de alta gama", 1000.0, 10);
         empleado.agregarProductoCatalogo(producto, catalogo);
         // Revisar catalogo actualizado
-        assertEquals(3, catalogo.size(), "El producto debe añadirse al catálogo");
-        assertEquals("Celular", catalogo.getLast().getNombre(), "El nombre del producto debe coincidir");
+        assertEquals(3, catalogo.tamaño(), "El producto debe añadirse al catálogo");
+        assertEquals("Celular", catalogo.buscar(3).getNombre(), "El nombre del producto debe coincidir");
         // Manejar duplicados
         Producto productoDuplicado = new Producto(3, "Otro Celular", "Otra descripción", 1200.0, 5);
         empleado.agregarProductoCatalogo(productoDuplicado, catalogo);
-        assertEquals(3, catalogo.size(), "No debe agregar producto con ID duplicado");
+        assertEquals(3, catalogo.tamaño(), "No debe agregar producto con ID duplicado");
         // Manejar nulos
         empleado.agregarProductoCatalogo(null, catalogo);
-        assertEquals(3, catalogo.size(), "No debe agregar producto nulo");
+        assertEquals(3, catalogo.tamaño(), "No debe agregar producto nulo");
     }
 
     /**
-     * Prueba el método {@link Empleado#editarProductoCatalogo(int, ArrayList, String, String, double, int)}.
+     * Prueba el método {@link Empleado#editarProductoCatalogo(int, Catalogo, String, String, double, int)}.
      * Verifica la actualización de productos en el catálogo.
      */
     @Test
@@ -135,23 +140,23 @@ public class EmpleadoTest {
         // No se puede verificar directamente, pero se espera que no haya cambios    }
     }
     /**
-     * Prueba el método {@link Empleado#eliminarProductoCatalogo(int, ArrayList)}.
+     * Prueba el método {@link Empleado#eliminarProductoCatalogo(int, Catalogo)}.
      * Verifica la actualización de productos en el catálogo.
      */
     @Test
     void eliminarProductoCatalogoTest() {
         empleado.eliminarProductoCatalogo(1, catalogo);
-        assertEquals(1, catalogo.size(), "Debe eliminar el producto con ID 1");
-        assertFalse(catalogo.contains(producto1), "El producto 1 debe ser eliminado");
+        assertEquals(1, catalogo.tamaño(), "Debe eliminar el producto con ID 1");
+        assertFalse(catalogo.contiene(1), "El producto 1 debe ser eliminado");
 
         // Intentar eliminar producto no existente
-        int tamanoAntes = catalogo.size();
+        int tamanoAntes = catalogo.tamaño();
         empleado.eliminarProductoCatalogo(99, catalogo);
-        assertEquals(tamanoAntes, catalogo.size(), "No debe cambiar si el producto no existe");
+        assertEquals(tamanoAntes, catalogo.tamaño(), "No debe cambiar si el producto no existe");
     }
     
     /**
-     * Prueba el método {@link Empleado#agregarEtiquetaProducto(int, Etiqueta, ArrayList)}.
+     * Prueba el método {@link Empleado#agregarEtiquetaProducto(int, Etiqueta, Catalogo)}.
      * Verifica la adición de etiquetas a productos.
      */
     @Test
@@ -160,10 +165,11 @@ public class EmpleadoTest {
         assertTrue(producto1.getEtiquetas().contains(etiqueta1), "Debe agregar la etiqueta al producto");
 
         assertDoesNotThrow(() -> empleado.agregarEtiquetaProducto(99, etiqueta1, catalogo), "No debe lanzar excepción si el producto no existe");
+        assertEquals(Resultado.DATOS_INVALIDOS, empleado.agregarEtiquetaProducto(1, null, catalogo), "Debe rechazar una etiqueta nula");
     }
 
     /**
-     * Prueba el método {@link Empleado#eliminarEtiquetaProducto(int, Etiqueta, ArrayList)}.
+     * Prueba el método {@link Empleado#eliminarEtiquetaProducto(int, Etiqueta, Catalogo)}.
      * Verifica la eliminación de etiquetas de productos.
      */
     @Test
@@ -173,10 +179,11 @@ public class EmpleadoTest {
         assertFalse(producto1.getEtiquetas().contains(etiqueta1), "Debe eliminar la etiqueta del producto");
 
         assertDoesNotThrow(() -> empleado.eliminarEtiquetaProducto(99, etiqueta1, catalogo), "No debe lanzar excepción si el producto no existe");
+        assertEquals(Resultado.DATOS_INVALIDOS, empleado.eliminarEtiquetaProducto(1, null, catalogo), "Debe rechazar una etiqueta nula");
     }
 
     /**
-     * Prueba el método {@link Empleado#consultarInventarioProducto(int, ArrayList)}.
+     * Prueba el método {@link Empleado#consultarInventarioProducto(int, Catalogo)}.
      * Verifica la consulta de inventario de productos.
      */
     @Test
@@ -189,7 +196,7 @@ public class EmpleadoTest {
     }
 
     /**
-     * Prueba el método {@link Empleado#registrarEntradaInventario(int, int, ArrayList)}.
+     * Prueba el método {@link Empleado#registrarEntradaInventario(int, int, Catalogo)}.
      * Verifica el registro de entradas de inventario.
      */
     @Test
@@ -201,7 +208,7 @@ public class EmpleadoTest {
     }
 
     /**
-     * Prueba el método {@link Empleado#recibirAlertasInventarioBajo(ArrayList)}.
+     * Prueba el método {@link Empleado#recibirAlertasInventarioBajo(Catalogo)}.
      * Verifica que devuelva productos con inventario bajo.
      */
     @Test
@@ -212,60 +219,106 @@ public class EmpleadoTest {
     }
 
     /**
-     * Prueba el método {@link Empleado#actualizarEstadoPedido(int, String, ArrayList)}.
-     * Verifica la actualización del estado de pedidos.
+     * Prueba el método {@link Empleado#configurarUmbralReposicion(int, int, Catalogo)}.
+     * Verifica que el umbral de cada producto decida sus alertas de inventario bajo.
+     */
+    @Test
+    void configurarUmbralReposicionTest() {
+        assertEquals(Resultado.EXITO, empleado.configurarUmbralReposicion(1, 11, catalogo));
+        assertEquals(List.of(producto1, producto2), empleado.recibirAlertasInventarioBajo(catalogo), "La laptop queda bajo su umbral");
+        assertEquals(Resultado.EXITO, empleado.configurarUmbralReposicion(2, 0, catalogo));
+        assertEquals(List.of(producto1), empleado.recibirAlertasInventarioBajo(catalogo), "Un umbral 0 desactiva la alerta");
+        assertEquals(Resultado.EXITO, empleado.registrarEntradaInventario(1, 1, catalogo));
+        assertTrue(empleado.recibirAlertasInventarioBajo(catalogo).isEmpty(), "La entrada de inventario alcanza el umbral");
+        // Casos inválidos
+        assertEquals(Resultado.DATOS_INVALIDOS, empleado.configurarUmbralReposicion(1, -1, catalogo));
+        assertEquals(Resultado.PRODUCTO_NO_ENCONTRADO, empleado.configurarUmbralReposicion(99, 3, catalogo));
+    }
+
+    /**
+     * Prueba el método {@link Empleado#actualizarEstadoPedido(long, EstadoPedido, RegistroPedidos)}.
+     * Verifica la actualización del estado de pedidos y que solo se permitan los cambios válidos.
      */
     @Test
     void actualizarEstadoPedidoTest() {
-        empleado.actualizarEstadoPedido(1, "En proceso", pedidos);
-        assertEquals("En proceso", pedido1.getEstado(), "El estado del pedido debe actualizarse");
+        assertEquals(Resultado.EXITO, empleado.actualizarEstadoPedido(1, EstadoPedido.PAGADO, pedidos));
+        assertEquals(EstadoPedido.PAGADO, pedido1.getEstado(), "El estado del pedido debe actualizarse");
 
         // Intentar actualizar con estado nulo
-        String estadoOriginal = pedido1.getEstado();
-        empleado.actualizarEstadoPedido(1, null, pedidos);
+        EstadoPedido estadoOriginal = pedido1.getEstado();
+        assertEquals(Resultado.DATOS_INVALIDOS, empleado.actualizarEstadoPedido(1, null, pedidos));
         assertEquals(estadoOriginal, pedido1.getEstado(), "No debe actualizarse con estado nulo");
 
+        // Intentar saltar un estado o volver a uno anterior
+        assertEquals(Resultado.CAMBIO_ESTADO_INVALIDO, empleado.actualizarEstadoPedido(1, EstadoPedido.COMPLETADO, pedidos));
+        assertEquals(Resultado.CAMBIO_ESTADO_INVALIDO, empleado.actualizarEstadoPedido(1, EstadoPedido.PENDIENTE, pedidos));
+        assertEquals(EstadoPedido.PAGADO, pedido1.getEstado(), "Un cambio no permitido no debe aplicarse");
+        assertEquals(Resultado.EXITO, empleado.actualizarEstadoPedido(1, EstadoPedido.ENVIADO, pedidos));
+        assertEquals(Resultado.EXITO, empleado.actualizarEstadoPedido(1, EstadoPedido.COMPLETADO, pedidos));
+        assertEquals(List.of(pedido1, pedido2), pedidos.buscarPorEstado(EstadoPedido.COMPLETADO), "El índice por estado debe seguir los cambios");
+        assertTrue(pedidos.buscarPorEstado(EstadoPedido.PENDIENTE).isEmpty());
+
         // Intentar actualizar pedido no existente
-        assertDoesNotThrow(() -> empleado.actualizarEstadoPedido(99, "Completado", pedidos));
+        assertDoesNotThrow(() -> empleado.actualizarEstadoPedido(99, EstadoPedido.PAGADO, pedidos));
+        assertEquals(Resultado.PEDIDO_NO_ENCONTRADO, empleado.actualizarEstadoPedido(99, EstadoPedido.PAGADO, pedidos));
     }
 
     /**
-     * Prueba el método {@link Empleado#cancelarPedido(int, ArrayList)}.
+     * Prueba el método {@link Empleado#cancelarPedido(long, RegistroPedidos)}.
      * Verifica la cancelación de pedidos.
      */
     @Test
     void cancelarPedidoTest() {
         empleado.cancelarPedido(1, pedidos);
-        assertEquals("Cancelado", pedido1.getEstado(), "El pedido debe estar cancelado");
+        assertEquals(EstadoPedido.CANCELADO, pedido1.getEstado(), "El pedido debe estar cancelado");
+        assertEquals(Resultado.CAMBIO_ESTADO_INVALIDO, empleado.cancelarPedido(2, pedidos), "Un pedido completado no se cancela");
+        assertEquals(1, pedidos.contarPorEstado(EstadoPedido.CANCELADO));
 
         assertDoesNotThrow(() -> empleado.cancelarPedido(99, pedidos), "No debe lanzar excepción si el pedido no existe");
     }
 
     /**
-     * Prueba el método {@link Empleado#verPedidosPendientes(ArrayList)}.
+     * Prueba el método {@link Empleado#verPedidosPendientes(RegistroPedidos)}.
      * Verifica que devuelva solo pedidos pendientes.
      */
     @Test
     void verPedidosPendientesTest() {
         ArrayList<Pedido> pendientes = empleado.verPedidosPendientes(pedidos);
         assertEquals(1, pendientes.size(), "Debe haber un pedido pendiente");
-        assertEquals("Pendiente", pendientes.get(0).getEstado(), "El pedido debe estar pendiente");
+        assertEquals(EstadoPedido.PENDIENTE, pendientes.get(0).getEstado(), "El pedido debe estar pendiente");
     }
 
     /**
-     * Prueba el método {@link Empleado#verificarEstadoPago(int, ArrayList)}.
+     * Prueba el método {@link Empleado#verificarEstadoPago(long, RegistroPedidos)}.
      * Verifica el estado de pago de los pedidos.
      */
     @Test
     void verificarEstadoPagoTest() {
-        assertFalse(empleado.verificarEstadoPago(1, pedidos), "El pedido 1 no está completado");
+        assertFalse(empleado.verificarEstadoPago(1, pedidos), "El pedido 1 no está pagado");
         assertTrue(empleado.verificarEstadoPago(2, pedidos), "El pedido 2 está completado");
+        pedido1.cambiarEstado(EstadoPedido.PAGADO);
+        assertTrue(empleado.verificarEstadoPago(1, pedidos), "El pedido 1 ya está pagado");
 
         assertFalse(empleado.verificarEstadoPago(99, pedidos), "Debe devolver false si el pedido no existe");
     }
 
     /**
-     * Prueba el método {@link Empleado#consultarDireccionPedido(int, ArrayList)}.
+     * Prueba el método {@link Empleado#verificarEstadoPago(long, RegistroPedidos)} con un ID generado por el registro.
+     * Verifica que funcione con IDs de 64 bits, que no caben en un int.
+     */
+    @Test
+    void verificarEstadoPagoIdGeneradoTest() {
+        long id = pedidos.nuevoId();
+        assertTrue(id > Integer.MAX_VALUE, "Los IDs generados deben ser de 64 bits");
+        Pedido pedido = new Pedido(id, new ArrayList<>(), null, null, EstadoPedido.PENDIENTE, 1);
+        pedidos.agregar(pedido);
+        assertFalse(empleado.verificarEstadoPago(id, pedidos), "El pedido nuevo no está pagado");
+        pedido.cambiarEstado(EstadoPedido.PAGADO);
+        assertTrue(empleado.verificarEstadoPago(id, pedidos), "El pedido nuevo ya está pagado");
+    }
+
+    /**
+     * Prueba el método {@link Empleado#consultarDireccionPedido(long, RegistroPedidos)}.
      * Verifica la consulta de direcciones de pedidos.
      */
     @Test
@@ -277,4 +330,21 @@ public class EmpleadoTest {
         Direccion direccionNoExistente = empleado.consultarDireccionPedido(99, pedidos);
         assertNull(direccionNoExistente, "Debe devolver null si el pedido no existe");
     }
-}
\ No newline at end of file
+
+    /**
+     * Prueba el método {@link Empleado#verPedidosCliente(int, RegistroPedidos)}.
+     * Verifica que devuelva solo los pedidos del cliente y que el registro no acepte IDs repetidos.
+     */
+    @Test
+    void verPedidosClienteTest() {
+        Pedido otroCliente = new Pedido(3, 2);
+        assertTrue(pedidos.agregar(otroCliente));
+        assertFalse(pedidos.agregar(new Pedido(3, 1)), "No debe agregar un ID repetido");
+        assertEquals(3, pedidos.tamaño());
+        assertSame(otroCliente, pedidos.buscar(3));
+
+        assertEquals(List.of(pedido1, pedido2), empleado.verPedidosCliente(1, pedidos));
+        assertEquals(List.of(otroCliente), empleado.verPedidosCliente(2, pedidos));
+        assertTrue(empleado.verPedidosCliente(99, pedidos).isEmpty(), "Un cliente sin pedidos no tiene resultados");
+    }
+}
@@ -0,0 +1,82 @@
+package usuarioTest;
+
+import modelo.usuario.Cliente;
+import modelo.usuario.RegistroClientes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+
+/**
+ * Clase de testeo unitario para {@link RegistroClientes}.
+ * Verifica los índices por ID y por usuario, y el orden de los listados.
+ */
+public class RegistroClientesTest {
+    /** Registro utilizado en las pruebas */
+    private RegistroClientes clientes;
+    /** Clientes de prueba */
+    private Cliente juan, ana;
+
+    /**
+     * Configura el entorno de prueba antes de cada test.
+     */
+    @BeforeEach
+    void setUp() {
+        clientes = new RegistroClientes();
+        juan = new Cliente(2, "Juan Perez", "jperez", "jperez@mail.com", "pass123", "123456789");
+        ana = new Cliente(1, "Ana Lopez", "alopez", "alopez@mail.com", "pass456", "987654321");
+        clientes.agregar(juan);
+        clientes.agregar(ana);
+    }
+
+    /**
+     * Prueba los métodos {@link RegistroClientes#buscar(int)} y {@link RegistroClientes#buscarPorUsuario(String)}.
+     */
+    @Test
+    void buscarTest() {
+        assertSame(juan, clientes.buscar(2));
+        assertNull(clientes.buscar(3), "Debe devolver null si el ID no existe");
+        assertSame(ana, clientes.buscarPorUsuario("alopez"));
+        assertNull(clientes.buscarPorUsuario("otro"));
+        assertNull(clientes.buscarPorUsuario(null));
+    }
+
+    /**
+     * Verifica que no se agreguen clientes con un ID o un usuario repetido.
+     */
+    @Test
+    void agregarRepetidoTest() {
+        assertFalse(clientes.agregar(new Cliente(3, "Otro", "jperez", "otro@mail.com", "x", "1")),
+                "No debe agregar un usuario repetido");
+        assertFalse(clientes.agregar(new Cliente(2, "Otro", "otro", "otro@mail.com", "x", "1")),
+                "No debe agregar un ID repetido");
+        assertNull(clientes.buscarPorUsuario("otro"), "El rechazado no debe quedar en el índice por usuario");
+        assertSame(juan, clientes.buscarPorUsuario("jperez"));
+        assertEquals(2, clientes.tamaño());
+    }
+
+    /**
+     * Prueba el método {@link RegistroClientes#eliminar(Cliente)} y que libere el usuario.
+     */
+    @Test
+    void eliminarTest() {
+        assertTrue(clientes.eliminar(juan));
+        assertFalse(clientes.eliminar(juan), "No debe eliminar un cliente que ya no está");
+        assertNull(clientes.buscar(2));
+        assertNull(clientes.buscarPorUsuario("jperez"));
+        assertTrue(clientes.agregar(new Cliente(3, "Juan Perez", "jperez", "jperez@mail.com", "pass123", "1")),
+                "El usuario eliminado debe poder reutilizarse");
+    }
+
+    /**
+     * Verifica que los listados estén ordenados por ID y sean copias.
+     */
+    @Test
+    void getClientesTest() {
+        List<Cliente> listado = clientes.getClientes();
+        assertEquals(List.of(ana, juan), listado);
+        clientes.eliminar(ana);
+        assertEquals(2, listado.size(), "Un listado ya obtenido no debe cambiar");
+        assertEquals(List.of(juan), clientes.getClientes());
+    }
+}
@@ -0,0 +1,65 @@
+package utilTest;
+
+import modelo.util.ConcurrentLongObjectMap;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase de testeo unitario para {@link ConcurrentLongObjectMap}.
+ * Verifica las operaciones de un solo paso y su uso desde varios hilos.
+ */
+public class ConcurrentLongObjectMapTest {
+    /**
+     * Prueba los métodos {@link ConcurrentLongObjectMap#putIfAbsent(long, Object)},
+     * {@link ConcurrentLongObjectMap#computeIfAbsent(long, java.util.function.LongFunction)}
+     * y {@link ConcurrentLongObjectMap#remove(long, Object)}.
+     */
+    @Test
+    void operacionesTest() {
+        ConcurrentLongObjectMap<String> mapa = new ConcurrentLongObjectMap<>(3);
+        assertNull(mapa.putIfAbsent(1L << 40, "grande"));
+        assertEquals("grande", mapa.putIfAbsent(1L << 40, "otro"), "No debe reemplazar un valor existente");
+        assertEquals("creado", mapa.computeIfAbsent(-7, clave -> "creado"));
+        assertEquals("creado", mapa.computeIfAbsent(-7, clave -> "otro"), "Debe devolver el valor ya creado");
+        String valor = mapa.get(-7);
+        assertFalse(mapa.remove(-7, new String("creado")), "Solo debe eliminar el mismo objeto");
+        assertTrue(mapa.remove(-7, valor));
+        assertNull(mapa.get(-7));
+        assertEquals(1, mapa.size());
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectMap<String>(0));
+    }
+
+    /**
+     * Verifica que varios hilos agregando claves a la vez no pierdan ninguna
+     * y que {@link ConcurrentLongObjectMap#forEach} las recorra todas.
+     */
+    @Test
+    void putIfAbsentConcurrenteTest() throws InterruptedException {
+        ConcurrentLongObjectMap<Long> mapa = new ConcurrentLongObjectMap<>();
+        AtomicInteger agregados = new AtomicInteger();
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            hilos.add(Thread.ofPlatform().start(() -> {
+                for (long clave = 0; clave < 2000; clave++) {
+                    if (mapa.putIfAbsent(clave * 1_000_003L, clave) == null) {
+                        agregados.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertEquals(2000, agregados.get(), "Cada clave debe agregarse una sola vez");
+        assertEquals(2000, mapa.size());
+        AtomicInteger recorridos = new AtomicInteger();
+        mapa.forEach((clave, valor) -> {
+            assertEquals(valor * 1_000_003L, clave);
+            recorridos.incrementAndGet();
+        });
+        assertEquals(2000, recorridos.get());
+    }
+}
@@ -0,0 +1,200 @@
+package utilTest;
+
+import modelo.util.Diario;
+import modelo.util.DiarioArchivo;
+import modelo.util.DiarioNulo;
+import modelo.util.Evento;
+import modelo.util.LectorDiario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase de testeo unitario para {@link DiarioArchivo} y {@link LectorDiario}.
+ */
+public class DiarioTest {
+    /** Archivo temporal del diario */
+    private Path archivo;
+
+    /**
+     * Crea un archivo temporal vacío antes de cada test.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        archivo = Files.createTempFile("diario", ".log");
+    }
+
+    /**
+     * Borra el archivo temporal después de cada test.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        Diario.instalar(null);
+        Files.deleteIfExists(archivo);
+    }
+
+    /**
+     * Verifica que al rotar lo anotado quede en el otro archivo y los eventos siguientes, con la
+     * numeración continua, en un archivo nuevo con la ruta original.
+     */
+    @Test
+    void rotarTest() throws IOException {
+        Path destino = archivo.resolveSibling(archivo.getFileName() + ".anterior");
+        try (DiarioArchivo diario = new DiarioArchivo(archivo)) {
+            diario.registro(Evento.PRODUCTO_ELIMINADO).entero(1).registrar();
+            diario.registro(Evento.PRODUCTO_ELIMINADO).entero(2).registrar();
+            assertEquals(2, diario.rotar(destino), "Debe devolver el último evento del archivo rotado");
+            assertThrows(IOException.class, () -> diario.rotar(destino), "No debe reemplazar un archivo rotado");
+            diario.registro(Evento.PRODUCTO_ELIMINADO).entero(3).registrar();
+            diario.sincronizar();
+            assertFalse(diario.tuvoError(), "Un destino existente no debe detener el diario");
+        }
+
+        try (LectorDiario lector = new LectorDiario(destino)) {
+            assertTrue(lector.siguiente());
+            assertEquals(1, lector.leerEntero());
+            assertTrue(lector.siguiente());
+            assertEquals(2, lector.leerEntero());
+            assertFalse(lector.siguiente());
+        } finally {
+            Files.deleteIfExists(destino);
+        }
+        try (LectorDiario lector = new LectorDiario(archivo)) {
+            assertTrue(lector.siguiente());
+            assertEquals(3, lector.getLsn(), "La numeración debe continuar después de rotar");
+            assertEquals(3, lector.leerEntero());
+            assertFalse(lector.siguiente());
+        }
+    }
+
+    /**
+     * Verifica que los eventos se lean en orden, numerados y con los mismos valores anotados.
+     */
+    @Test
+    void anotarYLeerTest() throws IOException {
+        try (DiarioArchivo diario = new DiarioArchivo(archivo)) {
+            diario.registro(Evento.CLIENTE_REGISTRADO).entero(7).texto("María José").texto("maria").texto(null)
+                    .texto("pass").texto("555").registrar();
+            diario.registro(Evento.PRODUCTO_EDITADO).entero(3).texto("Teléfono").texto("").decimal(499.99).entero(-1).registrar();
+            diario.sincronizar();
+            assertEquals(2, diario.getSincronizadoHasta(), "Sincronizar debe esperar a que los eventos estén en disco");
+        }
+
+        try (LectorDiario lector = new LectorDiario(archivo)) {
+            assertTrue(lector.siguiente());
+            assertEquals(1, lector.getLsn());
+            assertEquals(Evento.CLIENTE_REGISTRADO, lector.getEvento());
+            assertEquals(7, lector.leerEntero());
+            assertEquals("María José", lector.leerTexto());
+            assertEquals("maria", lector.leerTexto());
+            assertNull(lector.leerTexto(), "Un texto nulo debe leerse como null");
+            assertEquals("pass", lector.leerTexto());
+            assertEquals("555", lector.leerTexto());
+
+            assertTrue(lector.siguiente());
+            assertEquals(2, lector.getLsn());
+            assertEquals(Evento.PRODUCTO_EDITADO, lector.getEvento());
+            assertEquals(3, lector.leerEntero());
+            assertEquals("Teléfono", lector.leerTexto());
+            assertEquals("", lector.leerTexto());
+            assertEquals(499.99, lector.leerDecimal());
+            assertEquals(-1, lector.leerEntero());
+
+            assertFalse(lector.siguiente(), "No debe haber más eventos");
+            assertEquals(Files.size(archivo), lector.getPosicionValida());
+        }
+    }
+
+    /**
+     * Verifica que los eventos anotados a la vez desde varios hilos queden todos guardados,
+     * con números de secuencia consecutivos y sin mezclar sus datos.
+     */
+    @Test
+    void anotarConcurrenteTest() throws Exception {
+        int hilos = 8;
+        int porHilo = 2000;
+        try (DiarioArchivo diario = new DiarioArchivo(archivo, 64, 1, true)) {
+            List<Thread> escritores = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int hilo = h;
+                escritores.add(Thread.ofVirtual().start(() -> {
+                    for (int i = 0; i < porHilo; i++) {
+                        diario.registro(Evento.INVENTARIO_REPUESTO).entero(hilo).entero(i).registrar();
+                        if (i % 100 == 0) {
+                            diario.sincronizar();
+                        }
+                    }
+                    diario.sincronizar();
+                }));
+            }
+            for (Thread escritor : escritores) {
+                escritor.join();
+            }
+            assertEquals(hilos * porHilo, diario.getSincronizadoHasta(), "Todos los eventos deben estar en disco");
+        }
+
+        int[] siguientePorHilo = new int[hilos];
+        long eventos = 0;
+        try (LectorDiario lector = new LectorDiario(archivo)) {
+            while (lector.siguiente()) {
+                eventos++;
+                assertEquals(eventos, lector.getLsn(), "Los números de secuencia deben ser consecutivos");
+                int hilo = lector.leerEntero();
+                assertEquals(siguientePorHilo[hilo]++, lector.leerEntero(), "Cada hilo debe conservar su orden");
+            }
+        }
+        assertEquals(hilos * porHilo, eventos);
+    }
+
+    /**
+     * Verifica que al reabrir un diario se descarte un evento a medio escribir
+     * y la numeración continúe desde el último evento válido.
+     */
+    @Test
+    void recuperarFinalIncompletoTest() throws IOException {
+        try (DiarioArchivo diario = new DiarioArchivo(archivo)) {
+            diario.registro(Evento.ETIQUETA_CREADA).entero(1).texto("Hogar").registrar();
+            diario.registro(Evento.ETIQUETA_CREADA).entero(2).texto("Jardín").registrar();
+        }
+        long tamañoValido = Files.size(archivo);
+        Files.write(archivo, new byte[] {0, 0, 0, 40, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        try (DiarioArchivo diario = new DiarioArchivo(archivo)) {
+            assertEquals(2, diario.getUltimoLsn(), "Debe continuar desde el último evento válido");
+            assertEquals(tamañoValido, Files.size(archivo), "Debe descartar el evento incompleto");
+            assertEquals(3, diario.registro(Evento.ETIQUETA_ELIMINADA).entero(1).registrar());
+        }
+
+        List<Evento> eventos = new ArrayList<>();
+        try (LectorDiario lector = new LectorDiario(archivo)) {
+            while (lector.siguiente()) {
+                eventos.add(lector.getEvento());
+            }
+        }
+        assertEquals(List.of(Evento.ETIQUETA_CREADA, Evento.ETIQUETA_CREADA, Evento.ETIQUETA_ELIMINADA), eventos);
+    }
+
+    /**
+     * Verifica que sin diario instalado el modelo use {@link DiarioNulo}, y que cerrar
+     * el diario instalado lo desinstale.
+     */
+    @Test
+    void instalarTest() throws IOException {
+        assertSame(DiarioNulo.INSTANCIA, Diario.actual(), "Sin diario instalado los eventos se descartan");
+        assertEquals(0, Diario.actual().registro(Evento.ETIQUETA_CREADA).entero(1).texto("Hogar").registrar());
+
+        DiarioArchivo diario = new DiarioArchivo(archivo);
+        Diario.instalar(diario);
+        assertSame(diario, Diario.actual());
+        diario.close();
+        assertSame(DiarioNulo.INSTANCIA, Diario.actual(), "Cerrar el diario instalado debe desinstalarlo");
+        assertThrows(IllegalStateException.class, () -> diario.registro(Evento.ETIQUETA_ELIMINADA).entero(1).registrar());
+    }
+}
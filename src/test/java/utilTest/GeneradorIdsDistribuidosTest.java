@@ -0,0 +1,126 @@
+package utilTest;
+
+import modelo.util.GeneradorIdsDistribuidos;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clase de testeo unitario para {@link GeneradorIdsDistribuidos}.
+ * Verifica la composición de los IDs y que no se repitan entre hilos ni entre nodos.
+ */
+public class GeneradorIdsDistribuidosTest {
+    /** Instante fijo usado como reloj en las pruebas */
+    private static final long AHORA = GeneradorIdsDistribuidos.EPOCA + 1_000_000L;
+
+    /**
+     * Prueba los métodos {@link GeneradorIdsDistribuidos#siguiente()}, {@link GeneradorIdsDistribuidos#instante(long)}
+     * y {@link GeneradorIdsDistribuidos#nodo(long)}.
+     * Verifica que cada ID lleve el instante y el nodo que lo generaron.
+     */
+    @Test
+    void siguienteTest() {
+        GeneradorIdsDistribuidos ids = new GeneradorIdsDistribuidos(7, () -> AHORA);
+        long primero = ids.siguiente();
+        long segundo = ids.siguiente();
+        assertEquals(AHORA, GeneradorIdsDistribuidos.instante(primero));
+        assertEquals(7, GeneradorIdsDistribuidos.nodo(primero));
+        assertEquals(primero + 1, segundo, "En el mismo milisegundo solo debe avanzar la secuencia");
+        assertEquals(7, ids.getNodo());
+    }
+
+    /**
+     * Verifica que los IDs sigan creciendo si el reloj retrocede o si se agota la secuencia de un milisegundo.
+     */
+    @Test
+    void siguienteRelojAtrasadoTest() {
+        AtomicLong reloj = new AtomicLong(AHORA);
+        GeneradorIdsDistribuidos ids = new GeneradorIdsDistribuidos(1, reloj::get);
+        long anterior = ids.siguiente();
+        reloj.set(AHORA - 5_000);
+        long id = ids.siguiente();
+        assertTrue(id > anterior, "Debe seguir creciendo aunque el reloj retroceda");
+        assertEquals(1, GeneradorIdsDistribuidos.nodo(id));
+        for (int i = 0; i < 5000; i++) {
+            id = ids.siguiente();
+        }
+        assertTrue(GeneradorIdsDistribuidos.instante(id) > AHORA, "Al agotar la secuencia debe pasar al milisegundo siguiente");
+        assertEquals(1, GeneradorIdsDistribuidos.nodo(id), "Nunca debe invadir los bits del nodo");
+    }
+
+    /**
+     * Verifica que dos nodos con el mismo reloj nunca generen el mismo ID.
+     */
+    @Test
+    void siguienteNodosDistintosTest() {
+        GeneradorIdsDistribuidos nodo0 = new GeneradorIdsDistribuidos(0, () -> AHORA);
+        GeneradorIdsDistribuidos nodo1 = new GeneradorIdsDistribuidos(1, () -> AHORA);
+        Set<Long> entregados = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 1000; i++) {
+            entregados.add(nodo0.siguiente());
+            entregados.add(nodo1.siguiente());
+        }
+        assertEquals(2000, entregados.size(), "Todos los IDs deben ser distintos");
+    }
+
+    /**
+     * Prueba el método {@link GeneradorIdsDistribuidos#avanzarHasta(long)}.
+     * Verifica que los IDs nuevos queden después de los del mismo nodo y que los de otros nodos no influyan.
+     */
+    @Test
+    void avanzarHastaTest() {
+        GeneradorIdsDistribuidos ids = new GeneradorIdsDistribuidos(2, () -> AHORA);
+        GeneradorIdsDistribuidos futuro = new GeneradorIdsDistribuidos(2, () -> AHORA + 60_000);
+        long existente = futuro.siguiente();
+        ids.avanzarHasta(existente);
+        assertTrue(ids.siguiente() > existente, "Debe quedar después del ID existente");
+
+        GeneradorIdsDistribuidos otro = new GeneradorIdsDistribuidos(3, () -> AHORA);
+        otro.avanzarHasta(new GeneradorIdsDistribuidos(2, () -> AHORA + 120_000).siguiente());
+        assertEquals(AHORA, GeneradorIdsDistribuidos.instante(otro.siguiente()), "Los IDs de otros nodos no deben cambiar nada");
+    }
+
+    /**
+     * Verifica que el constructor rechace números de nodo fuera de rango.
+     */
+    @Test
+    void nodoFueraDeRangoTest() {
+        assertThrows(IllegalArgumentException.class, () -> new GeneradorIdsDistribuidos(-1));
+        assertThrows(IllegalArgumentException.class, () -> new GeneradorIdsDistribuidos(GeneradorIdsDistribuidos.MAXIMO_NODO + 1));
+    }
+
+    /**
+     * Verifica que varios hilos pidiendo IDs a la vez nunca reciban el mismo
+     * y que cada hilo los reciba en orden creciente.
+     */
+    @Test
+    void siguienteConcurrenteTest() throws InterruptedException {
+        GeneradorIdsDistribuidos ids = new GeneradorIdsDistribuidos(5);
+        Set<Long> entregados = ConcurrentHashMap.newKeySet();
+        AtomicInteger desordenados = new AtomicInteger();
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            hilos.add(Thread.ofPlatform().start(() -> {
+                long anterior = 0;
+                for (int j = 0; j < 500; j++) {
+                    long id = ids.siguiente();
+                    if (id <= anterior) {
+                        desordenados.incrementAndGet();
+                    }
+                    entregados.add(id);
+                    anterior = id;
+                }
+            }));
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertEquals(8 * 500, entregados.size(), "Todos los IDs deben ser distintos");
+        assertEquals(0, desordenados.get(), "Cada hilo debe recibir IDs crecientes");
+    }
+}
@@ -0,0 +1,84 @@
+package utilTest;
+
+import modelo.util.GeneradorIds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase de testeo unitario para {@link GeneradorIds}.
+ * Verifica que los IDs no se repitan entre hilos y que queden después de los datos existentes.
+ */
+public class GeneradorIdsTest {
+    /** Generador utilizado en las pruebas */
+    private GeneradorIds ids;
+
+    /**
+     * Configura el entorno de prueba antes de cada test.
+     */
+    @BeforeEach
+    void setUp() {
+        ids = new GeneradorIds();
+    }
+
+    /**
+     * Prueba el método {@link GeneradorIds#siguiente(GeneradorIds.Entidad)} en un solo hilo.
+     * Verifica que cada entidad tenga su propia secuencia, empezando en 1.
+     */
+    @Test
+    void siguienteTest() {
+        assertEquals(1, ids.siguiente(GeneradorIds.Entidad.CLIENTE));
+        assertEquals(2, ids.siguiente(GeneradorIds.Entidad.CLIENTE));
+        assertEquals(1, ids.siguiente(GeneradorIds.Entidad.PRODUCTO), "Cada entidad debe tener su propia secuencia");
+        assertEquals(3, ids.siguiente(GeneradorIds.Entidad.CLIENTE));
+        assertEquals(4, ids.getSiguienteLibre(GeneradorIds.Entidad.CLIENTE), "No debe saltarse IDs");
+    }
+
+    /**
+     * Prueba el método {@link GeneradorIds#avanzarHasta(GeneradorIds.Entidad, int)}.
+     * Verifica que los IDs nuevos queden después de los existentes y que nunca retroceda.
+     */
+    @Test
+    void avanzarHastaTest() {
+        ids.avanzarHasta(GeneradorIds.Entidad.EMPLEADO, 40);
+        ids.avanzarHasta(GeneradorIds.Entidad.EMPLEADO, 7);
+        assertEquals(41, ids.getSiguienteLibre(GeneradorIds.Entidad.EMPLEADO), "No debe retroceder");
+        assertEquals(41, ids.siguiente(GeneradorIds.Entidad.EMPLEADO));
+        assertEquals(1, ids.siguiente(GeneradorIds.Entidad.ETIQUETA), "Las demás secuencias no deben cambiar");
+    }
+
+    /**
+     * Verifica que varios hilos pidiendo IDs a la vez nunca reciban el mismo,
+     * que cada hilo los reciba en orden creciente y que no quede ninguno sin usar.
+     */
+    @Test
+    void siguienteConcurrenteTest() throws InterruptedException {
+        Set<Integer> entregados = ConcurrentHashMap.newKeySet();
+        AtomicInteger desordenados = new AtomicInteger();
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            hilos.add(Thread.ofPlatform().start(() -> {
+                int anterior = 0;
+                for (int j = 0; j < 500; j++) {
+                    int id = ids.siguiente(GeneradorIds.Entidad.CLIENTE);
+                    if (id <= anterior) {
+                        desordenados.incrementAndGet();
+                    }
+                    entregados.add(id);
+                    anterior = id;
+                }
+            }));
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertEquals(8 * 500, entregados.size(), "Todos los IDs deben ser distintos");
+        assertEquals(0, desordenados.get(), "Cada hilo debe recibir IDs crecientes");
+        assertEquals(8 * 500 + 1, ids.getSiguienteLibre(GeneradorIds.Entidad.CLIENTE), "No debe saltarse IDs");
+    }
+}
@@ -0,0 +1,87 @@
+package utilTest;
+
+import modelo.util.IntObjectMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Clase de testeo unitario para {@link IntObjectMap}.
+ * Verifica inserciones, reemplazos, eliminaciones y crecimiento de la tabla.
+ */
+public class IntObjectMapTest {
+    /** Mapa utilizado en las pruebas */
+    private IntObjectMap<String> mapa;
+
+    /**
+     * Configura el entorno de prueba antes de cada test.
+     */
+    @BeforeEach
+    void setUp() {
+        mapa = new IntObjectMap<>();
+    }
+
+    /**
+     * Prueba los métodos {@link IntObjectMap#put(int, Object)} y {@link IntObjectMap#get(int)}.
+     * Verifica inserción, reemplazo y claves negativas o cero.
+     */
+    @Test
+    void putGetTest() {
+        assertNull(mapa.put(1, "uno"), "No debe haber valor anterior");
+        assertEquals("uno", mapa.put(1, "UNO"), "Debe devolver el valor reemplazado");
+        mapa.put(0, "cero");
+        mapa.put(-5, "menos cinco");
+        assertEquals("UNO", mapa.get(1), "Debe devolver el valor actualizado");
+        assertEquals("cero", mapa.get(0), "Debe admitir la clave 0");
+        assertEquals("menos cinco", mapa.get(-5), "Debe admitir claves negativas");
+        assertNull(mapa.get(2), "Debe devolver null si la clave no existe");
+        assertEquals(3, mapa.size(), "Debe haber tres entradas");
+        assertThrows(IllegalArgumentException.class, () -> mapa.put(3, null), "No debe admitir valores nulos");
+    }
+
+    /**
+     * Prueba el método {@link IntObjectMap#remove(int)}.
+     * Verifica que las claves que colisionan sigan encontrándose tras eliminar.
+     */
+    @Test
+    void removeTest() {
+        for (int i = 0; i < 100; i++) {
+            mapa.put(i * 16, "v" + i);
+        }
+        assertEquals("v10", mapa.remove(160), "Debe devolver el valor eliminado");
+        assertNull(mapa.remove(160), "No debe eliminar dos veces");
+        for (int i = 0; i < 100; i++) {
+            if (i != 10) {
+                assertEquals("v" + i, mapa.get(i * 16), "Las demás claves deben seguir accesibles");
+            }
+        }
+        assertEquals(99, mapa.size(), "Debe quedar una entrada menos");
+    }
+
+    /**
+     * Compara el mapa con un {@link HashMap} bajo una secuencia aleatoria de operaciones.
+     */
+    @Test
+    void operacionesAleatoriasTest() {
+        HashMap<Integer, String> esperado = new HashMap<>();
+        Random random = new Random(42);
+        for (int n = 0; n < 20000; n++) {
+            int clave = random.nextInt(500) - 250;
+            if (random.nextInt(3) == 0) {
+                assertEquals(esperado.remove(clave), mapa.remove(clave), "remove debe coincidir");
+            } else {
+                String valor = "v" + n;
+                assertEquals(esperado.put(clave, valor), mapa.put(clave, valor), "put debe coincidir");
+            }
+        }
+        assertEquals(esperado.size(), mapa.size(), "El tamaño debe coincidir");
+        int[] visitados = {0};
+        mapa.forEach((clave, valor) -> {
+            assertEquals(esperado.get(clave), valor, "forEach debe devolver las entradas guardadas");
+            visitados[0]++;
+        });
+        assertEquals(esperado.size(), visitados[0], "forEach debe visitar todas las entradas");
+    }
+}
@@ -0,0 +1,77 @@
+package utilTest;
+
+import modelo.pedido.Direccion;
+import modelo.util.ListaIndexada;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Iterator;
+
+/**
+ * Clase de testeo unitario para {@link ListaIndexada}.
+ * Verifica que el índice por ID siga todas las formas de modificar la lista.
+ */
+public class ListaIndexadaTest {
+    /** Lista utilizada en las pruebas */
+    private ListaIndexada<Direccion> lista;
+    /** Direcciones de prueba */
+    private Direccion dir1, dir2, dir3;
+
+    /**
+     * Configura el entorno de prueba antes de cada test.
+     */
+    @BeforeEach
+    void setUp() {
+        lista = new ListaIndexada<>(Direccion::getId);
+        dir1 = new Direccion(1, "Calle 1", "Ciudad A", false);
+        dir2 = new Direccion(2, "Calle 2", "Ciudad B", false);
+        dir3 = new Direccion(3, "Calle 3", "Ciudad C", false);
+        lista.add(dir1);
+        lista.add(dir2);
+        lista.add(dir3);
+    }
+
+    /**
+     * Prueba el método {@link ListaIndexada#buscar(long)} después de agregar, reemplazar y quitar.
+     */
+    @Test
+    void buscarTest() {
+        assertSame(dir2, lista.buscar(2));
+        assertNull(lista.buscar(4), "Debe devolver null si el ID no existe");
+
+        Direccion dir4 = new Direccion(4, "Calle 4", "Ciudad D", false);
+        assertSame(dir2, lista.set(1, dir4));
+        assertNull(lista.buscar(2), "El elemento reemplazado debe salir del índice");
+        assertSame(dir4, lista.buscar(4));
+
+        lista.remove(dir1);
+        assertNull(lista.buscar(1));
+        lista.removeIf(d -> d.getId() == 3);
+        assertNull(lista.buscar(3), "removeIf también debe actualizar el índice");
+        Iterator<Direccion> iterador = lista.iterator();
+        iterador.next();
+        iterador.remove();
+        assertNull(lista.buscar(4), "Quitar con el iterador también debe actualizar el índice");
+        assertTrue(lista.isEmpty());
+    }
+
+    /**
+     * Verifica que con IDs repetidos se devuelva el primero de la lista, como en una búsqueda lineal.
+     */
+    @Test
+    void idsRepetidosTest() {
+        Direccion otra2 = new Direccion(2, "Otra calle", "Ciudad E", false);
+        lista.add(otra2);
+        assertSame(dir2, lista.buscar(2), "Debe devolver el primero con ese ID");
+        lista.remove(dir2);
+        assertSame(otra2, lista.buscar(2), "Al quitar el primero debe quedar el siguiente");
+
+        Direccion primero = new Direccion(2, "Primera calle", "Ciudad F", false);
+        lista.add(0, primero);
+        assertSame(primero, lista.buscar(2), "Insertado antes debe pasar a ser el primero");
+        lista.remove(otra2);
+        assertSame(primero, lista.buscar(2));
+        lista.remove(primero);
+        assertNull(lista.buscar(2));
+    }
+}
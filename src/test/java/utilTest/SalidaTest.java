@@ -0,0 +1,101 @@
+package utilTest;
+
+import modelo.util.Salida;
+import modelo.util.SalidaBuffer;
+import modelo.util.SalidaNula;
+import modelo.util.SalidaSesion;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Clase de testeo unitario para las implementaciones de {@link Salida}.
+ */
+public class SalidaTest {
+
+    /**
+     * Verifica que {@link SalidaBuffer} acumule el texto hasta vaciarse.
+     */
+    @Test
+    void salidaBufferTest() {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream();
+        SalidaBuffer salida = new SalidaBuffer(destino);
+        salida.imprimir("Opción: ");
+        salida.imprimirLinea("Teléfono");
+        assertEquals(0, destino.size(), "No debe escribir antes de vaciarse");
+        salida.vaciar();
+        assertEquals("Opción: Teléfono\n", destino.toString(StandardCharsets.UTF_8), "Debe escribir todo en UTF-8 al vaciarse");
+    }
+
+    /**
+     * Verifica que {@link SalidaBuffer} se vacíe sola por línea o al superar su capacidad.
+     */
+    @Test
+    void salidaBufferVaciadoAutomaticoTest() {
+        ByteArrayOutputStream porLinea = new ByteArrayOutputStream();
+        Salida consola = new SalidaBuffer(porLinea, 1024, true);
+        consola.imprimir("a");
+        assertEquals(0, porLinea.size(), "Sin salto de línea no debe vaciarse");
+        consola.imprimirLinea("b");
+        assertEquals("ab\n", porLinea.toString(StandardCharsets.UTF_8), "Debe vaciarse en cada línea");
+
+        ByteArrayOutputStream porCapacidad = new ByteArrayOutputStream();
+        Salida pequeña = new SalidaBuffer(porCapacidad, 4, false);
+        pequeña.imprimir("abcdef");
+        assertEquals("abcdef", porCapacidad.toString(StandardCharsets.UTF_8), "Debe vaciarse al superar la capacidad");
+    }
+
+    /**
+     * Verifica que un error del destino no se propague y se informe con {@link SalidaBuffer#tuvoError()}.
+     */
+    @Test
+    void salidaBufferErrorTest() {
+        OutputStream cerrado = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("cerrado");
+            }
+        };
+        SalidaBuffer salida = new SalidaBuffer(cerrado);
+        salida.imprimirLinea("hola");
+        assertDoesNotThrow(salida::vaciar, "Un destino cerrado no debe lanzar excepción");
+        assertTrue(salida.tuvoError(), "Debe registrar el error de escritura");
+    }
+
+    /**
+     * Verifica que {@link SalidaSesion} escriba en la salida vinculada a cada hilo.
+     */
+    @Test
+    void salidaSesionTest() throws InterruptedException {
+        ByteArrayOutputStream principal = new ByteArrayOutputStream();
+        ByteArrayOutputStream otra = new ByteArrayOutputStream();
+        SalidaSesion.vincular(new SalidaBuffer(principal, 1024, true));
+        try {
+            Thread hilo = Thread.ofVirtual().start(() -> {
+                SalidaSesion.vincular(new SalidaBuffer(otra, 1024, true));
+                Salida.actual().imprimirLinea("otra sesión");
+                SalidaSesion.desvincular();
+            });
+            hilo.join();
+            SalidaSesion.INSTANCIA.imprimirLinea("sesión principal");
+        } finally {
+            SalidaSesion.desvincular();
+        }
+        assertEquals("sesión principal\n", principal.toString(StandardCharsets.UTF_8), "Cada hilo debe escribir en su sesión");
+        assertEquals("otra sesión\n", otra.toString(StandardCharsets.UTF_8), "Cada hilo debe escribir en su sesión");
+    }
+
+    /**
+     * Verifica que {@link SalidaNula} acepte mensajes sin hacer nada.
+     */
+    @Test
+    void salidaNulaTest() {
+        assertDoesNotThrow(() -> {
+            SalidaNula.INSTANCIA.imprimirLinea("descartado");
+            SalidaNula.INSTANCIA.vaciar();
+        }, "La salida nula debe descartar los mensajes");
+    }
+}
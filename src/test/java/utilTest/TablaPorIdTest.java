@@ -0,0 +1,77 @@
+package utilTest;
+
+import modelo.producto.Etiqueta;
+import modelo.util.TablaPorId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+
+/**
+ * Clase de testeo unitario para {@link TablaPorId}.
+ * Verifica los índices por ID y por nombre, y el orden de los listados.
+ */
+public class TablaPorIdTest {
+    /** Tabla utilizada en las pruebas */
+    private TablaPorId<Etiqueta> tabla;
+    /** Etiquetas de prueba */
+    private Etiqueta hogar, electronica;
+
+    /**
+     * Configura el entorno de prueba antes de cada test.
+     */
+    @BeforeEach
+    void setUp() {
+        tabla = new TablaPorId<>(Etiqueta::getId, Etiqueta::getNombre);
+        hogar = new Etiqueta(2, "Hogar");
+        electronica = new Etiqueta(1, "Electrónica");
+        tabla.agregar(hogar);
+        tabla.agregar(electronica);
+    }
+
+    /**
+     * Prueba los métodos {@link TablaPorId#buscar(int)} y {@link TablaPorId#buscarPorNombre(String)}.
+     */
+    @Test
+    void buscarTest() {
+        assertSame(hogar, tabla.buscar(2));
+        assertNull(tabla.buscar(3), "Debe devolver null si el ID no existe");
+        assertSame(electronica, tabla.buscarPorNombre("ELECTRÓNICA"), "No debe distinguir mayúsculas");
+        assertNull(tabla.buscarPorNombre(null));
+    }
+
+    /**
+     * Verifica que no se agreguen elementos con un ID o un nombre repetido.
+     */
+    @Test
+    void agregarRepetidoTest() {
+        assertFalse(tabla.agregar(new Etiqueta(2, "Otra")), "No debe agregar un ID repetido");
+        assertFalse(tabla.agregar(new Etiqueta(3, "hogar")), "No debe agregar un nombre repetido");
+        assertNull(tabla.buscarPorNombre("Otra"), "El rechazado no debe quedar en el índice por nombre");
+        assertEquals(2, tabla.tamaño());
+    }
+
+    /**
+     * Prueba el método {@link TablaPorId#eliminar(int)} y que libere el nombre.
+     */
+    @Test
+    void eliminarTest() {
+        assertSame(hogar, tabla.eliminar(2));
+        assertNull(tabla.eliminar(2), "Debe devolver null si ya no existe");
+        assertNull(tabla.buscarPorNombre("Hogar"));
+        assertTrue(tabla.agregar(new Etiqueta(3, "Hogar")), "El nombre eliminado debe poder reutilizarse");
+    }
+
+    /**
+     * Verifica que los listados estén ordenados por ID y no cambien con modificaciones posteriores.
+     */
+    @Test
+    void listarTest() {
+        List<Etiqueta> listado = tabla.listar();
+        assertEquals(List.of(electronica, hogar), listado);
+        tabla.eliminar(1);
+        assertEquals(2, listado.size(), "Un listado ya obtenido no debe cambiar");
+        assertEquals(List.of(hogar), tabla.listar());
+        assertThrows(UnsupportedOperationException.class, () -> tabla.listar().add(electronica));
+    }
+}
@@ -0,0 +1,3 @@
+/** Clases para Test Unitarios de las estructuras de apoyo del modelo
+ */
+package utilTest;
\ No newline at end of file